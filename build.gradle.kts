@@ -6,6 +6,7 @@ plugins {
     id("io.freefair.lombok") version "8.6"
     id("io.spring.dependency-management") version "1.1.4"
     id("com.gorylenko.gradle-git-properties") version "2.4.1"
+    id("me.champeau.jmh") version "0.7.2"
 
     kotlin("jvm") version "1.9.23"
     kotlin("plugin.spring") version "1.9.23"
@@ -92,6 +93,9 @@ dependencies {
     testImplementation("io.kotest:kotest-runner-junit5:5.9.0")
     testImplementation("io.mockk:mockk:1.13.10")
     testCompileOnly("io.github.microutils:kotlin-logging-jvm:4.0.0-beta-2")
+
+    // benchmark
+    jmh("com.h2database:h2")
 }
 
 allOpen {
@@ -111,6 +115,12 @@ tasks.withType<Test> {
     useJUnitPlatform()
 }
 
+jmh {
+    warmupIterations.set(2)
+    iterations.set(5)
+    fork.set(1)
+}
+
 springBoot {
     buildInfo()
 }
\ No newline at end of file
@@ -0,0 +1,89 @@
+package com.tobe.healthy.config.jwt;
+
+import com.tobe.healthy.config.security.CustomMemberDetailService;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jws;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Base64;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JwtFilter 의 토큰 검증 경로 비교.
+ * legacy: 요청마다 parser 를 두 번 생성하고 서명을 두 번 검증하던 기존 방식
+ * singleParse: 미리 생성한 parser 로 한 번만 검증 (캐시 미적중)
+ * cached: 검증된 claims 캐시 적중
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JwtFilterBenchmark {
+
+    private static final String SECRET = "to-be-healthy-benchmark-secret-key-must-be-at-least-256-bits";
+
+    private String encodedSecret;
+    private String bearerToken;
+    private JwtTokenProvider provider;
+
+    @Setup
+    public void setUp() {
+        encodedSecret = Base64.getEncoder().encodeToString(SECRET.getBytes());
+        provider = new JwtTokenProvider(new CustomMemberDetailService(null, null), SECRET, 3600L);
+
+        Map<String, Object> claims = new HashMap<>();
+        claims.put("memberId", 1L);
+        claims.put("userId", "healthy-student0");
+        claims.put("memberType", "STUDENT");
+        claims.put("uuid", UUID.randomUUID().toString());
+        claims.put("gymId", 1L);
+        bearerToken = "Bearer " + Jwts.builder()
+                .claims(claims)
+                .issuedAt(new Date())
+                .expiration(new Date(System.currentTimeMillis() + 3_600_000))
+                .signWith(Keys.hmacShaKeyFor(SECRET.getBytes()), Jwts.SIG.HS256)
+                .compact();
+        provider.verify(bearerToken);
+    }
+
+    // 기존 방식처럼 검증할 때마다 인코딩된 secret 으로 키를 만든다.
+    @Benchmark
+    public Object legacy() {
+        Jws<Claims> validated = Jwts.parser()
+                .verifyWith(Keys.hmacShaKeyFor(Decoders.BASE64.decode(encodedSecret)))
+                .build()
+                .parseSignedClaims(bearerToken.substring("Bearer ".length()));
+        if (validated.getPayload().getExpiration().before(new Date())) {
+            return null;
+        }
+        Claims claims = Jwts.parser()
+                .verifyWith(Keys.hmacShaKeyFor(Decoders.BASE64.decode(encodedSecret)))
+                .build()
+                .parseSignedClaims(bearerToken.substring("Bearer ".length()))
+                .getPayload();
+        return provider.getAuthentication(claims);
+    }
+
+    @Benchmark
+    public Object singleParse() {
+        Claims claims = provider.decode(bearerToken.substring("Bearer ".length()));
+        return provider.getAuthentication(claims);
+    }
+
+    @Benchmark
+    public Object cached() {
+        return provider.getAuthentication(provider.verify(bearerToken));
+    }
+}
@@ -0,0 +1,98 @@
+package com.tobe.healthy.notification.repository
+
+import org.openjdk.jmh.annotations.*
+import org.springframework.jdbc.core.JdbcTemplate
+import org.springframework.jdbc.datasource.SingleConnectionDataSource
+import java.util.concurrent.TimeUnit
+
+/**
+ * 알림 100만 건(수신자 10,000명 x 100건)에서 알림 목록의 red-dot 조회 비교 (H2)
+ * fullTableGroupBy: 기존 findAllRedDotStatus 와 동일하게 전체 알림을 카테고리로 GROUP BY 하고 CASE 안에서 수신자를 확인
+ * receiverScoped: 수신자의 읽지 않은 알림만 (receiver_id, is_read, notification_category) 인덱스로 집계
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+open class NotificationRedDotBenchmark {
+
+    private lateinit var dataSource: SingleConnectionDataSource
+    private lateinit var jdbcTemplate: JdbcTemplate
+    private var receiverId = 0L
+
+    @Setup(Level.Trial)
+    fun setUp() {
+        dataSource = SingleConnectionDataSource("jdbc:h2:mem:notification;MODE=MySQL;DATABASE_TO_LOWER=TRUE", "sa", "", true)
+        jdbcTemplate = JdbcTemplate(dataSource)
+        jdbcTemplate.execute(
+            """
+            create table if not exists notification (
+                notification_id bigint auto_increment primary key,
+                receiver_id bigint,
+                notification_category varchar(255),
+                notification_type varchar(255),
+                title varchar(255),
+                content varchar(255),
+                is_read boolean,
+                created_at timestamp
+            )
+            """.trimIndent()
+        )
+        jdbcTemplate.execute("create index idx_notification_receiver_unread on notification (receiver_id, is_read, notification_category)")
+
+        // 수신자마다 SCHEDULE 80건, COMMUNITY 20건, 그중 10% 는 읽지 않은 알림
+        jdbcTemplate.execute(
+            """
+            insert into notification (receiver_id, notification_category, notification_type, title, content, is_read, created_at)
+            select mod(x, $RECEIVER_COUNT) + 1,
+                   case when mod(x / $RECEIVER_COUNT, 5) = 0 then 'COMMUNITY' else 'SCHEDULE' end,
+                   'RESERVE', 'title', 'content',
+                   mod(x / $RECEIVER_COUNT, 10) <> 0,
+                   current_timestamp
+            from system_range(0, ${ROW_COUNT - 1})
+            """.trimIndent()
+        )
+        jdbcTemplate.execute("analyze")
+    }
+
+    @Setup(Level.Invocation)
+    fun nextReceiver() {
+        receiverId = receiverId % RECEIVER_COUNT + 1
+    }
+
+    @TearDown(Level.Trial)
+    fun tearDown() {
+        dataSource.destroy()
+    }
+
+    @Benchmark
+    fun fullTableGroupBy(): List<Map<String, Any>> {
+        return jdbcTemplate.queryForList(
+            """
+            select notification_category,
+                   case when sum(case when receiver_id = ? and is_read = false then 1 else 0 end) > 0 then true else false end
+            from notification
+            where notification_category <> ?
+            group by notification_category
+            """.trimIndent(),
+            receiverId, "SCHEDULE"
+        )
+    }
+
+    @Benchmark
+    fun receiverScoped(): List<Map<String, Any>> {
+        return jdbcTemplate.queryForList(
+            """
+            select notification_category, count(notification_id)
+            from notification
+            where receiver_id = ? and is_read = false
+            group by notification_category
+            """.trimIndent(),
+            receiverId
+        )
+    }
+
+    companion object {
+        private const val RECEIVER_COUNT = 10_000L
+        private const val ROW_COUNT = 1_000_000L
+    }
+}
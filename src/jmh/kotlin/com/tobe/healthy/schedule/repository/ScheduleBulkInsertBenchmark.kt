@@ -0,0 +1,117 @@
+package com.tobe.healthy.schedule.repository
+
+import com.tobe.healthy.schedule.domain.entity.LessonTime.ONE_HOUR
+import com.tobe.healthy.schedule.domain.entity.TrainerScheduleClosedDaysInfo
+import com.tobe.healthy.schedule.domain.entity.TrainerScheduleInfo
+import org.openjdk.jmh.annotations.*
+import org.springframework.jdbc.core.JdbcTemplate
+import org.springframework.jdbc.datasource.SingleConnectionDataSource
+import org.springframework.jdbc.support.GeneratedKeyHolder
+import java.sql.Date
+import java.sql.Statement.RETURN_GENERATED_KEYS
+import java.sql.Time
+import java.sql.Timestamp
+import java.time.DayOfWeek.SUNDAY
+import java.time.LocalDate
+import java.time.LocalDateTime
+import java.time.LocalTime
+import java.util.concurrent.TimeUnit
+
+/**
+ * 트레이너 1명의 1, 3, 12개월 일정 등록 비교 (H2)
+ * perRowInsert: IDENTITY 전략의 saveAll 과 동일하게 행마다 INSERT 후 생성 키 조회
+ * bulkInsert: ScheduleBulkRepository 의 청크 단위 multi-row INSERT
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+open class ScheduleBulkInsertBenchmark {
+
+    @Param("1", "3", "12")
+    var months: Long = 0
+
+    private lateinit var dataSource: SingleConnectionDataSource
+    private lateinit var jdbcTemplate: JdbcTemplate
+    private lateinit var scheduleBulkRepository: ScheduleBulkRepository
+    private lateinit var trainerScheduleInfo: TrainerScheduleInfo
+    private lateinit var lessonDts: List<LocalDate>
+
+    @Setup(Level.Trial)
+    fun setUp() {
+        dataSource = SingleConnectionDataSource("jdbc:h2:mem:schedule;MODE=MySQL;DATABASE_TO_LOWER=TRUE", "sa", "", true)
+        jdbcTemplate = JdbcTemplate(dataSource)
+        jdbcTemplate.execute(
+            """
+            create table if not exists schedule (
+                schedule_id bigint auto_increment primary key,
+                lesson_dt date,
+                lesson_start_time time,
+                lesson_end_time time,
+                reservation_status varchar(255),
+                trainer_id bigint,
+                applicant_id bigint,
+                course_id bigint,
+                created_at timestamp,
+                updated_at timestamp
+            )
+            """.trimIndent()
+        )
+        scheduleBulkRepository = ScheduleBulkRepository(jdbcTemplate)
+
+        trainerScheduleInfo = TrainerScheduleInfo(
+            lessonStartTime = LocalTime.of(9, 0),
+            lessonEndTime = LocalTime.of(20, 0),
+            lunchStartTime = LocalTime.of(12, 0),
+            lunchEndTime = LocalTime.of(13, 0),
+            lessonTime = ONE_HOUR,
+        )
+        trainerScheduleInfo.trainerScheduleClosedDays.add(TrainerScheduleClosedDaysInfo(trainerScheduleInfo, SUNDAY))
+
+        val startDt = LocalDate.of(2024, 1, 1)
+        val endDt = startDt.plusMonths(months)
+        lessonDts = generateSequence(startDt) { it.plusDays(1) }.takeWhile { it.isBefore(endDt) }.toList()
+    }
+
+    @Setup(Level.Invocation)
+    fun truncate() {
+        jdbcTemplate.execute("truncate table schedule")
+    }
+
+    @TearDown(Level.Trial)
+    fun tearDown() {
+        dataSource.destroy()
+    }
+
+    @Benchmark
+    fun perRowInsert(): Int {
+        val now = Timestamp.valueOf(LocalDateTime.now())
+        var count = 0
+        lessonDts.asSequence().flatMap { trainerScheduleInfo.generateSlots(it) }.forEach { slot ->
+            val keyHolder = GeneratedKeyHolder()
+            count += jdbcTemplate.update({ connection ->
+                connection.prepareStatement(
+                    "insert into schedule (lesson_dt, lesson_start_time, lesson_end_time, reservation_status, trainer_id, created_at, updated_at) values (?, ?, ?, ?, ?, ?, ?)",
+                    RETURN_GENERATED_KEYS
+                ).apply {
+                    setDate(1, Date.valueOf(slot.lessonDt))
+                    setTime(2, Time.valueOf(slot.lessonStartTime))
+                    setTime(3, Time.valueOf(slot.lessonEndTime))
+                    setString(4, slot.reservationStatus.name)
+                    setLong(5, TRAINER_ID)
+                    setTimestamp(6, now)
+                    setTimestamp(7, now)
+                }
+            }, keyHolder)
+        }
+        return count
+    }
+
+    @Benchmark
+    fun bulkInsert(): Int {
+        return scheduleBulkRepository.insertAll(TRAINER_ID, lessonDts.asSequence().flatMap { trainerScheduleInfo.generateSlots(it) })
+    }
+
+    companion object {
+        private const val TRAINER_ID = 1L
+    }
+}
@@ -1,8 +1,11 @@
 package com.tobe.healthy.common;
 
-import com.tobe.healthy.notification.application.NotificationService;
+import com.tobe.healthy.common.event.outbox.OutboxDispatcher;
+import com.tobe.healthy.notification.application.FeedbackReminderJob;
+import com.tobe.healthy.notification.application.NotificationPurgeJob;
 import com.tobe.healthy.point.application.PointService;
-import com.tobe.healthy.schedule.application.TrainerScheduleCommandService;
+import com.tobe.healthy.schedule.application.FreeSlotIndex;
+import com.tobe.healthy.schedule.application.SchedulePurgeJob;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.scheduling.annotation.Scheduled;
@@ -14,8 +17,12 @@ import org.springframework.stereotype.Component;
 public class Scheduler {
 
     private final PointService pointService;
-    private final TrainerScheduleCommandService trainerScheduleCommandService;
-    private final NotificationService notificationService;
+    private final SchedulePurgeJob schedulePurgeJob;
+    private final FeedbackReminderJob feedbackReminderJob;
+    private final FreeSlotIndex freeSlotIndex;
+    private final NotificationPurgeJob notificationPurgeJob;
+    private final EngagementCounter engagementCounter;
+    private final OutboxDispatcher outboxDispatcher;
 
     //매월 1일 오전 1시
     @Scheduled(cron = "0 0 1 1 * *")
@@ -29,7 +36,7 @@ public class Scheduler {
     @Scheduled(cron = "0 0 0 * * MON")
     public void deleteDisabledSchedule(){
         log.info("========== 트레이너의 DISABLED 스케줄 삭제 스케줄러 작동 시작 ==========");
-        trainerScheduleCommandService.deleteDisabledSchedule();
+        schedulePurgeJob.purgeDisabledSchedule();
         log.info("========== 트레이너의 DISABLED 스케줄 삭제 스케줄러 작동 완료 ==========");
     }
 
@@ -37,7 +44,39 @@ public class Scheduler {
     @Scheduled(cron = "0 0 22 * * *")
     public void sendFeedbackNotificationToTrainer(){
         log.info("========== 트레이너에게 피드백 작성 알림 전송 시작 ==========");
-        notificationService.sendFeedbackNotificationToTrainer();
+        feedbackReminderJob.sendFeedbackReminders();
         log.info("========== 트레이너에게 피드백 작성 알림 전송 종료 ==========");
     }
+
+    // 매일 오전 3시
+    @Scheduled(cron = "0 0 3 * * *")
+    public void rebuildFreeSlotIndex(){
+        log.info("========== 빈 일정 인덱스 재생성 시작 ==========");
+        freeSlotIndex.rebuildAll();
+        log.info("========== 빈 일정 인덱스 재생성 종료 ==========");
+    }
+
+    // 매일 오전 4시
+    @Scheduled(cron = "0 0 4 * * *")
+    public void purgeExpiredNotification(){
+        log.info("========== 보존 기간이 지난 알림 삭제 시작 ==========");
+        notificationPurgeJob.purgeExpiredNotification();
+        log.info("========== 보존 기간이 지난 알림 삭제 종료 ==========");
+    }
+
+    // 매일 오전 5시
+    @Scheduled(cron = "0 0 5 * * *")
+    public void reconcileEngagementCount(){
+        log.info("========== 게시글 좋아요, 댓글 수 보정 시작 ==========");
+        engagementCounter.reconcile();
+        log.info("========== 게시글 좋아요, 댓글 수 보정 종료 ==========");
+    }
+
+    // 매일 오전 4시 30분
+    @Scheduled(cron = "0 30 4 * * *")
+    public void purgeDoneOutboxEvent(){
+        log.info("========== 처리 완료된 이벤트 삭제 시작 ==========");
+        outboxDispatcher.purgeDone();
+        log.info("========== 처리 완료된 이벤트 삭제 종료 ==========");
+    }
 }
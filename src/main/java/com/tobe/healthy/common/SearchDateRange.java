@@ -0,0 +1,78 @@
+package com.tobe.healthy.common;
+
+import com.querydsl.core.types.dsl.BooleanExpression;
+import com.querydsl.core.types.dsl.DatePath;
+import com.querydsl.core.types.dsl.DateTimePath;
+import com.querydsl.core.types.dsl.Expressions;
+import org.springframework.util.ObjectUtils;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Optional;
+
+import static java.time.format.DateTimeFormatter.ISO_LOCAL_DATE;
+
+/**
+ * 조회 API 의 검색 일자(yyyy-MM, yyyyMM, yyyy-MM-dd)를 [start, end) 기간으로 변환한다.
+ * DATE_FORMAT(column) 비교 대신 컬럼 자체의 범위 조건을 만들어 인덱스를 사용할 수 있도록 한다.
+ */
+public record SearchDateRange(LocalDate start, LocalDate end) {
+
+	private static final DateTimeFormatter YYYY_MM = DateTimeFormatter.ofPattern("yyyy-MM");
+	private static final DateTimeFormatter YYYYMM = DateTimeFormatter.ofPattern("yyyyMM");
+
+	// 형식이 맞지 않으면 빈 값을 반환한다.
+	public static Optional<SearchDateRange> parse(String searchDate) {
+		if (searchDate == null) {
+			return Optional.empty();
+		}
+		try {
+			return switch (searchDate.length()) {
+				case 10 -> Optional.of(ofDay(LocalDate.parse(searchDate, ISO_LOCAL_DATE)));
+				case 7 -> Optional.of(ofMonth(YearMonth.parse(searchDate, YYYY_MM)));
+				case 6 -> Optional.of(ofMonth(YearMonth.parse(searchDate, YYYYMM)));
+				default -> Optional.empty();
+			};
+		} catch (DateTimeParseException e) {
+			return Optional.empty();
+		}
+	}
+
+	public static SearchDateRange ofDay(LocalDate date) {
+		return new SearchDateRange(date, date.plusDays(1));
+	}
+
+	public static SearchDateRange ofMonth(YearMonth month) {
+		return new SearchDateRange(month.atDay(1), month.plusMonths(1).atDay(1));
+	}
+
+	public LocalDateTime startDateTime() {
+		return start.atStartOfDay();
+	}
+
+	public LocalDateTime endDateTime() {
+		return end.atStartOfDay();
+	}
+
+	// 검색 일자가 없으면 null(조건 없음), 형식이 잘못되었으면 항상 거짓인 조건을 반환한다.
+	public static BooleanExpression within(DatePath<LocalDate> column, String searchDate) {
+		if (ObjectUtils.isEmpty(searchDate)) {
+			return null;
+		}
+		return parse(searchDate)
+			.map(range -> column.goe(range.start()).and(column.lt(range.end())))
+			.orElseGet(Expressions.FALSE::isTrue);
+	}
+
+	public static BooleanExpression within(DateTimePath<LocalDateTime> column, String searchDate) {
+		if (ObjectUtils.isEmpty(searchDate)) {
+			return null;
+		}
+		return parse(searchDate)
+			.map(range -> column.goe(range.startDateTime()).and(column.lt(range.endDateTime())))
+			.orElseGet(Expressions.FALSE::isTrue);
+	}
+}
@@ -2,31 +2,36 @@ package com.tobe.healthy.common.event;
 
 import static com.tobe.healthy.common.LessonTimeFormatter.lessonStartDateTimeFormatter;
 import static com.tobe.healthy.common.error.ErrorCode.SCHEDULE_NOT_FOUND;
+import static com.tobe.healthy.common.event.EventType.NOTIFICATION;
 import static com.tobe.healthy.course.domain.entity.CourseHistoryType.RESERVATION;
 import static com.tobe.healthy.notification.domain.entity.NotificationCategory.SCHEDULE;
 import static com.tobe.healthy.notification.domain.entity.NotificationType.WAITING;
 import static com.tobe.healthy.notification.domain.entity.NotificationType.WAITING_FOR_TRAINER;
 import static com.tobe.healthy.point.domain.entity.Calculation.MINUS;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tobe.healthy.common.ActivityCalendar;
+import com.tobe.healthy.common.ActivityType;
 import com.tobe.healthy.common.error.CustomException;
 import com.tobe.healthy.course.application.CourseService;
 import com.tobe.healthy.course.domain.dto.in.CourseUpdateCommand;
 import com.tobe.healthy.course.repository.CourseRepository;
-import com.tobe.healthy.notification.application.NotificationService;
+import com.tobe.healthy.member.domain.entity.Member;
+import com.tobe.healthy.notification.application.NotificationCoalescer;
 import com.tobe.healthy.notification.domain.dto.in.CommandSendNotification;
+import com.tobe.healthy.schedule.application.FreeSlotIndex;
+import com.tobe.healthy.schedule.application.TrainerCalendarCache;
 import com.tobe.healthy.schedule.domain.entity.Schedule;
 import com.tobe.healthy.schedule.domain.entity.ScheduleWaiting;
 import com.tobe.healthy.schedule.repository.common.CommonScheduleRepository;
 import com.tobe.healthy.schedule.repository.waiting.ScheduleWaitingRepository;
-import jakarta.transaction.Transactional;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.event.TransactionalEventListener;
 
 @Slf4j
 @Component
@@ -39,15 +44,26 @@ public class CustomEventListener {
     private final CourseRepository courseRepository;
     private final CommonScheduleRepository commonScheduleRepository;
     private final ScheduleWaitingRepository scheduleWaitingRepository;
-    private final NotificationService notificationService;
-
-    @Async
-    @Transactional(Transactional.TxType.REQUIRES_NEW)
-    @TransactionalEventListener
-    public void handleEvent(CustomEvent event) {
-        switch (event.type()) {
-            case SCHEDULE_CANCEL -> changeWaitingToCompleted((Long) event.result());
-            case NOTIFICATION -> sendNotification((CommandSendNotification) event.result());
+    private final NotificationCoalescer notificationCoalescer;
+    private final CustomEventPublisher<CommandSendNotification> notificationPublisher;
+    private final ObjectMapper objectMapper;
+    private final TrainerCalendarCache trainerCalendarCache;
+    private final FreeSlotIndex freeSlotIndex;
+    private final ActivityCalendar activityCalendar;
+
+    // OutboxDispatcher 가 이벤트 처리 트랜잭션 안에서 호출한다.
+    public void handle(EventType type, String payload) {
+        switch (type) {
+            case SCHEDULE_CANCEL -> changeWaitingToCompleted(readPayload(payload, Long.class));
+            case NOTIFICATION -> notificationCoalescer.send(readPayload(payload, CommandSendNotification.class));
+        }
+    }
+
+    private <T> T readPayload(String payload, Class<T> type) {
+        try {
+            return objectMapper.readValue(payload, type);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("이벤트를 읽을 수 없습니다. payload: " + payload, e);
         }
     }
 
@@ -56,56 +72,65 @@ public class CustomEventListener {
         Optional<ScheduleWaiting> scheduleWaitingOpt = scheduleWaitingRepository.findByScheduleId(scheduleId);
         if(scheduleWaitingOpt.isPresent()){
             ScheduleWaiting scheduleWaiting = scheduleWaitingOpt.get();
-            scheduleWaitingRepository.delete(scheduleWaiting);
             Schedule schedule = commonScheduleRepository.findById(scheduleId)
                 .orElseThrow(() -> new CustomException(SCHEDULE_NOT_FOUND));
+            Long trainerId = schedule.getTrainer().getId();
 
-            //수업시간 24시간 이전인 경우만 대기 -> 예약으로 변경 가능
-            if(!isBefore24Hour(schedule)) return;
+            trainerCalendarCache.evict(trainerId, schedule.getLessonDt());
 
+            //수업시간 24시간 이전인 경우만 대기 -> 예약으로 변경 가능
             //수강권 유효성 검사
-            Long waitingMemberId = scheduleWaiting.getMember().getId();
-            courseRepository.findTop1ByMemberIdAndRemainLessonCntGreaterThanOrderByCreatedAtDesc(waitingMemberId, 0)
-                .ifPresent(i -> {
-                    minusCourse(waitingMemberId, scheduleId, schedule.getTrainer().getId());
-                    schedule.registerSchedule(scheduleWaiting.getMember());
-
-                    CommandSendNotification studentNotification = new CommandSendNotification(
-                        WAITING.getDescription(),
-                        String.format(WAITING.getContent(), LocalDateTime.of(schedule.getLessonDt(), schedule.getLessonStartTime()).format(lessonStartDateTimeFormatter())),
-                        List.of(schedule.getApplicant().getId()),
-                        WAITING,
-                        SCHEDULE,
-                        null,
-                        "https://main.to-be-healthy.site/student/schedule?tab=myReservation",
-                        schedule.getApplicant().getId(),
-                        schedule.getApplicant().getName()
-                    );
-
-                    CommandSendNotification trainerNotification = new CommandSendNotification(
-                        WAITING_FOR_TRAINER.getDescription(),
-                        String.format(WAITING_FOR_TRAINER.getContent(), schedule.getApplicant().getName(), LocalDateTime.of(schedule.getLessonDt(), schedule.getLessonStartTime()).format(lessonStartDateTimeFormatter())),
-                        List.of(schedule.getTrainer().getId()),
-                        WAITING_FOR_TRAINER,
-                        SCHEDULE,
-                        null,
-                        null,
-                        schedule.getApplicant().getId(),
-                        schedule.getApplicant().getName()
-                    );
-
-                    sendNotification(studentNotification);
-                    sendNotification(trainerNotification);
-
-                    commonScheduleRepository.save(schedule);
-                });
+            Member waitingMember = scheduleWaiting.getMember();
+            Long waitingMemberId = waitingMember.getId();
+            if(!isBefore24Hour(schedule)
+                || courseRepository.findTop1ByMemberIdAndRemainLessonCntGreaterThanOrderByCreatedAtDesc(waitingMemberId, 0).isEmpty()) {
+                scheduleWaitingRepository.delete(scheduleWaiting);
+                return;
+            }
+
+            // 조건부 UPDATE 이후 영속성 컨텍스트가 비워지므로 알림에 필요한 값을 먼저 읽어둔다.
+            String waitingMemberName = waitingMember.getName();
+
+            // 직접 예약과 같은 조건부 UPDATE 로 승격한다. 다른 회원이 먼저 예약했으면 대기를 그대로 두고 다음 취소를 기다린다.
+            if (commonScheduleRepository.reserveIfAvailable(scheduleId, waitingMember) == 0) {
+                log.info("[대기 승격 실패] 이미 예약된 일정입니다. schedule: {}, member: {}", scheduleId, waitingMemberId);
+                return;
+            }
+            scheduleWaitingRepository.deleteById(scheduleWaiting.getId());
+            minusCourse(waitingMemberId, scheduleId, trainerId);
+            freeSlotIndex.markReserved(trainerId, schedule.getLessonDt(), schedule.getLessonStartTime());
+            activityCalendar.mark(ActivityType.RESERVATION, waitingMemberId, schedule.getLessonDt());
+
+            CommandSendNotification studentNotification = new CommandSendNotification(
+                WAITING.getDescription(),
+                String.format(WAITING.getContent(), LocalDateTime.of(schedule.getLessonDt(), schedule.getLessonStartTime()).format(lessonStartDateTimeFormatter())),
+                List.of(waitingMemberId),
+                WAITING,
+                SCHEDULE,
+                null,
+                "https://main.to-be-healthy.site/student/schedule?tab=myReservation",
+                waitingMemberId,
+                waitingMemberName
+            );
+
+            CommandSendNotification trainerNotification = new CommandSendNotification(
+                WAITING_FOR_TRAINER.getDescription(),
+                String.format(WAITING_FOR_TRAINER.getContent(), waitingMemberName, LocalDateTime.of(schedule.getLessonDt(), schedule.getLessonStartTime()).format(lessonStartDateTimeFormatter())),
+                List.of(trainerId),
+                WAITING_FOR_TRAINER,
+                SCHEDULE,
+                null,
+                null,
+                waitingMemberId,
+                waitingMemberName
+            );
+
+            // 승격 결과와 같은 트랜잭션에 알림 이벤트를 저장한다.
+            notificationPublisher.publish(studentNotification, NOTIFICATION);
+            notificationPublisher.publish(trainerNotification, NOTIFICATION);
         }
     }
 
-    private void sendNotification(CommandSendNotification request) {
-        notificationService.sendNotificationFromSystem(request);
-    }
-
     private boolean isBefore24Hour(Schedule schedule){
         LocalDateTime before24Hour = LocalDateTime.of(schedule.getLessonDt().minusDays(1), schedule.getLessonStartTime());
         return LocalDateTime.now().isBefore(before24Hour);
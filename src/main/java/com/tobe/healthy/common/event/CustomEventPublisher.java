@@ -1,19 +1,69 @@
 package com.tobe.healthy.common.event;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tobe.healthy.common.event.outbox.OutboxEvent;
+import com.tobe.healthy.common.event.outbox.OutboxEventCreated;
+import com.tobe.healthy.common.event.outbox.OutboxEventRepository;
+import com.tobe.healthy.notification.domain.dto.in.CommandSendNotification;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * 이벤트를 호출한 트랜잭션 안에서 outbox_event 에 저장한다.
+ * 커밋되면 OutboxDispatcher 가 바로 처리하고, 서버가 중단되어 처리하지 못한 이벤트는 폴링으로 다시 수거한다.
+ */
 @RequiredArgsConstructor
 @Component
 @Slf4j
 public class CustomEventPublisher<T> {
+
+    private static final Duration POLL_GRACE = Duration.ofSeconds(5);
+
     private final ApplicationEventPublisher applicationEventPublisher;
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
 
+    // 매번 새로운 eventKey 를 만들므로 중복 여부를 조회하지 않는다.
     public void publish(final T result, final EventType type) {
-        log.info("Publishing generic event.");
-        CustomEvent<T> genericEvent = new CustomEvent<>(result, type);
-        applicationEventPublisher.publishEvent(genericEvent);
+        save(result, type, type.name() + ":" + UUID.randomUUID());
+    }
+
+    // 같은 eventKey 로 이미 저장된 이벤트는 다시 저장하지 않는다. (호출하는 쪽에서 eventKey 를 정하는 경우)
+    public void publish(final T result, final EventType type, final String eventKey) {
+        if (outboxEventRepository.existsByEventKey(eventKey)) {
+            log.info("[이벤트 중복] eventKey: {}", eventKey);
+            return;
+        }
+        save(result, type, eventKey);
+    }
+
+    private void save(final T result, final EventType type, final String eventKey) {
+        OutboxEvent outboxEvent = outboxEventRepository.save(
+            OutboxEvent.create(eventKey, type, laneKeyOf(result, type), toJson(result), POLL_GRACE)
+        );
+        log.info("[이벤트 저장] type: {}, eventKey: {}", type, eventKey);
+        applicationEventPublisher.publishEvent(new OutboxEventCreated(outboxEvent.getId(), outboxEvent.getLaneKey()));
+    }
+
+    // 일정 이벤트는 scheduleId, 알림은 수신자 목록 단위로 순서를 보장한다.
+    private String laneKeyOf(T result, EventType type) {
+        if (result instanceof CommandSendNotification notification) {
+            return type.name() + ":" + notification.getReceiverIds().hashCode();
+        }
+        return type.name() + ":" + result;
+    }
+
+    private String toJson(T result) {
+        try {
+            return objectMapper.writeValueAsString(result);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("이벤트를 저장할 수 없습니다.", e);
+        }
     }
 }
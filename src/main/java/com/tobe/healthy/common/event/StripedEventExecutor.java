@@ -0,0 +1,108 @@
+package com.tobe.healthy.common.event;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+/**
+ * key(scheduleId 등) 별로 이벤트를 순서대로 처리하는 실행기.
+ * 같은 key 는 항상 같은 lane(단일 스레드)에서 실행되고, 다른 key 는 lane 수만큼 병렬로 실행된다.
+ * lane 마다 큐 크기가 제한되며, 큐가 가득 차면 실행하지 않고 rejected 카운터를 올린다.
+ */
+@Slf4j
+@Component
+public class StripedEventExecutor implements DisposableBean {
+
+	private static final String METRIC_PREFIX = "event.lane.";
+
+	private final Lane[] lanes;
+
+	public StripedEventExecutor(MeterRegistry meterRegistry,
+								@Value("${event.striped.lanes:8}") int laneCount,
+								@Value("${event.striped.queue-capacity:1000}") int queueCapacity) {
+		this.lanes = new Lane[laneCount];
+		for (int i = 0; i < laneCount; i++) {
+			lanes[i] = new Lane(i, queueCapacity, meterRegistry);
+		}
+	}
+
+	// 큐가 가득 차서 실행하지 못하면 false 를 반환한다.
+	public boolean execute(Object key, Runnable task) {
+		return lanes[Math.floorMod(key.hashCode(), lanes.length)].submit(task);
+	}
+
+	@Override
+	public void destroy() throws InterruptedException {
+		for (Lane lane : lanes) {
+			lane.executor.shutdown();
+		}
+		for (Lane lane : lanes) {
+			lane.executor.awaitTermination(10, SECONDS);
+		}
+	}
+
+	private static class Lane {
+
+		private final ThreadPoolExecutor executor;
+
+		// 가장 최근에 시작한 작업이 큐에서 대기한 시간
+		private final AtomicLong lagMillis = new AtomicLong();
+
+		private Lane(int index, int queueCapacity, MeterRegistry meterRegistry) {
+			String lane = String.valueOf(index);
+			Counter rejected = Counter.builder(METRIC_PREFIX + "rejected")
+				.tag("lane", lane)
+				.register(meterRegistry);
+
+			RejectedExecutionHandler rejectionPolicy = (task, pool) -> {
+				rejected.increment();
+				log.error("[이벤트 처리 실패] lane {} 의 대기 큐가 가득 찼습니다. (queue: {})", lane, pool.getQueue().size());
+				throw new RejectedExecutionException("lane " + lane + " is full");
+			};
+
+			this.executor = new ThreadPoolExecutor(1, 1, 0L, MILLISECONDS,
+				new ArrayBlockingQueue<>(queueCapacity),
+				new CustomizableThreadFactory("event-lane-" + lane + "-"),
+				rejectionPolicy);
+
+			Gauge.builder(METRIC_PREFIX + "queue.depth", executor, e -> e.getQueue().size())
+				.tag("lane", lane)
+				.register(meterRegistry);
+			Gauge.builder(METRIC_PREFIX + "lag", lagMillis, AtomicLong::get)
+				.tag("lane", lane)
+				.baseUnit("milliseconds")
+				.register(meterRegistry);
+		}
+
+		private boolean submit(Runnable task) {
+			long enqueuedAt = System.currentTimeMillis();
+			try {
+				executor.execute(() -> {
+					lagMillis.set(System.currentTimeMillis() - enqueuedAt);
+					try {
+						task.run();
+					} catch (Exception e) {
+						log.error("[이벤트 처리 실패]", e);
+					}
+				});
+				return true;
+			} catch (RejectedExecutionException e) {
+				return false;
+			}
+		}
+	}
+}
@@ -0,0 +1,179 @@
+package com.tobe.healthy.common.event.outbox;
+
+import com.tobe.healthy.common.error.CustomException;
+import com.tobe.healthy.common.event.CustomEventListener;
+import com.tobe.healthy.common.event.StripedEventExecutor;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.tobe.healthy.common.event.outbox.OutboxStatus.PENDING;
+import static org.springframework.transaction.TransactionDefinition.PROPAGATION_REQUIRES_NEW;
+
+/**
+ * outbox_event 처리기
+ * - 커밋 직후 발행한 서버가 바로 처리하고, 남은 이벤트는 주기적으로 수거한다.
+ * - 수거는 SKIP LOCKED 로 조회한 이벤트의 다음 수거 시각을 lease 만큼 늦추는 짧은 트랜잭션이다.
+ *   잠금은 이 트랜잭션이 끝나면 풀리므로, 다른 서버의 폴링과 겹치지 않게 하는 것은 lease 다.
+ * - 이벤트는 StripedEventExecutor 의 lane 에서 처리되어 병렬도가 lane 수로 제한된다.
+ * - 실제 선점은 처리 트랜잭션의 PENDING -> DONE 조건부 UPDATE 이므로 lease 가 끝난 뒤 여러 서버가 같은 이벤트를 받아도 한 번만 처리된다.
+ * - 처리 완료(DONE) 이벤트는 보존 기간이 지나면 삭제한다.
+ * - 실패하면 롤백 후 재시도 시각을 늦추고, 재시도할 수 없는 예외이거나 최대 횟수를 넘으면 FAILED 로 남긴다.
+ */
+@Slf4j
+@Component
+public class OutboxDispatcher {
+
+	private static final String METRIC_PREFIX = "event.outbox.";
+
+	private final OutboxEventRepository outboxEventRepository;
+	private final CustomEventListener customEventListener;
+	private final StripedEventExecutor stripedEventExecutor;
+	private final TransactionTemplate transactionTemplate;
+	private final MeterRegistry meterRegistry;
+	private final int batchSize;
+	private final int maxAttempts;
+	private final Duration lease;
+	private final Duration retention;
+
+	// 현재 서버의 lane 에 들어가 있는 이벤트 (폴링이 같은 이벤트를 중복으로 넣지 않도록)
+	private final Set<Long> inFlight = ConcurrentHashMap.newKeySet();
+	private final AtomicLong backlog = new AtomicLong();
+
+	public OutboxDispatcher(OutboxEventRepository outboxEventRepository,
+							CustomEventListener customEventListener,
+							StripedEventExecutor stripedEventExecutor,
+							PlatformTransactionManager transactionManager,
+							MeterRegistry meterRegistry,
+							@Value("${event.outbox.batch-size:100}") int batchSize,
+							@Value("${event.outbox.max-attempts:10}") int maxAttempts,
+							@Value("${event.outbox.lease-seconds:60}") long leaseSeconds,
+							@Value("${event.outbox.retention-days:7}") long retentionDays) {
+		this.outboxEventRepository = outboxEventRepository;
+		this.customEventListener = customEventListener;
+		this.stripedEventExecutor = stripedEventExecutor;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		this.transactionTemplate.setPropagationBehavior(PROPAGATION_REQUIRES_NEW);
+		this.meterRegistry = meterRegistry;
+		this.batchSize = batchSize;
+		this.maxAttempts = maxAttempts;
+		this.lease = Duration.ofSeconds(leaseSeconds);
+		this.retention = Duration.ofDays(retentionDays);
+
+		Gauge.builder(METRIC_PREFIX + "backlog", backlog, AtomicLong::get)
+			.register(meterRegistry);
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void handleCreated(OutboxEventCreated event) {
+		submit(event.outboxEventId(), event.laneKey());
+	}
+
+	@Scheduled(fixedDelayString = "${event.outbox.poll-interval-ms:1000}")
+	public void poll() {
+		List<OutboxEvent> events = transactionTemplate.execute(status -> {
+			LocalDateTime now = LocalDateTime.now();
+			List<Long> ids = outboxEventRepository.findClaimableIds(now, batchSize);
+			if (ids.isEmpty()) {
+				return List.of();
+			}
+			outboxEventRepository.lease(ids, now.plus(lease));
+			return outboxEventRepository.findAllById(ids);
+		});
+		events.forEach(event -> submit(event.getId(), event.getLaneKey()));
+		backlog.set(outboxEventRepository.countByStatus(PENDING));
+	}
+
+	// 한 번에 많은 행을 잠그지 않도록 batchSize 건씩 나누어 삭제한다.
+	public long purgeDone() {
+		LocalDateTime before = LocalDateTime.now().minus(retention);
+		long deleted = 0;
+		int chunk;
+		do {
+			chunk = transactionTemplate.execute(status -> outboxEventRepository.deleteDone(before, batchSize));
+			deleted += chunk;
+		} while (chunk == batchSize);
+		meterRegistry.counter(METRIC_PREFIX + "purged").increment(deleted);
+		log.info("[이벤트 삭제] processedAt < {}, deleted: {}", before, deleted);
+		return deleted;
+	}
+
+	private void submit(Long outboxEventId, String laneKey) {
+		if (!inFlight.add(outboxEventId)) {
+			return;
+		}
+		boolean submitted = stripedEventExecutor.execute(laneKey, () -> {
+			try {
+				process(outboxEventId);
+			} finally {
+				inFlight.remove(outboxEventId);
+			}
+		});
+		// lane 이 가득 찬 경우 lease 가 끝난 뒤 다음 폴링에서 다시 수거한다.
+		if (!submitted) {
+			inFlight.remove(outboxEventId);
+		}
+	}
+
+	private void process(Long outboxEventId) {
+		try {
+			OutboxEvent event = transactionTemplate.execute(status -> {
+				if (outboxEventRepository.claim(outboxEventId) == 0) {
+					return null;
+				}
+				OutboxEvent claimed = outboxEventRepository.findById(outboxEventId).orElseThrow();
+				customEventListener.handle(claimed.getEventType(), claimed.getPayload());
+				return claimed;
+			});
+			if (event == null) {
+				count("duplicate", null);
+				return;
+			}
+			count("success", event);
+			Timer.builder(METRIC_PREFIX + "delay")
+				.tag("type", event.getEventType().name())
+				.register(meterRegistry)
+				.record(Duration.between(event.getCreatedAt(), LocalDateTime.now()));
+		} catch (Exception e) {
+			log.error("[이벤트 처리 실패] outboxEventId: {}", outboxEventId, e);
+			retryLater(outboxEventId, e);
+		}
+	}
+
+	private void retryLater(Long outboxEventId, Exception cause) {
+		transactionTemplate.executeWithoutResult(status -> outboxEventRepository.findById(outboxEventId).ifPresent(event -> {
+			if (isRetryable(cause)) {
+				event.retryLater(cause.toString(), maxAttempts);
+			} else {
+				event.fail(cause.toString());
+			}
+			count(event.getStatus() == PENDING ? "retry" : "failed", event);
+		}));
+	}
+
+	// 존재하지 않는 회원, 잘못된 요청처럼 다시 처리해도 결과가 같은 예외는 재시도하지 않는다.
+	private boolean isRetryable(Exception cause) {
+		return !(cause instanceof CustomException || cause instanceof IllegalArgumentException);
+	}
+
+	private void count(String result, OutboxEvent event) {
+		meterRegistry.counter(METRIC_PREFIX + "processed",
+			"type", event == null ? "unknown" : event.getEventType().name(),
+			"result", result
+		).increment();
+	}
+}
@@ -0,0 +1,113 @@
+package com.tobe.healthy.common.event.outbox;
+
+import com.tobe.healthy.common.BaseTimeEntity;
+import com.tobe.healthy.common.event.EventType;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.DynamicUpdate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static com.tobe.healthy.common.event.outbox.OutboxStatus.FAILED;
+import static com.tobe.healthy.common.event.outbox.OutboxStatus.PENDING;
+import static jakarta.persistence.EnumType.STRING;
+import static jakarta.persistence.GenerationType.IDENTITY;
+import static lombok.AccessLevel.PROTECTED;
+
+/**
+ * 비즈니스 변경과 같은 트랜잭션에 저장되는 이벤트.
+ * 커밋된 이벤트만 OutboxDispatcher 가 처리하며, 처리 완료(DONE)로 바꾸는 UPDATE 와 이벤트 처리가 한 트랜잭션으로 묶인다.
+ */
+@Entity
+@Table(
+    uniqueConstraints = @UniqueConstraint(name = "uk_outbox_event_key", columnNames = "event_key"),
+    indexes = {
+        @Index(name = "idx_outbox_event_status_next_attempt", columnList = "status, next_attempt_at"),
+        @Index(name = "idx_outbox_event_status_processed_at", columnList = "status, processed_at")
+    }
+)
+@NoArgsConstructor(access = PROTECTED)
+@Getter
+@DynamicUpdate
+@AllArgsConstructor
+@Builder
+public class OutboxEvent extends BaseTimeEntity<OutboxEvent, Long> {
+
+    private static final int MAX_ERROR_LENGTH = 500;
+    private static final long MAX_BACKOFF_SECONDS = 300;
+
+    @Id
+    @GeneratedValue(strategy = IDENTITY)
+    @Column(name = "outbox_event_id")
+    private Long id;
+
+    @Column(name = "event_key", nullable = false, length = 100)
+    private String eventKey;
+
+    @Enumerated(STRING)
+    @Column(nullable = false)
+    private EventType eventType;
+
+    // 같은 laneKey 의 이벤트는 같은 lane 에서 순서대로 처리한다.
+    @Column(nullable = false)
+    private String laneKey;
+
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String payload;
+
+    @Enumerated(STRING)
+    @Column(nullable = false)
+    @Builder.Default
+    private OutboxStatus status = PENDING;
+
+    @Builder.Default
+    private int attempts = 0;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    private LocalDateTime processedAt;
+
+    @Column(length = MAX_ERROR_LENGTH)
+    private String lastError;
+
+    // 커밋 직후에는 발행한 서버가 바로 처리하므로, 폴링은 grace 이후에 수거한다.
+    public static OutboxEvent create(String eventKey, EventType eventType, String laneKey, String payload, Duration grace) {
+        return OutboxEvent.builder()
+            .eventKey(eventKey)
+            .eventType(eventType)
+            .laneKey(laneKey)
+            .payload(payload)
+            .nextAttemptAt(LocalDateTime.now().plus(grace))
+            .build();
+    }
+
+    // 재시도 간격은 2^attempts 초이며 최대 5분이다.
+    public void retryLater(String error, int maxAttempts) {
+        this.attempts++;
+        this.lastError = abbreviate(error);
+        if (attempts >= maxAttempts) {
+            this.status = FAILED;
+            return;
+        }
+        long backoffSeconds = Math.min(1L << Math.min(attempts, 20), MAX_BACKOFF_SECONDS);
+        this.nextAttemptAt = LocalDateTime.now().plusSeconds(backoffSeconds);
+    }
+
+    public void fail(String error) {
+        this.attempts++;
+        this.lastError = abbreviate(error);
+        this.status = FAILED;
+    }
+
+    private static String abbreviate(String error) {
+        if (error == null || error.length() <= MAX_ERROR_LENGTH) {
+            return error;
+        }
+        return error.substring(0, MAX_ERROR_LENGTH);
+    }
+}
@@ -0,0 +1,4 @@
+package com.tobe.healthy.common.event.outbox;
+
+public record OutboxEventCreated(Long outboxEventId, String laneKey) {
+}
@@ -0,0 +1,37 @@
+package com.tobe.healthy.common.event.outbox;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+	boolean existsByEventKey(String eventKey);
+
+	long countByStatus(OutboxStatus status);
+
+	// 다른 서버가 수거 중(행 잠금)인 이벤트는 건너뛴다. 잠금은 같은 트랜잭션의 lease 까지만 유지된다.
+	@Query(value = "select outbox_event_id from outbox_event where status = 'PENDING' and next_attempt_at <= :now " +
+		"order by outbox_event_id limit :limit for update skip locked", nativeQuery = true)
+	List<Long> findClaimableIds(LocalDateTime now, int limit);
+
+	// 수거한 이벤트의 다음 수거 시각을 늦춰서 다른 서버의 폴링이 lease 동안 다시 수거하지 않게 한다.
+	@Modifying(flushAutomatically = true)
+	@Query("update OutboxEvent o set o.nextAttemptAt = :leaseUntil where o.id in :outboxEventIds")
+	int lease(List<Long> outboxEventIds, LocalDateTime leaseUntil);
+
+	// 처리 트랜잭션의 첫 UPDATE 로 이벤트를 선점한다. 반환값이 0 이면 이미 처리된 이벤트다.
+	@Modifying(flushAutomatically = true)
+	@Query("update OutboxEvent o set o.status = com.tobe.healthy.common.event.outbox.OutboxStatus.DONE, o.processedAt = local datetime, o.updatedAt = local datetime " +
+		"where o.id = :outboxEventId and o.status = com.tobe.healthy.common.event.outbox.OutboxStatus.PENDING")
+	int claim(Long outboxEventId);
+
+	// 보존 기간이 지난 처리 완료 이벤트를 limit 건씩 삭제한다.
+	@Modifying
+	@Query(value = "delete from outbox_event where status = 'DONE' and processed_at < :before limit :limit", nativeQuery = true)
+	int deleteDone(LocalDateTime before, int limit);
+
+}
@@ -0,0 +1,16 @@
+package com.tobe.healthy.common.event.outbox;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public enum OutboxStatus {
+
+    PENDING("처리 대기"),
+    DONE("처리 완료"),
+    FAILED("재시도 횟수 초과 또는 재시도 불가");
+
+    private final String description;
+
+}
@@ -1,5 +1,6 @@
 package com.tobe.healthy.config.jwt;
 
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -23,9 +24,19 @@ public class JwtFilter extends OncePerRequestFilter {
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
         String token = tokenProvider.resolveToken(request);
-        if (hasText(token) && tokenProvider.validateToken(token)) {
-            Authentication authentication = tokenProvider.getAuthentication(token);
-            SecurityContextHolder.getContext().setAuthentication(authentication);
+        boolean streamRequest = false;
+        if (!hasText(token)) {
+            token = tokenProvider.resolveStreamToken(request);
+            streamRequest = hasText(token);
+        }
+
+        if (hasText(token)) {
+            Claims claims = tokenProvider.verify(token);
+            // 스트림 토큰은 쿼리 파라미터로만, 액세스 토큰은 헤더로만 인증한다.
+            if (tokenProvider.isStreamToken(claims) == streamRequest) {
+                Authentication authentication = tokenProvider.getAuthentication(claims);
+                SecurityContextHolder.getContext().setAuthentication(authentication);
+            }
         }
 
         filterChain.doFilter(request, response);
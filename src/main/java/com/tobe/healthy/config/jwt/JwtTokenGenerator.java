@@ -23,15 +23,18 @@ import static io.jsonwebtoken.SignatureAlgorithm.HS256;
 public class JwtTokenGenerator {
     private final Long accessTokenValidSeconds;
     private final Long refreshTokenValidSeconds;
+    private final Long streamTokenValidSeconds;
     private final Key key;
     private final RedisService redisService;
 
     public JwtTokenGenerator(@Value("${jwt.access-token-valid-seconds}") Long accessTokenValidSeconds,
                              @Value("${jwt.refresh-token-valid-seconds}") Long refreshTokenValidSeconds,
+                             @Value("${jwt.stream-token-valid-seconds:60}") Long streamTokenValidSeconds,
                              @Value("${jwt.secret}")  String jwtSecret,
                              RedisService redisService) {
         this.accessTokenValidSeconds = accessTokenValidSeconds;
         this.refreshTokenValidSeconds = refreshTokenValidSeconds;
+        this.streamTokenValidSeconds = streamTokenValidSeconds;
         this.key = Keys.hmacShaKeyFor(jwtSecret.getBytes());
         this.redisService = redisService;
     }
@@ -62,6 +65,21 @@ public class JwtTokenGenerator {
         return new Tokens(memberId, name, changedAccessToken, refreshToken, userId, memberType, gym);
     }
 
+    // EventSource 는 헤더를 보낼 수 없어 쿼리 파라미터로 받는 알림 스트림 전용 토큰 (URL 이 로그에 남으므로 짧게 유지한다.)
+    public String createStreamToken(Long memberId, String userId, MemberType memberType) {
+        Map<String, Object> claims = new HashMap<>();
+        claims.put("memberId", memberId);
+        claims.put("userId", userId);
+        claims.put("memberType", memberType.name());
+        claims.put("scope", JwtTokenProvider.STREAM_SCOPE);
+        return Jwts.builder()
+                .claims(claims)
+                .issuedAt(new Date())
+                .expiration(new Date(new Date().getTime() + streamTokenValidSeconds * 1000))
+                .signWith(key, HS256)
+                .compact();
+    }
+
     private String createAccessToken(Long memberId, String userId, String memberType, Date expiry, Gym gym) {
         Map<String, Object> claims = createClaims(memberId, userId, memberType, gym);
         return Jwts.builder()
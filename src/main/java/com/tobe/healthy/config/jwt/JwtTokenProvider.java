@@ -1,64 +1,105 @@
 package com.tobe.healthy.config.jwt;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hashing;
 import com.tobe.healthy.config.security.CustomMemberDetailService;
+import com.tobe.healthy.config.security.CustomMemberDetails;
+import com.tobe.healthy.member.domain.entity.MemberType;
 import io.jsonwebtoken.Claims;
-import io.jsonwebtoken.Jws;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
-import jakarta.annotation.PostConstruct;
+import io.jsonwebtoken.security.Keys;
 import jakarta.servlet.http.HttpServletRequest;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
-import java.util.Base64;
 import java.util.Date;
 
-import static java.lang.String.valueOf;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.concurrent.TimeUnit.SECONDS;
 
 @Component
-@RequiredArgsConstructor
 @Slf4j
 public class JwtTokenProvider {
 
+    public static final String STREAM_SCOPE = "notification-stream";
+    private static final String STREAM_PATH = "/notification/v1/stream";
+    private static final String STREAM_TOKEN_PARAMETER = "token";
+    private static final String BEARER_PREFIX = "Bearer ";
+    private static final long CLAIMS_CACHE_MAXIMUM_SIZE = 50_000;
+
     private final CustomMemberDetailService customMemberDetailService;
+    private final JwtParser jwtParser;
 
-    @Value("${jwt.secret}")
-    private String secretKey;
+    // 검증이 끝난 토큰의 claims 캐시 (key: 토큰 SHA-256 digest, 토큰 원문은 보관하지 않는다)
+    private final Cache<HashCode, Claims> verifiedClaims;
 
-    @PostConstruct
-    protected void init() {
-        secretKey = Base64.getEncoder().encodeToString(secretKey.getBytes());
+    public JwtTokenProvider(CustomMemberDetailService customMemberDetailService,
+                            @Value("${jwt.secret}") String jwtSecret,
+                            @Value("${jwt.access-token-valid-seconds}") Long accessTokenValidSeconds) {
+        this.customMemberDetailService = customMemberDetailService;
+        this.jwtParser = Jwts.parser()
+                .verifyWith(Keys.hmacShaKeyFor(jwtSecret.getBytes()))
+                .build();
+        this.verifiedClaims = CacheBuilder.newBuilder()
+                .maximumSize(CLAIMS_CACHE_MAXIMUM_SIZE)
+                .expireAfterWrite(accessTokenValidSeconds, SECONDS)
+                .build();
     }
 
     public String resolveToken(HttpServletRequest request) {
         return request.getHeader("Authorization");
     }
 
+    // 알림 스트림(SSE) 연결만 쿼리 파라미터의 스트림 토큰을 받는다.
+    public String resolveStreamToken(HttpServletRequest request) {
+        String token = request.getParameter(STREAM_TOKEN_PARAMETER);
+        if (!STREAM_PATH.equals(request.getRequestURI()) || token == null || token.isBlank()) {
+            return null;
+        }
+        return BEARER_PREFIX + token;
+    }
+
+    public boolean isStreamToken(Claims claims) {
+        return STREAM_SCOPE.equals(claims.get("scope", String.class));
+    }
+
     public Claims decode(String token) {
-        return Jwts.parser()
-                .setSigningKey(secretKey)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        return jwtParser.parseSignedClaims(token).getPayload();
+    }
+
+    // Jwt 토큰의 서명 + 만료일자를 한 번만 검증하고 claims 를 반환
+    public Claims verify(String bearerToken) {
+        String token = bearerToken.substring(BEARER_PREFIX.length());
+        HashCode digest = Hashing.sha256().hashString(token, UTF_8);
+
+        Claims cached = verifiedClaims.getIfPresent(digest);
+        if (cached != null && !isExpired(cached)) {
+            return cached;
+        }
+
+        // 만료된 토큰은 파싱 단계에서 ExpiredJwtException 이 발생한다.
+        Claims claims = decode(token);
+        verifiedClaims.put(digest, claims);
+        return claims;
     }
 
-    // Jwt 토큰으로 인증 정보를 조회
-    public Authentication getAuthentication(String token) {
-        Claims claims = decode(token.substring("Bearer ".length()));
-        UserDetails userDetails = customMemberDetailService.loadUserByUsername(valueOf(claims.get("memberId")));
+    // 검증된 claims 로 인증 정보를 구성 (DB 조회 없음)
+    public Authentication getAuthentication(Claims claims) {
+        CustomMemberDetails userDetails = customMemberDetailService.loadUserByClaims(
+                claims.get("memberId", Long.class),
+                claims.get("userId", String.class),
+                MemberType.valueOf(claims.get("memberType", String.class))
+        );
         return new UsernamePasswordAuthenticationToken(userDetails, "", userDetails.getAuthorities());
     }
 
-    // Jwt 토큰의 유효성 + 만료일자 확인
-    public boolean validateToken(String jwtToken) {
-        Jws<Claims> claims = Jwts.parser()
-                .setSigningKey(secretKey)
-                .build()
-                .parseSignedClaims(jwtToken.substring("Bearer ".length()));
-        return !claims.getBody().getExpiration().before(new Date());// 만료시간이 현재시간보다 전인지 확인
+    private boolean isExpired(Claims claims) {
+        return claims.getExpiration().before(new Date());
     }
 }
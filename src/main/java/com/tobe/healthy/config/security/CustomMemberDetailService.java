@@ -1,6 +1,7 @@
 package com.tobe.healthy.config.security;
 
 import com.tobe.healthy.common.error.CustomException;
+import com.tobe.healthy.member.domain.entity.MemberType;
 import com.tobe.healthy.member.repository.MemberRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -15,6 +16,7 @@ import static com.tobe.healthy.common.error.ErrorCode.MEMBER_NOT_FOUND;
 public class CustomMemberDetailService implements UserDetailsService {
 
 	private final MemberRepository memberRepository;
+	private final MemberSnapshotCache memberSnapshotCache;
 
 	@Override
 	public UserDetails loadUserByUsername(String userId) throws UsernameNotFoundException {
@@ -22,4 +24,10 @@ public class CustomMemberDetailService implements UserDetailsService {
 			.map(CustomMemberDetails::new)
 			.orElseThrow(() -> new CustomException(MEMBER_NOT_FOUND));
 	}
+
+	// 서명이 검증된 JWT claims 로 인증 정보를 구성하고, 회원 정보는 필요할 때 스냅샷 캐시에서 조회한다.
+	public CustomMemberDetails loadUserByClaims(Long memberId, String userId, MemberType memberType) {
+		return new CustomMemberDetails(memberId, userId, memberType,
+				() -> memberSnapshotCache.getSnapshot(memberId), () -> memberSnapshotCache.get(memberId));
+	}
 }
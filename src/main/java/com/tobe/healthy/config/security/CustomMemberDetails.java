@@ -1,8 +1,10 @@
 package com.tobe.healthy.config.security;
 
+import com.google.common.base.Supplier;
+import com.google.common.base.Suppliers;
 import com.tobe.healthy.member.domain.entity.Member;
 import com.tobe.healthy.member.domain.entity.MemberType;
-import lombok.Data;
+import lombok.Getter;
 import lombok.ToString;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
@@ -14,23 +16,55 @@ import java.util.List;
 
 import static com.tobe.healthy.member.domain.entity.MemberType.STUDENT;
 import static com.tobe.healthy.member.domain.entity.MemberType.TRAINER;
+import static lombok.AccessLevel.NONE;
 
-@Data
+@Getter
 @ToString
 public class CustomMemberDetails implements UserDetails {
 
-	private Member member;
+	private final Long memberId;
+
+	private final String userId;
+
+	private final MemberType memberType;
+
+	// 헬스장 변경처럼 토큰 발급 이후 바뀌는 값은 스냅샷에서 조회한다.
+	@Getter(NONE)
+	@ToString.Exclude
+	private final Supplier<MemberSnapshot> snapshotLoader;
+
+	// Member 엔티티가 필요한 경우에만 조회한다.
+	@Getter(NONE)
+	@ToString.Exclude
+	private final Supplier<Member> memberLoader;
 
 	public CustomMemberDetails(Member member) {
-		this.member = member;
+		this(member.getId(), member.getUserId(), member.getMemberType(), () -> MemberSnapshot.from(member), () -> member);
+	}
+
+	public CustomMemberDetails(Long memberId, String userId, MemberType memberType,
+							   Supplier<MemberSnapshot> snapshotLoader, Supplier<Member> memberLoader) {
+		this.memberId = memberId;
+		this.userId = userId;
+		this.memberType = memberType;
+		this.snapshotLoader = Suppliers.memoize(snapshotLoader);
+		this.memberLoader = Suppliers.memoize(memberLoader);
+	}
+
+	public Long getGymId() {
+		return snapshotLoader.get().gymId();
+	}
+
+	public Member getMember() {
+		return memberLoader.get();
 	}
 
 	@Override
 	public Collection<? extends GrantedAuthority> getAuthorities() {
 		List<GrantedAuthority> roles = new ArrayList<>();
-		if (member.getMemberType().equals(STUDENT)) {
+		if (STUDENT.equals(memberType)) {
 			roles.add(new SimpleGrantedAuthority("ROLE_STUDENT"));
-		} else if (member.getMemberType().equals(TRAINER)) {
+		} else if (TRAINER.equals(memberType)) {
 			roles.add(new SimpleGrantedAuthority("ROLE_TRAINER"));
 		}
 		return roles;
@@ -38,12 +72,12 @@ public class CustomMemberDetails implements UserDetails {
 
 	@Override
 	public String getPassword() {
-		return member.getPassword();
+		return snapshotLoader.get().password();
 	}
 
 	@Override
 	public String getUsername() {
-		return member.getUserId();
+		return userId;
 	}
 
 	@Override
@@ -65,12 +99,4 @@ public class CustomMemberDetails implements UserDetails {
 	public boolean isEnabled() {
 		return true;
 	}
-
-	public Long getMemberId() {
-		return member.getId();
-	}
-
-	public MemberType getMemberType() {
-		return member.getMemberType();
-	}
 }
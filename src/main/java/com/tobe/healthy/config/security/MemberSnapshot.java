@@ -0,0 +1,49 @@
+package com.tobe.healthy.config.security;
+
+import com.tobe.healthy.member.domain.entity.AlarmStatus;
+import com.tobe.healthy.member.domain.entity.Member;
+import com.tobe.healthy.member.domain.entity.MemberType;
+import com.tobe.healthy.member.domain.entity.SocialType;
+
+// 요청 스레드 간에 공유되는 회원 정보 (변경 불가). 연관관계는 ID 만 보관한다.
+public record MemberSnapshot(
+		Long id,
+		String userId,
+		String email,
+		String password,
+		String name,
+		MemberType memberType,
+		AlarmStatus pushAlarmStatus,
+		AlarmStatus communityAlarmStatus,
+		AlarmStatus feedbackAlarmStatus,
+		AlarmStatus scheduleNoticeStatus,
+		AlarmStatus dietNoticeStatus,
+		Long gymId,
+		Long memberProfileId,
+		SocialType socialType,
+		String nickname,
+		boolean delYn
+) {
+
+	// 지연 로딩 프록시의 ID 조회는 초기화하지 않으므로 추가 쿼리가 발생하지 않는다.
+	public static MemberSnapshot from(Member member) {
+		return new MemberSnapshot(
+				member.getId(),
+				member.getUserId(),
+				member.getEmail(),
+				member.getPassword(),
+				member.getName(),
+				member.getMemberType(),
+				member.getPushAlarmStatus(),
+				member.getCommunityAlarmStatus(),
+				member.getFeedbackAlarmStatus(),
+				member.getScheduleNoticeStatus(),
+				member.getDietNoticeStatus(),
+				member.getGym() != null ? member.getGym().getId() : null,
+				member.getMemberProfile() != null ? member.getMemberProfile().getId() : null,
+				member.getSocialType(),
+				member.getNickname(),
+				member.isDelYn()
+		);
+	}
+}
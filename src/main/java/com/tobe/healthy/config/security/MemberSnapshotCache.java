@@ -0,0 +1,85 @@
+package com.tobe.healthy.config.security;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.tobe.healthy.common.error.CustomException;
+import com.tobe.healthy.gym.domain.entity.Gym;
+import com.tobe.healthy.member.domain.entity.Member;
+import com.tobe.healthy.member.domain.entity.MemberProfile;
+import com.tobe.healthy.member.repository.MemberRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+import static com.tobe.healthy.common.TransactionCallbacks.afterCompletion;
+import static com.tobe.healthy.common.error.ErrorCode.MEMBER_NOT_FOUND;
+
+/**
+ * 인증 주체(CustomMemberDetails)가 회원 정보를 필요로 할 때 사용하는 회원 스냅샷 캐시.
+ * 캐시에는 변경 불가능한 MemberSnapshot 을 저장하고, Member 엔티티는 호출할 때마다 새로 만들어 반환한다.
+ * 반환되는 Member 는 영속성 컨텍스트와 분리된 상태이므로 지연 로딩 연관관계는 ID 외에 접근하면 안 된다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MemberSnapshotCache {
+
+	private static final long MAXIMUM_SIZE = 10_000;
+	private static final Duration EXPIRE_AFTER_WRITE = Duration.ofMinutes(1);
+
+	private final MemberRepository memberRepository;
+
+	@PersistenceContext
+	private EntityManager em;
+
+	private final Cache<Long, MemberSnapshot> cache = CacheBuilder.newBuilder()
+			.maximumSize(MAXIMUM_SIZE)
+			.expireAfterWrite(EXPIRE_AFTER_WRITE)
+			.build();
+
+	public MemberSnapshot getSnapshot(Long memberId) {
+		MemberSnapshot snapshot = cache.getIfPresent(memberId);
+		if (snapshot == null) {
+			snapshot = memberRepository.findById(memberId)
+					.map(MemberSnapshot::from)
+					.orElseThrow(() -> new CustomException(MEMBER_NOT_FOUND));
+			cache.put(memberId, snapshot);
+		}
+		return snapshot;
+	}
+
+	public Member get(Long memberId) {
+		MemberSnapshot snapshot = getSnapshot(memberId);
+		return Member.builder()
+				.id(snapshot.id())
+				.userId(snapshot.userId())
+				.email(snapshot.email())
+				.password(snapshot.password())
+				.name(snapshot.name())
+				.memberType(snapshot.memberType())
+				.pushAlarmStatus(snapshot.pushAlarmStatus())
+				.communityAlarmStatus(snapshot.communityAlarmStatus())
+				.feedbackAlarmStatus(snapshot.feedbackAlarmStatus())
+				.scheduleNoticeStatus(snapshot.scheduleNoticeStatus())
+				.dietNoticeStatus(snapshot.dietNoticeStatus())
+				.gym(snapshot.gymId() != null ? em.getReference(Gym.class, snapshot.gymId()) : null)
+				.memberProfile(snapshot.memberProfileId() != null ? em.getReference(MemberProfile.class, snapshot.memberProfileId()) : null)
+				.socialType(snapshot.socialType())
+				.nickname(snapshot.nickname())
+				.delYn(snapshot.delYn())
+				.build();
+	}
+
+	// 커밋 전에 다른 요청이 변경 전 회원 정보를 다시 캐시할 수 있으므로 트랜잭션이 끝난 뒤 한 번 더 제거한다.
+	public void evict(Long memberId) {
+		if (memberId == null) {
+			return;
+		}
+		cache.invalidate(memberId);
+		afterCompletion(() -> cache.invalidate(memberId));
+	}
+}
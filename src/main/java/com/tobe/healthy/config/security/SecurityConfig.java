@@ -1,5 +1,7 @@
 package com.tobe.healthy.config.security;
 
+import static jakarta.servlet.DispatcherType.ASYNC;
+import static jakarta.servlet.DispatcherType.ERROR;
 import static org.springframework.security.config.http.SessionCreationPolicy.STATELESS;
 
 import com.tobe.healthy.config.jwt.JwtFilter;
@@ -45,6 +47,8 @@ public class SecurityConfig {
             })
             .authorizeHttpRequests(
                 authorize -> authorize
+                        // SSE 연결 종료 시의 비동기 디스패치는 JwtFilter 를 거치지 않는다.
+                        .dispatcherTypeMatchers(ASYNC, ERROR).permitAll()
                         .requestMatchers("/auth/v1/**", "/favicon.ico", "/actuator/**", "/push/v1/webview", "/schedule/v1/all/{trainerId}").permitAll()
                         .anyRequest().authenticated())
             .addFilterBefore(new JwtFilter(jwtTokenProvider), UsernamePasswordAuthenticationFilter.class)
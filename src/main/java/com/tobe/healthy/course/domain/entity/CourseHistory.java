@@ -12,7 +12,7 @@ import static jakarta.persistence.FetchType.LAZY;
 
 
 @Entity
-@Table(name = "course_history")
+@Table(name = "course_history", indexes = @Index(name = "idx_course_history_trainer_created_at", columnList = "trainer_id, created_at"))
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @Getter
 @ToString
@@ -37,7 +37,7 @@ public class CourseController {
     @PreAuthorize("hasAuthority('ROLE_TRAINER')")
     public ResponseHandler<Void> addCourse(@AuthenticationPrincipal CustomMemberDetails customMemberDetails,
                                            @RequestBody @Valid CourseAddCommand command) {
-        courseService.addCourse(customMemberDetails.getMember().getId(), command);
+        courseService.addCourse(customMemberDetails.getMemberId(), command);
         return ResponseHandler.<Void>builder()
                 .message("수강권이 등록되었습니다.")
                 .build();
@@ -51,7 +51,7 @@ public class CourseController {
     @PreAuthorize("hasAuthority('ROLE_TRAINER')")
     public ResponseHandler<Void> deleteCourse(@AuthenticationPrincipal CustomMemberDetails customMemberDetails,
                                               @Parameter(description = "수강권 ID") @PathVariable("courseId") Long courseId) {
-        courseService.deleteCourseByTrainer(customMemberDetails.getMember().getId(), courseId);
+        courseService.deleteCourseByTrainer(customMemberDetails.getMemberId(), courseId);
         return ResponseHandler.<Void>builder()
                 .message("수강권이 삭제되었습니다.")
                 .build();
@@ -67,7 +67,7 @@ public class CourseController {
     public ResponseHandler<Void> updateCourse(@AuthenticationPrincipal CustomMemberDetails customMemberDetails,
                                               @Parameter(description = "수강권 ID") @PathVariable("courseId") Long courseId,
                                               @RequestBody @Valid CourseUpdateCommand command) {
-        courseService.updateCourseByTrainer(customMemberDetails.getMember().getId(), courseId, command);
+        courseService.updateCourseByTrainer(customMemberDetails.getMemberId(), courseId, command);
         return ResponseHandler.<Void>builder()
                 .message("수강권 횟수가 증가 및 차감 되었습니다.")
                 .build();
@@ -1,10 +1,8 @@
 package com.tobe.healthy.course.repository;
 
-import com.querydsl.core.types.ConstantImpl;
 import com.querydsl.core.types.dsl.BooleanExpression;
-import com.querydsl.core.types.dsl.Expressions;
-import com.querydsl.core.types.dsl.StringTemplate;
 import com.querydsl.jpa.impl.JPAQueryFactory;
+import com.tobe.healthy.common.SearchDateRange;
 import com.tobe.healthy.course.domain.entity.CourseHistory;
 import com.tobe.healthy.course.domain.entity.CourseHistoryType;
 import lombok.RequiredArgsConstructor;
@@ -77,14 +75,7 @@ public class CourseHistoryRepositoryCustomImpl implements CourseHistoryRepositor
     }
 
     private BooleanExpression convertDateFormat(String searchDate) {
-        if (!ObjectUtils.isEmpty(searchDate)){
-            StringTemplate stringTemplate = Expressions.stringTemplate(
-                    "DATE_FORMAT({0}, {1})"
-                    , courseHistory.createdAt
-                    , ConstantImpl.create("%Y-%m"));
-            return stringTemplate.eq(searchDate);
-        }
-        return null;
+        return SearchDateRange.within(courseHistory.createdAt, searchDate);
     }
 
 }
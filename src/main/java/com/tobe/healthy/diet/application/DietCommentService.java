@@ -1,6 +1,7 @@
 package com.tobe.healthy.diet.application;
 
 import com.tobe.healthy.common.CustomPaging;
+import com.tobe.healthy.common.EngagementCounter;
 import com.tobe.healthy.common.error.CustomException;
 import com.tobe.healthy.diet.domain.dto.DietCommentDto;
 import com.tobe.healthy.diet.domain.dto.in.DietCommentAddCommand;
@@ -20,6 +21,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 
+import static com.tobe.healthy.common.EngagementTarget.DIET_COMMENT;
 import static com.tobe.healthy.common.error.ErrorCode.COMMENT_NOT_FOUND;
 import static com.tobe.healthy.common.error.ErrorCode.DIET_NOT_FOUND;
 
@@ -32,6 +34,7 @@ public class DietCommentService {
 
     private final DietCommentRepository commentRepository;
     private final DietRepository dietRepository;
+    private final EngagementCounter engagementCounter;
 
 
     public CustomPaging<DietCommentDto> getCommentsByDietId(Long dietId, Pageable pageable) {
@@ -71,7 +74,7 @@ public class DietCommentService {
             orderNum = commentCnt;
         }
         commentRepository.save(DietComment.create(diet, member, command, depth, orderNum));
-        diet.updateCommentCnt(++commentCnt);
+        engagementCounter.increment(DIET_COMMENT, diet.getDietId());
     }
 
     public DietCommentDto updateComment(Member member, Long dietId, Long commentId, DietCommentAddCommand command) {
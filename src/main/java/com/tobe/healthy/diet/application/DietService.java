@@ -1,6 +1,9 @@
 package com.tobe.healthy.diet.application;
 
+import com.tobe.healthy.common.ActivityCalendar;
 import com.tobe.healthy.common.CustomPaging;
+import com.tobe.healthy.common.EngagementCounter;
+import com.tobe.healthy.common.KotlinCursorPaging;
 import com.tobe.healthy.common.error.CustomException;
 import com.tobe.healthy.common.redis.RedisService;
 import com.tobe.healthy.diet.domain.dto.DietDetailDto;
@@ -32,9 +35,13 @@ import org.springframework.util.ObjectUtils;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 
+import static com.tobe.healthy.common.ActivityType.DIET;
+import static com.tobe.healthy.common.EngagementTarget.DIET_COMMENT;
+import static com.tobe.healthy.common.EngagementTarget.DIET_LIKE;
 import static com.tobe.healthy.common.Utils.S3_DOMAIN;
 import static com.tobe.healthy.common.error.ErrorCode.*;
 import static com.tobe.healthy.diet.domain.entity.DietType.*;
@@ -47,6 +54,8 @@ import static com.tobe.healthy.member.domain.entity.MemberType.TRAINER;
 @Slf4j
 public class DietService {
 
+    private static final int MAX_CURSOR_PAGE_SIZE = 50;
+
     private final DietRepository dietRepository;
     private final DietLikeRepository dietLikeRepository;
     private final DietFileRepository dietFileRepository;
@@ -55,6 +64,8 @@ public class DietService {
     private final MemberRepository memberRepository;
     private final RedisService redisService;
     private final DietCommentRepository commentRepository;
+    private final EngagementCounter engagementCounter;
+    private final ActivityCalendar activityCalendar;
 
     public DietDto getTodayDiet(Long memberId) {
         Diet diet = dietRepository.getTodayDiet(memberId);
@@ -63,6 +74,7 @@ public class DietService {
         dietLikeRepository.findById(DietLikePK.create(diet, diet.getMember()))
                 .ifPresent(i -> {dietDto.setLiked(true);});
         setDietFile(dietDto, List.of(diet.getDietId()));
+        setEngagementCnt(List.of(dietDto));
         return dietDto;
     }
 
@@ -71,6 +83,7 @@ public class DietService {
         List<DietDto> dietDtos = pageDtos.stream().toList();
         List<Long> ids = dietDtos.stream().map(DietDto::getDietId).collect(Collectors.toList());
         setDietFile(dietDtos, ids);
+        setEngagementCnt(dietDtos);
         return new CustomPaging<>(dietDtos, pageDtos.getPageable().getPageNumber(),
                 pageDtos.getPageable().getPageSize(), pageDtos.getTotalPages(), pageDtos.getTotalElements(), pageDtos.isLast());
     }
@@ -83,14 +96,16 @@ public class DietService {
             throw new CustomException(LIKE_ALREADY_EXISTS);
         });
         dietLikeRepository.save(DietLike.from(likePk));
-        diet.updateLikeCnt(dietLikeRepository.getLikeCnt(diet.getDietId()));
+        engagementCounter.increment(DIET_LIKE, diet.getDietId());
     }
 
     public void deleteLikeDiet(Member member, Long dietId) {
         Diet diet = dietRepository.findByDietIdAndDelYnFalse(dietId)
                 .orElseThrow(() -> new CustomException(DIET_NOT_FOUND));
-        dietLikeRepository.delete(DietLike.from(DietLikePK.create(diet, member)));
-        diet.updateLikeCnt(dietLikeRepository.getLikeCnt(diet.getDietId()));
+        dietLikeRepository.findById(DietLikePK.create(diet, member)).ifPresent(like -> {
+            dietLikeRepository.delete(like);
+            engagementCounter.decrement(DIET_LIKE, diet.getDietId());
+        });
     }
 
     public DietDto addDietAtHome(Member member, DietAddCommandAtHome command) {
@@ -127,7 +142,13 @@ public class DietService {
         DietDto dietDto = DietDto.from(diet);
         setDietFile(dietDto, List.of(diet.getDietId()));
 
-        if(isClean(dietDto) && commentNotExists(diet)) diet.deleteDiet();
+        // 사진, 단식이 모두 없어져 삭제되는 식단은 활동일에서도 지운다. (addDiet 의 중복 확인이 남은 비트를 읽지 않도록)
+        if(isClean(dietDto) && commentNotExists(diet)) {
+            diet.deleteDiet();
+            activityCalendar.evict(DIET, memberId, diet.getEatDate());
+        } else {
+            activityCalendar.mark(DIET, memberId, diet.getEatDate());
+        }
         log.info("[홈에서 식단 등록] member: {}, diet: {}", member, diet);
         return dietDto;
     }
@@ -149,9 +170,21 @@ public class DietService {
         DietDto dietDto = dietRepository.getDietById(loginMemberId, dietId);
         if(dietDto == null) throw new CustomException(DIET_NOT_FOUND);
         setDietFile(dietDto, List.of(dietId));
+        setEngagementCnt(List.of(dietDto));
         return dietDto;
     }
 
+    // 좋아요, 댓글 수는 아직 DB 에 반영되지 않은 증감을 더해서 반환한다.
+    private void setEngagementCnt(List<DietDto> dietDtos) {
+        List<Long> ids = dietDtos.stream().map(DietDto::getDietId).toList();
+        Map<Long, Long> likes = engagementCounter.pending(DIET_LIKE, ids);
+        Map<Long, Long> comments = engagementCounter.pending(DIET_COMMENT, ids);
+        dietDtos.forEach(d -> {
+            d.setLikeCnt(Math.max(0, d.getLikeCnt() + likes.getOrDefault(d.getDietId(), 0L)));
+            d.setCommentCnt(Math.max(0, d.getCommentCnt() + comments.getOrDefault(d.getDietId(), 0L)));
+        });
+    }
+
     private void setDietFile(DietDto dietDto, List<Long> ids) {
         List<DietFiles> files = dietRepository.getDietFile(ids);
         List<DietFileDto> filesDto = files.stream().map(DietFileDto::from).collect(Collectors.toList());
@@ -159,29 +192,32 @@ public class DietService {
     }
 
     private void setDietFile(List<DietDto> dietDtos, List<Long> ids) {
-        List<DietFiles> files = dietRepository.getDietFile(ids);
-        dietDtos.stream().peek(d -> {
-            List<DietFileDto> thisFiles = files.stream().map(DietFileDto::from)
-                    .filter(f -> f.getDietId().equals(d.getDietId())).collect(Collectors.toList());
-            d.setDietFiles(thisFiles);
-        }).collect(Collectors.toList());
+        if (ids.isEmpty()) return;
+        Map<Long, List<DietFileDto>> filesByDietId = dietRepository.getDietFile(ids).stream()
+                .map(DietFileDto::from)
+                .collect(Collectors.groupingBy(DietFileDto::getDietId));
+        dietDtos.forEach(d -> d.setDietFiles(filesByDietId.getOrDefault(d.getDietId(), List.of())));
     }
 
     public void deleteDiet(Member member, Long dietId) {
         Diet diet = dietRepository.findByDietIdAndMemberIdAndDelYnFalse(dietId, member.getId())
                 .orElseThrow(() -> new CustomException(DIET_NOT_FOUND));
         diet.deleteDiet();
+        activityCalendar.evict(DIET, member.getId(), diet.getEatDate());
         dietLikeRepository.deleteLikeByDietId(dietId);
         diet.getDietFiles().forEach(file -> fileService.deleteDietFile(getFileName(file.getFileUrl())));
         log.info("[식단 삭제] member: {}, diet: {}", member, diet);
     }
 
     public DietDto addDiet(Member member, DietAddCommand command) {
-        List<String> uploadDays = dietRepository.getDietUploadDays(member.getId(), null, null);
-        if(uploadDays.contains(command.getEatDate())) throw new CustomException(DIET_ALREADY_EXISTS);
+        LocalDate eatDate = LocalDate.parse(command.getEatDate());
+        if(activityCalendar.exists(DIET, member.getId(), eatDate, (start, end) -> dietRepository.getDietUploadDays(member.getId(), start, end))) {
+            throw new CustomException(DIET_ALREADY_EXISTS);
+        }
 
         Member trainer = getMappedTrainer(member.getId());
         Diet diet = dietRepository.save(Diet.create(member, trainer, command));
+        activityCalendar.mark(DIET, member.getId(), diet.getEatDate());
         uploadNewFiles(diet, command);
         DietDto dietDto = DietDto.from(diet);
         setDietFile(dietDto, List.of(diet.getDietId()));
@@ -281,22 +317,32 @@ public class DietService {
     public CustomPaging<DietDto> getDietByTrainer(Long trainerId, Pageable pageable, String searchDate) {
         Member trainer = memberRepository.findByIdAndMemberTypeAndDelYnFalse(trainerId, TRAINER)
                 .orElseThrow(() -> new CustomException(TRAINER_NOT_FOUND));
-        Page<Diet> pageDtos = dietRepository.getDietByTrainer(trainer, pageable, searchDate);
-        List<DietDto> dietDtos = setFeedbackChecked(trainerId, pageDtos);
+        Page<DietDto> pageDtos = dietRepository.getDietByTrainer(trainer.getId(), pageable, searchDate);
+        List<DietDto> dietDtos = pageDtos.getContent();
         List<Long> ids = dietDtos.stream().map(DietDto::getDietId).collect(Collectors.toList());
         setDietFile(dietDtos, ids);
+        setEngagementCnt(dietDtos);
         return new CustomPaging<>(dietDtos, pageDtos.getPageable().getPageNumber(),
                 pageDtos.getPageable().getPageSize(), pageDtos.getTotalPages(), pageDtos.getTotalElements(), pageDtos.isLast());
     }
 
-    private List<DietDto> setFeedbackChecked(Long trainerId, Page<Diet> pageDtos) {
-        List<DietDto> dietDtos = pageDtos.map(diet -> {
-            DietDto dto = DietDto.from(diet);
-            Long feedbackCnt = commentRepository.countByDietAndMemberIdAndDelYnFalse(diet, trainerId);
-            dto.setFeedbackChecked(0 < feedbackCnt);
-            return dto;
-        }).stream().toList();
-        return dietDtos;
+    public KotlinCursorPaging<DietDto> getDietMyTrainer(Long studentId, String searchDate, Long cursor, int size) {
+        TrainerMemberMapping mapping = mappingRepository.findTop1ByMemberIdOrderByCreatedAtDesc(studentId)
+                .orElseThrow(() -> new CustomException(TRAINER_NOT_MAPPED));
+        return getDietByTrainer(mapping.getTrainer().getId(), searchDate, cursor, size);
+    }
+
+    // 커서 기반 트레이너 식단 피드: 식단 조회 1회, 파일 조회 1회 (다음 페이지 여부는 size + 1 건을 조회하여 판단한다.)
+    public KotlinCursorPaging<DietDto> getDietByTrainer(Long trainerId, String searchDate, Long cursor, int size) {
+        Member trainer = memberRepository.findByIdAndMemberTypeAndDelYnFalse(trainerId, TRAINER)
+                .orElseThrow(() -> new CustomException(TRAINER_NOT_FOUND));
+        int pageSize = Math.min(Math.max(size, 1), MAX_CURSOR_PAGE_SIZE);
+        List<DietDto> fetched = dietRepository.getDietByTrainer(trainer.getId(), searchDate, cursor, pageSize + 1);
+        KotlinCursorPaging<DietDto> page = KotlinCursorPaging.of(fetched, pageSize, DietDto::getDietId);
+        List<Long> ids = page.getContent().stream().map(DietDto::getDietId).collect(Collectors.toList());
+        setDietFile(page.getContent(), ids);
+        setEngagementCnt(page.getContent());
+        return page;
     }
 
     private String getFileName(String url) {
@@ -307,7 +353,7 @@ public class DietService {
     public DietUploadDaysResult getDietUploadDays(Long memberId, LocalDate startDate, LocalDate endDate) {
         Member member = memberRepository.findById(memberId)
                 .orElseThrow(() -> new CustomException(MEMBER_NOT_FOUND));
-        List<String> days = dietRepository.getDietUploadDays(memberId, startDate, endDate);
+        List<String> days = activityCalendar.days(DIET, memberId, startDate, endDate, (start, end) -> dietRepository.getDietUploadDays(memberId, start, end));
         return DietUploadDaysResult.create(member.getDietNoticeStatus(), days);
     }
 
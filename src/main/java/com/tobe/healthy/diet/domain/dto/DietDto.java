@@ -76,4 +76,13 @@ public class DietDto {
         this.dinner = new DietDetailDto(fastDinner);
     }
 
+    // 트레이너 식단 피드 (좋아요 여부, 트레이너 댓글 작성 여부를 함께 조회한다.)
+    @QueryProjection
+    public DietDto(Long dietId, Member member, boolean liked, Long likeCnt, Long commentCnt, LocalDate eatDate, boolean fastBreakfast, boolean fastLunch, boolean fastDinner,
+                   boolean feedbackChecked, LocalDateTime createdAt) {
+        this(dietId, member, liked, likeCnt, commentCnt, eatDate, fastBreakfast, fastLunch, fastDinner);
+        this.feedbackChecked = feedbackChecked;
+        this.createdAt = createdAt;
+    }
+
 }
@@ -6,6 +6,10 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.ToString;
 
+import java.util.Map;
+
+import static com.tobe.healthy.common.ImageVariantPipeline.variantUrls;
+
 @Data
 @ToString
 @Builder
@@ -14,12 +18,14 @@ public class DietFileDto {
     private Long id;
     private Long dietId;
     private String fileUrl;
+    private Map<Integer, String> variantUrls;
     private DietType type;
 
     public static DietFileDto from(DietFiles dietFile) {
         return DietFileDto.builder()
                 .id(dietFile.getId())
                 .fileUrl(dietFile.getFileUrl())
+                .variantUrls(variantUrls(dietFile.getFileUrl(), dietFile.getVariantsReady()))
                 .type(dietFile.getType())
                 .dietId(dietFile.getDiet().getDietId())
                 .build();
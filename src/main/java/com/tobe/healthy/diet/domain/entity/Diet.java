@@ -17,7 +17,10 @@ import java.util.List;
 import static jakarta.persistence.FetchType.LAZY;
 
 @Entity
-@Table(name = "diet")
+@Table(name = "diet", indexes = {
+        @Index(name = "idx_diet_member_eat_date", columnList = "member_id, eat_date"),
+        @Index(name = "idx_diet_trainer_created_at", columnList = "trainer_id, created_at, diet_id")
+})
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @AllArgsConstructor
 @Getter
@@ -12,7 +12,7 @@ import static lombok.AccessLevel.PROTECTED;
 @Entity
 @NoArgsConstructor(access = PROTECTED)
 @AllArgsConstructor
-@Table(name = "diet_files")
+@Table(name = "diet_files", indexes = @Index(name = "idx_diet_files_file_url", columnList = "file_url"))
 @Builder
 @Getter
 @ToString
@@ -41,6 +41,12 @@ public class DietFiles extends BaseTimeEntity<DietFiles, Long> {
 
     private String fileName;
 
+    // 너비별 사본을 모두 만든 뒤에 true 로 바뀐다. (ImageVariantPipeline)
+    @ColumnDefault("false")
+    @Builder.Default
+    @ToString.Exclude
+    private Boolean variantsReady = false;
+
     public static DietFiles create(Diet diet, String fileUrl, DietType type) {
         return DietFiles.builder()
                 .fileUrl(fileUrl)
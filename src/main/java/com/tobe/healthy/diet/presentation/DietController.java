@@ -81,7 +81,7 @@ public class DietController {
     @GetMapping("/today")
     public ResponseHandler<DietDto> getTodayDiet(@AuthenticationPrincipal CustomMemberDetails customMemberDetails) {
         return ResponseHandler.<DietDto>builder()
-                .data(dietService.getTodayDiet(customMemberDetails.getMember().getId()))
+                .data(dietService.getTodayDiet(customMemberDetails.getMemberId()))
                 .message("식단기록이 조회되었습니다.")
                 .build();
     }
@@ -160,7 +160,7 @@ public class DietController {
                                                                    @Parameter(description = "시작 날짜", example = "2024-03-01") @Param("startDate") LocalDate startDate,
                                                                    @Parameter(description = "종료 날짜", example = "2024-05-31") @Param("endDate") LocalDate endDate) {
         return ResponseHandler.<DietUploadDaysResult>builder()
-                .data(dietService.getDietUploadDays(customMemberDetails.getMember().getId(), startDate, endDate))
+                .data(dietService.getDietUploadDays(customMemberDetails.getMemberId(), startDate, endDate))
                 .message("업로드 날짜가 조회되었습니다.")
                 .build();
     }
@@ -3,7 +3,6 @@ package com.tobe.healthy.diet.repository;
 import com.tobe.healthy.diet.domain.dto.DietDto;
 import com.tobe.healthy.diet.domain.entity.Diet;
 import com.tobe.healthy.diet.domain.entity.DietFiles;
-import com.tobe.healthy.member.domain.entity.Member;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
@@ -16,7 +15,9 @@ public interface DietRepositoryCustom {
 
     List<DietFiles> getDietFile(List<Long> ids);
 
-    Page<Diet> getDietByTrainer(Member trainer, Pageable pageable, String searchDate);
+    Page<DietDto> getDietByTrainer(Long trainerId, Pageable pageable, String searchDate);
+
+    List<DietDto> getDietByTrainer(Long trainerId, String searchDate, Long cursor, int size);
 
     Diet getTodayDiet(Long memberId);
 
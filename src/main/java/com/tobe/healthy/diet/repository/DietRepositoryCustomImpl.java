@@ -6,15 +6,17 @@ import com.querydsl.core.types.Projections;
 import com.querydsl.core.types.dsl.BooleanExpression;
 import com.querydsl.core.types.dsl.CaseBuilder;
 import com.querydsl.core.types.dsl.Expressions;
-import com.querydsl.core.types.dsl.StringTemplate;
 import com.querydsl.jpa.JPAExpressions;
+import com.querydsl.jpa.JPQLQuery;
+import com.querydsl.jpa.impl.JPAQuery;
 import com.querydsl.jpa.impl.JPAQueryFactory;
+import com.tobe.healthy.common.SearchDateRange;
 import com.tobe.healthy.diet.domain.dto.DietDto;
 import com.tobe.healthy.diet.domain.dto.QDietDto;
 import com.tobe.healthy.diet.domain.entity.Diet;
 import com.tobe.healthy.diet.domain.entity.DietFiles;
+import com.tobe.healthy.diet.domain.entity.QDiet;
 import com.tobe.healthy.diet.domain.entity.QDietComment;
-import com.tobe.healthy.member.domain.entity.Member;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -23,6 +25,7 @@ import org.springframework.stereotype.Repository;
 import org.springframework.util.ObjectUtils;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 
 import static com.tobe.healthy.diet.domain.entity.QDiet.diet;
@@ -108,21 +111,47 @@ public class DietRepositoryCustomImpl implements DietRepositoryCustom {
     }
 
     @Override
-    public Page<Diet> getDietByTrainer(Member trainer, Pageable pageable, String searchDate) {
-        Long totalCnt = queryFactory
+    public Page<DietDto> getDietByTrainer(Long trainerId, Pageable pageable, String searchDate) {
+        JPAQuery<Long> totalCnt = queryFactory
                 .select(diet.count())
                 .from(diet)
-                .where(dietTrainerIdEq(trainer), dietDeYnEq(false), convertEatDate_YYYY_MM_DD(searchDate))
-                .fetchOne();
-        List<Diet> diets = queryFactory
-                .select(diet)
-                .from(diet)
-                .where(dietTrainerIdEq(trainer), dietDeYnEq(false), convertEatDate_YYYY_MM_DD(searchDate))
-                .orderBy(diet.createdAt.desc())
+                .where(dietTrainerIdEq(trainerId), dietDeYnEq(false), convertEatDate_YYYY_MM_DD(searchDate));
+        List<DietDto> diets = selectDietFeed(trainerId)
+                .where(dietTrainerIdEq(trainerId), dietDeYnEq(false), convertEatDate_YYYY_MM_DD(searchDate))
+                .orderBy(diet.createdAt.desc(), diet.dietId.desc())
                 .offset(pageable.getOffset())
                 .limit(pageable.getPageSize())
                 .fetch();
-        return PageableExecutionUtils.getPage(diets, pageable, () -> totalCnt);
+        return PageableExecutionUtils.getPage(diets, pageable, totalCnt::fetchOne);
+    }
+
+    // 커서(마지막으로 조회한 식단 ID)의 (createdAt, dietId) 보다 이전 식단을 size 만큼 조회한다. 전체 건수는 세지 않는다.
+    @Override
+    public List<DietDto> getDietByTrainer(Long trainerId, String searchDate, Long cursor, int size) {
+        return selectDietFeed(trainerId)
+                .where(dietTrainerIdEq(trainerId), dietDeYnEq(false), convertEatDate_YYYY_MM_DD(searchDate), createdAtAndDietIdBefore(cursor))
+                .orderBy(diet.createdAt.desc(), diet.dietId.desc())
+                .limit(size)
+                .fetch();
+    }
+
+    // 식단, 트레이너의 좋아요 여부, 트레이너의 댓글 작성 여부를 한 번에 조회한다.
+    private JPAQuery<DietDto> selectDietFeed(Long trainerId) {
+        return queryFactory
+                .select(new QDietDto(diet.dietId, diet.member
+                        , isLiked()
+                        , diet.likeCnt, diet.commentCnt, diet.eatDate, diet.fastBreakfast, diet.fastLunch, diet.fastDinner
+                        , JPAExpressions.selectOne()
+                                .from(dietComment)
+                                .where(dietComment.diet.dietId.eq(diet.dietId)
+                                        , dietComment.member.id.eq(trainerId)
+                                        , dietComment.delYn.eq(false))
+                                .exists()
+                        , diet.createdAt))
+                .from(diet)
+                .leftJoin(dietLike)
+                .on(diet.dietId.eq(dietLike.dietLikePK.diet.dietId)
+                        , dietLike.dietLikePK.member.id.eq(trainerId));
     }
 
     private BooleanExpression isLiked() {
@@ -139,13 +168,25 @@ public class DietRepositoryCustomImpl implements DietRepositoryCustom {
         return null;
     }
 
-    private BooleanExpression dietTrainerIdEq(Member trainer) {
-        if (!ObjectUtils.isEmpty(trainer)){
-            return diet.trainer.id.eq(trainer.getId());
+    private BooleanExpression dietTrainerIdEq(Long trainerId) {
+        if (!ObjectUtils.isEmpty(trainerId)){
+            return diet.trainer.id.eq(trainerId);
         }
         return null;
     }
 
+    private BooleanExpression createdAtAndDietIdBefore(Long cursor) {
+        if (ObjectUtils.isEmpty(cursor)){
+            return null;
+        }
+        QDiet cursorDiet = new QDiet("cursorDiet");
+        JPQLQuery<LocalDateTime> cursorCreatedAt = JPAExpressions.select(cursorDiet.createdAt)
+                .from(cursorDiet)
+                .where(cursorDiet.dietId.eq(cursor));
+        return diet.createdAt.lt(cursorCreatedAt)
+                .or(diet.createdAt.eq(cursorCreatedAt).and(diet.dietId.lt(cursor)));
+    }
+
     private BooleanExpression dietDeYnEq(boolean bool) {
         if (!ObjectUtils.isEmpty(bool)){
             return diet.delYn.eq(bool);
@@ -161,12 +202,7 @@ public class DietRepositoryCustomImpl implements DietRepositoryCustom {
     }
 
     private BooleanExpression convertEatDate_YYYY_MM(String searchDate) {
-        if (ObjectUtils.isEmpty(searchDate)) return null;
-        StringTemplate stringTemplate = Expressions.stringTemplate(
-                "DATE_FORMAT({0}, {1})"
-                , diet.eatDate
-                , ConstantImpl.create("%Y-%m"));
-        return stringTemplate.eq(searchDate);
+        return SearchDateRange.within(diet.eatDate, searchDate);
     }
 
     private BooleanExpression eatDateBetween(LocalDate startDate, LocalDate endDate) {
@@ -177,12 +213,7 @@ public class DietRepositoryCustomImpl implements DietRepositoryCustom {
     }
 
     private BooleanExpression convertEatDate_YYYY_MM_DD(String searchDate) {
-        if (ObjectUtils.isEmpty(searchDate)) return null;
-        StringTemplate stringTemplate = Expressions.stringTemplate(
-                "DATE_FORMAT({0}, {1})"
-                , diet.eatDate
-                , ConstantImpl.create("%Y-%m-%d"));
-        return stringTemplate.eq(searchDate);
+        return SearchDateRange.within(diet.eatDate, searchDate);
     }
 
     private BooleanExpression delYnEq(boolean bool) {
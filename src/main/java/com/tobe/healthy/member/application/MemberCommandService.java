@@ -13,6 +13,7 @@ import static com.tobe.healthy.common.error.ErrorCode.MEMBER_NOT_FOUND;
 import static com.tobe.healthy.common.error.ErrorCode.MEMBER_NOT_MAPPED;
 import static com.tobe.healthy.common.error.ErrorCode.NOT_MATCH_PASSWORD;
 import static com.tobe.healthy.common.error.ErrorCode.PASSWORD_POLICY_VIOLATION;
+import static com.tobe.healthy.member.domain.entity.MemberType.TRAINER;
 import static io.micrometer.common.util.StringUtils.isEmpty;
 
 import com.amazonaws.services.s3.AmazonS3;
@@ -20,6 +21,7 @@ import com.amazonaws.services.s3.model.ObjectMetadata;
 import com.tobe.healthy.common.Utils;
 import com.tobe.healthy.common.error.CustomException;
 import com.tobe.healthy.common.redis.RedisService;
+import com.tobe.healthy.config.security.MemberSnapshotCache;
 import com.tobe.healthy.member.domain.dto.in.CommandAssignNickname;
 import com.tobe.healthy.member.domain.dto.in.CommandChangeEmail;
 import com.tobe.healthy.member.domain.dto.in.CommandChangeMemberPassword;
@@ -36,6 +38,8 @@ import com.tobe.healthy.member.domain.entity.Member;
 import com.tobe.healthy.member.repository.MemberRepository;
 import com.tobe.healthy.point.repository.PointRepository;
 import com.tobe.healthy.push.repository.MemberTokenRepository;
+import com.tobe.healthy.schedule.application.TrainerCalendarCache;
+import com.tobe.healthy.schedule.repository.TrainerScheduleRepository;
 import com.tobe.healthy.trainer.application.TrainerService;
 import com.tobe.healthy.trainer.domain.entity.TrainerMemberMapping;
 import com.tobe.healthy.trainer.respository.TrainerMemberMappingRepository;
@@ -66,6 +70,9 @@ public class MemberCommandService {
     private final PointRepository pointRepository;
     private final AmazonS3 amazonS3;
     private final MemberTokenRepository memberTokenRepository;
+    private final MemberSnapshotCache memberSnapshotCache;
+    private final TrainerScheduleRepository trainerScheduleRepository;
+    private final TrainerCalendarCache trainerCalendarCache;
 
     @Value("${aws.s3.bucket-name}")
     private String bucketName;
@@ -110,6 +117,7 @@ public class MemberCommandService {
                 break;
         }
         member.deleteMember();
+        memberSnapshotCache.evict(member.getId());
         return member.getUserId();
     }
 
@@ -132,6 +140,7 @@ public class MemberCommandService {
         String password = passwordEncoder.encode(request.getChangePassword1());
 
         member.changePassword(password);
+        memberSnapshotCache.evict(memberId);
 
         return true;
     }
@@ -158,6 +167,7 @@ public class MemberCommandService {
             String fileUrl = amazonS3.getUrl(bucketName, savedFileName).toString().replaceAll(S3_DOMAIN, CDN_DOMAIN);
 
             findMember.registerProfile(savedFileName, fileUrl);
+            memberSnapshotCache.evict(memberId);
 
             return RegisterMemberProfileResult.from(fileUrl, savedFileName);
         } catch (IOException e) {
@@ -180,6 +190,7 @@ public class MemberCommandService {
         amazonS3.deleteObject(bucketName, fileName);
 
         findMember.deleteProfile();
+        memberSnapshotCache.evict(memberId);
 
         return DeleteMemberProfileResult.from(fileUrl, fileName);
     }
@@ -189,13 +200,25 @@ public class MemberCommandService {
                 .orElseThrow(() -> new CustomException(MEMBER_NOT_FOUND));
         validateName(request.getName());
         member.changeName(request.getName());
+        memberSnapshotCache.evict(memberId);
+        evictTrainerCalendars(member);
         return CommandChangeNameResult.from(member);
     }
 
+    // 트레이너 일정 캐시에 저장된 이름(트레이너 이름, 신청자, 대기자)을 삭제한다.
+    private void evictTrainerCalendars(Member member) {
+        if (member.getMemberType() == TRAINER) {
+            trainerCalendarCache.evictAll(member.getId());
+        }
+        trainerScheduleRepository.findTrainerIdsByParticipant(member.getId())
+                .forEach(trainerCalendarCache::evictAll);
+    }
+
     public MemberChangeAlarmResult changeAlarm(AlarmType alarmType, AlarmStatus alarmStatus, Long memberId) {
         Member member = memberRepository.findById(memberId)
                 .orElseThrow(() -> new CustomException(MEMBER_NOT_FOUND));
         member.changeAlarm(alarmType, alarmStatus);
+        memberSnapshotCache.evict(memberId);
         return MemberChangeAlarmResult.from(alarmType, alarmStatus);
     }
 
@@ -211,6 +234,7 @@ public class MemberCommandService {
         Member member = memberRepository.findById(studentId)
                 .orElseThrow(() -> new CustomException(MEMBER_NOT_FOUND));
         member.assignNickname(request.getNickname());
+        memberSnapshotCache.evict(studentId);
         return CommandAssignNicknameResult.from(member);
     }
 
@@ -229,6 +253,7 @@ public class MemberCommandService {
         }
 
         findMember.changeEmail(request.getEmail());
+        memberSnapshotCache.evict(memberId);
         redisService.deleteValues(request.getEmail());
 
         return true;
@@ -238,6 +263,7 @@ public class MemberCommandService {
         Member member = memberRepository.findById(memberId)
                 .orElseThrow(() -> new CustomException(MEMBER_NOT_FOUND));
         member.changeScheduleNotice(alarmStatus);
+        memberSnapshotCache.evict(memberId);
         return true;
     }
 
@@ -245,6 +271,7 @@ public class MemberCommandService {
         Member member = memberRepository.findById(memberId)
                 .orElseThrow(() -> new CustomException(MEMBER_NOT_FOUND));
         member.changeTrainerFeedback(alarmStatus);
+        memberSnapshotCache.evict(memberId);
         return true;
     }
 
@@ -262,6 +289,7 @@ public class MemberCommandService {
         Member member = memberRepository.findById(memberId)
                 .orElseThrow(() -> new CustomException(MEMBER_NOT_FOUND));
         member.changeDietNotice(alarmStatus);
+        memberSnapshotCache.evict(memberId);
         return true;
     }
 }
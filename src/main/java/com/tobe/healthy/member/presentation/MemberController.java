@@ -1,6 +1,7 @@
 package com.tobe.healthy.member.presentation;
 
 import com.tobe.healthy.common.CustomPaging;
+import com.tobe.healthy.common.KotlinCursorPaging;
 import com.tobe.healthy.common.ResponseHandler;
 import com.tobe.healthy.config.security.CustomMemberDetails;
 import com.tobe.healthy.course.application.CourseService;
@@ -142,6 +143,21 @@ public class MemberController {
 				.message("식단기록 조회되었습니다.")
 				.build();
 	}
+
+	@Operation(summary = "내 트레이너가 관리하는 학생들의 식단기록 목록 커서 조회하기", responses = {
+			@ApiResponse(responseCode = "400", description = "잘못된 요청 입력"),
+			@ApiResponse(responseCode = "200", description = "식단기록, 다음 커서를 반환한다.")
+	})
+	@GetMapping("/my-trainer/diets/cursor")
+	public ResponseHandler<KotlinCursorPaging<DietDto>> getDietMyTrainerWithCursor(@RequestParam(required = false) String searchDate,
+																				   @RequestParam(required = false) Long cursor,
+																				   @RequestParam(defaultValue = "20") int size,
+																				   @AuthenticationPrincipal CustomMemberDetails loginMember) {
+		return ResponseHandler.<KotlinCursorPaging<DietDto>>builder()
+				.data(dietService.getDietMyTrainer(loginMember.getMemberId(), searchDate, cursor, size))
+				.message("식단기록 조회되었습니다.")
+				.build();
+	}
 	/**
 	 * ============================== 식단기록 종료 ==============================
 	 */
@@ -183,7 +199,7 @@ public class MemberController {
 	@GetMapping("/point")
 	public ResponseHandler<CustomPaging> getMyPoint(@AuthenticationPrincipal CustomMemberDetails customMemberDetails, String searchDate, Pageable pageable) {
 		return ResponseHandler.<CustomPaging>builder()
-				.data(pointService.getPoint(customMemberDetails.getMember().getId(), searchDate, pageable))
+				.data(pointService.getPoint(customMemberDetails.getMemberId(), searchDate, pageable))
 				.message("포인트가 조회되었습니다.")
 				.build();
 	}
@@ -26,4 +26,7 @@ public interface MemberRepository extends JpaRepository<Member, Long>, MemberRep
 
 	@EntityGraph(attributePaths = {"gym", "memberProfile"})
 	Optional<Member> findByIdAndDelYnFalse(Long memberId);
+
+	@Query("select m.gym.id from Member m where m.id = :memberId and m.delYn = false")
+	Long findGymIdById(Long memberId);
 }
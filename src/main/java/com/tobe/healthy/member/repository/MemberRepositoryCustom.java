@@ -15,6 +15,7 @@ public interface MemberRepositoryCustom {
     Page<Member> findAllUnattachedMembers(Long gymId, String searchValue, String sortValue, Pageable pageable);
     MemberDetailResult getMemberOfTrainer(Long memberId);
     List<Member> findAllTrainerByGym(Long gymId);
+    List<Member> findAllTrainerInGym();
     List<MemberInTeamResult> getBestStudent(Long trainerId);
     Optional<Member> findMemberById(Long memberId);
     List<Member> findMemberTokenById(List<Long> memberId);
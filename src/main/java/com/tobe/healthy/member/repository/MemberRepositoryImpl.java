@@ -178,6 +178,20 @@ public class MemberRepositoryImpl implements MemberRepositoryCustom {
                 .fetch();
     }
 
+    // 헬스장에 등록된 모든 트레이너 (빈 일정 인덱스 재생성)
+    @Override
+    public List<Member> findAllTrainerInGym() {
+        return queryFactory
+                .select(member)
+                .from(member)
+                .where(
+                        member.gym.isNotNull(),
+                        member.memberType.eq(TRAINER),
+                        member.delYn.eq(false)
+                )
+                .fetch();
+    }
+
     @Override
     public List<Member> findMemberTokenById(List<Long> memberId) {
         return queryFactory
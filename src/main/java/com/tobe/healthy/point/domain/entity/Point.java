@@ -10,7 +10,7 @@ import static jakarta.persistence.EnumType.STRING;
 
 
 @Entity
-@Table(name = "point")
+@Table(name = "point", indexes = @Index(name = "idx_point_member_created_at", columnList = "member_id, created_at"))
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @AllArgsConstructor
 @Builder
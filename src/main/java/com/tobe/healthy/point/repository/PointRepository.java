@@ -1,5 +1,7 @@
 package com.tobe.healthy.point.repository;
 
+import com.tobe.healthy.common.SearchDateRange;
+import com.tobe.healthy.common.error.CustomException;
 import com.tobe.healthy.member.domain.entity.Member;
 import com.tobe.healthy.point.domain.entity.Calculation;
 import com.tobe.healthy.point.domain.entity.Point;
@@ -10,6 +12,7 @@ import org.springframework.data.jpa.repository.Query;
 import java.time.LocalDateTime;
 import java.util.List;
 
+import static com.tobe.healthy.common.error.ErrorCode.DATE_NOT_VALID;
 
 public interface PointRepository extends JpaRepository<Point, Long>, PointRepositoryCustom {
 
@@ -28,17 +31,32 @@ public interface PointRepository extends JpaRepository<Point, Long>, PointReposi
 
     long countByMemberIdAndTypeAndCalculationAndCreatedAtBetween(Long memberId, PointType type, Calculation calculation, LocalDateTime start, LocalDateTime end);
 
+    default int getPointOfSearchMonth(Long memberId, String searchDate) {
+        SearchDateRange range = searchRange(searchDate);
+        return sumPointBetween(memberId, range.startDateTime(), range.endDateTime());
+    }
+
+    // 검색 월까지의 누적 포인트
+    default int getTotalPoint(Long memberId, String searchDate) {
+        return sumPointBefore(memberId, searchRange(searchDate).endDateTime());
+    }
+
+    private static SearchDateRange searchRange(String searchDate) {
+        return SearchDateRange.parse(searchDate)
+            .orElseThrow(() -> new CustomException(DATE_NOT_VALID));
+    }
+
     @Query(value = "select ifnull(sum(case when p.calculation = 'PLUS' then p.point " +
             "when p.calculation = 'MINUS' then p.point*(-1) end), 0) AS point_sum " +
             "from point p where member_id = :memberId " +
-            "and date_format(p.created_at, '%Y-%m') = :searchDate", nativeQuery = true)
-    int getPointOfSearchMonth(Long memberId, String searchDate);
+            "and p.created_at >= :start and p.created_at < :end", nativeQuery = true)
+    int sumPointBetween(Long memberId, LocalDateTime start, LocalDateTime end);
 
     @Query(value = "select ifnull(sum(case when p.calculation = 'PLUS' then p.point " +
             "when p.calculation = 'MINUS' then p.point*(-1) end), 0) AS point_sum " +
             "from point p where member_id = :memberId " +
-            "and date_format(p.created_at, '%Y-%m') <= :searchDate", nativeQuery = true)
-    int getTotalPoint(Long memberId, String searchDate);
+            "and p.created_at < :end", nativeQuery = true)
+    int sumPointBefore(Long memberId, LocalDateTime end);
 
     void deleteByMember(Member member);
 }
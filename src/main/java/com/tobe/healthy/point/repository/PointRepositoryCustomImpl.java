@@ -1,10 +1,8 @@
 package com.tobe.healthy.point.repository;
 
-import com.querydsl.core.types.ConstantImpl;
 import com.querydsl.core.types.dsl.BooleanExpression;
-import com.querydsl.core.types.dsl.Expressions;
-import com.querydsl.core.types.dsl.StringTemplate;
 import com.querydsl.jpa.impl.JPAQueryFactory;
+import com.tobe.healthy.common.SearchDateRange;
 import com.tobe.healthy.point.domain.entity.Point;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
@@ -50,14 +48,7 @@ public class PointRepositoryCustomImpl implements PointRepositoryCustom {
     }
 
     private BooleanExpression convertDateFormat(String searchDate) {
-        if (!ObjectUtils.isEmpty(searchDate)){
-            StringTemplate stringTemplate = Expressions.stringTemplate(
-                    "DATE_FORMAT({0}, {1})"
-                    , point1.createdAt
-                    , ConstantImpl.create("%Y-%m"));
-            return stringTemplate.eq(searchDate);
-        }
-        return null;
+        return SearchDateRange.within(point1.createdAt, searchDate);
     }
 
 }
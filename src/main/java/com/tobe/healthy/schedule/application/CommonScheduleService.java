@@ -1,25 +1,31 @@
 package com.tobe.healthy.schedule.application;
 
+import static com.tobe.healthy.common.ActivityType.RESERVATION;
 import static com.tobe.healthy.common.Utils.formatter_hmm;
 import static com.tobe.healthy.common.error.ErrorCode.MEMBER_NOT_FOUND;
 import static com.tobe.healthy.common.error.ErrorCode.NOT_RESERVABLE_SCHEDULE;
 import static com.tobe.healthy.common.error.ErrorCode.RESERVATION_CANCEL_NOT_VALID;
 import static com.tobe.healthy.common.error.ErrorCode.RESERVATION_NOT_VALID;
 import static com.tobe.healthy.common.error.ErrorCode.SCHEDULE_NOT_FOUND;
+import static com.tobe.healthy.common.error.ErrorCode.TRAINER_NOT_MAPPED;
 import static com.tobe.healthy.common.event.EventType.NOTIFICATION;
 import static com.tobe.healthy.common.event.EventType.SCHEDULE_CANCEL;
 import static com.tobe.healthy.notification.domain.entity.NotificationCategory.SCHEDULE;
 import static com.tobe.healthy.notification.domain.entity.NotificationType.CANCEL;
 import static com.tobe.healthy.notification.domain.entity.NotificationType.RESERVE;
 
+import com.tobe.healthy.common.ActivityCalendar;
 import com.tobe.healthy.common.error.CustomException;
 import com.tobe.healthy.common.event.CustomEventPublisher;
 import com.tobe.healthy.member.domain.entity.Member;
 import com.tobe.healthy.member.repository.MemberRepository;
 import com.tobe.healthy.notification.domain.dto.in.CommandSendNotification;
+import com.tobe.healthy.schedule.domain.dto.VirtualScheduleId;
 import com.tobe.healthy.schedule.domain.dto.out.ScheduleIdInfo;
 import com.tobe.healthy.schedule.domain.entity.Schedule;
 import com.tobe.healthy.schedule.repository.common.CommonScheduleRepository;
+import com.tobe.healthy.trainer.domain.entity.TrainerMemberMapping;
+import com.tobe.healthy.trainer.respository.TrainerMemberMappingRepository;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
@@ -41,18 +47,32 @@ public class CommonScheduleService {
 
     private final MemberRepository memberRepository;
     private final CommonScheduleRepository commonScheduleRepository;
+    private final TrainerMemberMappingRepository mappingRepository;
+    private final VirtualScheduleService virtualScheduleService;
+    private final TrainerCalendarCache trainerCalendarCache;
+    private final FreeSlotIndex freeSlotIndex;
+    private final ActivityCalendar activityCalendar;
 
     public ScheduleIdInfo reserveSchedule(Long scheduleId, Long memberId) {
         Member member = memberRepository.findById(memberId)
             .orElseThrow(() -> new CustomException(MEMBER_NOT_FOUND));
 
-        Schedule schedule = commonScheduleRepository.findAvailableScheduleById(scheduleId)
+        Long resolvedScheduleId = resolveScheduleId(scheduleId, memberId);
+        Schedule schedule = commonScheduleRepository.findAvailableScheduleById(resolvedScheduleId)
             .orElseThrow(() -> new CustomException(NOT_RESERVABLE_SCHEDULE));
 
         LocalDateTime before30Minutes = LocalDateTime.of(schedule.getLessonDt(), schedule.getLessonStartTime().minusMinutes(30));
         if (LocalDateTime.now().isAfter(before30Minutes)) throw new CustomException(RESERVATION_NOT_VALID);
 
+        // 행 잠금 없이 조건부 UPDATE 로 예약하고, 먼저 예약된 경우 대기 없이 실패한다.
+        if (commonScheduleRepository.reserveIfAvailable(resolvedScheduleId, member) == 0) {
+            throw new CustomException(NOT_RESERVABLE_SCHEDULE);
+        }
+        // 영속성 컨텍스트가 비워진 상태이므로 응답용으로만 반영한다.
         schedule.registerSchedule(member);
+        trainerCalendarCache.evict(schedule.getTrainer().getId(), schedule.getLessonDt());
+        activityCalendar.mark(RESERVATION, memberId, schedule.getLessonDt());
+        freeSlotIndex.markReserved(schedule.getTrainer().getId(), schedule.getLessonDt(), schedule.getLessonStartTime());
 
         // 일정 신청시 알림
         CommandSendNotification notification = new CommandSendNotification(
@@ -75,6 +95,16 @@ public class CommonScheduleService {
         return ScheduleIdInfo.create(schedule, schedule.getLessonStartTime().format(formatter_hmm));
     }
 
+    // 가상 일정이면 학생의 트레이너 일정으로 저장한 뒤 실제 ID 를 사용한다.
+    private Long resolveScheduleId(Long scheduleId, Long memberId) {
+        if (!VirtualScheduleId.isVirtual(scheduleId)) {
+            return scheduleId;
+        }
+        TrainerMemberMapping mapping = mappingRepository.findTop1ByMemberIdOrderByCreatedAtDesc(memberId)
+            .orElseThrow(() -> new CustomException(TRAINER_NOT_MAPPED));
+        return virtualScheduleService.resolveScheduleId(scheduleId, mapping.getTrainer().getId());
+    }
+
     public ScheduleIdInfo cancelMemberSchedule(Long scheduleId, Long memberId) {
         Member member = memberRepository.findById(memberId)
                 .orElseThrow(() -> new CustomException(MEMBER_NOT_FOUND));
@@ -105,6 +135,9 @@ public class CommonScheduleService {
 
         ScheduleIdInfo idInfo = ScheduleIdInfo.create(schedule, schedule.getLessonStartTime().format(formatter_hmm));
         schedule.cancelMemberSchedule();
+        trainerCalendarCache.evict(schedule.getTrainer().getId(), schedule.getLessonDt());
+        activityCalendar.evict(RESERVATION, memberId, schedule.getLessonDt());
+        freeSlotIndex.markFree(schedule.getTrainer().getId(), schedule.getLessonDt(), schedule.getLessonStartTime());
 
         eventPublisher.publish(scheduleId, SCHEDULE_CANCEL);
         log.info("[수업 취소] member: {}, schedule: {}, trainer: {}", member, schedule, schedule.getTrainer());
@@ -139,6 +172,9 @@ public class CommonScheduleService {
 
         ScheduleIdInfo idInfo = ScheduleIdInfo.create(schedule, schedule.getLessonStartTime().format(formatter_hmm));
         schedule.cancelMemberSchedule();
+        trainerCalendarCache.evict(schedule.getTrainer().getId(), schedule.getLessonDt());
+        activityCalendar.evict(RESERVATION, memberId, schedule.getLessonDt());
+        freeSlotIndex.markFree(schedule.getTrainer().getId(), schedule.getLessonDt(), schedule.getLessonStartTime());
 
         eventPublisher.publish(scheduleId, SCHEDULE_CANCEL);
         log.info("[수업 취소] member: {}, schedule: {}, trainer: {}", member, schedule, schedule.getTrainer());
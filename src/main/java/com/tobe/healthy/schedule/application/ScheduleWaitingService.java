@@ -33,6 +33,7 @@ public class ScheduleWaitingService {
 	private final TrainerScheduleRepository trainerScheduleRepository;
 	private final ScheduleWaitingRepository scheduleWaitingRepository;
 	private final CourseService courseService;
+	private final TrainerCalendarCache trainerCalendarCache;
 
 	public String registerScheduleWaiting(Long scheduleId, Long memberId) {
 
@@ -51,6 +52,7 @@ public class ScheduleWaitingService {
 		if (lessonDateTime.minusDays(ONE_DAY).isAfter(LocalDateTime.now())) {
 			ScheduleWaiting scheduleWaiting = ScheduleWaiting.register(member, schedule);
 			scheduleWaitingRepository.save(scheduleWaiting);
+			trainerCalendarCache.evict(schedule.getTrainer().getId(), schedule.getLessonDt());
 			log.info("[대기 신청] member: {}, schedule: {}, trainer: {}",
 					member, schedule, schedule.getTrainer());
 			return schedule.getLessonStartTime().format(formatter_hmm);
@@ -74,6 +76,7 @@ public class ScheduleWaitingService {
 		ScheduleWaiting scheduleWaiting = scheduleWaitingRepository.findByScheduleIdAndMemberId(scheduleId, memberId)
 				.orElseThrow(() -> new CustomException(SCHEDULE_WAITING_NOT_FOUND));
 		scheduleWaitingRepository.delete(scheduleWaiting);
+		trainerCalendarCache.evict(schedule.getTrainer().getId(), schedule.getLessonDt());
 		log.info("[대기 취소] member: {}, schedule: {}, trainer: {}", member, schedule, schedule.getTrainer());
 		return scheduleWaiting.getSchedule().getLessonStartTime().format(formatter_hmm);
 	}
@@ -1,10 +1,12 @@
 package com.tobe.healthy.schedule.application;
 
+import com.tobe.healthy.common.ActivityCalendar;
 import com.tobe.healthy.common.error.CustomException;
 import com.tobe.healthy.course.application.CourseService;
 import com.tobe.healthy.member.domain.entity.Member;
 import com.tobe.healthy.schedule.domain.dto.in.StudentScheduleCond;
 import com.tobe.healthy.schedule.domain.dto.out.*;
+import com.tobe.healthy.schedule.domain.entity.ReservationStatus;
 import com.tobe.healthy.schedule.repository.student.StudentScheduleRepository;
 import com.tobe.healthy.trainer.domain.entity.TrainerMemberMapping;
 import com.tobe.healthy.trainer.respository.TrainerMemberMappingRepository;
@@ -12,16 +14,24 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.ObjectUtils;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
+import static com.tobe.healthy.common.ActivityType.RESERVATION;
 import static com.tobe.healthy.common.error.ErrorCode.MEMBER_NOT_MAPPED;
 import static com.tobe.healthy.common.error.ErrorCode.TRAINER_NOT_MAPPED;
+import static com.tobe.healthy.schedule.domain.entity.ReservationStatus.AVAILABLE;
+import static com.tobe.healthy.schedule.domain.entity.ReservationStatus.COMPLETED;
 import static com.tobe.healthy.schedule.domain.entity.ReservationStatus.SOLD_OUT;
 import static java.time.LocalTime.NOON;
+import static java.time.format.DateTimeFormatter.ofPattern;
 
 @Service
 @RequiredArgsConstructor
@@ -29,9 +39,13 @@ import static java.time.LocalTime.NOON;
 @Slf4j
 public class StudentScheduleService {
 
+	private static final Set<ReservationStatus> STUDENT_VISIBLE_STATUS = EnumSet.of(COMPLETED, AVAILABLE, SOLD_OUT);
+
 	private final StudentScheduleRepository studentScheduleRepository;
 	private final TrainerMemberMappingRepository mappingRepository;
 	private final CourseService courseService;
+	private final VirtualScheduleService virtualScheduleService;
+	private final ActivityCalendar activityCalendar;
 
 	public List<ScheduleCommandResult> findAllByApplicantId(Long memberId) {
 		List<ScheduleCommandResult> result = studentScheduleRepository.findAllByApplicantId(memberId);
@@ -43,10 +57,30 @@ public class StudentScheduleService {
 		TrainerMemberMapping mapping = mappingRepository.findTop1ByMemberIdOrderByCreatedAtDesc(member.getId())
 				.orElseThrow(() -> new CustomException(TRAINER_NOT_MAPPED));
 		Long trainerId = mapping.getTrainer().getId();
-		List<ScheduleCommandResult> list = studentScheduleRepository.findAllSchedule(searchCond, trainerId, member);
+		List<ScheduleCommandResult> list = virtualScheduleService.getEnabled()
+				? findAllVirtualSchedule(searchCond, trainerId, member)
+				: studentScheduleRepository.findAllSchedule(searchCond, trainerId, member);
 		return settingMorningAndAfternoon(list, member);
 	}
 
+	// 가상 일정 모드: 트레이너 템플릿으로 계산한 일정과 저장된 일정을 합친다.
+	private List<ScheduleCommandResult> findAllVirtualSchedule(StudentScheduleCond searchCond, Long trainerId, Member member) {
+		LocalDate lessonStartDt = searchCond.getLessonStartDt();
+		LocalDate lessonEndDt = searchCond.getLessonEndDt();
+		if (!ObjectUtils.isEmpty(searchCond.getLessonDt())) {
+			YearMonth lessonMonth = YearMonth.parse(searchCond.getLessonDt(), ofPattern("yyyyMM"));
+			lessonStartDt = lessonMonth.atDay(1);
+			lessonEndDt = lessonMonth.atEndOfMonth();
+		}
+		if (lessonStartDt == null || lessonEndDt == null) {
+			return studentScheduleRepository.findAllSchedule(searchCond, trainerId, member);
+		}
+		return virtualScheduleService.findAllSchedule(trainerId, lessonStartDt, lessonEndDt).stream()
+				.filter(s -> STUDENT_VISIBLE_STATUS.contains(s.getReservationStatus()))
+				.map(s -> ScheduleCommandResult.from(s, member))
+				.collect(Collectors.toList());
+	}
+
 	private ScheduleCommandResponse settingMorningAndAfternoon(List<ScheduleCommandResult> schedule, Member member) {
 		List<ScheduleCommandResult> morning = schedule.stream()
 				.filter(s -> NOON.isAfter(s.getLessonStartTime()))
@@ -122,7 +156,8 @@ public class StudentScheduleService {
 	}
 
 	public ReservationDaysResult findMyReservationBlueDot(Long memberId, StudentScheduleCond searchCond) {
-		List<String> days = studentScheduleRepository.findMyReservationBlueDot(memberId, searchCond);
+		List<String> days = activityCalendar.days(RESERVATION, memberId, searchCond.getLessonStartDt(), searchCond.getLessonEndDt(),
+				(start, end) -> studentScheduleRepository.findMyReservationBlueDot(memberId, new StudentScheduleCond(null, start, end, null)));
 		return ReservationDaysResult.from(days);
 	}
 }
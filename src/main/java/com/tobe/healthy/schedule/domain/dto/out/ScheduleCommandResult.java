@@ -1,6 +1,7 @@
 package com.tobe.healthy.schedule.domain.dto.out;
 
 import com.tobe.healthy.member.domain.entity.Member;
+import com.tobe.healthy.schedule.domain.dto.VirtualScheduleId;
 import com.tobe.healthy.schedule.domain.entity.ReservationStatus;
 import com.tobe.healthy.schedule.domain.entity.Schedule;
 import lombok.*;
@@ -30,7 +31,7 @@ public class ScheduleCommandResult {
 
 	public static ScheduleCommandResult from(Schedule entity, Member member) {
 		ScheduleCommandResultBuilder builder = ScheduleCommandResult.builder()
-			.scheduleId(entity.getId())
+			.scheduleId(scheduleIdOf(entity))
 			.lessonDt(entity.getLessonDt())
 			.lessonStartTime(entity.getLessonStartTime())
 			.lessonEndTime(entity.getLessonEndTime());
@@ -61,7 +62,7 @@ public class ScheduleCommandResult {
 
 	public static ScheduleCommandResult from(Schedule entity) {
 		ScheduleCommandResultBuilder builder = ScheduleCommandResult.builder()
-				.scheduleId(entity.getId())
+				.scheduleId(scheduleIdOf(entity))
 				.lessonDt(entity.getLessonDt())
 				.lessonStartTime(entity.getLessonStartTime())
 				.lessonEndTime(entity.getLessonEndTime())
@@ -85,4 +86,12 @@ public class ScheduleCommandResult {
 
 		return builder.build();
 	}
+
+	// 저장되지 않은 가상 일정은 수업 일자와 시작 시간으로 만든 ID 를 사용한다.
+	private static Long scheduleIdOf(Schedule entity) {
+		if (entity.getId() != null) {
+			return entity.getId();
+		}
+		return VirtualScheduleId.encode(entity.getLessonDt(), entity.getLessonStartTime());
+	}
 }
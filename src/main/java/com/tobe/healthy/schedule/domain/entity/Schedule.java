@@ -24,6 +24,11 @@ import static jakarta.persistence.GenerationType.IDENTITY;
 import static lombok.AccessLevel.PROTECTED;
 
 @Entity
+@Table(indexes = {
+	@Index(name = "idx_schedule_trainer_lesson_dt", columnList = "trainer_id, lesson_dt"),
+	@Index(name = "idx_schedule_applicant_lesson_dt", columnList = "applicant_id, lesson_dt"),
+	@Index(name = "idx_schedule_status_id_lesson_dt", columnList = "reservation_status, schedule_id, lesson_dt")
+})
 @NoArgsConstructor(access = PROTECTED)
 @Getter
 @DynamicUpdate
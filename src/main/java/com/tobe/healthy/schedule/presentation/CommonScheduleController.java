@@ -51,7 +51,7 @@ public class CommonScheduleController {
     public ResponseHandler<ScheduleIdInfo> cancelScheduleForMember(@PathVariable Long scheduleId,
                                                                    @AuthenticationPrincipal CustomMemberDetails customMemberDetails) {
         ScheduleIdInfo result;
-        if(TRAINER.equals(customMemberDetails.getMember().getMemberType())){
+        if(TRAINER.equals(customMemberDetails.getMemberType())){
             result = commonScheduleService.cancelMemberScheduleForce(scheduleId, customMemberDetails.getMemberId());
         }else{
             result = commonScheduleService.cancelMemberSchedule(scheduleId, customMemberDetails.getMemberId());
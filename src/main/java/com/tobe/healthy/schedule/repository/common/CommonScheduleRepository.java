@@ -1,10 +1,10 @@
 package com.tobe.healthy.schedule.repository.common;
 
+import com.tobe.healthy.member.domain.entity.Member;
 import com.tobe.healthy.schedule.domain.entity.Schedule;
-import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 
 import java.util.Optional;
@@ -15,9 +15,14 @@ public interface CommonScheduleRepository extends JpaRepository<Schedule, Long>,
 	@Query("select s from Schedule s where s.applicant.id = :userId and s.id = :scheduleId")
 	Optional<Schedule> findScheduleByApplicantId(Long userId, Long scheduleId);
 
-	@Lock(value = LockModeType.PESSIMISTIC_WRITE)
 	@EntityGraph(attributePaths = {"trainer"})
 	@Query("select s from Schedule s where s.id = :scheduleId and s.reservationStatus = 'AVAILABLE' and s.applicant is null")
 	Optional<Schedule> findAvailableScheduleById(Long scheduleId);
 
+	// 예약 가능한 상태일 때만 예약한다. 반환값이 0 이면 다른 회원이 먼저 예약한 일정이다.
+	@Modifying(flushAutomatically = true, clearAutomatically = true)
+	@Query("update Schedule s set s.applicant = :applicant, s.reservationStatus = com.tobe.healthy.schedule.domain.entity.ReservationStatus.COMPLETED, s.updatedAt = local datetime " +
+		"where s.id = :scheduleId and s.reservationStatus = com.tobe.healthy.schedule.domain.entity.ReservationStatus.AVAILABLE and s.applicant is null")
+	int reserveIfAvailable(Long scheduleId, Member applicant);
+
 }
@@ -4,9 +4,8 @@ import com.querydsl.core.types.ConstantImpl;
 import com.querydsl.core.types.Predicate;
 import com.querydsl.core.types.dsl.BooleanExpression;
 import com.querydsl.core.types.dsl.Expressions;
-import com.querydsl.core.types.dsl.StringExpression;
-import com.querydsl.core.types.dsl.StringTemplate;
 import com.querydsl.jpa.impl.JPAQueryFactory;
+import com.tobe.healthy.common.SearchDateRange;
 import com.tobe.healthy.member.domain.entity.Member;
 import com.tobe.healthy.member.domain.entity.QMember;
 import com.tobe.healthy.schedule.domain.dto.in.StudentScheduleCond;
@@ -22,7 +21,6 @@ import java.time.LocalDate;
 import java.time.LocalTime;
 import java.util.List;
 
-import static com.querydsl.core.types.dsl.Expressions.stringTemplate;
 import static com.tobe.healthy.diet.domain.entity.QDiet.diet;
 import static com.tobe.healthy.schedule.domain.entity.QSchedule.schedule;
 import static com.tobe.healthy.schedule.domain.entity.QScheduleWaiting.scheduleWaiting;
@@ -141,11 +139,7 @@ public class StudentScheduleRepositoryImpl implements StudentScheduleRepositoryC
 	}
 
 	private BooleanExpression lessonDtEq(StudentScheduleCond searchCond) {
-		if (!ObjectUtils.isEmpty(searchCond.getLessonDt())) {
-			StringExpression formattedDate = stringTemplate("DATE_FORMAT({0}, '%Y%m')", schedule.lessonDt);
-			return formattedDate.eq(searchCond.getLessonDt());
-		}
-		return null;
+		return SearchDateRange.within(schedule.lessonDt, searchCond.getLessonDt());
 	}
 
 	private BooleanExpression scheduleTrainerIdEq(Long trainerId) {
@@ -170,13 +164,6 @@ public class StudentScheduleRepositoryImpl implements StudentScheduleRepositoryC
 	}
 
 	private BooleanExpression convertDateFormat(String searchDate) {
-		if (!ObjectUtils.isEmpty(searchDate)){
-			StringTemplate stringTemplate = Expressions.stringTemplate(
-					"DATE_FORMAT({0}, {1})"
-					, schedule.lessonDt
-					, ConstantImpl.create("%Y-%m"));
-			return stringTemplate.eq(searchDate);
-		}
-		return null;
+		return SearchDateRange.within(schedule.lessonDt, searchDate);
 	}
 }
@@ -4,6 +4,7 @@ import com.tobe.healthy.common.Utils;
 import com.tobe.healthy.common.error.CustomException;
 import com.tobe.healthy.common.redis.RedisKeyPrefix;
 import com.tobe.healthy.common.redis.RedisService;
+import com.tobe.healthy.config.security.MemberSnapshotCache;
 import com.tobe.healthy.course.application.CourseService;
 import com.tobe.healthy.course.domain.dto.CourseDto;
 import com.tobe.healthy.course.domain.dto.in.CourseAddCommand;
@@ -63,6 +64,7 @@ public class TrainerService {
     private final ScheduleWaitingRepository scheduleWaitingRepository;
     private final PointRepository pointRepository;
     private final NonMemberRepository nonMemberRepository;
+    private final MemberSnapshotCache memberSnapshotCache;
 
 
     public TrainerMemberMappingDto addStudentOfTrainer(Long trainerId, Long memberId, MemberLessonCommand command) {
@@ -84,6 +86,7 @@ public class TrainerService {
         TrainerMemberMapping mapping = TrainerMemberMapping.create(trainer, member);
         mappingRepository.save(mapping);
         member.registerGym(trainer.getGym());
+        memberSnapshotCache.evict(memberId);
         log.info("[학생 매핑] trainer: {}, member: {}, mapping{}", trainer, member, mapping);
         return TrainerMemberMappingDto.from(mapping);
     }
@@ -99,6 +102,7 @@ public class TrainerService {
         TrainerMemberMapping mapping = TrainerMemberMapping.create(trainer, nonmember);
         mappingRepository.save(mapping);
         nonmember.registerGym(trainer.getGym());
+        memberSnapshotCache.evict(memberId);
 
         //수강권 등록
         courseService.addCourseByNonmember(trainerId, CourseAddCommand.create(memberId, command.getLessonCnt()), nonmember);
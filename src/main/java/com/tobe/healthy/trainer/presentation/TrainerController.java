@@ -1,6 +1,7 @@
 package com.tobe.healthy.trainer.presentation;
 
 import com.tobe.healthy.common.CustomPaging;
+import com.tobe.healthy.common.KotlinCursorPaging;
 import com.tobe.healthy.common.ResponseHandler;
 import com.tobe.healthy.config.security.CustomMemberDetails;
 import com.tobe.healthy.diet.application.DietService;
@@ -88,7 +89,7 @@ public class TrainerController {
                                                                         @Parameter(description = "학생 ID") @PathVariable("memberId") Long memberId,
                                                                         @RequestBody MemberLessonCommand command) {
         return ResponseHandler.<TrainerMemberMappingDto>builder()
-                .data(trainerService.addStudentOfTrainer(customMemberDetails.getMember().getId(), memberId, command))
+                .data(trainerService.addStudentOfTrainer(customMemberDetails.getMemberId(), memberId, command))
                 .message("내 학생으로 등록되었습니다.")
                 .build();
     }
@@ -189,6 +190,22 @@ public class TrainerController {
                 .build();
     }
 
+    @Operation(summary = "트레이너가 관리하는 학생들의 식단기록 목록 커서 조회하기", responses = {
+            @ApiResponse(responseCode = "400", description = "잘못된 요청 입력"),
+            @ApiResponse(responseCode = "200", description = "식단기록, 다음 커서를 반환한다.")
+    })
+    @GetMapping("/diets/cursor")
+    @PreAuthorize("hasAuthority('ROLE_TRAINER')")
+    public ResponseHandler<KotlinCursorPaging<DietDto>> getDietByTrainerWithCursor(@AuthenticationPrincipal CustomMemberDetails loginMember,
+                                                                                  @Parameter(description = "조회할 날짜", example = "2024-12-01") @RequestParam(required = false) String searchDate,
+                                                                                  @Parameter(description = "마지막으로 조회한 식단기록 ID") @RequestParam(required = false) Long cursor,
+                                                                                  @RequestParam(defaultValue = "20") int size) {
+        return ResponseHandler.<KotlinCursorPaging<DietDto>>builder()
+                .data(dietService.getDietByTrainer(loginMember.getMemberId(), searchDate, cursor, size))
+                .message("식단기록이 조회되었습니다.")
+                .build();
+    }
+
     @Operation(summary = "트레이너가 학생의 다가오는 예약을 조회한다.", description = "트레이너가 학생의 다가오는 예약을 조회한다.",
             responses = {
                     @ApiResponse(responseCode = "200", description = "트레이너가 학생의 다가오는 예약을 조회하였습니다.")
@@ -4,6 +4,7 @@ package com.tobe.healthy.workout.application;
 import com.amazonaws.services.s3.AmazonS3;
 import com.amazonaws.services.s3.model.CopyObjectRequest;
 import com.amazonaws.services.s3.model.ObjectMetadata;
+import com.tobe.healthy.common.ImageVariantPipeline;
 import com.tobe.healthy.common.Utils;
 import com.tobe.healthy.common.error.CustomException;
 import com.tobe.healthy.common.error.OAuthError;
@@ -21,8 +22,6 @@ import org.springframework.http.HttpStatusCode;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
-import org.springframework.web.reactive.function.client.WebClient;
-import reactor.core.publisher.Mono;
 
 import java.io.InputStream;
 import java.util.ArrayList;
@@ -42,7 +41,7 @@ public class FileService {
 
     private final AmazonS3 amazonS3;
     private final RedisService redisService;
-    private final WebClient webClient;
+    private final ImageVariantPipeline imageVariantPipeline;
 
     @Value("${aws.s3.bucket-name}")
     private String bucketName;
@@ -89,28 +88,13 @@ public class FileService {
         amazonS3.copyObject(copyObjRequest);
         String fileUrl = amazonS3.getUrl(bucketName, newSavedFileName).toString()
                 .replace(S3_DOMAIN, CDN_DOMAIN);
-        makeThumb(fileUrl);
+        imageVariantPipeline.submit(newSavedFileName, fileUrl);
         return new RegisterFile(fileUrl);
     }
 
-    private void makeThumb(String fileUrl){
-        String w_400 = "?w=400&q=90";
-        String w_800 = "?w=800&q=90";
-        String w_1200 = "?w=1200&q=90";
-        List<String> sizes = List.of(w_400, w_800, w_1200);
-
-        for (String size : sizes) {
-            webClient.get()
-                    .uri(fileUrl + size)
-                    .retrieve()
-                    .bodyToMono(byte[].class)
-                    ;
-        }
-    }
-
     public void deleteDietFile(String fileName) {
         try {
-            amazonS3.deleteObject(bucketName, "origin/diet/" + fileName);
+            imageVariantPipeline.delete("origin/diet/" + fileName);
         } catch (Exception e) {
             log.error("error => {}", e.getStackTrace()[0]);
             throw new CustomException(FILE_REMOVE_ERROR);
@@ -119,7 +103,7 @@ public class FileService {
 
     public void deleteHistoryFile(String fileName) {
         try {
-            amazonS3.deleteObject(bucketName, "origin/workout-history/" + fileName);
+            imageVariantPipeline.delete("origin/workout-history/" + fileName);
         } catch (Exception e) {
             log.error("error => {}", e.getStackTrace()[0]);
             throw new CustomException(FILE_REMOVE_ERROR);
@@ -1,6 +1,7 @@
 package com.tobe.healthy.workout.application;
 
 import com.tobe.healthy.common.CustomPaging;
+import com.tobe.healthy.common.EngagementCounter;
 import com.tobe.healthy.common.error.CustomException;
 import com.tobe.healthy.common.event.CustomEventPublisher;
 import com.tobe.healthy.member.domain.entity.Member;
@@ -22,6 +23,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 
+import static com.tobe.healthy.common.EngagementTarget.WORKOUT_HISTORY_COMMENT;
 import static com.tobe.healthy.common.error.ErrorCode.COMMENT_NOT_FOUND;
 import static com.tobe.healthy.common.error.ErrorCode.WORKOUT_HISTORY_NOT_FOUND;
 import static com.tobe.healthy.common.event.EventType.NOTIFICATION;
@@ -38,6 +40,7 @@ public class WorkoutCommentService {
     private final WorkoutHistoryRepository workoutHistoryRepository;
     private final WorkoutHistoryCommentRepository commentRepository;
     private final CustomEventPublisher<CommandSendNotification> notificationPublisher;
+    private final EngagementCounter engagementCounter;
 
     public void addComment(Long workoutHistoryId, HistoryCommentAddCommand command, Member member) {
         WorkoutHistory history = workoutHistoryRepository.findByWorkoutHistoryIdAndDelYnFalse(workoutHistoryId)
@@ -88,7 +91,7 @@ public class WorkoutCommentService {
             );
             notificationPublisher.publish(notification, NOTIFICATION);
         }
-        history.changeCommentCnt(++commentCnt);
+        engagementCounter.increment(WORKOUT_HISTORY_COMMENT, history.getWorkoutHistoryId());
     }
 
     public WorkoutHistoryCommentDto updateComment(Member member, Long workoutHistoryId, Long commentId, HistoryCommentAddCommand command) {
@@ -1,6 +1,8 @@
 package com.tobe.healthy.workout.application;
 
 import com.tobe.healthy.common.CustomPaging;
+import com.tobe.healthy.common.EngagementCounter;
+import com.tobe.healthy.common.KotlinCursorPaging;
 import com.tobe.healthy.common.error.CustomException;
 import com.tobe.healthy.member.domain.dto.MemberDto;
 import com.tobe.healthy.member.domain.entity.Member;
@@ -24,9 +26,12 @@ import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.ObjectUtils;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 
+import static com.tobe.healthy.common.EngagementTarget.WORKOUT_HISTORY_COMMENT;
+import static com.tobe.healthy.common.EngagementTarget.WORKOUT_HISTORY_LIKE;
 import static com.tobe.healthy.common.Utils.S3_DOMAIN;
 import static com.tobe.healthy.common.error.ErrorCode.*;
 
@@ -37,12 +42,16 @@ import static com.tobe.healthy.common.error.ErrorCode.*;
 @Slf4j
 public class WorkoutHistoryService {
 
+    private static final int MAX_CURSOR_PAGE_SIZE = 50;
+
     private final FileService fileService;
     private final WorkoutHistoryLikeRepository workoutHistoryLikeRepository;
     private final WorkoutHistoryRepository workoutHistoryRepository;
     private final CompletedExerciseRepository completedExerciseRepository;
     private final MemberRepository memberRepository;
     private final WorkoutFileRepository workoutFileRepository;
+    private final EngagementCounter engagementCounter;
+    private final GymTimeline gymTimeline;
 
 
     public WorkoutHistoryDto addWorkoutHistory(Member member, HistoryAddCommand command) {
@@ -52,6 +61,9 @@ public class WorkoutHistoryService {
         workoutHistoryRepository.save(history);
         saveCompletedExercises(history, command);
         uploadNewFiles(history, command.getFiles());
+        if (!history.getViewMySelf() && history.getGym() != null) {
+            gymTimeline.add(history.getGym().getId(), history.getWorkoutHistoryId());
+        }
         return WorkoutHistoryDto.from(history);
     }
 
@@ -73,6 +85,7 @@ public class WorkoutHistoryService {
         List<Long> ids = historiesDto.stream().map(WorkoutHistoryDto::getWorkoutHistoryId).collect(Collectors.toList());
         historiesDto = setHistoryListFile(historiesDto, ids);
         List<WorkoutHistoryDto> content = setHistoryListExercise(historiesDto, ids);
+        setEngagementCnt(content);
         CustomPaging customPaging = new CustomPaging<>(content, pageDtos.getPageable().getPageNumber(),
                 pageDtos.getPageable().getPageSize(), pageDtos.getTotalPages(), pageDtos.getTotalElements(), pageDtos.isLast());
         customPaging.setMainData(MemberDto.from(member));
@@ -84,13 +97,26 @@ public class WorkoutHistoryService {
         List<Long> ids = List.of(workoutHistoryId);
         setHistoryFile(historyDto, ids);
         setHistoryExercise(historyDto, ids);
+        setEngagementCnt(List.of(historyDto));
         return historyDto;
     }
 
+    // 좋아요, 댓글 수는 아직 DB 에 반영되지 않은 증감을 더해서 반환한다.
+    private void setEngagementCnt(List<WorkoutHistoryDto> historiesDto) {
+        List<Long> ids = historiesDto.stream().map(WorkoutHistoryDto::getWorkoutHistoryId).toList();
+        Map<Long, Long> likes = engagementCounter.pending(WORKOUT_HISTORY_LIKE, ids);
+        Map<Long, Long> comments = engagementCounter.pending(WORKOUT_HISTORY_COMMENT, ids);
+        historiesDto.forEach(h -> {
+            h.setLikeCnt(Math.max(0, h.getLikeCnt() + likes.getOrDefault(h.getWorkoutHistoryId(), 0L)));
+            h.setCommentCnt(Math.max(0, h.getCommentCnt() + comments.getOrDefault(h.getWorkoutHistoryId(), 0L)));
+        });
+    }
+
     public void deleteWorkoutHistory(Member member, Long workoutHistoryId) {
         WorkoutHistory history = workoutHistoryRepository.findByWorkoutHistoryIdAndMemberIdAndDelYnFalse(workoutHistoryId, member.getId())
                 .orElseThrow(() -> new CustomException(WORKOUT_HISTORY_NOT_FOUND));
         history.deleteWorkoutHistory();
+        if (history.getGym() != null) gymTimeline.remove(history.getGym().getId(), workoutHistoryId);
         completedExerciseRepository.deleteAllInBatch(history.getCompletedExercises());
         workoutHistoryLikeRepository.deleteLikeByWorkoutHistoryId(workoutHistoryId);
         history.getHistoryFiles().forEach(file -> fileService.deleteHistoryFile(getFileName(file.getFileUrl())));
@@ -101,6 +127,10 @@ public class WorkoutHistoryService {
                 .orElseThrow(() -> new CustomException(WORKOUT_HISTORY_NOT_FOUND));
 
         history.changeViewMySelf(command.isViewMySelf());
+        if (history.getGym() != null) {
+            if (command.isViewMySelf()) gymTimeline.remove(history.getGym().getId(), workoutHistoryId);
+            else gymTimeline.add(history.getGym().getId(), workoutHistoryId);
+        }
         history.changeContent(command.getContent());
         updateCompletedExercise(command, history);
         deleteOldFiles(history, command);
@@ -144,14 +174,16 @@ public class WorkoutHistoryService {
             throw new CustomException(LIKE_ALREADY_EXISTS);
         });
         workoutHistoryLikeRepository.save(WorkoutHistoryLike.from(likePk));
-        history.changeLikeCnt(workoutHistoryLikeRepository.getLikeCnt(history.getWorkoutHistoryId()));
+        engagementCounter.increment(WORKOUT_HISTORY_LIKE, history.getWorkoutHistoryId());
     }
 
     public void deleteLikeWorkoutHistory(Member member, Long workoutHistoryId) {
         WorkoutHistory history = workoutHistoryRepository.findByWorkoutHistoryIdAndDelYnFalse(workoutHistoryId)
                 .orElseThrow(() -> new CustomException(WORKOUT_HISTORY_NOT_FOUND));
-        workoutHistoryLikeRepository.delete(WorkoutHistoryLike.from(WorkoutHistoryLikePK.create(history, member)));
-        history.changeLikeCnt(workoutHistoryLikeRepository.getLikeCnt(history.getWorkoutHistoryId()));
+        workoutHistoryLikeRepository.findById(WorkoutHistoryLikePK.create(history, member)).ifPresent(like -> {
+            workoutHistoryLikeRepository.delete(like);
+            engagementCounter.decrement(WORKOUT_HISTORY_LIKE, history.getWorkoutHistoryId());
+        });
     }
 
     private void setHistoryFile(WorkoutHistoryDto historyDto, List<Long> ids) {
@@ -161,13 +193,12 @@ public class WorkoutHistoryService {
     }
 
     private List<WorkoutHistoryDto> setHistoryListFile(List<WorkoutHistoryDto> historiesDto, List<Long> ids) {
-        List<WorkoutHistoryFiles> files = workoutHistoryRepository.getWorkoutHistoryFile(ids);
-        return historiesDto.stream().map(h -> {
-            List<WorkoutHistoryFileDto> thisFiles = files.stream().map(WorkoutHistoryFileDto::from)
-                    .filter(f -> f.getWorkoutHistoryId().equals(h.getWorkoutHistoryId())).collect(Collectors.toList());
-            h.setFiles(thisFiles);
-            return h;
-        }).collect(Collectors.toList());
+        if (ids.isEmpty()) return historiesDto;
+        Map<Long, List<WorkoutHistoryFileDto>> filesByHistoryId = workoutHistoryRepository.getWorkoutHistoryFile(ids).stream()
+                .map(WorkoutHistoryFileDto::from)
+                .collect(Collectors.groupingBy(WorkoutHistoryFileDto::getWorkoutHistoryId));
+        historiesDto.forEach(h -> h.setFiles(filesByHistoryId.getOrDefault(h.getWorkoutHistoryId(), List.of())));
+        return historiesDto;
     }
 
     private void setHistoryExercise(WorkoutHistoryDto historyDto, List<Long> ids) {
@@ -177,13 +208,12 @@ public class WorkoutHistoryService {
     }
 
     private List<WorkoutHistoryDto> setHistoryListExercise(List<WorkoutHistoryDto> historiesDto, List<Long> ids) {
-        List<CompletedExercise> exercises = completedExerciseRepository.getCompletedExercise(ids);
-        return historiesDto.stream().map(h -> {
-            List<CompletedExerciseDto> exerciseDtos = exercises.stream().map(CompletedExerciseDto::from)
-                    .filter(e -> e.getWorkoutHistoryId().equals(h.getWorkoutHistoryId())).collect(Collectors.toList());
-            h.setCompletedExercises(exerciseDtos);
-            return h;
-        }).collect(Collectors.toList());
+        if (ids.isEmpty()) return historiesDto;
+        Map<Long, List<CompletedExerciseDto>> exercisesByHistoryId = completedExerciseRepository.getCompletedExercise(ids).stream()
+                .map(CompletedExerciseDto::from)
+                .collect(Collectors.groupingBy(CompletedExerciseDto::getWorkoutHistoryId));
+        historiesDto.forEach(h -> h.setCompletedExercises(exercisesByHistoryId.getOrDefault(h.getWorkoutHistoryId(), List.of())));
+        return historiesDto;
     }
 
     private String getFileName(String url) {
@@ -219,10 +249,32 @@ public class WorkoutHistoryService {
         List<Long> ids = historiesDto.stream().map(WorkoutHistoryDto::getWorkoutHistoryId).collect(Collectors.toList());
         historiesDto = setHistoryListFile(historiesDto, ids);
         List<WorkoutHistoryDto> content = setHistoryListExercise(historiesDto, ids);
+        setEngagementCnt(content);
         return new CustomPaging<>(content, pageDtos.getPageable().getPageNumber(),
                 pageDtos.getPageable().getPageSize(), pageDtos.getTotalPages(), pageDtos.getTotalElements(), pageDtos.isLast());
     }
 
+    // 헬스장 타임라인(Redis)에서 ID 를 꺼낸 뒤 ID 목록으로 운동기록, 파일, 운동을 한 번씩 조회한다. (전체 건수는 세지 않는다.)
+    public KotlinCursorPaging<WorkoutHistoryDto> getCommunityTimeline(Member loginMember, Long cursor, int size) {
+        Member member = memberRepository.findByIdAndDelYnFalse(loginMember.getId())
+                .orElseThrow(() -> new CustomException(MEMBER_NOT_FOUND));
+        if (member.getGym() == null) throw new CustomException(GYM_NOT_FOUND);
+        Long gymId = member.getGym().getId();
+
+        int pageSize = Math.min(Math.max(size, 1), MAX_CURSOR_PAGE_SIZE);
+        List<Long> ids = gymTimeline.read(gymId, cursor, pageSize + 1,
+                (before, limit) -> workoutHistoryRepository.getCommunityHistoryIds(gymId, before, limit));
+        // 다음 커서는 타임라인 ID 기준으로 정한다. (조회 사이에 삭제된 운동기록이 있어도 건너뛰지 않는다.)
+        KotlinCursorPaging<Long> idPage = KotlinCursorPaging.of(ids, pageSize, id -> id);
+        List<Long> pageIds = idPage.getContent();
+
+        List<WorkoutHistoryDto> content = workoutHistoryRepository.getWorkoutHistoryByIds(loginMember.getId(), pageIds);
+        setHistoryListFile(content, pageIds);
+        setHistoryListExercise(content, pageIds);
+        setEngagementCnt(content);
+        return new KotlinCursorPaging<>(content, pageSize, idPage.getNextCursor(), idPage.getHasNext());
+    }
+
     private CustomPaging<WorkoutHistoryDto> getCommunityListByMember(Long memberId, Member loginMember, Pageable pageable, String searchDate) {
         Member member = memberRepository.findByIdAndDelYnFalse(memberId)
                 .orElseThrow(() -> new CustomException(MEMBER_NOT_FOUND));
@@ -231,6 +283,7 @@ public class WorkoutHistoryService {
         List<Long> ids = historiesDto.stream().map(WorkoutHistoryDto::getWorkoutHistoryId).collect(Collectors.toList());
         historiesDto = setHistoryListFile(historiesDto, ids);
         List<WorkoutHistoryDto> content = setHistoryListExercise(historiesDto, ids);
+        setEngagementCnt(content);
 
         CustomPaging customPaging =  new CustomPaging<>(content, pageDtos.getPageable().getPageNumber(),
                 pageDtos.getPageable().getPageSize(), pageDtos.getTotalPages(), pageDtos.getTotalElements(), pageDtos.isLast());
@@ -3,6 +3,10 @@ package com.tobe.healthy.workout.domain.dto;
 import com.tobe.healthy.workout.domain.entity.workoutHistory.WorkoutHistoryFiles;
 import lombok.*;
 
+import java.util.Map;
+
+import static com.tobe.healthy.common.ImageVariantPipeline.variantUrls;
+
 @Data
 @ToString
 @Builder
@@ -13,6 +17,7 @@ public class WorkoutHistoryFileDto {
     private Long id;
     private Long workoutHistoryId;
     private String fileUrl;
+    private Map<Integer, String> variantUrls;
     private int fileOrder;
 
 
@@ -21,6 +26,7 @@ public class WorkoutHistoryFileDto {
                 .id(file.getId())
                 .workoutHistoryId(file.getWorkoutHistory().getWorkoutHistoryId())
                 .fileUrl(file.getFileUrl())
+                .variantUrls(variantUrls(file.getFileUrl(), file.getVariantsReady()))
                 .fileOrder(file.getFileOrder())
                 .build();
     }
@@ -15,7 +15,10 @@ import java.util.List;
 import static jakarta.persistence.FetchType.LAZY;
 
 @Entity
-@Table(name = "workout_history")
+@Table(name = "workout_history", indexes = {
+        @Index(name = "idx_workout_history_member_created_at", columnList = "member_id, created_at"),
+        @Index(name = "idx_workout_history_gym_id", columnList = "gym_id, workout_history_id")
+})
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @AllArgsConstructor
 @Builder
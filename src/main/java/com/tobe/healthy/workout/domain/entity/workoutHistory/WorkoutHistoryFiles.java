@@ -11,7 +11,7 @@ import static lombok.AccessLevel.PROTECTED;
 @Entity
 @NoArgsConstructor(access = PROTECTED)
 @AllArgsConstructor
-@Table(name = "workout_history_files")
+@Table(name = "workout_history_files", indexes = @Index(name = "idx_workout_history_files_file_url", columnList = "file_url"))
 @Builder
 @Getter
 @ToString
@@ -36,6 +36,12 @@ public class WorkoutHistoryFiles extends BaseTimeEntity<WorkoutHistoryFiles, Lon
 
     private String fileName;
 
+    // 너비별 사본을 모두 만든 뒤에 true 로 바뀐다. (ImageVariantPipeline)
+    @ColumnDefault("false")
+    @Builder.Default
+    @ToString.Exclude
+    private Boolean variantsReady = false;
+
     public static WorkoutHistoryFiles create(WorkoutHistory history, String fileUrl, int fileOrder) {
         return WorkoutHistoryFiles.builder()
                 .workoutHistory(history)
@@ -1,6 +1,7 @@
 package com.tobe.healthy.workout.presentation;
 
 import com.tobe.healthy.common.CustomPaging;
+import com.tobe.healthy.common.KotlinCursorPaging;
 import com.tobe.healthy.common.ResponseHandler;
 import com.tobe.healthy.config.security.CustomMemberDetails;
 import com.tobe.healthy.workout.application.WorkoutHistoryService;
@@ -41,4 +42,18 @@ public class CommunityController {
                 .build();
     }
 
+    @Operation(summary = "커뮤니티 운동기록 타임라인 커서 조회하기", responses = {
+            @ApiResponse(responseCode = "400", description = "잘못된 요청 입력"),
+            @ApiResponse(responseCode = "200", description = "운동기록, 다음 커서를 반환한다.")
+    })
+    @GetMapping("/timeline")
+    public ResponseHandler<KotlinCursorPaging<WorkoutHistoryDto>> getCommunityTimeline(@AuthenticationPrincipal CustomMemberDetails customMemberDetails,
+                                                                                       @Parameter(description = "마지막으로 조회한 운동기록 ID") @RequestParam(required = false) Long cursor,
+                                                                                       @RequestParam(defaultValue = "20") int size) {
+        return ResponseHandler.<KotlinCursorPaging<WorkoutHistoryDto>>builder()
+                .data(workoutService.getCommunityTimeline(customMemberDetails.getMember(), cursor, size))
+                .message("운동기록이 조회되었습니다.")
+                .build();
+    }
+
 }
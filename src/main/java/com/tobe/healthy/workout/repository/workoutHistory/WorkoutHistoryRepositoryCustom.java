@@ -14,5 +14,7 @@ public interface WorkoutHistoryRepositoryCustom {
     Page<WorkoutHistoryDto> getWorkoutHistoryOnCommunity(Long loginMemberId, Long gymId, Pageable pageable, String searchDate);
     List<WorkoutHistoryFiles> getWorkoutHistoryFile(@Param("ids") List<Long> ids);
     WorkoutHistoryDto findByWorkoutHistoryId(Long loginMemberId, Long workoutHistoryId);
+    List<Long> getCommunityHistoryIds(Long gymId, Long cursor, int size);
+    List<WorkoutHistoryDto> getWorkoutHistoryByIds(Long loginMemberId, List<Long> ids);
 
 }
@@ -1,11 +1,9 @@
 package com.tobe.healthy.workout.repository.workoutHistory;
 
-import com.querydsl.core.types.ConstantImpl;
 import com.querydsl.core.types.dsl.BooleanExpression;
 import com.querydsl.core.types.dsl.CaseBuilder;
-import com.querydsl.core.types.dsl.Expressions;
-import com.querydsl.core.types.dsl.StringTemplate;
 import com.querydsl.jpa.impl.JPAQueryFactory;
+import com.tobe.healthy.common.SearchDateRange;
 import com.tobe.healthy.diet.domain.dto.QDietDto;
 import com.tobe.healthy.member.domain.entity.QMemberProfile;
 import com.tobe.healthy.workout.domain.dto.out.QWorkoutHistoryDto;
@@ -151,6 +149,45 @@ public class WorkoutHistoryRepositoryCustomImpl implements WorkoutHistoryReposit
                 .fetchOne();
     }
 
+    // 커뮤니티 공개 운동기록 ID 를 커서(마지막 운동기록 ID) 이전부터 최신순으로 조회한다.
+    @Override
+    public List<Long> getCommunityHistoryIds(Long gymId, Long cursor, int size) {
+        return queryFactory
+                .select(workoutHistory.workoutHistoryId)
+                .from(workoutHistory)
+                .where(gymIdEq(gymId)
+                        , historyDeYnEq(false)
+                        , viewMySelfEq(false)
+                        , workoutHistoryIdLt(cursor))
+                .orderBy(workoutHistory.workoutHistoryId.desc())
+                .limit(size)
+                .fetch();
+    }
+
+    // 타임라인의 ID 목록을 한 번에 조회한다. 그 사이 삭제, 비공개 전환된 운동기록은 제외한다.
+    @Override
+    public List<WorkoutHistoryDto> getWorkoutHistoryByIds(Long loginMemberId, List<Long> ids) {
+        if (ObjectUtils.isEmpty(ids)) {
+            return List.of();
+        }
+        QMemberProfile profileId = new QMemberProfile("profileId");
+        return queryFactory
+                .select(new QWorkoutHistoryDto(workoutHistory.workoutHistoryId, workoutHistory.content, workoutHistory.member
+                        , isLiked()
+                        , workoutHistory.likeCnt, workoutHistory.commentCnt, workoutHistory.viewMySelf, workoutHistory.createdAt, member.memberProfile))
+                .from(workoutHistory)
+                .leftJoin(workoutHistory.member, member)
+                .leftJoin(member.memberProfile, profileId)
+                .leftJoin(workoutHistoryLike)
+                .on(workoutHistory.workoutHistoryId.eq(workoutHistoryLike.workoutHistoryLikePK.workoutHistory.workoutHistoryId)
+                        , workoutHistoryLike.workoutHistoryLikePK.member.id.eq(loginMemberId))
+                .where(workoutHistory.workoutHistoryId.in(ids)
+                        , historyDeYnEq(false)
+                        , viewMySelfEq(false))
+                .orderBy(workoutHistory.workoutHistoryId.desc())
+                .fetch();
+    }
+
     private BooleanExpression gymIdEq(Long gymId) {
         if (!ObjectUtils.isEmpty(gymId)){
             return workoutHistory.gym.id.eq(gymId);
@@ -172,6 +209,13 @@ public class WorkoutHistoryRepositoryCustomImpl implements WorkoutHistoryReposit
         return null;
     }
 
+    private BooleanExpression workoutHistoryIdLt(Long cursor) {
+        if (!ObjectUtils.isEmpty(cursor)){
+            return workoutHistory.workoutHistoryId.lt(cursor);
+        }
+        return null;
+    }
+
     private BooleanExpression historyIdIn(List<Long> ids) {
         if (!ObjectUtils.isEmpty(ids)){
             return workoutHistoryFiles.workoutHistory.workoutHistoryId.in(ids);
@@ -208,14 +252,7 @@ public class WorkoutHistoryRepositoryCustomImpl implements WorkoutHistoryReposit
     }
 
     private BooleanExpression convertDateFormat(String searchDate) {
-        if (!ObjectUtils.isEmpty(searchDate)) {
-            StringTemplate stringTemplate = Expressions.stringTemplate(
-                    "DATE_FORMAT({0}, {1})"
-                    , workoutHistory.createdAt
-                    , ConstantImpl.create("%Y-%m"));
-            return stringTemplate.eq(searchDate);
-        }
-        return null;
+        return SearchDateRange.within(workoutHistory.createdAt, searchDate);
     }
 
 }
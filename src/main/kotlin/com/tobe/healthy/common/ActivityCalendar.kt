@@ -0,0 +1,203 @@
+package com.tobe.healthy.common
+
+import com.tobe.healthy.log
+import io.micrometer.core.instrument.Counter
+import io.micrometer.core.instrument.MeterRegistry
+import org.springframework.data.redis.core.RedisTemplate
+import org.springframework.data.redis.core.script.RedisScript
+import org.springframework.stereotype.Component
+import java.time.Duration
+import java.time.LocalDate
+import java.time.YearMonth
+
+/**
+ * 회원의 월별 활동일 비트맵 (key: 활동 + memberId + 월)
+ * - Redis 비트맵의 0 번째 비트는 적재 여부, 1 ~ 31 번째 비트는 해당 일자의 활동 여부이다.
+ * - 적재되지 않은 월만 DB 에서 조회하여 적재하고, 이후에는 비트만 읽는다.
+ * - 등록은 커밋 이후 해당 일자의 비트를 켜고, 삭제, 취소는 같은 날 다른 활동이 남아 있을 수 있으므로 해당 월을 삭제한다.
+ * - 월을 삭제할 때마다 세대(generation)를 올리고, 조회를 시작한 뒤 세대가 바뀐 월은 DB 결과를 적재하지 않는다.
+ */
+@Component
+class ActivityCalendar(
+    private val redisTemplate: RedisTemplate<String, String>,
+    meterRegistry: MeterRegistry
+) {
+
+    private val hit = requestCounter(meterRegistry, "hit")
+    private val miss = requestCounter(meterRegistry, "miss")
+    private val bypass = requestCounter(meterRegistry, "bypass")
+
+    /**
+     * 기간 내 활동일을 yyyy-MM-dd 형식으로 반환한다.
+     * loader 는 기간 내 활동일을 DB 에서 조회한다. (기간이 없거나 너무 길면 비트맵 없이 loader 결과를 그대로 반환한다.)
+     */
+    fun days(
+        type: ActivityType,
+        memberId: Long,
+        startDate: LocalDate?,
+        endDate: LocalDate?,
+        loader: (LocalDate?, LocalDate?) -> List<String>
+    ): List<String> {
+        if (startDate == null || endDate == null || startDate.isAfter(endDate)
+            || YearMonth.from(startDate).plusMonths(MAX_MONTHS).isBefore(YearMonth.from(endDate))) {
+            bypass.increment()
+            return loader(startDate, endDate)
+        }
+        return runCatching { readDays(type, memberId, startDate, endDate, loader) }
+            .onFailure { log.warn(it) { "[활동 달력] 조회 실패 type: $type, memberId: $memberId" } }
+            .getOrElse { loader(startDate, endDate) }
+    }
+
+    fun exists(type: ActivityType, memberId: Long, date: LocalDate, loader: (LocalDate?, LocalDate?) -> List<String>): Boolean {
+        return days(type, memberId, date, date, loader).isNotEmpty()
+    }
+
+    // 적재 전인 월에도 비트를 켜 두고, 적재할 때 DB 결과와 합친다.
+    fun mark(type: ActivityType, memberId: Long, date: LocalDate) {
+        val key = keyOf(type, memberId, YearMonth.from(date))
+        afterCommit {
+            runCatching { redisTemplate.execute(MARK, listOf(key), date.dayOfMonth.toString(), EXPIRE_AFTER_WRITE.seconds.toString()) }
+                .onFailure {
+                    log.warn(it) { "[활동 달력] 기록 실패 key: $key" }
+                    delete(key)
+                }
+        }
+    }
+
+    // 커밋 전에 다른 요청이 삭제 전 활동일을 다시 적재할 수 있으므로 트랜잭션이 끝난 뒤 한 번 더 삭제한다.
+    fun evict(type: ActivityType, memberId: Long, date: LocalDate) {
+        val key = keyOf(type, memberId, YearMonth.from(date))
+        delete(key)
+        afterCompletion { delete(key) }
+    }
+
+    private fun readDays(
+        type: ActivityType,
+        memberId: Long,
+        startDate: LocalDate,
+        endDate: LocalDate,
+        loader: (LocalDate?, LocalDate?) -> List<String>
+    ): List<String> {
+        val months = generateSequence(YearMonth.from(startDate)) { it.plusMonths(1) }
+            .takeWhile { !it.isAfter(YearMonth.from(endDate)) }
+            .toList()
+        val keys = months.map { keyOf(type, memberId, it) }
+        // [비트, 세대, 비트, 세대, ...]
+        val result = redisTemplate.execute(READ, keys.flatMap { listOf(it, generationKeyOf(it)) }).orEmpty()
+        val bitsByMonth = months.withIndex().associate { (index, month) -> month to (result.getOrNull(index * 2) ?: 0L) }
+            .toMutableMap()
+        val generations = months.withIndex().associate { (index, month) -> month to (result.getOrNull(index * 2 + 1) ?: 0L) }
+
+        val missing = months.filter { (bitsByMonth[it]!! and LOADED) == 0L }
+        if (missing.isEmpty()) {
+            hit.increment()
+        } else {
+            miss.increment()
+            val loaded = loader(missing.first().atDay(1), missing.last().atEndOfMonth())
+                .map { LocalDate.parse(it) }
+                .groupBy({ YearMonth.from(it) }, { it.dayOfMonth })
+            missing.forEach { month ->
+                val days = loaded[month].orEmpty()
+                val key = keyOf(type, memberId, month)
+                redisTemplate.execute(
+                    LOAD,
+                    listOf(key, generationKeyOf(key)),
+                    *(listOf(generations[month].toString(), EXPIRE_AFTER_WRITE.seconds.toString()) + days.map { it.toString() }).toTypedArray()
+                )
+                bitsByMonth[month] = days.fold(bitsByMonth[month]!! or LOADED) { acc, day -> acc or dayBit(day) }
+            }
+        }
+
+        return months.flatMap { month ->
+            val monthBits = bitsByMonth[month]!!
+            (1..month.lengthOfMonth())
+                .filter { (monthBits and dayBit(it)) != 0L }
+                .map { month.atDay(it) }
+        }.filter { !it.isBefore(startDate) && !it.isAfter(endDate) }
+            .map { it.toString() }
+    }
+
+    // 세대를 먼저 올려서 삭제 이전에 시작된 조회가 삭제 이후에 적재하지 못하게 한다.
+    private fun delete(key: String) {
+        runCatching { redisTemplate.execute(EVICT, listOf(key, generationKeyOf(key)), GENERATION_EXPIRE_AFTER_WRITE.seconds.toString()) }
+            .onFailure { log.warn(it) { "[활동 달력] 삭제 실패 key: $key" } }
+    }
+
+    private fun requestCounter(meterRegistry: MeterRegistry, result: String): Counter {
+        return Counter.builder("$METRIC_PREFIX.requests")
+            .tag("result", result)
+            .register(meterRegistry)
+    }
+
+    companion object {
+        private const val KEY_PREFIX = "activity-calendar"
+        private const val METRIC_PREFIX = "activity.calendar"
+        private const val MAX_MONTHS = 12L
+        private val EXPIRE_AFTER_WRITE = Duration.ofDays(7)
+
+        // 조회를 시작한 뒤 적재할 때까지만 유지하면 된다.
+        private val GENERATION_EXPIRE_AFTER_WRITE = Duration.ofDays(1)
+
+        // BITFIELD GET u32 0 으로 읽으므로 n 번째 비트는 값의 (31 - n) 번째 비트이다.
+        internal const val LOADED = 1L shl 31
+
+        internal fun dayBit(day: Int) = 1L shl (31 - day)
+
+        internal fun keyOf(type: ActivityType, memberId: Long, month: YearMonth) = "$KEY_PREFIX:$type:$memberId:$month"
+
+        private fun generationKeyOf(key: String) = "$key:generation"
+
+        // KEYS: [비트맵, 세대, 비트맵, 세대, ...] 순서로 받아 [비트, 세대, ...] 를 반환한다.
+        @Suppress("UNCHECKED_CAST")
+        private val READ = RedisScript.of(
+            """
+            local result = {}
+            for i = 1, #KEYS, 2 do
+                table.insert(result, redis.call('bitfield', KEYS[i], 'get', 'u32', 0)[1])
+                table.insert(result, tonumber(redis.call('get', KEYS[i + 1]) or '0'))
+            end
+            return result
+            """.trimIndent(),
+            List::class.java
+        ) as RedisScript<List<Long>>
+
+        // KEYS[1]: 비트맵, KEYS[2]: 세대 (ARGV[1]: 조회 시작 시점의 세대, ARGV[2]: 만료 시간(초), ARGV[3..]: 활동일)
+        private val LOAD = RedisScript.of<Long>(
+            """
+            if (redis.call('get', KEYS[2]) or '0') ~= ARGV[1] then
+                return 0
+            end
+            redis.call('setbit', KEYS[1], 0, 1)
+            for i = 3, #ARGV do
+                redis.call('setbit', KEYS[1], ARGV[i], 1)
+            end
+            redis.call('expire', KEYS[1], ARGV[2])
+            return 1
+            """.trimIndent(),
+            Long::class.java
+        )
+
+        // KEYS[1]: 비트맵, KEYS[2]: 세대 (ARGV[1]: 세대 만료 시간(초))
+        private val EVICT = RedisScript.of<Long>(
+            """
+            redis.call('incr', KEYS[2])
+            redis.call('expire', KEYS[2], ARGV[1])
+            redis.call('del', KEYS[1])
+            return 1
+            """.trimIndent(),
+            Long::class.java
+        )
+
+        // ARGV[1]: 활동일, ARGV[2]: 만료 시간(초)
+        private val MARK = RedisScript.of<Long>(
+            """
+            redis.call('setbit', KEYS[1], ARGV[1], 1)
+            if redis.call('ttl', KEYS[1]) < 0 then
+                redis.call('expire', KEYS[1], ARGV[2])
+            end
+            return 1
+            """.trimIndent(),
+            Long::class.java
+        )
+    }
+}
@@ -0,0 +1,7 @@
+package com.tobe.healthy.common
+
+// 회원 달력에 표시하는 활동 (식단 등록일, 수업 예약일)
+enum class ActivityType {
+    DIET,
+    RESERVATION
+}
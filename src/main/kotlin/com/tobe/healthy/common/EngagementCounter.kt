@@ -0,0 +1,232 @@
+package com.tobe.healthy.common
+
+import com.tobe.healthy.log
+import io.micrometer.core.instrument.Counter
+import io.micrometer.core.instrument.MeterRegistry
+import io.micrometer.core.instrument.Timer
+import org.springframework.beans.factory.annotation.Value
+import org.springframework.data.redis.core.RedisTemplate
+import org.springframework.data.redis.core.script.RedisScript
+import org.springframework.jdbc.core.JdbcTemplate
+import org.springframework.jdbc.core.RowCallbackHandler
+import org.springframework.scheduling.annotation.Scheduled
+import org.springframework.stereotype.Component
+import org.springframework.transaction.PlatformTransactionManager
+import org.springframework.transaction.TransactionDefinition.ISOLATION_REPEATABLE_READ
+import org.springframework.transaction.support.TransactionTemplate
+import java.time.Duration
+import java.util.UUID
+
+/**
+ * 게시글(식단, 운동기록)의 좋아요, 댓글 수 (write-behind)
+ * - 좋아요, 댓글 등록과 같은 트랜잭션에서 engagement_delta 테이블에 증감만 INSERT 한다. (COUNT 쿼리, 게시글 행 잠금 없음)
+ * - 주기적으로 모인 증감을 게시글별로 합산하여 batch UPDATE 로 반영하고, 반영한 증감은 같은 트랜잭션에서 삭제한다.
+ * - 조회 시에는 DB 값에 아직 반영되지 않은 증감을 더한다. (pending)
+ * - 매일 집계 대상 테이블 기준으로 다시 계산하여 오차를 맞춘다. (reconcile)
+ *   집계 대상 행과 증감 행은 함께 커밋되므로, 같은 스냅샷에서 읽은 count(*) 와 증감은 항상 같은 커밋까지를 나타낸다.
+ */
+@Component
+class EngagementCounter(
+    private val redisTemplate: RedisTemplate<String, String>,
+    private val jdbcTemplate: JdbcTemplate,
+    transactionManager: PlatformTransactionManager,
+    meterRegistry: MeterRegistry,
+    @Value("\${engagement.reconcile.chunk-size:1000}")
+    private val reconcileChunkSize: Long,
+    @Value("\${engagement.flush-batch-size:1000}")
+    private val flushBatchSize: Int
+) {
+
+    private val transactionTemplate = TransactionTemplate(transactionManager)
+    private val snapshotTemplate = TransactionTemplate(transactionManager).apply {
+        isolationLevel = ISOLATION_REPEATABLE_READ
+    }
+    private val nodeId = UUID.randomUUID().toString()
+
+    private val flushedCounter = Counter.builder("$METRIC_PREFIX.flushed")
+        .register(meterRegistry)
+    private val reconciledCounter = Counter.builder("$METRIC_PREFIX.reconciled")
+        .register(meterRegistry)
+    private val flushTimer = Timer.builder("$METRIC_PREFIX.flush")
+        .register(meterRegistry)
+    private val reconcileTimer = Timer.builder("$METRIC_PREFIX.reconcile")
+        .register(meterRegistry)
+
+    fun increment(target: EngagementTarget, id: Long) {
+        add(target, id, 1)
+    }
+
+    fun decrement(target: EngagementTarget, id: Long) {
+        add(target, id, -1)
+    }
+
+    // DB 에 아직 반영되지 않은 증감
+    fun pending(target: EngagementTarget, ids: Collection<Long>): Map<Long, Long> {
+        if (ids.isEmpty()) {
+            return emptyMap()
+        }
+        val result = mutableMapOf<Long, Long>()
+        jdbcTemplate.query(
+            "select target_id, sum(delta) from engagement_delta where target = ? and target_id in (${placeholders(ids.size)}) group by target_id",
+            RowCallbackHandler { rs -> result[rs.getLong(1)] = rs.getLong(2) },
+            target.name, *ids.toTypedArray()
+        )
+        return result
+    }
+
+    fun pending(target: EngagementTarget, id: Long): Long {
+        return pending(target, listOf(id))[id] ?: 0L
+    }
+
+    @Scheduled(fixedDelayString = "\${engagement.flush-interval-ms:5000}")
+    fun flush() {
+        flushTimer.record(Runnable {
+            EngagementTarget.entries.forEach { target ->
+                runCatching { flush(target) }
+                    .onFailure { log.error(it) { "[게시글 카운터] 반영 실패 target: $target" } }
+            }
+        })
+    }
+
+    // 다른 서버, 보정과 동시에 반영하지 않도록 target 별로 잠근다. 실패하면 트랜잭션이 롤백되어 증감이 남고 다음 주기에 다시 반영한다.
+    private fun flush(target: EngagementTarget) {
+        val lockKey = lockKey(target)
+        if (redisTemplate.opsForValue().setIfAbsent(lockKey, nodeId, LOCK_TIMEOUT) != true) {
+            return
+        }
+        try {
+            do {
+                val flushed = transactionTemplate.execute { flushBatch(target) }!!
+            } while (flushed == flushBatchSize)
+        } finally {
+            redisTemplate.execute(UNLOCK, listOf(lockKey), nodeId)
+        }
+    }
+
+    private fun flushBatch(target: EngagementTarget): Int {
+        val deltaIds = mutableListOf<Long>()
+        val sums = mutableMapOf<Long, Long>()
+        jdbcTemplate.query(
+            "select engagement_delta_id, target_id, delta from engagement_delta where target = ? order by engagement_delta_id limit ?",
+            RowCallbackHandler { rs ->
+                deltaIds.add(rs.getLong(1))
+                sums.merge(rs.getLong(2), rs.getLong(3)) { a, b -> a + b }
+            },
+            target.name, flushBatchSize
+        )
+        if (deltaIds.isEmpty()) {
+            return 0
+        }
+
+        val entries = sums.filterValues { it != 0L }
+        if (entries.isNotEmpty()) {
+            jdbcTemplate.batchUpdate(
+                "update ${target.table} set ${target.countColumn} = greatest(${target.countColumn} + ?, 0) where ${target.idColumn} = ?",
+                entries.map { (id, delta) -> arrayOf<Any>(delta, id) }
+            )
+            flushedCounter.increment(entries.size.toDouble())
+        }
+        deleteDeltas(deltaIds)
+        return deltaIds.size
+    }
+
+    // 게시글 ID 범위마다 집계 대상 테이블의 개수로 덮어쓴다.
+    fun reconcile() {
+        reconcileTimer.record(Runnable {
+            EngagementTarget.entries.forEach { target ->
+                runCatching { reconcile(target) }
+                    .onFailure { log.error(it) { "[게시글 카운터 보정] 실패 target: $target" } }
+            }
+        })
+    }
+
+    private fun reconcile(target: EngagementTarget) {
+        val maxId = jdbcTemplate.queryForObject("select max(${target.idColumn}) from ${target.table}", Long::class.java) ?: 0L
+        var fromId = 0L
+        var updated = 0L
+        while (fromId < maxId) {
+            val toId = fromId + reconcileChunkSize
+            updated += reconcileChunk(target, fromId, toId)
+            fromId = toId
+        }
+        reconciledCounter.increment(updated.toDouble())
+        log.info { "[게시글 카운터 보정] target: $target, updated: $updated" }
+    }
+
+    // 반영 주기와 겹치지 않도록 같은 잠금을 잡는다.
+    // 범위 안의 증감과 count(*) 를 한 스냅샷에서 읽고, count(*) 로 덮어쓴 뒤 읽은 증감만 삭제한다.
+    // 스냅샷 이후에 커밋된 좋아요, 댓글은 count(*) 에도 빠져 있고 증감도 남아 있으므로 다음 반영 주기에 한 번만 더해진다.
+    private fun reconcileChunk(target: EngagementTarget, fromId: Long, toId: Long): Long {
+        val lockKey = lockKey(target)
+        acquire(lockKey)
+        try {
+            return snapshotTemplate.execute {
+                val deltaIds = jdbcTemplate.queryForList(
+                    "select engagement_delta_id from engagement_delta where target = ? and target_id > ? and target_id <= ?",
+                    Long::class.java,
+                    target.name, fromId, toId
+                )
+                val counts = jdbcTemplate.query(
+                    """
+                    select t.${target.idColumn}, (select count(*) from ${target.sourceTable} s where s.${target.idColumn} = t.${target.idColumn})
+                    from ${target.table} t
+                    where t.${target.idColumn} > ? and t.${target.idColumn} <= ?
+                      and t.${target.countColumn} <> (select count(*) from ${target.sourceTable} s where s.${target.idColumn} = t.${target.idColumn})
+                    """.trimIndent(),
+                    { rs, _ -> arrayOf<Any>(rs.getLong(2), rs.getLong(1)) },
+                    fromId, toId
+                )
+                if (counts.isNotEmpty()) {
+                    jdbcTemplate.batchUpdate(
+                        "update ${target.table} set ${target.countColumn} = ? where ${target.idColumn} = ?",
+                        counts
+                    )
+                }
+                deleteDeltas(deltaIds)
+                counts.size.toLong()
+            }!!
+        } finally {
+            redisTemplate.execute(UNLOCK, listOf(lockKey), nodeId)
+        }
+    }
+
+    private fun acquire(lockKey: String) {
+        val deadline = System.currentTimeMillis() + LOCK_TIMEOUT.toMillis()
+        while (redisTemplate.opsForValue().setIfAbsent(lockKey, nodeId, LOCK_TIMEOUT) != true) {
+            check(System.currentTimeMillis() < deadline) { "잠금을 얻지 못했습니다. key: $lockKey" }
+            Thread.sleep(LOCK_RETRY_INTERVAL.toMillis())
+        }
+    }
+
+    // 호출한 서비스의 트랜잭션에 참여하므로 좋아요, 댓글이 롤백되면 증감도 남지 않는다.
+    private fun add(target: EngagementTarget, id: Long, delta: Long) {
+        jdbcTemplate.update("insert into engagement_delta (target, target_id, delta) values (?, ?, ?)", target.name, id, delta)
+    }
+
+    private fun deleteDeltas(deltaIds: List<Long>) {
+        deltaIds.chunked(flushBatchSize).forEach { chunk ->
+            jdbcTemplate.update("delete from engagement_delta where engagement_delta_id in (${placeholders(chunk.size)})", *chunk.toTypedArray())
+        }
+    }
+
+    private fun placeholders(size: Int) = List(size) { "?" }.joinToString(", ")
+
+    private fun lockKey(target: EngagementTarget) = "$KEY_PREFIX:$target:lock"
+
+    companion object {
+        private const val METRIC_PREFIX = "engagement.counter"
+        private const val KEY_PREFIX = "engagement-delta"
+        private val LOCK_TIMEOUT = Duration.ofSeconds(60)
+        private val LOCK_RETRY_INTERVAL = Duration.ofMillis(50)
+
+        private val UNLOCK = RedisScript.of<Long>(
+            """
+            if redis.call('get', KEYS[1]) == ARGV[1] then
+                return redis.call('del', KEYS[1])
+            end
+            return 0
+            """.trimIndent(),
+            Long::class.java
+        )
+    }
+}
@@ -0,0 +1,26 @@
+package com.tobe.healthy.common
+
+import jakarta.persistence.*
+import jakarta.persistence.EnumType.STRING
+import jakarta.persistence.GenerationType.IDENTITY
+
+// 좋아요, 댓글과 같은 트랜잭션에 기록되는 게시글 카운터 증감 (EngagementCounter 가 반영 후 삭제한다.)
+@Entity
+@Table(indexes = [Index(name = "idx_engagement_delta_target", columnList = "target, target_id")])
+class EngagementDelta(
+
+    @Enumerated(STRING)
+    @Column(nullable = false, length = 30)
+    val target: EngagementTarget,
+
+    @Column(name = "target_id", nullable = false)
+    val targetId: Long,
+
+    @Column(nullable = false)
+    val delta: Long,
+
+    @Id
+    @GeneratedValue(strategy = IDENTITY)
+    @Column(name = "engagement_delta_id")
+    val id: Long? = null
+)
@@ -0,0 +1,14 @@
+package com.tobe.healthy.common
+
+// 좋아요, 댓글 수를 저장하는 테이블과 집계 대상 테이블 (집계 대상의 FK 컬럼은 idColumn 과 같다.)
+enum class EngagementTarget(
+    val table: String,
+    val idColumn: String,
+    val countColumn: String,
+    val sourceTable: String
+) {
+    DIET_LIKE("diet", "diet_id", "like_cnt", "diet_like"),
+    DIET_COMMENT("diet", "diet_id", "comment_cnt", "diet_comment"),
+    WORKOUT_HISTORY_LIKE("workout_history", "workout_history_id", "like_cnt", "workout_history_like"),
+    WORKOUT_HISTORY_COMMENT("workout_history", "workout_history_id", "comment_cnt", "workout_history_comment")
+}
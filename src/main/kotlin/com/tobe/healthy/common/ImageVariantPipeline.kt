@@ -0,0 +1,193 @@
+package com.tobe.healthy.common
+
+import com.amazonaws.services.s3.AmazonS3
+import com.amazonaws.services.s3.model.DeleteObjectsRequest
+import com.tobe.healthy.common.Utils.createObjectMetadata
+import com.tobe.healthy.log
+import io.micrometer.core.instrument.Counter
+import io.micrometer.core.instrument.Gauge
+import io.micrometer.core.instrument.MeterRegistry
+import io.micrometer.core.instrument.Timer
+import org.imgscalr.Scalr
+import org.springframework.beans.factory.DisposableBean
+import org.springframework.beans.factory.annotation.Value
+import org.springframework.jdbc.core.JdbcTemplate
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory
+import org.springframework.stereotype.Component
+import java.awt.Color
+import java.awt.image.BufferedImage
+import java.io.ByteArrayInputStream
+import java.io.ByteArrayOutputStream
+import java.util.concurrent.ArrayBlockingQueue
+import java.util.concurrent.RejectedExecutionException
+import java.util.concurrent.ThreadPoolExecutor
+import java.util.concurrent.TimeUnit.SECONDS
+import javax.imageio.IIOImage
+import javax.imageio.ImageIO
+import javax.imageio.ImageWriteParam
+
+/**
+ * 업로드가 확정된 이미지(origin/...)의 너비별 JPEG 사본(400, 800, 1200px)을 원본 옆에 저장한다. (xxx.png -> xxx_w400.jpg)
+ * - 요청 스레드는 커밋 이후 작업을 넣기만 하고, 제한된 수의 작업 스레드가 원본을 한 번만 디코딩하여 모든 사본을 만든다.
+ * - 원본보다 넓은 사본은 확대하지 않고 원본 크기로 저장한다.
+ * - 모든 사본을 저장한 뒤에 파일 테이블의 variants_ready 를 true 로 바꾸고, 응답에는 이 파일만 사본 URL(variantUrls)을 내려준다.
+ *   큐가 가득 찼거나, 생성에 실패했거나, 이 기능 이전에 올린 파일은 사본 URL 없이 원본(fileUrl)만 내려준다.
+ * - 원본을 삭제할 때는 delete 로 사본까지 함께 삭제한다.
+ */
+@Component
+class ImageVariantPipeline(
+    private val amazonS3: AmazonS3,
+    private val jdbcTemplate: JdbcTemplate,
+    @Value("\${aws.s3.bucket-name}")
+    private val bucketName: String,
+    meterRegistry: MeterRegistry,
+    @Value("\${image.variant.workers:2}")
+    workers: Int,
+    @Value("\${image.variant.queue-capacity:200}")
+    queueCapacity: Int
+) : DisposableBean {
+
+    private val queue = ArrayBlockingQueue<Runnable>(queueCapacity)
+    private val executor = ThreadPoolExecutor(workers, workers, 0, SECONDS, queue, CustomizableThreadFactory("image-variant-"))
+
+    private val processTimer = Timer.builder("$METRIC_PREFIX.process")
+        .register(meterRegistry)
+    private val bytesSavedCounter = Counter.builder("$METRIC_PREFIX.bytes.saved")
+        .baseUnit("bytes")
+        .register(meterRegistry)
+    private val rejectedCounter = Counter.builder("$METRIC_PREFIX.rejected")
+        .register(meterRegistry)
+    private val failedCounter = Counter.builder("$METRIC_PREFIX.failed")
+        .register(meterRegistry)
+
+    init {
+        Gauge.builder("$METRIC_PREFIX.queue.depth", queue) { it.size.toDouble() }
+            .register(meterRegistry)
+    }
+
+    // objectKey: S3 객체 키 (origin/diet/xxx.jpg), fileUrl: 파일 테이블에 저장하는 CDN 주소
+    fun submit(objectKey: String, fileUrl: String) {
+        afterCommit { enqueue(objectKey, fileUrl) }
+    }
+
+    private fun enqueue(objectKey: String, fileUrl: String) {
+        try {
+            executor.execute { process(objectKey, fileUrl) }
+        } catch (e: RejectedExecutionException) {
+            rejectedCounter.increment()
+            log.warn { "[이미지 사본 생성] 대기 큐가 가득 찼습니다. (queue: ${queue.size}, key: $objectKey)" }
+        }
+    }
+
+    private fun process(objectKey: String, fileUrl: String) {
+        runCatching {
+            processTimer.record(Runnable {
+                val original = amazonS3.getObject(bucketName, objectKey).objectContent.use { it.readAllBytes() }
+                val image = ImageIO.read(ByteArrayInputStream(original))
+                    ?: throw IllegalArgumentException("이미지를 읽을 수 없습니다.")
+
+                VARIANT_WIDTHS.forEach { width ->
+                    val resized = if (width < image.width) Scalr.resize(image, Scalr.Method.QUALITY, Scalr.Mode.FIT_TO_WIDTH, width) else image
+                    val bytes = encodeJpeg(resized)
+                    if (resized !== image) resized.flush()
+                    amazonS3.putObject(
+                        bucketName,
+                        variantKey(objectKey, width),
+                        ByteArrayInputStream(bytes),
+                        createObjectMetadata(bytes.size, "image/jpeg")
+                    )
+                    bytesSavedCounter.increment((original.size - bytes.size).coerceAtLeast(0).toDouble())
+                }
+                image.flush()
+
+                // 사본을 만드는 동안 원본이 삭제되었으면 방금 만든 사본도 지운다.
+                if (!amazonS3.doesObjectExist(bucketName, objectKey)) {
+                    deleteVariants(objectKey)
+                    return@Runnable
+                }
+                markReady(objectKey, fileUrl)
+            })
+        }.onFailure {
+            failedCounter.increment()
+            log.error(it) { "[이미지 사본 생성 실패] key: $objectKey" }
+        }
+    }
+
+    private fun markReady(objectKey: String, fileUrl: String) {
+        val table = FILE_TABLES.entries.firstOrNull { objectKey.startsWith(it.key) }?.value ?: return
+        jdbcTemplate.update("update $table set variants_ready = true where file_url = ?", fileUrl)
+    }
+
+    // objectKey: S3 객체 키 (origin/diet/xxx.jpg), 원본과 모든 사본을 삭제한다.
+    fun delete(objectKey: String) {
+        amazonS3.deleteObject(bucketName, objectKey)
+        runCatching { deleteVariants(objectKey) }
+            .onFailure { log.warn(it) { "[이미지 사본 삭제 실패] key: $objectKey" } }
+    }
+
+    private fun deleteVariants(objectKey: String) {
+        val keys = VARIANT_WIDTHS.map { DeleteObjectsRequest.KeyVersion(variantKey(objectKey, it)) }
+        amazonS3.deleteObjects(DeleteObjectsRequest(bucketName).withKeys(keys).withQuiet(true))
+    }
+
+    private fun encodeJpeg(image: BufferedImage): ByteArray {
+        // JPEG 은 알파 채널을 저장할 수 없으므로 RGB 로 변환한다.
+        val rgb = if (image.type == BufferedImage.TYPE_INT_RGB) image else BufferedImage(image.width, image.height, BufferedImage.TYPE_INT_RGB).apply {
+            createGraphics().apply {
+                drawImage(image, 0, 0, Color.WHITE, null)
+                dispose()
+            }
+        }
+        val writer = ImageIO.getImageWritersByFormatName("jpg").next()
+        val output = ByteArrayOutputStream()
+        try {
+            ImageIO.createImageOutputStream(output).use { stream ->
+                writer.output = stream
+                val param = writer.defaultWriteParam.apply {
+                    compressionMode = ImageWriteParam.MODE_EXPLICIT
+                    compressionQuality = JPEG_QUALITY
+                }
+                writer.write(null, IIOImage(rgb, null, null), param)
+            }
+        } finally {
+            writer.dispose()
+        }
+        return output.toByteArray()
+    }
+
+    override fun destroy() {
+        executor.shutdown()
+        executor.awaitTermination(10, SECONDS)
+    }
+
+    companion object {
+        private const val METRIC_PREFIX = "image.variant"
+        private const val JPEG_QUALITY = 0.9f
+        private const val VARIANT_EXTENSION = ".jpg"
+        val VARIANT_WIDTHS = listOf(400, 800, 1200)
+
+        // 원본 폴더별 파일 테이블
+        private val FILE_TABLES = mapOf(
+            "origin/diet/" to "diet_files",
+            "origin/workout-history/" to "workout_history_files",
+            "origin/lesson-history/" to "lesson_history_files"
+        )
+
+        // 원본 URL 또는 키에 너비를 붙인다. 사본은 항상 JPEG 이므로 확장자는 .jpg 로 바꾼다. (origin/diet/xxx.png -> origin/diet/xxx_w400.jpg)
+        @JvmStatic
+        fun variantKey(original: String, width: Int): String {
+            val extensionIndex = original.lastIndexOf('.')
+            val name = if (extensionIndex < 0 || extensionIndex < original.lastIndexOf('/')) original else original.substring(0, extensionIndex)
+            return "${name}_w$width$VARIANT_EXTENSION"
+        }
+
+        // 응답에 내려주는 너비별 사본 URL (key: 너비), 사본을 모두 만든 파일만 내려준다.
+        @JvmStatic
+        fun variantUrls(fileUrl: String?, variantsReady: Boolean?): Map<Int, String> {
+            if (fileUrl.isNullOrBlank() || variantsReady != true) {
+                return emptyMap()
+            }
+            return VARIANT_WIDTHS.associateWith { variantKey(fileUrl, it) }
+        }
+    }
+}
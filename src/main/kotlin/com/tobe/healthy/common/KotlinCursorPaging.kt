@@ -0,0 +1,23 @@
+package com.tobe.healthy.common
+
+// 전체 건수를 세지 않는 커서 기반 페이징 (nextCursor 를 다음 요청의 cursor 로 사용한다.)
+data class KotlinCursorPaging<T>(
+    val content: List<T>,
+    val size: Int,
+    val nextCursor: Long?,
+    val hasNext: Boolean,
+) {
+    fun <R> map(transform: (T) -> R): KotlinCursorPaging<R> {
+        return KotlinCursorPaging(content.map(transform), size, nextCursor, hasNext)
+    }
+
+    companion object {
+        // 다음 페이지 존재 여부를 알기 위해 size + 1 건 조회한 결과로 페이지를 만든다.
+        @JvmStatic
+        fun <T> of(fetched: List<T>, size: Int, cursorOf: (T) -> Long?): KotlinCursorPaging<T> {
+            val hasNext = fetched.size > size
+            val content = fetched.take(size)
+            return KotlinCursorPaging(content, size, if (hasNext) cursorOf(content.last()) else null, hasNext)
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.tobe.healthy.common
+
+import org.springframework.jdbc.core.JdbcTemplate
+import org.springframework.jdbc.core.PreparedStatementCreator
+import org.springframework.jdbc.support.GeneratedKeyHolder
+import java.sql.Statement.RETURN_GENERATED_KEYS
+
+/**
+ * IDENTITY 전략 엔티티는 JPA saveAll 시 행마다 INSERT 가 발생하므로,
+ * 대량 저장은 chunkSize 단위의 multi-row INSERT (insert into ... values (...), (...)) 로 실행한다.
+ * values 는 행마다 columns 순서대로 값을 반환한다.
+ */
+class MultiRowInsert(
+    private val jdbcTemplate: JdbcTemplate,
+    table: String,
+    private val columns: List<String>,
+    private val chunkSize: Int = DEFAULT_CHUNK_SIZE
+) {
+
+    private val insertSql = "insert into $table (${columns.joinToString(", ")}) values "
+    private val valuesRow = columns.joinToString(", ", "(", ")") { "?" }
+
+    // 저장한 행 수를 반환한다.
+    fun <T> insert(rows: Sequence<T>, values: (T) -> List<Any?>): Int {
+        return rows.chunked(chunkSize).sumOf { chunk ->
+            jdbcTemplate.update(sql(chunk.size), *args(chunk, values).toTypedArray())
+        }
+    }
+
+    // 생성된 ID 를 저장 순서대로 반환한다.
+    fun <T> insertReturningKeys(rows: List<T>, values: (T) -> List<Any?>): List<Long> {
+        return rows.chunked(chunkSize).flatMap { chunk ->
+            val args = args(chunk, values)
+            val keyHolder = GeneratedKeyHolder()
+            jdbcTemplate.update(PreparedStatementCreator { connection ->
+                connection.prepareStatement(sql(chunk.size), RETURN_GENERATED_KEYS).apply {
+                    args.forEachIndexed { index, arg -> setObject(index + 1, arg) }
+                }
+            }, keyHolder)
+            keyHolder.keyList.map { (it.values.first() as Number).toLong() }
+        }
+    }
+
+    private fun sql(rowCount: Int) = insertSql + List(rowCount) { valuesRow }.joinToString(",")
+
+    private fun <T> args(chunk: List<T>, values: (T) -> List<Any?>): List<Any?> {
+        val args = ArrayList<Any?>(chunk.size * columns.size)
+        chunk.forEach { row ->
+            val rowValues = values(row)
+            check(rowValues.size == columns.size) { "컬럼 수와 값의 수가 다릅니다. (columns: ${columns.size}, values: ${rowValues.size})" }
+            args.addAll(rowValues)
+        }
+        return args
+    }
+
+    companion object {
+        const val DEFAULT_CHUNK_SIZE = 500
+    }
+}
@@ -0,0 +1,30 @@
+@file:JvmName("TransactionCallbacks")
+
+package com.tobe.healthy.common
+
+import org.springframework.transaction.support.TransactionSynchronization
+import org.springframework.transaction.support.TransactionSynchronizationManager
+
+// 트랜잭션 안에서 호출되면 커밋 이후에 실행하고(롤백 시 실행하지 않음), 트랜잭션 밖이면 바로 실행한다.
+fun afterCommit(action: Runnable) {
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+        TransactionSynchronizationManager.registerSynchronization(object : TransactionSynchronization {
+            override fun afterCommit() {
+                action.run()
+            }
+        })
+    } else {
+        action.run()
+    }
+}
+
+// 트랜잭션 안에서 호출되면 커밋, 롤백과 관계없이 트랜잭션이 끝난 뒤에 실행한다. 트랜잭션 밖이면 실행하지 않는다.
+fun afterCompletion(action: Runnable) {
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+        TransactionSynchronizationManager.registerSynchronization(object : TransactionSynchronization {
+            override fun afterCompletion(status: Int) {
+                action.run()
+            }
+        })
+    }
+}
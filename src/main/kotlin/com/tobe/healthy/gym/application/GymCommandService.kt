@@ -3,6 +3,7 @@ package com.tobe.healthy.gym.application
 import com.tobe.healthy.common.Utils
 import com.tobe.healthy.common.error.CustomException
 import com.tobe.healthy.common.error.ErrorCode.*
+import com.tobe.healthy.config.security.MemberSnapshotCache
 import com.tobe.healthy.gym.domain.dto.`in`.CommandRegisterGym
 import com.tobe.healthy.gym.domain.dto.`in`.CommandSelectMyGym
 import com.tobe.healthy.gym.domain.dto.out.CommandRegisterGymResult
@@ -11,6 +12,7 @@ import com.tobe.healthy.gym.domain.entity.Gym
 import com.tobe.healthy.gym.repository.GymRepository
 import com.tobe.healthy.member.domain.entity.MemberType.TRAINER
 import com.tobe.healthy.member.repository.MemberRepository
+import com.tobe.healthy.schedule.application.FreeSlotIndex
 import org.springframework.data.repository.findByIdOrNull
 import org.springframework.stereotype.Service
 import org.springframework.transaction.annotation.Transactional
@@ -20,6 +22,8 @@ import org.springframework.transaction.annotation.Transactional
 class GymCommandService(
     private val memberRepository: MemberRepository,
     private val gymRepository: GymRepository,
+    private val memberSnapshotCache: MemberSnapshotCache,
+    private val freeSlotIndex: FreeSlotIndex,
 ) {
 
     fun registerGym(request: CommandRegisterGym): CommandRegisterGymResult {
@@ -50,6 +54,10 @@ class GymCommandService(
         }
 
         member.registerGym(gym)
+        memberSnapshotCache.evict(memberId)
+        if (member.memberType == TRAINER) {
+            freeSlotIndex.refresh(memberId)
+        }
 
         return CommandSelectMyGymResult.from(gym)
     }
@@ -4,6 +4,7 @@ import com.amazonaws.services.s3.AmazonS3
 import com.amazonaws.services.s3.model.CopyObjectRequest
 import com.tobe.healthy.common.FileUpload.FILE_MAXIMUM_UPLOAD_SIZE
 import com.tobe.healthy.common.FileUpload.FILE_TEMP_UPLOAD_TIMEOUT
+import com.tobe.healthy.common.ImageVariantPipeline
 import com.tobe.healthy.common.Utils.*
 import com.tobe.healthy.common.error.CustomException
 import com.tobe.healthy.common.error.ErrorCode.*
@@ -54,6 +55,7 @@ class LessonHistoryCommandService(
     @Value("\${aws.s3.bucket-name}")
     private val bucketName: String,
     private val notificationPublisher: CustomEventPublisher<CommandSendNotification>,
+    private val imageVariantPipeline: ImageVariantPipeline,
 ) {
 
     fun registerLessonHistory(
@@ -493,6 +495,7 @@ class LessonHistoryCommandService(
         amazonS3.copyObject(copyObjRequest)
 
         val fileUrl = amazonS3.getUrl(bucketName, createdOriginUrl).toString().replace(S3_DOMAIN, CDN_DOMAIN)
+        imageVariantPipeline.submit(createdOriginUrl, fileUrl)
         log.info { "등록한 fileUrl: ${fileUrl}" }
 
         return CommandUploadFileResult(fileUrl, idx)
@@ -512,7 +515,7 @@ class LessonHistoryCommandService(
     private fun deleteAllFiles(files: MutableList<LessonHistoryFiles>) {
         files.forEach { file ->
             val fileName = getFileName(file.fileUrl)
-            amazonS3.deleteObject(bucketName, fileName)
+            imageVariantPipeline.delete(fileName)
         }
         lessonHistoryFilesRepository.deleteAll(files)
     }
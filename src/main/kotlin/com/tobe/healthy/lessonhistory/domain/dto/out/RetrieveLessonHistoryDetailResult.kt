@@ -1,5 +1,6 @@
 package com.tobe.healthy.lessonhistory.domain.dto.out
 
+import com.tobe.healthy.common.ImageVariantPipeline
 import com.tobe.healthy.common.LessonTimeFormatter.formatLessonDt
 import com.tobe.healthy.common.LessonTimeFormatter.formatLessonTime
 import com.tobe.healthy.lessonhistory.domain.entity.LessonAttendanceStatus.ABSENT
@@ -121,6 +122,7 @@ data class RetrieveLessonHistoryDetailResult(
 
     data class LessonHistoryFileResults(
         val fileUrl: String?,
+        val variantUrls: Map<Int, String>,
         val fileOrder: Int?,
         val createdAt: LocalDateTime?
     ) {
@@ -128,6 +130,7 @@ data class RetrieveLessonHistoryDetailResult(
             fun from(entity: LessonHistoryFiles?): LessonHistoryFileResults {
                 return LessonHistoryFileResults(
                     fileUrl = entity?.fileUrl,
+                    variantUrls = ImageVariantPipeline.variantUrls(entity?.fileUrl, entity?.variantsReady),
                     fileOrder = entity?.fileOrder,
                     createdAt = entity?.createdAt
                 )
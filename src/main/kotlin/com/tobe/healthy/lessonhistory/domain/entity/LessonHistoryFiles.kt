@@ -7,9 +7,11 @@ import jakarta.persistence.*
 import jakarta.persistence.FetchType.LAZY
 import jakarta.persistence.GenerationType.IDENTITY
 import lombok.ToString
+import org.hibernate.annotations.ColumnDefault
 import org.hibernate.annotations.DynamicUpdate
 
 @Entity
+@Table(indexes = [Index(name = "idx_lesson_history_files_file_url", columnList = "file_url")])
 @ToString
 @DynamicUpdate
 class LessonHistoryFiles(
@@ -17,6 +19,10 @@ class LessonHistoryFiles(
 
     var fileOrder: Int,
 
+    // 너비별 사본을 모두 만든 뒤에 true 로 바뀐다. (ImageVariantPipeline)
+    @ColumnDefault("false")
+    var variantsReady: Boolean = false,
+
     @ManyToOne(fetch = LAZY)
     @JoinColumn(name = "member_id")
     @ToString.Exclude
@@ -0,0 +1,127 @@
+package com.tobe.healthy.notification.application
+
+import com.tobe.healthy.log
+import com.tobe.healthy.member.repository.MemberRepository
+import com.tobe.healthy.notification.domain.dto.out.RetrieveNotificationWithRedDotResult.RetrieveNotificationResult
+import com.tobe.healthy.notification.domain.entity.Notification
+import com.tobe.healthy.notification.domain.entity.NotificationCategory.SCHEDULE
+import com.tobe.healthy.notification.domain.entity.NotificationType.FEEDBACK
+import com.tobe.healthy.notification.repository.NotificationBulkRepository
+import com.tobe.healthy.push.application.PushDispatcher
+import com.tobe.healthy.push.domain.dto.`in`.CommandSendPushAlarm
+import com.tobe.healthy.push.domain.entity.DeviceType
+import com.tobe.healthy.schedule.domain.dto.out.FeedbackNotificationToTrainer
+import com.tobe.healthy.schedule.repository.TrainerScheduleRepository
+import io.micrometer.core.instrument.Counter
+import io.micrometer.core.instrument.Gauge
+import io.micrometer.core.instrument.MeterRegistry
+import io.micrometer.core.instrument.Timer
+import org.springframework.beans.factory.annotation.Value
+import org.springframework.stereotype.Component
+import org.springframework.transaction.PlatformTransactionManager
+import org.springframework.transaction.support.TransactionTemplate
+import java.time.Duration
+import java.util.concurrent.atomic.AtomicLong
+
+/**
+ * 매일 오후 10시, 오늘 피드백을 작성하지 않은 수업이 있는 트레이너에게 알림을 보낸다.
+ * - 대상 트레이너를 한 번에 조회한 뒤 chunkSize 명씩 짧은 트랜잭션으로 처리한다.
+ * - 청크마다 토큰을 IN 절 한 번으로 조회하고, 알림은 multi-row INSERT 로 저장하며, 푸시는 커밋 이후 PushDispatcher 가 비동기로 발송한다.
+ * - 한 청크가 실패해도 다음 청크는 계속 처리한다.
+ */
+@Component
+class FeedbackReminderJob(
+    private val trainerScheduleRepository: TrainerScheduleRepository,
+    private val memberRepository: MemberRepository,
+    private val notificationBulkRepository: NotificationBulkRepository,
+    private val notificationUnreadCounter: NotificationUnreadCounter,
+    private val notificationStream: NotificationStream,
+    private val pushDispatcher: PushDispatcher,
+    transactionManager: PlatformTransactionManager,
+    meterRegistry: MeterRegistry,
+    @Value("\${notification.feedback-reminder.chunk-size:500}")
+    private val chunkSize: Int
+) {
+
+    private val transactionTemplate = TransactionTemplate(transactionManager)
+    private val remaining = AtomicLong()
+
+    private val notifiedCounter = Counter.builder("$METRIC_PREFIX.notified")
+        .register(meterRegistry)
+    private val failedCounter = Counter.builder("$METRIC_PREFIX.failed")
+        .register(meterRegistry)
+    private val chunkTimer = Timer.builder("$METRIC_PREFIX.chunk")
+        .register(meterRegistry)
+    private val durationTimer = Timer.builder("$METRIC_PREFIX.duration")
+        .register(meterRegistry)
+
+    init {
+        Gauge.builder("$METRIC_PREFIX.remaining", remaining, AtomicLong::toDouble)
+            .register(meterRegistry)
+    }
+
+    fun sendFeedbackReminders(): Int {
+        return durationTimer.recordCallable {
+            val targets = trainerScheduleRepository.findAllFeedbackNotificationToTrainer()
+            remaining.set(targets.size.toLong())
+            var notified = 0
+
+            targets.chunked(chunkSize).forEach { chunk ->
+                runCatching { chunkTimer.recordCallable { sendChunk(chunk) }!! }
+                    .onSuccess {
+                        notified += it
+                        notifiedCounter.increment(it.toDouble())
+                    }
+                    .onFailure {
+                        failedCounter.increment(chunk.size.toDouble())
+                        log.error(it) { "[피드백 알림 실패] trainers: ${chunk.map { target -> target.trainerId }}" }
+                    }
+                remaining.addAndGet(-chunk.size.toLong())
+            }
+
+            log.info { "[피드백 알림] targets: ${targets.size}, notified: $notified" }
+            notified
+        }!!
+    }
+
+    private fun sendChunk(chunk: List<FeedbackNotificationToTrainer>): Int {
+        val countByTrainerId = chunk.associate { it.trainerId to it.count }
+
+        // 발송 큐가 비워질 때까지 트랜잭션(커넥션) 밖에서 기다리되, FCM 이 느려도 작업 전체가 멈추지 않도록 제한 시간을 둔다.
+        // 토큰은 회원, 기기 종류별로 하나이므로 트레이너 수 * 기기 종류 수만큼 여유 공간을 확보한다.
+        val maxPushes = chunk.size * DeviceType.entries.size
+        if (!pushDispatcher.awaitCapacity(maxPushes, CAPACITY_TIMEOUT)) {
+            log.warn { "[피드백 알림] 발송 큐 대기 시간 초과 pushes: $maxPushes" }
+        }
+
+        return transactionTemplate.execute {
+            val notifications = mutableListOf<Notification>()
+            val pushes = mutableListOf<CommandSendPushAlarm>()
+
+            memberRepository.findMemberTokenById(countByTrainerId.keys.toList())
+                .filter { it.memberToken.isNotEmpty() }
+                .forEach { trainer ->
+                    val content = FEEDBACK.content.format(countByTrainerId[trainer.id])
+                    notifications.add(Notification.create(FEEDBACK.description, content, SCHEDULE, FEEDBACK, trainer, clickUrl = CLICK_URL))
+                    trainer.memberToken.mapTo(pushes) {
+                        CommandSendPushAlarm(FEEDBACK.description, content, it.token, CLICK_URL, it.deviceType)
+                    }
+                }
+
+            val createdAt = NotificationBulkRepository.createdAtNow()
+            val notificationIds = notificationBulkRepository.insertAll(notifications, createdAt)
+            pushDispatcher.dispatch(pushes)
+            notifications.zip(notificationIds).forEach { (notification, notificationId) ->
+                notificationUnreadCounter.increment(notification.receiver!!.id, notification.notificationCategory)
+                notificationStream.publish(RetrieveNotificationResult.from(notification, notificationId, createdAt))
+            }
+            notifications.size
+        }!!
+    }
+
+    companion object {
+        private const val METRIC_PREFIX = "notification.feedback-reminder"
+        private const val CLICK_URL = "https://main.to-be-healthy.site/trainer/manage/feedback"
+        private val CAPACITY_TIMEOUT = Duration.ofSeconds(30)
+    }
+}
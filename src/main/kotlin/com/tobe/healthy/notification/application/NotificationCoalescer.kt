@@ -0,0 +1,170 @@
+package com.tobe.healthy.notification.application
+
+import com.fasterxml.jackson.databind.ObjectMapper
+import com.fasterxml.jackson.module.kotlin.readValue
+import com.tobe.healthy.log
+import com.tobe.healthy.notification.domain.dto.`in`.CommandSendNotification
+import com.tobe.healthy.notification.domain.entity.NotificationType
+import com.tobe.healthy.notification.domain.entity.NotificationType.COMMENT
+import com.tobe.healthy.notification.domain.entity.NotificationType.REPLY
+import io.micrometer.core.instrument.Counter
+import io.micrometer.core.instrument.MeterRegistry
+import org.springframework.beans.factory.annotation.Value
+import org.springframework.data.redis.core.RedisTemplate
+import org.springframework.data.redis.core.script.RedisScript
+import org.springframework.scheduling.annotation.Scheduled
+import org.springframework.stereotype.Component
+
+/**
+ * 댓글, 답글 알림 묶음 처리
+ * - (수신자, 게시글, 알림 종류) 단위로 첫 알림부터 windowMillis 동안 Redis 에 모은 뒤, 알림과 푸시를 한 번만 보낸다.
+ * - 묶음(Hash)은 만기 시각 순서의 Sorted Set 으로 관리하고, 만기 시각을 leaseMillis 뒤로 미룬 서버만 발송하므로 여러 서버에서 중복 발송되지 않는다.
+ * - 발송에 성공한 뒤에만 보낸 개수만큼 묶음에서 빼고, 실패하면 lease 가 끝난 뒤 다시 발송한다.
+ * - Redis 장애 시에는 묶지 않고 바로 발송한다.
+ */
+@Component
+class NotificationCoalescer(
+    private val redisTemplate: RedisTemplate<String, String>,
+    private val notificationService: NotificationService,
+    private val objectMapper: ObjectMapper,
+    meterRegistry: MeterRegistry,
+    @Value("\${notification.coalesce.window-ms:60000}")
+    private val windowMillis: Long,
+    @Value("\${notification.coalesce.batch-size:100}")
+    private val batchSize: Long,
+    @Value("\${notification.coalesce.lease-ms:30000}")
+    private val leaseMillis: Long
+) {
+
+    private val bufferedCounter = Counter.builder("$METRIC_PREFIX.buffered")
+        .register(meterRegistry)
+    private val emittedCounter = Counter.builder("$METRIC_PREFIX.emitted")
+        .register(meterRegistry)
+    private val expiredCounter = Counter.builder("$METRIC_PREFIX.expired")
+        .register(meterRegistry)
+
+    fun send(request: CommandSendNotification) {
+        if (!isCoalescable(request)) {
+            notificationService.sendNotificationFromSystem(request)
+            return
+        }
+        runCatching {
+            redisTemplate.execute(
+                BUFFER,
+                listOf(keyOf(request), DUE_KEY),
+                objectMapper.writeValueAsString(request),
+                (System.currentTimeMillis() + windowMillis).toString(),
+                (windowMillis / 1000 * BUCKET_TTL_FACTOR).coerceAtLeast(60).toString()
+            )
+        }.onSuccess {
+            bufferedCounter.increment()
+        }.onFailure {
+            log.warn(it) { "[알림 묶음] 저장 실패, 바로 발송합니다. receiverIds: ${request.receiverIds}" }
+            notificationService.sendNotificationFromSystem(request)
+        }
+    }
+
+    @Scheduled(fixedDelayString = "\${notification.coalesce.poll-interval-ms:5000}")
+    fun flush() {
+        val dueKeys = runCatching {
+            redisTemplate.opsForZSet().rangeByScore(DUE_KEY, 0.0, System.currentTimeMillis().toDouble(), 0, batchSize)
+        }.getOrNull() ?: return
+
+        dueKeys.forEach { key ->
+            runCatching {
+                val now = System.currentTimeMillis()
+                val claimed = redisTemplate.execute(CLAIM, listOf(DUE_KEY, key), now.toString(), (now + leaseMillis).toString())
+                    ?: return@forEach
+                if (claimed.isEmpty()) {
+                    expiredCounter.increment()
+                    log.warn { "[알림 묶음] 발송 전에 만료되어 버려진 묶음 key: $key" }
+                    return@forEach
+                }
+                val count = claimed[0].toInt()
+                val latest = objectMapper.readValue<CommandSendNotification>(claimed[1])
+                notificationService.sendNotificationFromSystem(summarize(latest, count))
+                emittedCounter.increment()
+
+                // 발송하는 동안 새로 쌓인 알림은 남겨 두고 다음 window 에 발송한다.
+                redisTemplate.execute(ACK, listOf(DUE_KEY, key), count.toString(), (System.currentTimeMillis() + windowMillis).toString())
+            }.onFailure { log.error(it) { "[알림 묶음] 발송 실패, lease 이후 다시 발송합니다. key: $key" } }
+        }
+    }
+
+    private fun isCoalescable(request: CommandSendNotification): Boolean {
+        return request.notificationType in SUMMARY_CONTENT && request.targetId != null && request.receiverIds.size == 1
+    }
+
+    private fun summarize(latest: CommandSendNotification, count: Int): CommandSendNotification {
+        if (count <= 1) {
+            return latest
+        }
+        return latest.copy(content = SUMMARY_CONTENT.getValue(latest.notificationType).format(count))
+    }
+
+    private fun keyOf(request: CommandSendNotification): String {
+        return "$KEY_PREFIX:${request.receiverIds.single()}:${request.targetId}:${request.notificationType}"
+    }
+
+    companion object {
+        private const val METRIC_PREFIX = "notification.coalesce"
+        private const val KEY_PREFIX = "notification-coalesce"
+        private const val DUE_KEY = "$KEY_PREFIX:due"
+
+        // 발송되지 못한 묶음이 남지 않도록 window 보다 충분히 길게 만료 시간을 둔다.
+        private const val BUCKET_TTL_FACTOR = 10
+
+        private val SUMMARY_CONTENT = mapOf(
+            COMMENT to "내 게시글에 새로운 댓글이 %d개 달렸어요.",
+            REPLY to "내 댓글에 새로운 답글이 %d개 달렸어요."
+        )
+
+        // 개수를 늘리고 마지막 알림을 저장한다. 만기 시각은 묶음의 첫 알림 기준으로만 등록한다. (ZADD NX)
+        private val BUFFER = RedisScript.of<Long>(
+            """
+            local count = redis.call('hincrby', KEYS[1], 'count', 1)
+            redis.call('hset', KEYS[1], 'payload', ARGV[1])
+            redis.call('expire', KEYS[1], ARGV[3])
+            redis.call('zadd', KEYS[2], 'NX', ARGV[2], KEYS[1])
+            return count
+            """.trimIndent(),
+            Long::class.java
+        )
+
+        // 만기된 묶음의 만기 시각을 lease 끝(ARGV[2])으로 미루고 [개수, 마지막 알림] 을 반환한다.
+        // 이미 다른 서버가 가져갔으면 nil, 묶음이 만료되어 사라졌으면 만기 목록에서 지우고 빈 목록을 반환한다. (ARGV[1]: 현재 시각)
+        @Suppress("UNCHECKED_CAST")
+        private val CLAIM = RedisScript.of(
+            """
+            local due = redis.call('zscore', KEYS[1], KEYS[2])
+            if not due or tonumber(due) > tonumber(ARGV[1]) then
+                return nil
+            end
+            local values = redis.call('hmget', KEYS[2], 'count', 'payload')
+            if not values[1] or not values[2] then
+                redis.call('zrem', KEYS[1], KEYS[2])
+                redis.call('del', KEYS[2])
+                return {}
+            end
+            redis.call('zadd', KEYS[1], 'XX', ARGV[2], KEYS[2])
+            return values
+            """.trimIndent(),
+            List::class.java
+        ) as RedisScript<List<String>>
+
+        // 발송한 개수(ARGV[1])를 빼고, 남은 알림이 없으면 묶음을 삭제한다. 남았으면 다음 만기 시각(ARGV[2])으로 다시 등록한다.
+        private val ACK = RedisScript.of<Long>(
+            """
+            local count = redis.call('hincrby', KEYS[2], 'count', -tonumber(ARGV[1]))
+            if count <= 0 then
+                redis.call('del', KEYS[2])
+                redis.call('zrem', KEYS[1], KEYS[2])
+                return 0
+            end
+            redis.call('zadd', KEYS[1], 'XX', ARGV[2], KEYS[2])
+            return count
+            """.trimIndent(),
+            Long::class.java
+        )
+    }
+}
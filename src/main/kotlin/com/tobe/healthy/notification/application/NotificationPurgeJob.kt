@@ -0,0 +1,114 @@
+package com.tobe.healthy.notification.application
+
+import com.tobe.healthy.log
+import com.tobe.healthy.notification.domain.dto.NotificationRetentionKey
+import com.tobe.healthy.notification.repository.NotificationRepository
+import io.micrometer.core.instrument.Counter
+import io.micrometer.core.instrument.MeterRegistry
+import io.micrometer.core.instrument.Timer
+import org.springframework.beans.factory.annotation.Value
+import org.springframework.stereotype.Component
+import org.springframework.transaction.PlatformTransactionManager
+import org.springframework.transaction.support.TransactionTemplate
+import java.time.LocalDateTime
+
+/**
+ * 보존 기간이 지난 알림을 PK 순서(keyset)로 CHUNK 단위 조회하여 청크마다 짧은 트랜잭션으로 삭제한다.
+ * - 읽은 알림은 readDays, 읽지 않은 알림은 unreadDays 가 지나면 삭제한다.
+ * - 알림 ID 는 생성 순서와 같으므로 두 기간 중 짧은 기준 시각 이후의 알림을 만나면 종료한다.
+ */
+@Component
+class NotificationPurgeJob(
+    private val notificationRepository: NotificationRepository,
+    private val notificationUnreadCounter: NotificationUnreadCounter,
+    transactionManager: PlatformTransactionManager,
+    meterRegistry: MeterRegistry,
+    @Value("\${notification.retention.read-days:90}")
+    private val readDays: Long,
+    @Value("\${notification.retention.unread-days:365}")
+    private val unreadDays: Long,
+    @Value("\${notification.retention.chunk-size:1000}")
+    private val chunkSize: Long
+) {
+
+    private val transactionTemplate = TransactionTemplate(transactionManager)
+
+    private val readDeletedCounter = Counter.builder("$METRIC_PREFIX.deleted")
+        .tag("status", "read")
+        .register(meterRegistry)
+    private val unreadDeletedCounter = Counter.builder("$METRIC_PREFIX.deleted")
+        .tag("status", "unread")
+        .register(meterRegistry)
+    private val chunkTimer = Timer.builder("$METRIC_PREFIX.chunk")
+        .register(meterRegistry)
+    private val durationTimer = Timer.builder("$METRIC_PREFIX.duration")
+        .register(meterRegistry)
+
+    fun purgeExpiredNotification(): Long {
+        val now = LocalDateTime.now()
+        val readExpiredAt = now.minusDays(readDays)
+        val unreadExpiredAt = now.minusDays(unreadDays)
+        val scanUntil = maxOf(readExpiredAt, unreadExpiredAt)
+
+        return durationTimer.recordCallable {
+            var lastNotificationId = 0L
+            var deleted = 0L
+
+            while (true) {
+                val chunk = chunkTimer.recordCallable { purgeChunk(lastNotificationId, readExpiredAt, unreadExpiredAt) }!!
+                if (chunk.scannedLast == null) break
+
+                deleted += chunk.deleted
+                lastNotificationId = chunk.scannedLast.notificationId
+                if (!chunk.scannedLast.createdAt.isBefore(scanUntil)) break
+            }
+
+            log.info { "[알림 삭제] read < $readExpiredAt, unread < $unreadExpiredAt, deleted: $deleted" }
+            deleted
+        }!!
+    }
+
+    private fun purgeChunk(
+        lastNotificationId: Long,
+        readExpiredAt: LocalDateTime,
+        unreadExpiredAt: LocalDateTime
+    ): PurgeChunkResult {
+        return transactionTemplate.execute {
+            val keys = notificationRepository.findRetentionKeys(lastNotificationId, chunkSize)
+            if (keys.isEmpty()) {
+                return@execute PurgeChunkResult(null, 0)
+            }
+
+            val (read, unread) = keys
+                .filter { it.createdAt.isBefore(if (it.isRead) readExpiredAt else unreadExpiredAt) }
+                .partition { it.isRead }
+            if (read.isEmpty() && unread.isEmpty()) {
+                return@execute PurgeChunkResult(keys.last(), 0)
+            }
+
+            // 조회와 삭제 사이에 다른 요청이 지우거나 읽음 처리한 알림이 있으므로 실제 삭제된 건수로 집계한다.
+            val readDeleted = notificationRepository.deleteAllByIdInAndIsRead(read.map { it.notificationId }, true)
+            val unreadDeleted = notificationRepository.deleteAllByIdInAndIsRead(unread.map { it.notificationId }, false)
+            readDeletedCounter.increment(readDeleted.toDouble())
+            unreadDeletedCounter.increment(unreadDeleted.toDouble())
+
+            // 읽지 않은 알림이 삭제된 회원은 다음 조회 때 다시 계산한다.
+            if (unreadDeleted > 0) {
+                unread.mapNotNull { it.receiverId }
+                    .distinct()
+                    .forEach { notificationUnreadCounter.reset(it, null) }
+            }
+
+            PurgeChunkResult(keys.last(), readDeleted + unreadDeleted)
+        }!!
+    }
+
+    private data class PurgeChunkResult(
+        val scannedLast: NotificationRetentionKey?,
+        val deleted: Long
+    )
+
+    companion object {
+        private const val METRIC_PREFIX = "notification.retention"
+    }
+}
@@ -1,24 +1,26 @@
 package com.tobe.healthy.notification.application
 
+import com.tobe.healthy.common.KotlinCursorPaging
 import com.tobe.healthy.common.KotlinCustomPaging
 import com.tobe.healthy.common.NotificationSenderInfo
 import com.tobe.healthy.log
 import com.tobe.healthy.member.domain.entity.AlarmStatus.DISABLE
 import com.tobe.healthy.member.repository.MemberRepository
 import com.tobe.healthy.notification.domain.dto.`in`.CommandSendNotification
+import com.tobe.healthy.notification.domain.dto.`in`.CommandUpdateNotificationStatus
 import com.tobe.healthy.notification.domain.dto.out.CommandNotificationStatusResult
 import com.tobe.healthy.notification.domain.dto.out.CommandSendNotificationResult
+import com.tobe.healthy.notification.domain.dto.out.NotificationCursorPaging
+import com.tobe.healthy.notification.domain.dto.out.NotificationRedDotStatusResult
 import com.tobe.healthy.notification.domain.dto.out.RetrieveNotificationWithRedDotResult
 import com.tobe.healthy.notification.domain.dto.out.RetrieveNotificationWithRedDotResult.RetrieveNotificationResult
 import com.tobe.healthy.notification.domain.entity.Notification
 import com.tobe.healthy.notification.domain.entity.NotificationCategory
 import com.tobe.healthy.notification.domain.entity.NotificationCategory.COMMUNITY
-import com.tobe.healthy.notification.domain.entity.NotificationCategory.SCHEDULE
-import com.tobe.healthy.notification.domain.entity.NotificationType.FEEDBACK
+import com.tobe.healthy.notification.repository.NotificationBulkRepository
 import com.tobe.healthy.notification.repository.NotificationRepository
-import com.tobe.healthy.push.application.PushCommandService
+import com.tobe.healthy.push.application.PushDispatcher
 import com.tobe.healthy.push.domain.dto.`in`.CommandSendPushAlarm
-import com.tobe.healthy.schedule.repository.TrainerScheduleRepository
 import org.springframework.data.domain.Pageable
 import org.springframework.stereotype.Service
 import org.springframework.transaction.annotation.Transactional
@@ -28,8 +30,10 @@ import org.springframework.transaction.annotation.Transactional
 class NotificationService(
     private val notificationRepository: NotificationRepository,
     private val memberRepository: MemberRepository,
-    private val pushCommandService: PushCommandService,
-    private val trainerScheduleRepository: TrainerScheduleRepository
+    private val notificationBulkRepository: NotificationBulkRepository,
+    private val pushDispatcher: PushDispatcher,
+    private val notificationUnreadCounter: NotificationUnreadCounter,
+    private val notificationStream: NotificationStream
 ) {
 
     fun sendNotificationFromSystem(
@@ -43,6 +47,7 @@ class NotificationService(
         }
 
         val notifications = mutableListOf<Notification>()
+        val pushes = mutableListOf<CommandSendPushAlarm>()
 
         receivers.forEach { receiver ->
 
@@ -50,8 +55,11 @@ class NotificationService(
                 throw IllegalArgumentException("커뮤니티 알림을 거부한 수신자입니다.")
             }
 
-            receiver.memberToken.firstOrNull()?.let { memberToken ->
-                pushCommandService.sendPushAlarm(CommandSendPushAlarm(request.title, request.content, memberToken.token, request.clickUrl, memberToken.deviceType))
+            // 알림은 수신자마다 한 건 저장하고, 푸시는 수신자의 모든 기기(DeviceType)로 발송한다.
+            if (receiver.memberToken.isNotEmpty()) {
+                receiver.memberToken.mapTo(pushes) {
+                    CommandSendPushAlarm(request.title, request.content, it.token, request.clickUrl, it.deviceType)
+                }
 
                 val notification = Notification.create(
                     title = request.title,
@@ -64,14 +72,21 @@ class NotificationService(
                     studentId = request.studentId,
                     studentName = request.studentName
                 )
-                log.info("notification: ${notification}")
                 notifications.add(notification)
             }
         }
 
-        notificationRepository.saveAll(notifications)
+        // 알림은 한 번에 저장하고, 푸시는 커밋 이후 발송 단계에서 일괄 전송한다.
+        val createdAt = NotificationBulkRepository.createdAtNow()
+        val notificationIds = notificationBulkRepository.insertAll(notifications, createdAt)
+        pushDispatcher.dispatch(pushes)
+        notifications.forEach { notificationUnreadCounter.increment(it.receiver!!.id, it.notificationCategory) }
+        notifications.zip(notificationIds).forEach { (notification, notificationId) ->
+            notificationStream.publish(RetrieveNotificationResult.from(notification, notificationId, createdAt))
+        }
+        log.info { "[알림 저장] type: ${request.notificationType}, receivers: ${notifications.size}" }
 
-        return CommandSendNotificationResult.from(notifications)
+        return CommandSendNotificationResult.from(notifications, notificationIds)
     }
 
     fun findAllNotification(
@@ -82,7 +97,7 @@ class NotificationService(
 
         val notification = notificationRepository.findAllByNotificationType(notificationCategory, receiverId, pageable)
 
-        val redDotStatus = notificationRepository.findAllRedDotStatus(notificationCategory, receiverId)
+        val redDotStatus = NotificationRedDotStatusResult.from(notificationUnreadCounter.countAll(receiverId), notificationCategory)
 
         val results = RetrieveNotificationWithRedDotResult.from(notification, redDotStatus)
 
@@ -98,8 +113,27 @@ class NotificationService(
         )
     }
 
+    fun findAllNotification(
+        notificationCategory: NotificationCategory,
+        receiverId: Long,
+        cursor: Long?,
+        size: Int
+    ): NotificationCursorPaging {
+
+        val pageSize = size.coerceIn(1, MAX_CURSOR_PAGE_SIZE)
+
+        // 다음 페이지 존재 여부를 알기 위해 한 건 더 조회한다.
+        val notifications = notificationRepository.findAllByNotificationCategory(notificationCategory, receiverId, cursor, pageSize + 1)
+
+        return NotificationCursorPaging(
+            page = KotlinCursorPaging.of(notifications, pageSize) { it.id }.map { RetrieveNotificationResult.from(it) },
+            redDotStatus = NotificationRedDotStatusResult.from(notificationUnreadCounter.countAll(receiverId), notificationCategory),
+            sender = NotificationSenderInfo.getSenderInfo()
+        )
+    }
+
     fun findRedDotStatus(memberId: Long): Boolean {
-        return notificationRepository.findRedDotStatus(memberId)
+        return notificationUnreadCounter.hasUnread(memberId)
     }
 
     fun updateNotificationStatus(
@@ -110,23 +144,39 @@ class NotificationService(
         val notification = notificationRepository.findByIdAndReceiverId(notificationId, receiverId)
             ?: throw IllegalArgumentException("해당 알림이 존재하지 않습니다.")
 
-        notification.updateNotificationStatus()
+        if (!notification.isRead) {
+            notification.updateNotificationStatus()
+            notificationUnreadCounter.decrement(receiverId, notification.notificationCategory)
+            notificationStream.publishUnread(receiverId)
+        }
 
         return CommandNotificationStatusResult.from(notification)
     }
 
-    fun sendFeedbackNotificationToTrainer() {
-        trainerScheduleRepository.findAllFeedbackNotificationToTrainer().forEach {
-            sendNotificationFromSystem(
-                CommandSendNotification(
-                    title = FEEDBACK.description,
-                    content = FEEDBACK.content.format(it.count),
-                    receiverIds = listOf(it.trainerId),
-                    notificationType = FEEDBACK,
-                    notificationCategory = SCHEDULE,
-                    clickUrl = "https://main.to-be-healthy.site/trainer/manage/feedback"
-                )
-            )
+    fun updateNotificationStatus(
+        request: CommandUpdateNotificationStatus,
+        receiverId: Long
+    ): Int {
+        val updated = notificationRepository.updateNotificationStatus(receiverId, request.notificationIds.distinct())
+        // 카테고리별 감소량을 알 수 없으므로 다음 조회 때 다시 계산한다.
+        if (updated > 0) {
+            notificationUnreadCounter.reset(receiverId, null)
+            notificationStream.publishUnread(receiverId)
         }
+        return updated
+    }
+
+    fun updateAllNotificationStatus(
+        notificationCategory: NotificationCategory?,
+        receiverId: Long
+    ): Int {
+        val updated = notificationRepository.updateAllNotificationStatus(receiverId, notificationCategory)
+        notificationUnreadCounter.reset(receiverId, notificationCategory)
+        notificationStream.publishUnread(receiverId)
+        return updated
+    }
+
+    companion object {
+        private const val MAX_CURSOR_PAGE_SIZE = 50
     }
-}
\ No newline at end of file
+}
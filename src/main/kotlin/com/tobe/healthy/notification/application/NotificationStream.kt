@@ -0,0 +1,149 @@
+package com.tobe.healthy.notification.application
+
+import com.fasterxml.jackson.databind.ObjectMapper
+import com.fasterxml.jackson.module.kotlin.readValue
+import com.tobe.healthy.common.afterCommit
+import com.tobe.healthy.log
+import com.tobe.healthy.notification.domain.dto.out.RetrieveNotificationWithRedDotResult.RetrieveNotificationResult
+import io.micrometer.core.instrument.Gauge
+import io.micrometer.core.instrument.MeterRegistry
+import jakarta.annotation.PreDestroy
+import org.springframework.beans.factory.annotation.Value
+import org.springframework.data.redis.connection.MessageListener
+import org.springframework.data.redis.core.RedisTemplate
+import org.springframework.data.redis.listener.ChannelTopic
+import org.springframework.data.redis.listener.RedisMessageListenerContainer
+import org.springframework.stereotype.Component
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.CopyOnWriteArraySet
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit.MILLISECONDS
+
+/**
+ * 회원별 실시간 알림 스트림 (Server-Sent Events)
+ * - SseEmitter 는 서블릿 비동기 요청으로 처리되므로 연결을 유지하는 동안 Tomcat 스레드를 점유하지 않는다.
+ * - 알림 생성, 읽음 처리는 커밋 이후 Redis 채널(STREAM_CHANNEL)로 전파되고, 회원이 연결된 서버만 이벤트를 보낸다.
+ * - 읽지 않은 알림 수(unread)는 이벤트를 보내는 서버에서 NotificationUnreadCounter 로 조회한다.
+ */
+@Component
+class NotificationStream(
+    private val redisTemplate: RedisTemplate<String, String>,
+    private val notificationUnreadCounter: NotificationUnreadCounter,
+    private val objectMapper: ObjectMapper,
+    redisMessageListenerContainer: RedisMessageListenerContainer,
+    meterRegistry: MeterRegistry,
+    @Value("\${notification.stream.timeout-ms:1800000}")
+    private val timeoutMillis: Long,
+    @Value("\${notification.stream.heartbeat-ms:20000}")
+    heartbeatMillis: Long
+) {
+
+    private val emitters = ConcurrentHashMap<Long, MutableSet<SseEmitter>>()
+
+    // 연결 수만큼 send 가 이어지므로 공용 스케줄러 스레드를 점유하지 않도록 전용 스레드에서 보낸다.
+    private val heartbeatExecutor = Executors.newSingleThreadScheduledExecutor { Thread(it, "notification-stream-heartbeat").apply { isDaemon = true } }
+
+    init {
+        redisMessageListenerContainer.addMessageListener(
+            MessageListener { message, _ -> deliver(String(message.body)) },
+            ChannelTopic(STREAM_CHANNEL)
+        )
+        Gauge.builder("notification.stream.connections", emitters) { it.values.sumOf { set -> set.size }.toDouble() }
+            .register(meterRegistry)
+        heartbeatExecutor.scheduleWithFixedDelay(
+            { runCatching { heartbeat() }.onFailure { log.warn(it) { "[알림 스트림] heartbeat 실패" } } },
+            heartbeatMillis,
+            heartbeatMillis,
+            MILLISECONDS
+        )
+    }
+
+    @PreDestroy
+    fun shutdown() {
+        heartbeatExecutor.shutdownNow()
+    }
+
+    fun subscribe(memberId: Long): SseEmitter {
+        val emitter = SseEmitter(timeoutMillis)
+        emitters.computeIfAbsent(memberId) { CopyOnWriteArraySet() }.add(emitter)
+        emitter.onCompletion { remove(memberId, emitter) }
+        emitter.onTimeout { emitter.complete() }
+        emitter.onError { remove(memberId, emitter) }
+
+        // 연결 직후 현재 읽지 않은 알림 수를 보내 클라이언트가 별도로 조회하지 않도록 한다.
+        send(memberId, emitter, UNREAD_EVENT, notificationUnreadCounter.countAll(memberId))
+        return emitter
+    }
+
+    // 새 알림 (notification 이벤트와 unread 이벤트를 보낸다.)
+    fun publish(notification: RetrieveNotificationResult) {
+        val memberId = notification.receiverId ?: return
+        broadcastAfterCommit(NotificationStreamMessage(memberId, notification))
+    }
+
+    // 읽음 처리 등으로 읽지 않은 알림 수만 바뀐 경우
+    fun publishUnread(memberId: Long) {
+        broadcastAfterCommit(NotificationStreamMessage(memberId, null))
+    }
+
+    // 프록시, 로드밸런서가 유휴 연결을 끊지 않도록 주기적으로 주석을 보낸다. (끊어진 연결도 이때 정리된다.)
+    fun heartbeat() {
+        emitters.forEach { (memberId, memberEmitters) ->
+            memberEmitters.forEach { emitter ->
+                runCatching { emitter.send(SseEmitter.event().comment(HEARTBEAT)) }
+                    .onFailure { remove(memberId, emitter) }
+            }
+        }
+    }
+
+    private fun broadcastAfterCommit(message: NotificationStreamMessage) {
+        val payload = objectMapper.writeValueAsString(message)
+        afterCommit { broadcast(payload) }
+    }
+
+    // Redis 장애 시에는 현재 서버에 연결된 회원에게만 보낸다.
+    private fun broadcast(payload: String) {
+        runCatching { redisTemplate.convertAndSend(STREAM_CHANNEL, payload) }
+            .onFailure {
+                log.warn(it) { "[알림 스트림] 전파 실패" }
+                deliver(payload)
+            }
+    }
+
+    private fun deliver(payload: String) {
+        runCatching {
+            val message = objectMapper.readValue<NotificationStreamMessage>(payload)
+            val memberEmitters = emitters[message.memberId] ?: return
+            val unread = notificationUnreadCounter.countAll(message.memberId)
+            memberEmitters.forEach { emitter ->
+                message.notification?.let { send(message.memberId, emitter, NOTIFICATION_EVENT, it) }
+                send(message.memberId, emitter, UNREAD_EVENT, unread)
+            }
+        }.onFailure { log.warn(it) { "[알림 스트림] 전송 실패 payload: $payload" } }
+    }
+
+    private fun send(memberId: Long, emitter: SseEmitter, name: String, data: Any) {
+        runCatching { emitter.send(SseEmitter.event().name(name).data(data)) }
+            .onFailure { remove(memberId, emitter) }
+    }
+
+    private fun remove(memberId: Long, emitter: SseEmitter) {
+        emitters.computeIfPresent(memberId) { _, memberEmitters ->
+            memberEmitters.remove(emitter)
+            memberEmitters.ifEmpty { null }
+        }
+    }
+
+    data class NotificationStreamMessage(
+        val memberId: Long,
+        val notification: RetrieveNotificationResult?
+    )
+
+    companion object {
+        private const val STREAM_CHANNEL = "notification:stream"
+        private const val NOTIFICATION_EVENT = "notification"
+        private const val UNREAD_EVENT = "unread"
+        private const val HEARTBEAT = "heartbeat"
+    }
+}
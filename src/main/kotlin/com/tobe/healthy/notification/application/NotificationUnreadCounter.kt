@@ -0,0 +1,109 @@
+package com.tobe.healthy.notification.application
+
+import com.tobe.healthy.common.afterCommit
+import com.tobe.healthy.log
+import com.tobe.healthy.notification.domain.entity.NotificationCategory
+import com.tobe.healthy.notification.repository.NotificationRepository
+import org.springframework.data.redis.core.RedisTemplate
+import org.springframework.data.redis.core.script.RedisScript
+import org.springframework.stereotype.Component
+import java.time.Duration
+
+/**
+ * 회원별, 카테고리별 읽지 않은 알림 수 (Redis Hash, key: notification-unread:{memberId}, field: NotificationCategory)
+ * - 조회 시 키가 없으면 DB 에서 다시 계산하여 적재한다.
+ * - 증감은 커밋 이후에 키가 있을 때만 반영하므로, 적재되지 않은 회원의 일부 카테고리만 생기지 않는다.
+ * - 적재와 증감이 겹쳐 생기는 오차는 만료 시간(EXPIRE_AFTER_WRITE) 이후 다시 계산하여 맞춘다.
+ */
+@Component
+class NotificationUnreadCounter(
+    private val redisTemplate: RedisTemplate<String, String>,
+    private val notificationRepository: NotificationRepository
+) {
+
+    fun countAll(memberId: Long): Map<NotificationCategory, Long> {
+        val cached = runCatching { redisTemplate.opsForHash<String, String>().entries(keyOf(memberId)) }
+            .onFailure { log.warn(it) { "[읽지 않은 알림 수] 조회 실패 memberId: $memberId" } }
+            .getOrElse { return countFromDatabase(memberId) }
+        if (cached.isNotEmpty()) {
+            return NotificationCategory.entries.associateWith { cached[it.name]?.toLongOrNull()?.coerceAtLeast(0) ?: 0L }
+        }
+        return reconcile(memberId)
+    }
+
+    fun hasUnread(memberId: Long): Boolean {
+        return countAll(memberId).values.any { it > 0 }
+    }
+
+    fun increment(memberId: Long, notificationCategory: NotificationCategory, delta: Long = 1) {
+        afterCommitSafely {
+            redisTemplate.execute(INCREMENT_IF_EXISTS, listOf(keyOf(memberId)), notificationCategory.name, delta.toString())
+        }
+    }
+
+    fun decrement(memberId: Long, notificationCategory: NotificationCategory) {
+        increment(memberId, notificationCategory, -1)
+    }
+
+    // 모두 읽음 처리 (notificationCategory 가 없으면 전체 카테고리)
+    fun reset(memberId: Long, notificationCategory: NotificationCategory?) {
+        afterCommitSafely {
+            val key = keyOf(memberId)
+            if (notificationCategory == null) {
+                redisTemplate.delete(key)
+            } else {
+                redisTemplate.execute(INCREMENT_IF_EXISTS, listOf(key), notificationCategory.name, RESET)
+            }
+        }
+    }
+
+    private fun countFromDatabase(memberId: Long): Map<NotificationCategory, Long> {
+        val counts = notificationRepository.countUnreadByCategory(memberId)
+        return NotificationCategory.entries.associateWith { counts[it] ?: 0L }
+    }
+
+    private fun reconcile(memberId: Long): Map<NotificationCategory, Long> {
+        val results = countFromDatabase(memberId)
+        runCatching {
+            val key = keyOf(memberId)
+            redisTemplate.opsForHash<String, String>().putAll(key, results.entries.associate { it.key.name to it.value.toString() })
+            redisTemplate.expire(key, EXPIRE_AFTER_WRITE)
+        }.onFailure { log.warn(it) { "[읽지 않은 알림 수] 저장 실패 memberId: $memberId" } }
+        return results
+    }
+
+    // Redis 장애로 알림 저장, 읽음 처리가 실패하지 않도록 한다. 어긋난 값은 만료 후 다시 계산된다.
+    private fun afterCommitSafely(action: () -> Unit) {
+        afterCommit {
+            runCatching(action).onFailure { log.warn(it) { "[읽지 않은 알림 수] 반영 실패" } }
+        }
+    }
+
+    companion object {
+        private const val KEY_PREFIX = "notification-unread"
+        private const val RESET = "reset"
+        private val EXPIRE_AFTER_WRITE = Duration.ofMinutes(30)
+
+        // 키가 있을 때만 증감하고 0 미만으로 내려가지 않는다. (ARGV[2] 가 reset 이면 0 으로 변경)
+        private val INCREMENT_IF_EXISTS = RedisScript.of<Long>(
+            """
+            if redis.call('exists', KEYS[1]) == 0 then
+                return nil
+            end
+            if ARGV[2] == 'reset' then
+                redis.call('hset', KEYS[1], ARGV[1], 0)
+                return 0
+            end
+            local count = redis.call('hincrby', KEYS[1], ARGV[1], ARGV[2])
+            if count < 0 then
+                redis.call('hset', KEYS[1], ARGV[1], 0)
+                return 0
+            end
+            return count
+            """.trimIndent(),
+            Long::class.java
+        )
+
+        private fun keyOf(memberId: Long) = "$KEY_PREFIX:$memberId"
+    }
+}
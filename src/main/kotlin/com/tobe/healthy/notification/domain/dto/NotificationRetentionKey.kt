@@ -0,0 +1,10 @@
+package com.tobe.healthy.notification.domain.dto
+
+import java.time.LocalDateTime
+
+data class NotificationRetentionKey(
+    val notificationId: Long,
+    val receiverId: Long?,
+    val isRead: Boolean,
+    val createdAt: LocalDateTime
+)
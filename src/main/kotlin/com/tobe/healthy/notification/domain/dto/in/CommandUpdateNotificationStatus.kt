@@ -0,0 +1,13 @@
+package com.tobe.healthy.notification.domain.dto.`in`
+
+import io.swagger.v3.oas.annotations.media.Schema
+import jakarta.validation.constraints.NotEmpty
+import jakarta.validation.constraints.Size
+
+@Schema(description = "알림 읽음 처리 DTO")
+data class CommandUpdateNotificationStatus(
+    @Schema(description = "읽음 처리할 알림 ID 목록", example = "[1, 2, 3]")
+    @field:NotEmpty(message = "읽음 처리할 알림을 선택해 주세요.")
+    @field:Size(max = 1000, message = "한 번에 1000개까지 읽음 처리할 수 있습니다.")
+    val notificationIds: List<Long> = emptyList()
+)
@@ -10,9 +10,9 @@ data class CommandSendNotificationResult(
     val receivers: List<NotificationReciverInfo>,
 ) {
     companion object {
-        fun from(notifications: MutableList<Notification>): CommandSendNotificationResult {
+        fun from(notifications: List<Notification>, notificationIds: List<Long>): CommandSendNotificationResult {
             return CommandSendNotificationResult(
-                notificationId = notifications.firstOrNull()?.id,
+                notificationId = notificationIds.firstOrNull(),
                 title = notifications.firstOrNull()?.title,
                 content = notifications.firstOrNull()?.content,
                 receivers = notifications.map { NotificationReciverInfo.from(it.receiver) }
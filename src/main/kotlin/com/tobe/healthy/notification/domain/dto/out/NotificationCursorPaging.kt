@@ -0,0 +1,19 @@
+package com.tobe.healthy.notification.domain.dto.out
+
+import com.fasterxml.jackson.annotation.JsonInclude
+import com.fasterxml.jackson.annotation.JsonInclude.Include.NON_EMPTY
+import com.fasterxml.jackson.annotation.JsonInclude.Include.NON_NULL
+import com.fasterxml.jackson.annotation.JsonUnwrapped
+import com.tobe.healthy.common.KotlinCursorPaging
+import com.tobe.healthy.common.NotificationSenderInfo.SenderInfo
+import com.tobe.healthy.notification.domain.dto.out.RetrieveNotificationWithRedDotResult.RetrieveNotificationResult
+
+// 알림 커서 페이징 (페이지 필드와 같은 위치에 카테고리별 읽지 않은 알림 여부, 발신자 정보를 함께 응답한다.)
+data class NotificationCursorPaging(
+    @get:JsonUnwrapped
+    val page: KotlinCursorPaging<RetrieveNotificationResult>,
+    @JsonInclude(NON_EMPTY)
+    val redDotStatus: List<NotificationRedDotStatusResult> = mutableListOf(),
+    @JsonInclude(NON_NULL)
+    val sender: SenderInfo? = null,
+)
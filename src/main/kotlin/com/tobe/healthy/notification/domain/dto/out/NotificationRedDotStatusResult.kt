@@ -6,4 +6,16 @@ import com.tobe.healthy.notification.domain.entity.NotificationCategory
 data class NotificationRedDotStatusResult @QueryProjection constructor(
     val notificationCategory: NotificationCategory,
     val redDotStatus: Boolean
-)
+) {
+    companion object {
+        // 조회 중인 카테고리를 제외한 나머지 카테고리의 읽지 않은 알림 여부
+        fun from(
+            unreadCounts: Map<NotificationCategory, Long>,
+            excludedCategory: NotificationCategory
+        ): List<NotificationRedDotStatusResult> {
+            return NotificationCategory.entries
+                .filter { it != excludedCategory }
+                .map { NotificationRedDotStatusResult(it, (unreadCounts[it] ?: 0L) > 0) }
+        }
+    }
+}
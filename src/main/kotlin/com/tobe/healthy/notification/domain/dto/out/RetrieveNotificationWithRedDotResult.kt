@@ -2,6 +2,7 @@ package com.tobe.healthy.notification.domain.dto.out
 
 import com.tobe.healthy.notification.domain.entity.Notification
 import org.springframework.data.domain.Page
+import java.time.LocalDateTime
 
 data class RetrieveNotificationWithRedDotResult(
     val content: List<RetrieveNotificationResult>,
@@ -48,6 +49,23 @@ data class RetrieveNotificationWithRedDotResult(
                     studentName = notification.studentName
                 )
             }
+
+            // 일괄 INSERT 로 저장한 알림은 엔티티에 ID, 생성 시각이 없으므로 저장한 값을 따로 채운다.
+            fun from(notification: Notification, notificationId: Long, createdAt: LocalDateTime) : RetrieveNotificationResult {
+                return RetrieveNotificationResult(
+                    notificationId = notificationId,
+                    notificationCategoryAndType = "${notification.notificationCategory.name + "-" + notification.notificationType.name}",
+                    receiverId = notification.receiver?.id,
+                    receiverName = notification.receiver?.name,
+                    title = notification.title,
+                    content = notification.content,
+                    createdAt = createdAt.toString(),
+                    isRead = notification.isRead,
+                    targetId = notification.targetId,
+                    studentId = notification.studentId,
+                    studentName = notification.studentName
+                )
+            }
         }
     }
 }
@@ -10,6 +10,12 @@ import jakarta.persistence.GenerationType.IDENTITY
 import org.hibernate.annotations.DynamicUpdate
 
 @Entity
+@Table(
+    indexes = [
+        Index(name = "idx_notification_receiver_unread", columnList = "receiver_id, is_read, notification_category"),
+        Index(name = "idx_notification_receiver_category", columnList = "receiver_id, notification_category, notification_id")
+    ]
+)
 @DynamicUpdate
 class Notification(
 
@@ -2,23 +2,50 @@ package com.tobe.healthy.notification.presentation
 
 import com.tobe.healthy.ApiResultResponse
 import com.tobe.healthy.common.KotlinCustomPaging
+import com.tobe.healthy.config.jwt.JwtTokenGenerator
 import com.tobe.healthy.config.security.CustomMemberDetails
 import com.tobe.healthy.notification.application.NotificationService
+import com.tobe.healthy.notification.application.NotificationStream
+import com.tobe.healthy.notification.domain.dto.`in`.CommandUpdateNotificationStatus
 import com.tobe.healthy.notification.domain.dto.out.CommandNotificationStatusResult
+import com.tobe.healthy.notification.domain.dto.out.NotificationCursorPaging
 import com.tobe.healthy.notification.domain.dto.out.RetrieveNotificationWithRedDotResult.RetrieveNotificationResult
 import com.tobe.healthy.notification.domain.entity.NotificationCategory
+import jakarta.validation.Valid
 import org.springdoc.core.annotations.ParameterObject
 import org.springframework.data.domain.Pageable
 import org.springframework.data.web.PageableDefault
+import org.springframework.http.MediaType.TEXT_EVENT_STREAM_VALUE
 import org.springframework.security.core.annotation.AuthenticationPrincipal
 import org.springframework.web.bind.annotation.*
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter
 
 @RestController
 @RequestMapping("/notification/v1")
 class NotificationController(
-    private val notificationService: NotificationService
+    private val notificationService: NotificationService,
+    private val notificationStream: NotificationStream,
+    private val jwtTokenGenerator: JwtTokenGenerator
 ) {
 
+    // EventSource 는 Authorization 헤더를 보낼 수 없으므로 연결 직전에 발급받아 /stream?token= 으로 전달한다.
+    @PostMapping("/stream/token")
+    fun issueStreamToken(
+        @AuthenticationPrincipal member: CustomMemberDetails
+    ) : ApiResultResponse<String> {
+        return ApiResultResponse(
+            message = "알림 스트림 토큰을 발급하였습니다.",
+            data = jwtTokenGenerator.createStreamToken(member.memberId, member.userId, member.memberType)
+        )
+    }
+
+    @GetMapping("/stream", produces = [TEXT_EVENT_STREAM_VALUE])
+    fun subscribe(
+        @AuthenticationPrincipal member: CustomMemberDetails
+    ) : SseEmitter {
+        return notificationStream.subscribe(member.memberId)
+    }
+
     @GetMapping("/{notificationCategory}")
     fun findAllNotification(
         @PathVariable notificationCategory: NotificationCategory,
@@ -31,6 +58,30 @@ class NotificationController(
         )
     }
 
+    @GetMapping("/{notificationCategory}/cursor")
+    fun findAllNotificationByCursor(
+        @PathVariable notificationCategory: NotificationCategory,
+        @RequestParam(required = false) cursor: Long?,
+        @RequestParam(defaultValue = "20") size: Int,
+        @AuthenticationPrincipal member: CustomMemberDetails
+    ) : ApiResultResponse<NotificationCursorPaging> {
+        return ApiResultResponse(
+            message = "전체 알림을 조회하였습니다.",
+            data = notificationService.findAllNotification(notificationCategory, member.memberId, cursor, size)
+        )
+    }
+
+    @PatchMapping("/read")
+    fun updateNotificationStatus(
+        @RequestBody @Valid request: CommandUpdateNotificationStatus,
+        @AuthenticationPrincipal member: CustomMemberDetails,
+    ) : ApiResultResponse<Int> {
+        return ApiResultResponse(
+            message = "선택한 알림을 읽음 처리 하였습니다.",
+            data = notificationService.updateNotificationStatus(request, member.memberId)
+        )
+    }
+
     @PatchMapping("/{notificationId}")
     fun updateNotificationStatus(
         @PathVariable notificationId: Long,
@@ -42,6 +93,17 @@ class NotificationController(
         )
     }
 
+    @PatchMapping("/read-all")
+    fun updateAllNotificationStatus(
+        @RequestParam(required = false) notificationCategory: NotificationCategory?,
+        @AuthenticationPrincipal member: CustomMemberDetails,
+    ) : ApiResultResponse<Int> {
+        return ApiResultResponse(
+            message = "알림을 모두 읽음 처리 하였습니다.",
+            data = notificationService.updateAllNotificationStatus(notificationCategory, member.memberId)
+        )
+    }
+
     @GetMapping("/red-dot")
     fun findNotificationWithRedDot(
         @AuthenticationPrincipal member: CustomMemberDetails
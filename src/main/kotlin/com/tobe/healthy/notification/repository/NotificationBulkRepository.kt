@@ -0,0 +1,51 @@
+package com.tobe.healthy.notification.repository
+
+import com.tobe.healthy.common.MultiRowInsert
+import com.tobe.healthy.notification.domain.entity.Notification
+import org.springframework.jdbc.core.JdbcTemplate
+import org.springframework.stereotype.Repository
+import java.sql.Timestamp
+import java.time.LocalDateTime
+import java.time.temporal.ChronoUnit.MICROS
+
+/**
+ * 수신자별 알림을 한 번에 저장하고, 생성된 ID 를 수신자 순서대로 반환한다.
+ * 생성 시각(createdAt)은 호출하는 쪽에서 넘겨 실시간 알림 응답에도 저장된 값을 그대로 쓰도록 한다.
+ */
+@Repository
+class NotificationBulkRepository(
+    jdbcTemplate: JdbcTemplate
+) {
+
+    private val multiRowInsert = MultiRowInsert(
+        jdbcTemplate,
+        "notification",
+        listOf("student_id", "student_name", "click_url", "title", "content", "notification_category", "notification_type", "sender_type", "receiver_id", "target_id", "is_read", "created_at", "updated_at")
+    )
+
+    fun insertAll(notifications: List<Notification>, createdAt: LocalDateTime): List<Long> {
+        val now = Timestamp.valueOf(createdAt)
+        return multiRowInsert.insertReturningKeys(notifications) {
+            listOf(
+                it.studentId,
+                it.studentName,
+                it.clickUrl,
+                it.title,
+                it.content,
+                it.notificationCategory.name,
+                it.notificationType.name,
+                it.senderType.name,
+                it.receiver?.id,
+                it.targetId,
+                it.isRead,
+                now,
+                now
+            )
+        }
+    }
+
+    companion object {
+        // created_at 컬럼(datetime(6))과 같은 정밀도로 맞춘다.
+        fun createdAtNow(): LocalDateTime = LocalDateTime.now().truncatedTo(MICROS)
+    }
+}
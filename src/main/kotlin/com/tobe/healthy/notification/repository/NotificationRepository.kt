@@ -1,8 +1,27 @@
 package com.tobe.healthy.notification.repository
 
 import com.tobe.healthy.notification.domain.entity.Notification
+import com.tobe.healthy.notification.domain.entity.NotificationCategory
 import org.springframework.data.jpa.repository.JpaRepository
+import org.springframework.data.jpa.repository.Modifying
+import org.springframework.data.jpa.repository.Query
 
 interface NotificationRepository : JpaRepository<Notification, Long>, NotificationRepositoryCustom {
     fun findByIdAndReceiverId(notificationId: Long, receiverId: Long): Notification?
+
+    // notificationCategory 가 null 이면 전체 카테고리를 읽음 처리한다.
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(
+        "update Notification n set n.isRead = true, n.updatedAt = local datetime " +
+            "where n.receiver.id = :receiverId and n.isRead = false " +
+            "and (:notificationCategory is null or n.notificationCategory = :notificationCategory)"
+    )
+    fun updateAllNotificationStatus(receiverId: Long, notificationCategory: NotificationCategory?): Int
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(
+        "update Notification n set n.isRead = true, n.updatedAt = local datetime " +
+            "where n.receiver.id = :receiverId and n.isRead = false and n.id in :notificationIds"
+    )
+    fun updateNotificationStatus(receiverId: Long, notificationIds: List<Long>): Int
 }
\ No newline at end of file
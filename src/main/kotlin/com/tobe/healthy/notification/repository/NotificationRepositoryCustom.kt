@@ -1,6 +1,6 @@
 package com.tobe.healthy.notification.repository
 
-import com.tobe.healthy.notification.domain.dto.out.NotificationRedDotStatusResult
+import com.tobe.healthy.notification.domain.dto.NotificationRetentionKey
 import com.tobe.healthy.notification.domain.entity.Notification
 import com.tobe.healthy.notification.domain.entity.NotificationCategory
 import org.springframework.data.domain.Page
@@ -8,6 +8,8 @@ import org.springframework.data.domain.Pageable
 
 interface NotificationRepositoryCustom {
     fun findAllByNotificationType(notificationCategory: NotificationCategory, receiverId: Long, pageable: Pageable): Page<Notification>
-    fun findAllRedDotStatus(notificationCategory: NotificationCategory, receiverId: Long): List<NotificationRedDotStatusResult>
-    fun findRedDotStatus(receiverId: Long) : Boolean
+    fun findAllByNotificationCategory(notificationCategory: NotificationCategory, receiverId: Long, cursor: Long?, size: Int): List<Notification>
+    fun countUnreadByCategory(receiverId: Long): Map<NotificationCategory, Long>
+    fun findRetentionKeys(lastNotificationId: Long, limit: Long): List<NotificationRetentionKey>
+    fun deleteAllByIdInAndIsRead(notificationIds: List<Long>, isRead: Boolean): Long
 }
\ No newline at end of file
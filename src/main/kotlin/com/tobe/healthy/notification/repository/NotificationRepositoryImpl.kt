@@ -2,9 +2,8 @@ package com.tobe.healthy.notification.repository
 
 import com.querydsl.core.types.Projections.constructor
 import com.querydsl.core.types.dsl.BooleanExpression
-import com.querydsl.core.types.dsl.CaseBuilder
 import com.querydsl.jpa.impl.JPAQueryFactory
-import com.tobe.healthy.notification.domain.dto.out.NotificationRedDotStatusResult
+import com.tobe.healthy.notification.domain.dto.NotificationRetentionKey
 import com.tobe.healthy.notification.domain.entity.Notification
 import com.tobe.healthy.notification.domain.entity.NotificationCategory
 import com.tobe.healthy.notification.domain.entity.QNotification.notification
@@ -49,45 +48,71 @@ class NotificationRepositoryImpl(
         return PageableExecutionUtils.getPage(results, pageable) { totalCount.fetchOne() ?: 0L }
     }
 
-    override fun findAllRedDotStatus(
+    // 커서(마지막으로 조회한 알림 ID)보다 작은 알림을 size 만큼 조회한다. 전체 건수는 세지 않는다.
+    override fun findAllByNotificationCategory(
         notificationCategory: NotificationCategory,
-        receiverId: Long
-    ): List<NotificationRedDotStatusResult> {
-
+        receiverId: Long,
+        cursor: Long?,
+        size: Int
+    ): List<Notification> {
         return queryFactory
-            .select(
-                constructor(
-                    NotificationRedDotStatusResult::class.java,
-                    notification.notificationCategory,
-                    CaseBuilder()
-                        .`when`(CaseBuilder()
-                                .`when`(notification.receiver.id.eq(receiverId).and(notification.isRead.eq(false)))
-                                .then(1)
-                                .otherwise(0)
-                                .sum().gt(0)
-                        )
-                        .then(true)
-                        .otherwise(false)
-                )
-            )
+            .select(notification)
             .from(notification)
             .where(
-                notificationCategoryNq(notificationCategory),
+                notification.receiver.id.eq(receiverId),
+                notificationCategoryEq(notificationCategory),
+                notificationIdLt(cursor)
             )
-            .groupBy(notification.notificationCategory)
+            .orderBy(notification.id.desc())
+            .limit(size.toLong())
             .fetch()
     }
 
-    override fun findRedDotStatus(receiverId: Long): Boolean {
-        val count = queryFactory
-            .select(notification.count())
+    // 수신자의 읽지 않은 알림만 (receiver_id, is_read, notification_category) 인덱스로 집계한다.
+    override fun countUnreadByCategory(receiverId: Long): Map<NotificationCategory, Long> {
+        return queryFactory
+            .select(notification.notificationCategory, notification.count())
             .from(notification)
             .where(
                 notification.receiver.id.eq(receiverId),
                 notification.isRead.eq(false)
             )
-            .fetchOne() ?: 0
-        return count > 0
+            .groupBy(notification.notificationCategory)
+            .fetch()
+            .associate { it.get(notification.notificationCategory)!! to (it.get(notification.count()) ?: 0L) }
+    }
+
+    // PK 순서(keyset)로 조회하므로 보존 기간 조건과 관계없이 PK 범위만 읽는다.
+    override fun findRetentionKeys(lastNotificationId: Long, limit: Long): List<NotificationRetentionKey> {
+        return queryFactory
+            .select(
+                constructor(
+                    NotificationRetentionKey::class.java,
+                    notification.id,
+                    notification.receiver.id,
+                    notification.isRead,
+                    notification.createdAt
+                )
+            )
+            .from(notification)
+            .where(notification.id.gt(lastNotificationId))
+            .orderBy(notification.id.asc())
+            .limit(limit)
+            .fetch()
+    }
+
+    // 조회 이후 읽음 상태가 바뀐 알림은 삭제하지 않고 다음 실행에서 다시 판단한다.
+    override fun deleteAllByIdInAndIsRead(notificationIds: List<Long>, isRead: Boolean): Long {
+        if (notificationIds.isEmpty()) {
+            return 0
+        }
+        return queryFactory
+            .delete(notification)
+            .where(
+                notification.id.`in`(notificationIds),
+                notification.isRead.eq(isRead)
+            )
+            .execute()
     }
 
     private fun notificationCategoryEq(notificationCategory: NotificationCategory): BooleanExpression? {
@@ -97,10 +122,10 @@ class NotificationRepositoryImpl(
         return notification.notificationCategory.eq(notificationCategory)
     }
 
-    private fun notificationCategoryNq(notificationCategory: NotificationCategory): BooleanExpression? {
-        if (ObjectUtils.isEmpty(notificationCategory)) {
+    private fun notificationIdLt(cursor: Long?): BooleanExpression? {
+        if (cursor == null) {
             return null
         }
-        return notification.notificationCategory.ne(notificationCategory)
+        return notification.id.lt(cursor)
     }
 }
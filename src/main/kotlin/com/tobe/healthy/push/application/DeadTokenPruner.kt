@@ -0,0 +1,62 @@
+package com.tobe.healthy.push.application
+
+import com.tobe.healthy.log
+import com.tobe.healthy.push.repository.MemberTokenRepository
+import io.micrometer.core.instrument.Counter
+import io.micrometer.core.instrument.MeterRegistry
+import org.springframework.scheduling.annotation.Scheduled
+import org.springframework.stereotype.Component
+import org.springframework.transaction.PlatformTransactionManager
+import org.springframework.transaction.support.TransactionTemplate
+import java.util.concurrent.ConcurrentLinkedQueue
+
+/**
+ * FCM 이 더 이상 유효하지 않다고 응답한 토큰을 모아서 주기적으로 삭제한다.
+ * - 발송 콜백(FCM 스레드)에서는 큐에 넣기만 하고, DB 삭제는 CHUNK_SIZE 단위의 IN 절로 처리한다.
+ * - 삭제에 실패한 토큰은 큐에 되돌려 다음 주기에 다시 삭제하고, MAX_ATTEMPTS 번 실패하면 버린다.
+ */
+@Component
+class DeadTokenPruner(
+    private val memberTokenRepository: MemberTokenRepository,
+    transactionManager: PlatformTransactionManager,
+    meterRegistry: MeterRegistry
+) {
+
+    private val queue = ConcurrentLinkedQueue<DeadToken>()
+    private val transactionTemplate = TransactionTemplate(transactionManager)
+    private val prunedCounter = Counter.builder("push.token.pruned").register(meterRegistry)
+    private val droppedCounter = Counter.builder("push.token.prune.dropped").register(meterRegistry)
+
+    fun add(tokens: Collection<String>) {
+        queue.addAll(tokens.map { DeadToken(it) })
+    }
+
+    @Scheduled(fixedDelayString = "\${push.token.prune-interval-ms:10000}")
+    fun flush() {
+        while (queue.isNotEmpty()) {
+            val chunk = generateSequence { queue.poll() }.take(CHUNK_SIZE).toList().distinctBy { it.token }
+            if (chunk.isEmpty()) {
+                return
+            }
+            val tokens = chunk.map { it.token }
+            runCatching {
+                val deleted = transactionTemplate.execute { memberTokenRepository.deleteAllByTokenIn(tokens) } ?: 0
+                prunedCounter.increment(deleted.toDouble())
+                log.info { "[토큰 삭제] requested: ${tokens.size}, deleted: $deleted" }
+            }.onFailure {
+                val (retry, dropped) = chunk.map { it.copy(attempts = it.attempts + 1) }.partition { it.attempts < MAX_ATTEMPTS }
+                queue.addAll(retry)
+                droppedCounter.increment(dropped.size.toDouble())
+                log.error(it) { "[토큰 삭제 실패] size: ${tokens.size}, retry: ${retry.size}, dropped: ${dropped.size}" }
+                return
+            }
+        }
+    }
+
+    private data class DeadToken(val token: String, val attempts: Int = 0)
+
+    companion object {
+        private const val CHUNK_SIZE = 500
+        private const val MAX_ATTEMPTS = 5
+    }
+}
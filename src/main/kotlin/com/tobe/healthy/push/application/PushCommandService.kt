@@ -4,6 +4,7 @@ import com.google.firebase.messaging.*
 import com.tobe.healthy.common.error.CustomException
 import com.tobe.healthy.common.error.ErrorCode.MEMBER_NOT_FOUND
 import com.tobe.healthy.log
+import com.tobe.healthy.member.domain.entity.Member
 import com.tobe.healthy.member.repository.MemberRepository
 import com.tobe.healthy.push.domain.dto.`in`.CommandRegisterToken
 import com.tobe.healthy.push.domain.dto.`in`.CommandRegisterTokenWithWebView
@@ -11,6 +12,7 @@ import com.tobe.healthy.push.domain.dto.`in`.CommandSendPushAlarm
 import com.tobe.healthy.push.domain.dto.`in`.CommandSendPushAlarmToMember
 import com.tobe.healthy.push.domain.dto.out.CommandRegisterTokenResult
 import com.tobe.healthy.push.domain.dto.out.CommandSendPushAlarmResult
+import com.tobe.healthy.push.domain.entity.DeviceType
 import com.tobe.healthy.push.domain.entity.DeviceType.WEB
 import com.tobe.healthy.push.domain.entity.MemberToken
 import com.tobe.healthy.push.repository.MemberTokenRepository
@@ -23,7 +25,8 @@ import org.springframework.transaction.annotation.Transactional
 @Transactional
 class PushCommandService(
     private val memberRepository: MemberRepository,
-    private val memberTokenRepository: MemberTokenRepository
+    private val memberTokenRepository: MemberTokenRepository,
+    private val pushDispatcher: PushDispatcher
 ) {
 
     fun registerFcmToken(
@@ -33,13 +36,7 @@ class PushCommandService(
         val findMember = memberRepository.findByIdOrNull(memberId)
             ?: throw CustomException(MEMBER_NOT_FOUND)
 
-        val findMemberToken = memberTokenRepository.findByMemberId(findMember.id)
-            ?: let {
-                val memberToken = MemberToken.register(findMember, request.token, WEB)
-                memberTokenRepository.save(memberToken)
-            }
-
-        findMemberToken.changeToken(request.token, WEB)
+        registerToken(findMember, request.token, WEB)
 
         return CommandRegisterTokenResult(
             name = findMember.name,
@@ -51,14 +48,16 @@ class PushCommandService(
         val findMember = memberRepository.findByIdOrNull(request.memberId)
             ?: throw CustomException(MEMBER_NOT_FOUND)
 
-        val findMemberToken = memberTokenRepository.findByMemberId(findMember.id)
-            ?: let {
-                val memberToken =
-                    MemberToken.register(findMember, request.token, request.deviceType)
-                memberTokenRepository.save(memberToken)
-            }
+        registerToken(findMember, request.token, request.deviceType)
+    }
+
+    // 기기 종류(DeviceType)마다 하나의 토큰을 유지하므로 웹과 앱에 모두 발송된다.
+    private fun registerToken(member: Member, token: String, deviceType: DeviceType) {
+        memberTokenRepository.deleteAllByTokenAndMemberIdNot(token, member.id)
 
-        findMemberToken.changeToken(request.token, request.deviceType)
+        memberTokenRepository.findByMemberIdAndDeviceType(member.id, deviceType)
+            ?.changeToken(token)
+            ?: memberTokenRepository.save(MemberToken.register(member, token, deviceType))
     }
 
     fun sendPushAlarm(request: CommandSendPushAlarm): CommandSendPushAlarmResult {
@@ -78,78 +77,75 @@ class PushCommandService(
         )
     }
 
-    private fun createMessage(
-        token: String,
-        title: String,
-        message: String,
-        clickUrl: String? = null
-    ): Message {
-        return Message.builder()
-            .setNotification(
-                Notification.builder()
-                    .setTitle(title)
-                    .setBody(message)
-                    .setImage("https://cdn.to-be-healthy.site/origin/profile/default.png?w=96&h=96")
-                    .build()
-            )
-            .setAndroidConfig(
-                AndroidConfig.builder().setTtl((3600 * 1000).toLong()).setNotification(
-                    AndroidNotification.builder()
-                        .setClickAction(clickUrl ?: "")
-                        .build()
-                ).build()
-            )
-            .setApnsConfig(
-                ApnsConfig.builder().setAps(
-                    Aps.builder()
-                        .setAlert(
-                            ApsAlert.builder()
-                                .setTitle(title)
-                                .setBody(message)
-                                .build()
-                        )
-                        .setSound("default")
-                        .build()
-                )
-                    .putHeader("apns-push-type", "alert")
-                    .putHeader("apns-priority", "10")
-                    .putHeader("apns-topic", "site.tobehealthy.webview") // 여기에 실제 번들 ID를 입력
-                    .build()
-            )
-            .setWebpushConfig(
-                WebpushConfig.builder()
-                    .setNotification(
-                        WebpushNotification(
-                            title,
-                            message,
-                        )
-                    )
-                    .setFcmOptions(WebpushFcmOptions.withLink(clickUrl ?: ""))
-                    .build()
-            )
-            .setToken(token)
-            .build()
-    }
-
     fun sendPushAlarm(
         memberId: Long,
         request: CommandSendPushAlarmToMember
     ): CommandSendPushAlarmResult {
-        val findMemberToken = memberTokenRepository.findByMemberId(memberId)
-            ?: throw CustomException(MEMBER_NOT_FOUND)
-
-        val message = createMessage(findMemberToken.token, request.title, request.message)
-
-        val response = FirebaseMessaging
-            .getInstance()
-            .sendAsync(message)
-            .get()
+        val memberTokens = memberTokenRepository.findAllByMemberId(memberId)
+            .ifEmpty { throw CustomException(MEMBER_NOT_FOUND) }
 
-        log.info("Sent message: ${response}")
+        pushDispatcher.dispatch(memberTokens.map {
+            CommandSendPushAlarm(request.title, request.message, it.token, deviceType = it.deviceType)
+        })
 
         return CommandSendPushAlarmResult.from(
             request.title,
             request.message
         )
     }
+
+    companion object {
+        fun createMessage(
+            token: String,
+            title: String,
+            message: String,
+            clickUrl: String? = null
+        ): Message {
+            return Message.builder()
+                .setNotification(
+                    Notification.builder()
+                        .setTitle(title)
+                        .setBody(message)
+                        .setImage("https://cdn.to-be-healthy.site/origin/profile/default.png?w=96&h=96")
+                        .build()
+                )
+                .setAndroidConfig(
+                    AndroidConfig.builder().setTtl((3600 * 1000).toLong()).setNotification(
+                        AndroidNotification.builder()
+                            .setClickAction(clickUrl ?: "")
+                            .build()
+                    ).build()
+                )
+                .setApnsConfig(
+                    ApnsConfig.builder().setAps(
+                        Aps.builder()
+                            .setAlert(
+                                ApsAlert.builder()
+                                    .setTitle(title)
+                                    .setBody(message)
+                                    .build()
+                            )
+                            .setSound("default")
+                            .build()
+                    )
+                        .putHeader("apns-push-type", "alert")
+                        .putHeader("apns-priority", "10")
+                        .putHeader("apns-topic", "site.tobehealthy.webview") // 여기에 실제 번들 ID를 입력
+                        .build()
+                )
+                .setWebpushConfig(
+                    WebpushConfig.builder()
+                        .setNotification(
+                            WebpushNotification(
+                                title,
+                                message,
+                            )
+                        )
+                        .setFcmOptions(WebpushFcmOptions.withLink(clickUrl ?: ""))
+                        .build()
+                )
+                .setToken(token)
+                .build()
+        }
+    }
 }
@@ -0,0 +1,165 @@
+package com.tobe.healthy.push.application
+
+import com.google.api.core.ApiFutureCallback
+import com.google.api.core.ApiFutures
+import com.google.common.util.concurrent.MoreExecutors
+import com.google.firebase.messaging.BatchResponse
+import com.google.firebase.messaging.FirebaseMessaging
+import com.google.firebase.messaging.MessagingErrorCode.INVALID_ARGUMENT
+import com.google.firebase.messaging.MessagingErrorCode.UNREGISTERED
+import com.tobe.healthy.common.afterCommit
+import com.tobe.healthy.log
+import com.tobe.healthy.push.application.PushCommandService.Companion.createMessage
+import com.tobe.healthy.push.domain.dto.`in`.CommandSendPushAlarm
+import io.micrometer.core.instrument.Counter
+import io.micrometer.core.instrument.Gauge
+import io.micrometer.core.instrument.MeterRegistry
+import org.springframework.beans.factory.DisposableBean
+import org.springframework.beans.factory.annotation.Value
+import org.springframework.stereotype.Component
+import java.time.Duration
+import java.util.concurrent.LinkedBlockingQueue
+import java.util.concurrent.TimeUnit.MILLISECONDS
+import java.util.concurrent.TimeUnit.SECONDS
+
+/**
+ * 푸시 알림 발송 단계
+ * - 요청 스레드는 큐에 넣고 바로 반환하며, 트랜잭션 안에서 호출되면 커밋 이후에 넣는다. (DB 커넥션을 잡은 채 Firebase 응답을 기다리지 않는다.)
+ * - 전용 스레드가 큐를 모아 최대 BATCH_SIZE 건씩 sendEachAsync 로 발송하고, 결과는 콜백에서 토큰별로 기록한다.
+ * - 만료된 토큰은 DeadTokenPruner 로 넘겨 삭제한다.
+ */
+@Component
+class PushDispatcher(
+    private val deadTokenPruner: DeadTokenPruner,
+    meterRegistry: MeterRegistry,
+    @Value("\${push.dispatch.queue-capacity:10000}")
+    queueCapacity: Int,
+    @Value("\${push.dispatch.linger-ms:50}")
+    private val lingerMillis: Long
+) : DisposableBean {
+
+    private val queue = LinkedBlockingQueue<CommandSendPushAlarm>(queueCapacity)
+
+    @Volatile
+    private var running = true
+
+    private val successCounter = resultCounter(meterRegistry, "success")
+    private val failureCounter = resultCounter(meterRegistry, "failure")
+    private val rejectedCounter = resultCounter(meterRegistry, "rejected")
+
+    private val worker = Thread(::drain, "push-dispatcher").apply {
+        isDaemon = true
+        start()
+    }
+
+    init {
+        Gauge.builder("$METRIC_PREFIX.queue.depth", queue) { it.size.toDouble() }
+            .register(meterRegistry)
+    }
+
+    fun dispatch(requests: List<CommandSendPushAlarm>) {
+        if (requests.isEmpty()) {
+            return
+        }
+        afterCommit { enqueue(requests) }
+    }
+
+    // 대량 발송 작업이 큐를 넘치게 하지 않도록, 여유 공간이 생길 때까지 최대 timeout 동안 기다린다.
+    fun awaitCapacity(required: Int, timeout: Duration): Boolean {
+        val deadline = System.nanoTime() + timeout.toNanos()
+        while (queue.remainingCapacity() < required) {
+            if (System.nanoTime() >= deadline) {
+                return false
+            }
+            MILLISECONDS.sleep(lingerMillis.coerceAtLeast(10))
+        }
+        return true
+    }
+
+    private fun enqueue(requests: List<CommandSendPushAlarm>) {
+        requests.forEach {
+            if (!queue.offer(it)) {
+                rejectedCounter.increment()
+                log.error { "[푸시 발송 실패] 대기 큐가 가득 찼습니다. (queue: ${queue.size}, token: ${it.token})" }
+            }
+        }
+    }
+
+    // 첫 건이 들어오면 lingerMillis 동안 더 모은 뒤 BATCH_SIZE 단위로 발송한다.
+    private fun drain() {
+        while (running || queue.isNotEmpty()) {
+            val first = queue.poll(1, SECONDS) ?: continue
+            val batch = mutableListOf(first)
+            queue.drainTo(batch, BATCH_SIZE - batch.size)
+            if (batch.size < BATCH_SIZE && lingerMillis > 0) {
+                MILLISECONDS.sleep(lingerMillis)
+                queue.drainTo(batch, BATCH_SIZE - batch.size)
+            }
+            runCatching { send(batch) }
+                .onFailure {
+                    failureCounter.increment(batch.size.toDouble())
+                    log.error(it) { "[푸시 발송 실패] size: ${batch.size}" }
+                }
+        }
+    }
+
+    private fun send(batch: List<CommandSendPushAlarm>) {
+        val messages = batch.map { createMessage(it.token, it.title, it.message, it.clickUrl) }
+        val future = FirebaseMessaging.getInstance().sendEachAsync(messages)
+
+        ApiFutures.addCallback(future, object : ApiFutureCallback<BatchResponse> {
+            override fun onSuccess(response: BatchResponse) {
+                successCounter.increment(response.successCount.toDouble())
+                failureCounter.increment(response.failureCount.toDouble())
+                response.responses.forEachIndexed { index, result ->
+                    if (!result.isSuccessful) {
+                        log.warn { "[푸시 발송 실패] token: ${batch[index].token}, code: ${result.exception?.messagingErrorCode}, message: ${result.exception?.message}" }
+                    }
+                }
+                deadTokenPruner.add(deadTokens(batch, response))
+                log.info { "[푸시 발송] success: ${response.successCount}, failure: ${response.failureCount}" }
+            }
+
+            override fun onFailure(t: Throwable) {
+                failureCounter.increment(batch.size.toDouble())
+                log.error(t) { "[푸시 발송 실패] size: ${batch.size}" }
+            }
+        }, MoreExecutors.directExecutor())
+    }
+
+    // UNREGISTERED 는 항상 삭제하고, INVALID_ARGUMENT 는 같은 내용의 메시지가 다른 토큰으로 성공했을 때만 삭제한다.
+    // (배치에는 여러 알림이 섞이므로, 내용이 잘못된 메시지의 INVALID_ARGUMENT 로 정상 토큰을 지우지 않도록 내용별로 판단한다.)
+    private fun deadTokens(batch: List<CommandSendPushAlarm>, response: BatchResponse): List<String> {
+        val results = batch.zip(response.responses)
+        val deliveredPayloads = results.filter { (_, result) -> result.isSuccessful }
+            .map { (push, _) -> payloadOf(push) }
+            .toSet()
+        return results.filter { (push, result) ->
+            when (result.exception?.messagingErrorCode) {
+                UNREGISTERED -> true
+                INVALID_ARGUMENT -> payloadOf(push) in deliveredPayloads
+                else -> false
+            }
+        }.map { (push, _) -> push.token }
+    }
+
+    // createMessage 에 토큰 외에 들어가는 값
+    private fun payloadOf(push: CommandSendPushAlarm) = Triple(push.title, push.message, push.clickUrl)
+
+    override fun destroy() {
+        running = false
+        worker.join(SECONDS.toMillis(10))
+    }
+
+    private fun resultCounter(meterRegistry: MeterRegistry, result: String): Counter {
+        return Counter.builder("$METRIC_PREFIX.messages")
+            .tag("result", result)
+            .register(meterRegistry)
+    }
+
+    companion object {
+        // FCM 의 한 번의 요청에 담을 수 있는 최대 메시지 수
+        const val BATCH_SIZE = 500
+        private const val METRIC_PREFIX = "push.dispatch"
+    }
+}
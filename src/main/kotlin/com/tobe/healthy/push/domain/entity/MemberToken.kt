@@ -9,6 +9,10 @@ import jakarta.persistence.GenerationType.IDENTITY
 import lombok.ToString
 
 @Entity
+@Table(
+    uniqueConstraints = [UniqueConstraint(name = "uk_member_token_member_device", columnNames = ["member_id", "device_type"])],
+    indexes = [Index(name = "idx_member_token_token", columnList = "token")]
+)
 class MemberToken(
 
     @Enumerated(STRING)
@@ -28,9 +32,8 @@ class MemberToken(
 
 ) : BaseTimeEntity<MemberToken, Long>() {
 
-    fun changeToken(token: String, deviceType: DeviceType) {
+    fun changeToken(token: String) {
         this.token = token
-        this.deviceType = deviceType
     }
 
     companion object {
@@ -1,8 +1,22 @@
 package com.tobe.healthy.push.repository
 
+import com.tobe.healthy.push.domain.entity.DeviceType
 import com.tobe.healthy.push.domain.entity.MemberToken
 import org.springframework.data.jpa.repository.JpaRepository
+import org.springframework.data.jpa.repository.Modifying
+import org.springframework.data.jpa.repository.Query
 
 interface MemberTokenRepository : JpaRepository<MemberToken, Long> {
-    fun findByMemberId(memberId: Long): MemberToken?
-}
\ No newline at end of file
+    fun findAllByMemberId(memberId: Long): List<MemberToken>
+
+    fun findByMemberIdAndDeviceType(memberId: Long, deviceType: DeviceType): MemberToken?
+
+    // 다른 회원이 같은 기기에서 로그인한 경우 이전 회원의 토큰을 삭제한다.
+    @Modifying(flushAutomatically = true)
+    @Query("delete from MemberToken t where t.token = :token and t.member.id <> :memberId")
+    fun deleteAllByTokenAndMemberIdNot(token: String, memberId: Long): Int
+
+    @Modifying
+    @Query("delete from MemberToken t where t.token in :tokens")
+    fun deleteAllByTokenIn(tokens: Collection<String>): Int
+}
@@ -0,0 +1,324 @@
+package com.tobe.healthy.schedule.application
+
+import com.tobe.healthy.common.afterCommit
+import com.tobe.healthy.log
+import com.tobe.healthy.member.domain.entity.MemberType.TRAINER
+import com.tobe.healthy.member.repository.MemberRepository
+import com.tobe.healthy.schedule.domain.dto.out.RetrieveFreeSlotResult
+import com.tobe.healthy.schedule.domain.entity.ReservationStatus.AVAILABLE
+import com.tobe.healthy.schedule.domain.entity.Schedule
+import com.tobe.healthy.schedule.repository.TrainerScheduleInfoRepository
+import com.tobe.healthy.schedule.repository.TrainerScheduleRepository
+import io.micrometer.core.instrument.MeterRegistry
+import io.micrometer.core.instrument.Timer
+import org.springframework.beans.factory.annotation.Value
+import org.springframework.boot.context.event.ApplicationReadyEvent
+import org.springframework.context.event.EventListener
+import org.springframework.data.redis.connection.MessageListener
+import org.springframework.data.redis.core.RedisTemplate
+import org.springframework.data.redis.listener.ChannelTopic
+import org.springframework.data.redis.listener.RedisMessageListenerContainer
+import org.springframework.data.repository.findByIdOrNull
+import org.springframework.stereotype.Component
+import org.springframework.transaction.PlatformTransactionManager
+import org.springframework.transaction.support.TransactionTemplate
+import java.time.LocalDate
+import java.time.LocalDateTime
+import java.time.LocalTime
+import java.time.LocalTime.MIDNIGHT
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.ConcurrentLinkedQueue
+import java.util.concurrent.Executors
+import java.util.concurrent.atomic.AtomicLong
+
+/**
+ * 헬스장 전체 트레이너의 빈 일정 인덱스 (메모리)
+ * - 트레이너, 일자별로 30분 단위 시작 시간을 Long 비트맵(48비트)으로 저장한다. (i 번째 비트 = i * 30분에 시작하는 AVAILABLE 일정)
+ * - 30분 단위가 아닌 시작 시간은 일자별 시간 목록에 따로 저장한다.
+ * - 조회는 비트 연산만으로 처리하므로 DB 를 조회하지 않는다.
+ * - 예약, 취소, 상태 변경은 커밋 이후 Redis 채널로 전파되어 모든 서버의 인덱스에 반영되고, 매일 전체를 다시 만든다.
+ * - 재생성은 별도 스레드에서 처리하고, 재생성 중에 도착한 변경은 새 인덱스에 다시 반영한다.
+ */
+@Component
+class FreeSlotIndex(
+    private val memberRepository: MemberRepository,
+    private val trainerScheduleInfoRepository: TrainerScheduleInfoRepository,
+    private val trainerScheduleRepository: TrainerScheduleRepository,
+    private val virtualScheduleService: VirtualScheduleService,
+    private val redisTemplate: RedisTemplate<String, String>,
+    redisMessageListenerContainer: RedisMessageListenerContainer,
+    transactionManager: PlatformTransactionManager,
+    meterRegistry: MeterRegistry,
+    @Value("\${schedule.free-slot.days:56}")
+    private val indexDays: Long
+) {
+
+    private val trainers = ConcurrentHashMap<Long, TrainerSlots>()
+
+    // 재생성 중인 트레이너에 도착한 변경
+    private val pendingChanges = ConcurrentHashMap<Long, ConcurrentLinkedQueue<String>>()
+
+    // 재생성은 한 스레드에서 순서대로 처리하여 기동, 요청, Redis 리스너 스레드를 막지 않는다.
+    private val rebuildExecutor = Executors.newSingleThreadExecutor { Thread(it, "free-slot-index-rebuild").apply { isDaemon = true } }
+
+    private val transactionTemplate = TransactionTemplate(transactionManager).apply { isReadOnly = true }
+
+    private val searchTimer = Timer.builder("$METRIC_PREFIX.search")
+        .register(meterRegistry)
+    private val rebuildTimer = Timer.builder("$METRIC_PREFIX.rebuild")
+        .register(meterRegistry)
+
+    init {
+        redisMessageListenerContainer.addMessageListener(
+            MessageListener { message, _ -> apply(String(message.body)) },
+            ChannelTopic(UPDATE_CHANNEL)
+        )
+    }
+
+    @EventListener(ApplicationReadyEvent::class)
+    fun rebuildAll() {
+        rebuildExecutor.execute {
+            rebuildTimer.record(Runnable {
+                val profiles = runCatching { loadProfiles() }
+                    .onFailure { log.warn(it) { "[빈 일정 인덱스] 트레이너 조회 실패" } }
+                    .getOrNull() ?: return@Runnable
+                profiles.forEach { profile ->
+                    runCatching { rebuild(profile) }
+                        .onFailure { log.warn(it) { "[빈 일정 인덱스] 재생성 실패 trainerId: ${profile.trainerId}" } }
+                }
+                trainers.keys.retainAll(profiles.map { it.trainerId }.toSet())
+                log.info { "[빈 일정 인덱스] trainers: ${profiles.size}" }
+            })
+        }
+    }
+
+    fun search(
+        gymId: Long,
+        lessonStartDt: LocalDate,
+        lessonEndDt: LocalDate,
+        startTime: LocalTime,
+        endTime: LocalTime
+    ): List<RetrieveFreeSlotResult> {
+        return searchTimer.recordCallable {
+            val now = LocalDateTime.now()
+            val dates = generateSequence(maxOf(lessonStartDt, now.toLocalDate())) { it.plusDays(1) }
+                .takeWhile { !it.isAfter(lessonEndDt) }
+                .toList()
+
+            trainers.entries
+                .filter { it.value.gymId == gymId }
+                .flatMap { (trainerId, slots) ->
+                    dates.flatMap { date ->
+                        slots.freeStartTimes(date, startTime, endTime, now).map { lessonStartTime ->
+                            RetrieveFreeSlotResult(
+                                trainerId = trainerId,
+                                trainerName = slots.trainerName,
+                                lessonDt = date,
+                                lessonStartTime = lessonStartTime,
+                                lessonEndTime = lessonStartTime.plusMinutes(slots.lessonMinutes.toLong())
+                            )
+                        }
+                    }
+                }
+                .sortedWith(compareBy({ it.lessonDt }, { it.lessonStartTime }, { it.trainerId }))
+        }!!
+    }
+
+    // 예약, 비활성화로 더 이상 빈 일정이 아닌 경우
+    fun markReserved(trainerId: Long, lessonDt: LocalDate, lessonStartTime: LocalTime) {
+        publishAfterCommit("$RESERVED:$trainerId:$lessonDt:$lessonStartTime")
+    }
+
+    // 예약 취소, 활성화로 다시 빈 일정이 된 경우
+    fun markFree(trainerId: Long, lessonDt: LocalDate, lessonStartTime: LocalTime) {
+        publishAfterCommit("$FREE:$trainerId:$lessonDt:$lessonStartTime")
+    }
+
+    // 일정 등록, 기본 수업 시간 변경, 헬스장 변경처럼 여러 일정에 영향을 주는 경우
+    fun refresh(trainerId: Long) {
+        publishAfterCommit("$REFRESH:$trainerId")
+    }
+
+    private fun publishAfterCommit(message: String) {
+        afterCommit { publish(message) }
+    }
+
+    // Redis 장애 시에도 현재 서버에는 반영하고, 다른 서버는 다음 재생성 때 반영된다.
+    private fun publish(message: String) {
+        runCatching { redisTemplate.convertAndSend(UPDATE_CHANNEL, message) }
+            .onFailure {
+                log.warn(it) { "[빈 일정 인덱스] 전파 실패 message: $message" }
+                apply(message)
+            }
+    }
+
+    private fun apply(message: String) {
+        runCatching {
+            val tokens = message.split(":", limit = 4)
+            val trainerId = tokens[1].toLong()
+            if (tokens[0] == REFRESH) {
+                rebuildExecutor.execute {
+                    runCatching { loadProfile(trainerId)?.let { rebuild(it) } ?: trainers.remove(trainerId) }
+                        .onFailure { log.warn(it) { "[빈 일정 인덱스] 재생성 실패 trainerId: $trainerId" } }
+                }
+                return
+            }
+            // 재생성 중이면 새 인덱스에 다시 반영할 수 있도록 먼저 남겨둔다.
+            pendingChanges[trainerId]?.add(message)
+            trainers[trainerId]?.update(message)
+        }.onFailure { log.warn(it) { "[빈 일정 인덱스] 반영 실패 message: $message" } }
+    }
+
+    private fun rebuild(profile: TrainerProfile) {
+        val changes = ConcurrentLinkedQueue<String>()
+        pendingChanges[profile.trainerId] = changes
+        try {
+            val schedules = transactionTemplate.execute { findAllSchedule(profile.trainerId) }.orEmpty()
+            val slots = TrainerSlots.of(profile, schedules)
+            trainers[profile.trainerId] = slots
+            // 일정을 조회하는 동안 도착한 변경은 이전 인덱스에만 반영되었으므로 새 인덱스에 다시 반영한다.
+            generateSequence { changes.poll() }.forEach { slots.update(it) }
+        } finally {
+            pendingChanges.remove(profile.trainerId)
+        }
+    }
+
+    private fun findAllSchedule(trainerId: Long): List<Schedule> {
+        val lessonStartDt = LocalDate.now()
+        val lessonEndDt = lessonStartDt.plusDays(indexDays)
+        return if (virtualScheduleService.enabled) {
+            virtualScheduleService.findAllSchedule(trainerId, lessonStartDt, lessonEndDt)
+        } else {
+            trainerScheduleRepository.findAllSchedule(null, lessonStartDt, lessonEndDt, trainerId)
+        }
+    }
+
+    // 헬스장에 등록된 트레이너와 기본 수업 시간을 한 번에 조회한다.
+    private fun loadProfiles(): List<TrainerProfile> {
+        return transactionTemplate.execute {
+            val trainerMembers = memberRepository.findAllTrainerInGym()
+            if (trainerMembers.isEmpty()) {
+                return@execute emptyList()
+            }
+            val lessonMinutes = trainerScheduleInfoRepository.findAllByTrainerIdIn(trainerMembers.map { it.id })
+                .associate { it.trainer!!.id to it.lessonTime.description }
+            trainerMembers.map { TrainerProfile(it.id, it.gym.id, it.name, lessonMinutes[it.id] ?: DEFAULT_LESSON_MINUTES) }
+        }.orEmpty()
+    }
+
+    private fun loadProfile(trainerId: Long): TrainerProfile? {
+        return transactionTemplate.execute {
+            val trainer = memberRepository.findByIdOrNull(trainerId)
+            val gymId = trainer?.gym?.id
+            if (trainer == null || trainer.memberType != TRAINER || trainer.isDelYn || gymId == null) {
+                return@execute null
+            }
+            val lessonMinutes = trainerScheduleInfoRepository.findOneByTrainerId(trainerId)?.lessonTime?.description
+            TrainerProfile(trainerId, gymId, trainer.name, lessonMinutes ?: DEFAULT_LESSON_MINUTES)
+        }
+    }
+
+    private data class TrainerProfile(
+        val trainerId: Long,
+        val gymId: Long,
+        val trainerName: String,
+        val lessonMinutes: Int
+    )
+
+    private class TrainerSlots(
+        val gymId: Long,
+        val trainerName: String,
+        val lessonMinutes: Int,
+        val days: ConcurrentHashMap<LocalDate, AtomicLong> = ConcurrentHashMap(),
+        val offGridDays: ConcurrentHashMap<LocalDate, MutableSet<LocalTime>> = ConcurrentHashMap()
+    ) {
+
+        // message: "{R|F}:{trainerId}:{lessonDt}:{lessonStartTime}"
+        fun update(message: String) {
+            val tokens = message.split(":", limit = 4)
+            update(LocalDate.parse(tokens[2]), LocalTime.parse(tokens[3]), tokens[0] == FREE)
+        }
+
+        fun update(lessonDt: LocalDate, lessonStartTime: LocalTime, free: Boolean) {
+            if (isOnGrid(lessonStartTime)) {
+                val bit = 1L shl bucketOf(lessonStartTime)
+                days.computeIfAbsent(lessonDt) { AtomicLong() }
+                    .getAndUpdate { if (free) it or bit else it and bit.inv() }
+            } else {
+                val times = offGridDays.computeIfAbsent(lessonDt) { ConcurrentHashMap.newKeySet() }
+                if (free) times.add(lessonStartTime) else times.remove(lessonStartTime)
+            }
+        }
+
+        fun freeStartTimes(date: LocalDate, startTime: LocalTime, endTime: LocalTime, now: LocalDateTime): List<LocalTime> {
+            val today = date == now.toLocalDate()
+            var free = (days[date]?.get() ?: 0L) and windowMask(startTime, endTime, lessonMinutes)
+            if (today) {
+                free = free and pastMask(now.toLocalTime()).inv()
+            }
+            val offGrid = offGridDays[date].orEmpty()
+                .filter { inWindow(it, startTime, endTime, lessonMinutes) && (!today || it.isAfter(now.toLocalTime())) }
+            return bucketsOf(free).map { timeOf(it) } + offGrid
+        }
+
+        companion object {
+            fun of(profile: TrainerProfile, schedules: List<Schedule>): TrainerSlots {
+                val slots = TrainerSlots(profile.gymId, profile.trainerName, profile.lessonMinutes)
+                schedules.filter { it.reservationStatus == AVAILABLE }
+                    .forEach { slots.update(it.lessonDt, it.lessonStartTime, true) }
+                return slots
+            }
+        }
+    }
+
+    companion object {
+        private const val UPDATE_CHANNEL = "free-slot:update"
+        private const val METRIC_PREFIX = "schedule.free-slot"
+        private const val RESERVED = "R"
+        private const val FREE = "F"
+        private const val REFRESH = "T"
+        private const val BUCKET_MINUTES = 30
+        private const val BUCKETS_PER_DAY = 24 * 60 / BUCKET_MINUTES
+        private const val DEFAULT_LESSON_MINUTES = 60
+
+        internal fun bucketOf(time: LocalTime) = (time.toSecondOfDay() / 60) / BUCKET_MINUTES
+
+        internal fun isOnGrid(time: LocalTime) = time.toSecondOfDay() % (BUCKET_MINUTES * 60) == 0
+
+        internal fun timeOf(bucket: Int): LocalTime = LocalTime.MIN.plusMinutes((bucket * BUCKET_MINUTES).toLong())
+
+        // [0, bucket) 구간의 비트
+        private fun lowBits(bucket: Int) = if (bucket <= 0) 0L else (1L shl minOf(bucket, BUCKETS_PER_DAY)) - 1
+
+        private fun endMinutesOf(endTime: LocalTime) = if (endTime == MIDNIGHT) 24 * 60 else endTime.toSecondOfDay() / 60
+
+        // 시작 시간이 startTime 이후이고, 수업 종료 시간이 endTime 이전인 버킷 (endTime 이 00:00 이면 하루 끝)
+        internal fun windowMask(startTime: LocalTime, endTime: LocalTime, lessonMinutes: Int): Long {
+            val firstBucket = ((startTime.toSecondOfDay() / 60) + BUCKET_MINUTES - 1) / BUCKET_MINUTES
+            val lastStartMinutes = endMinutesOf(endTime) - lessonMinutes
+            if (lastStartMinutes < 0) {
+                return 0L
+            }
+            return lowBits(lastStartMinutes / BUCKET_MINUTES + 1) and lowBits(firstBucket).inv()
+        }
+
+        // windowMask 와 같은 조건을 30분 단위가 아닌 시작 시간에 적용한다.
+        internal fun inWindow(lessonStartTime: LocalTime, startTime: LocalTime, endTime: LocalTime, lessonMinutes: Int): Boolean {
+            val startMinutes = lessonStartTime.toSecondOfDay() / 60
+            return lessonStartTime >= startTime && startMinutes + lessonMinutes <= endMinutesOf(endTime)
+        }
+
+        // 이미 시작한 일정의 버킷
+        internal fun pastMask(now: LocalTime) = lowBits(bucketOf(now) + 1)
+
+        internal fun bucketsOf(bits: Long): List<Int> {
+            val buckets = mutableListOf<Int>()
+            var remain = bits
+            while (remain != 0L) {
+                buckets.add(java.lang.Long.numberOfTrailingZeros(remain))
+                remain = remain and (remain - 1)
+            }
+            return buckets
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.tobe.healthy.schedule.application
+
+import com.tobe.healthy.common.redis.RedisService
+import com.tobe.healthy.log
+import com.tobe.healthy.schedule.repository.TrainerScheduleRepository
+import io.micrometer.core.instrument.Counter
+import io.micrometer.core.instrument.MeterRegistry
+import io.micrometer.core.instrument.Timer
+import org.springframework.beans.factory.annotation.Value
+import org.springframework.stereotype.Component
+import org.springframework.transaction.PlatformTransactionManager
+import org.springframework.transaction.support.TransactionTemplate
+import java.time.DayOfWeek.MONDAY
+import java.time.DayOfWeek.SUNDAY
+import java.time.Duration
+import java.time.LocalDate
+import java.time.YearMonth
+import java.time.temporal.TemporalAdjusters
+
+/**
+ * 지난 주까지의 DISABLED 일정을 PK 순서(keyset)로 CHUNK 단위 조회하여 청크마다 짧은 트랜잭션으로 일괄 삭제한다.
+ * 처리한 마지막 PK 를 Redis 에 저장하므로 중간에 중단되어도 다음 실행 시 이어서 삭제한다.
+ */
+@Component
+class SchedulePurgeJob(
+    private val trainerScheduleRepository: TrainerScheduleRepository,
+    private val trainerCalendarCache: TrainerCalendarCache,
+    private val redisService: RedisService,
+    transactionManager: PlatformTransactionManager,
+    meterRegistry: MeterRegistry,
+    @Value("\${schedule.purge.chunk-size:1000}")
+    private val chunkSize: Long
+) {
+
+    private val transactionTemplate = TransactionTemplate(transactionManager)
+
+    private val deletedCounter = Counter.builder("schedule.purge.deleted")
+        .register(meterRegistry)
+    private val chunkTimer = Timer.builder("schedule.purge.chunk")
+        .register(meterRegistry)
+    private val durationTimer = Timer.builder("schedule.purge.duration")
+        .register(meterRegistry)
+
+    fun purgeDisabledSchedule(): Long {
+        val endOfLastWeek = LocalDate.now()
+            .with(TemporalAdjusters.previous(MONDAY))
+            .with(TemporalAdjusters.nextOrSame(SUNDAY))
+
+        return durationTimer.recordCallable {
+            var lastScheduleId = redisService.getValues(CURSOR_KEY)?.toLong() ?: 0L
+            var deleted = 0L
+
+            while (true) {
+                val chunk = chunkTimer.recordCallable { purgeChunk(endOfLastWeek, lastScheduleId) }!!
+                if (chunk.scannedLastId == null) break
+
+                deleted += chunk.deleted
+                deletedCounter.increment(chunk.deleted.toDouble())
+                lastScheduleId = chunk.scannedLastId
+                redisService.setValuesWithTimeout(CURSOR_KEY, lastScheduleId.toString(), CURSOR_TIMEOUT.toMillis())
+            }
+
+            redisService.deleteValues(CURSOR_KEY)
+            log.info { "[DISABLED 일정 삭제] lessonDt <= $endOfLastWeek, deleted: $deleted" }
+            deleted
+        }!!
+    }
+
+    private fun purgeChunk(lessonEndDt: LocalDate, lastScheduleId: Long): PurgeChunkResult {
+        return transactionTemplate.execute {
+            val keys = trainerScheduleRepository.findDisabledScheduleKeys(lessonEndDt, lastScheduleId, chunkSize)
+            if (keys.isEmpty()) {
+                return@execute PurgeChunkResult(null, 0)
+            }
+
+            val deleted = trainerScheduleRepository.deleteAllDisabledSchedule(keys.map { it.scheduleId })
+            keys.distinctBy { it.trainerId to YearMonth.from(it.lessonDt) }
+                .forEach { trainerCalendarCache.evict(it.trainerId, it.lessonDt) }
+
+            PurgeChunkResult(keys.last().scheduleId, deleted)
+        }!!
+    }
+
+    private data class PurgeChunkResult(
+        val scannedLastId: Long?,
+        val deleted: Long
+    )
+
+    companion object {
+        private const val CURSOR_KEY = "schedule-purge:last-schedule-id"
+        private val CURSOR_TIMEOUT = Duration.ofDays(7)
+    }
+}
@@ -0,0 +1,231 @@
+package com.tobe.healthy.schedule.application
+
+import com.fasterxml.jackson.databind.JsonSerializer
+import com.fasterxml.jackson.databind.annotation.JsonSerialize
+import com.fasterxml.jackson.databind.json.JsonMapper
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule
+import com.fasterxml.jackson.module.kotlin.kotlinModule
+import com.fasterxml.jackson.module.kotlin.readValue
+import com.google.common.cache.Cache
+import com.google.common.cache.CacheBuilder
+import com.tobe.healthy.common.afterCompletion
+import com.tobe.healthy.log
+import com.tobe.healthy.schedule.domain.dto.out.RetrieveTrainerScheduleByLessonInfoResult
+import com.tobe.healthy.schedule.domain.dto.out.RetrieveTrainerScheduleByLessonInfoResult.LessonDetailResult
+import io.micrometer.core.instrument.Counter
+import io.micrometer.core.instrument.MeterRegistry
+import io.micrometer.core.instrument.Timer
+import org.springframework.data.redis.connection.MessageListener
+import org.springframework.data.redis.core.RedisTemplate
+import org.springframework.data.redis.core.script.RedisScript
+import org.springframework.data.redis.listener.ChannelTopic
+import org.springframework.data.redis.listener.RedisMessageListenerContainer
+import org.springframework.stereotype.Component
+import java.time.Duration
+import java.time.LocalDate
+import java.time.YearMonth
+import java.util.concurrent.atomic.AtomicLong
+
+/**
+ * 트레이너 월간 일정 캐시 (key: trainerId + 수업 월)
+ * - 로컬 캐시 -> Redis -> DB 순서로 조회하고, 조회한 결과를 상위 캐시에 적재한다.
+ * - 일정이 변경되면 해당 월을 삭제하고, 다른 서버의 로컬 캐시는 Redis 채널로 삭제 요청을 받는다.
+ * - 삭제할 때마다 트레이너의 세대(generation)를 올리고, 조회를 시작한 뒤 세대가 바뀌었으면 조회 결과를 적재하지 않는다.
+ */
+@Component
+class TrainerCalendarCache(
+    private val redisTemplate: RedisTemplate<String, String>,
+    redisMessageListenerContainer: RedisMessageListenerContainer,
+    meterRegistry: MeterRegistry
+) {
+
+    private val localCache: Cache<String, RetrieveTrainerScheduleByLessonInfoResult> = CacheBuilder.newBuilder()
+        .maximumSize(LOCAL_MAXIMUM_SIZE)
+        .expireAfterWrite(LOCAL_EXPIRE_AFTER_WRITE)
+        .build()
+
+    // 로컬 캐시를 삭제할 때마다 증가한다.
+    private val localGeneration = AtomicLong()
+
+    // 응답용 Serializer 는 역직렬화가 불가능하므로 캐시 저장 시에는 기본 Serializer 를 사용한다.
+    private val objectMapper = JsonMapper.builder()
+        .addModule(kotlinModule())
+        .addModule(JavaTimeModule())
+        .addMixIn(LessonDetailResult::class.java, DefaultSerializerMixIn::class.java)
+        .build()
+
+    private val localHit = requestCounter(meterRegistry, "local")
+    private val redisHit = requestCounter(meterRegistry, "redis")
+    private val miss = requestCounter(meterRegistry, "miss")
+    private val rebuildTimer = Timer.builder("$METRIC_PREFIX.rebuild")
+        .register(meterRegistry)
+
+    init {
+        redisMessageListenerContainer.addMessageListener(
+            MessageListener { message, _ -> invalidateLocal(String(message.body)) },
+            ChannelTopic(EVICT_CHANNEL)
+        )
+    }
+
+    fun get(
+        trainerId: Long,
+        lessonMonth: YearMonth,
+        loader: () -> RetrieveTrainerScheduleByLessonInfoResult
+    ): RetrieveTrainerScheduleByLessonInfoResult {
+        val key = keyOf(trainerId, lessonMonth)
+
+        localCache.getIfPresent(key)?.let {
+            localHit.increment()
+            return it
+        }
+
+        val localGenerationBefore = localGeneration.get()
+        readRedis(key)?.let {
+            redisHit.increment()
+            putLocal(key, it, localGenerationBefore)
+            return it
+        }
+
+        miss.increment()
+        val generation = readGeneration(trainerId) ?: return rebuildTimer.recordCallable(loader)!!
+        val result = rebuildTimer.recordCallable(loader)!!
+        if (writeRedis(trainerId, key, result, generation)) {
+            putLocal(key, result, localGenerationBefore)
+        }
+        return result
+    }
+
+    fun evict(trainerId: Long, lessonDt: LocalDate) {
+        evictKeys(trainerId, listOf(keyOf(trainerId, YearMonth.from(lessonDt))))
+    }
+
+    fun evictBetween(trainerId: Long, lessonStartDt: LocalDate, lessonEndDt: LocalDate) {
+        val months = generateSequence(YearMonth.from(lessonStartDt)) { it.plusMonths(1) }
+            .takeWhile { !it.isAfter(YearMonth.from(lessonEndDt)) }
+        evictKeys(trainerId, months.map { keyOf(trainerId, it) }.toList())
+    }
+
+    // 기본 수업 시간 변경처럼 모든 월에 영향을 주는 경우
+    fun evictAll(trainerId: Long) {
+        val monthsKey = monthsKeyOf(trainerId)
+        val keys = runCatching { redisTemplate.opsForSet().members(monthsKey) }
+            .onFailure { log.warn(it) { "[트레이너 일정 캐시] 조회 실패 trainerId: $trainerId" } }
+            .getOrNull()
+            .orEmpty()
+        evictKeys(trainerId, keys.toList() + monthsKey, "$KEY_PREFIX:$trainerId:")
+    }
+
+    // 커밋 전에 다른 서버의 로컬 캐시가 변경 전 월을 다시 읽어갈 수 있으므로 트랜잭션이 끝난 뒤 한 번 더 삭제한다.
+    private fun evictKeys(trainerId: Long, keys: List<String>, localPrefix: String? = null) {
+        if (keys.isEmpty()) {
+            return
+        }
+        deleteKeys(trainerId, keys, localPrefix)
+        afterCompletion { deleteKeys(trainerId, keys, localPrefix) }
+    }
+
+    // 세대를 먼저 올려서 삭제 이전에 시작된 조회가 삭제 이후에 적재하지 못하게 한다.
+    private fun deleteKeys(trainerId: Long, keys: List<String>, localPrefix: String?) {
+        val prefixes = localPrefix?.let { listOf(it) } ?: keys
+        prefixes.forEach { invalidateLocal(it) }
+        runCatching {
+            redisTemplate.execute(EVICT, listOf(generationKeyOf(trainerId)) + keys, GENERATION_EXPIRE_AFTER_WRITE.seconds.toString())
+            prefixes.forEach { redisTemplate.convertAndSend(EVICT_CHANNEL, it) }
+        }.onFailure { log.warn(it) { "[트레이너 일정 캐시] 삭제 실패 keys: $keys" } }
+    }
+
+    private fun invalidateLocal(prefix: String) {
+        localGeneration.incrementAndGet()
+        localCache.asMap().keys.removeIf { it.startsWith(prefix) }
+    }
+
+    // 조회 중에 로컬 캐시가 삭제되었으면 적재하지 않는다.
+    private fun putLocal(key: String, result: RetrieveTrainerScheduleByLessonInfoResult, generation: Long) {
+        if (localGeneration.get() == generation) {
+            localCache.put(key, result)
+        }
+    }
+
+    // Redis 를 사용할 수 없으면 null 을 반환하고, 캐시에 적재하지 않는다.
+    private fun readGeneration(trainerId: Long): String? {
+        return runCatching { redisTemplate.opsForValue().get(generationKeyOf(trainerId)) ?: NO_GENERATION }
+            .onFailure { log.warn(it) { "[트레이너 일정 캐시] 조회 실패 trainerId: $trainerId" } }
+            .getOrNull()
+    }
+
+    private fun readRedis(key: String): RetrieveTrainerScheduleByLessonInfoResult? {
+        return runCatching {
+            redisTemplate.opsForValue().get(key)?.let { objectMapper.readValue<RetrieveTrainerScheduleByLessonInfoResult>(it) }
+        }.onFailure { log.warn(it) { "[트레이너 일정 캐시] 조회 실패 key: $key" } }
+            .getOrNull()
+    }
+
+    // 조회를 시작한 뒤 세대가 바뀌었으면 저장하지 않고 false 를 반환한다.
+    private fun writeRedis(trainerId: Long, key: String, result: RetrieveTrainerScheduleByLessonInfoResult, generation: String): Boolean {
+        return runCatching {
+            redisTemplate.execute(
+                WRITE,
+                listOf(generationKeyOf(trainerId), key, monthsKeyOf(trainerId)),
+                generation,
+                objectMapper.writeValueAsString(result),
+                REDIS_EXPIRE_AFTER_WRITE.seconds.toString()
+            ) == 1L
+        }.onFailure { log.warn(it) { "[트레이너 일정 캐시] 저장 실패 key: $key" } }
+            .getOrDefault(false)
+    }
+
+    private fun requestCounter(meterRegistry: MeterRegistry, result: String): Counter {
+        return Counter.builder("$METRIC_PREFIX.requests")
+            .tag("result", result)
+            .register(meterRegistry)
+    }
+
+    @JsonSerialize(using = JsonSerializer.None::class)
+    private abstract class DefaultSerializerMixIn
+
+    companion object {
+        private const val KEY_PREFIX = "trainer-calendar"
+        private const val EVICT_CHANNEL = "$KEY_PREFIX:evict"
+        private const val METRIC_PREFIX = "trainer.calendar.cache"
+        private const val LOCAL_MAXIMUM_SIZE = 1_000L
+        private val LOCAL_EXPIRE_AFTER_WRITE = Duration.ofSeconds(10)
+        private val REDIS_EXPIRE_AFTER_WRITE = Duration.ofMinutes(10)
+
+        // 캐시보다 오래 유지해야 만료된 세대로 다시 적재되지 않는다.
+        private val GENERATION_EXPIRE_AFTER_WRITE = Duration.ofDays(1)
+        private const val NO_GENERATION = "0"
+
+        private fun keyOf(trainerId: Long, lessonMonth: YearMonth) = "$KEY_PREFIX:$trainerId:$lessonMonth"
+
+        private fun monthsKeyOf(trainerId: Long) = "$KEY_PREFIX:$trainerId:months"
+
+        private fun generationKeyOf(trainerId: Long) = "$KEY_PREFIX:generation:$trainerId"
+
+        // KEYS[1]: 세대, KEYS[2..]: 삭제할 캐시 (ARGV[1]: 세대 만료 시간(초))
+        private val EVICT = RedisScript.of<Long>(
+            """
+            redis.call('incr', KEYS[1])
+            redis.call('expire', KEYS[1], ARGV[1])
+            for i = 2, #KEYS do
+                redis.call('del', KEYS[i])
+            end
+            return 1
+            """.trimIndent(),
+            Long::class.java
+        )
+
+        // KEYS[1]: 세대, KEYS[2]: 캐시, KEYS[3]: 적재된 월 목록 (ARGV[1]: 조회 시작 시점의 세대, ARGV[2]: 값, ARGV[3]: 만료 시간(초))
+        private val WRITE = RedisScript.of<Long>(
+            """
+            if (redis.call('get', KEYS[1]) or '0') ~= ARGV[1] then
+                return 0
+            end
+            redis.call('set', KEYS[2], ARGV[2], 'EX', ARGV[3])
+            redis.call('sadd', KEYS[3], KEYS[2])
+            redis.call('expire', KEYS[3], ARGV[3])
+            return 1
+            """.trimIndent(),
+            Long::class.java
+        )
+    }
+}
@@ -1,12 +1,13 @@
 package com.tobe.healthy.schedule.application
 
+import com.tobe.healthy.common.ActivityCalendar
+import com.tobe.healthy.common.ActivityType.RESERVATION
 import com.tobe.healthy.common.LessonTimeFormatter.lessonStartDateTimeFormatter
 import com.tobe.healthy.common.error.CustomException
 import com.tobe.healthy.common.error.ErrorCode.*
 import com.tobe.healthy.common.event.CustomEventPublisher
 import com.tobe.healthy.common.event.EventType.NOTIFICATION
 import com.tobe.healthy.common.event.EventType.SCHEDULE_CANCEL
-import com.tobe.healthy.member.domain.entity.Member
 import com.tobe.healthy.member.repository.MemberRepository
 import com.tobe.healthy.notification.domain.dto.`in`.CommandSendNotification
 import com.tobe.healthy.notification.domain.entity.NotificationCategory.SCHEDULE
@@ -21,19 +22,14 @@ import com.tobe.healthy.schedule.domain.entity.ReservationStatus.*
 import com.tobe.healthy.schedule.domain.entity.Schedule
 import com.tobe.healthy.schedule.domain.entity.TrainerScheduleClosedDaysInfo
 import com.tobe.healthy.schedule.domain.entity.TrainerScheduleInfo
+import com.tobe.healthy.schedule.repository.ScheduleBulkRepository
 import com.tobe.healthy.schedule.repository.TrainerScheduleInfoRepository
 import com.tobe.healthy.schedule.repository.TrainerScheduleRepository
 import com.tobe.healthy.schedule.repository.waiting.ScheduleWaitingRepository
 import org.springframework.data.repository.findByIdOrNull
 import org.springframework.stereotype.Service
 import org.springframework.transaction.annotation.Transactional
-import java.time.DayOfWeek.MONDAY
-import java.time.DayOfWeek.SUNDAY
-import java.time.Duration.between
-import java.time.LocalDate
 import java.time.LocalDateTime
-import java.time.LocalTime
-import java.time.temporal.TemporalAdjusters
 
 @Service
 @Transactional
@@ -41,6 +37,11 @@ class TrainerScheduleCommandService(
     private val memberRepository: MemberRepository,
     private val trainerScheduleRepository: TrainerScheduleRepository,
     private val trainerScheduleInfoRepository: TrainerScheduleInfoRepository,
+    private val scheduleBulkRepository: ScheduleBulkRepository,
+    private val virtualScheduleService: VirtualScheduleService,
+    private val trainerCalendarCache: TrainerCalendarCache,
+    private val freeSlotIndex: FreeSlotIndex,
+    private val activityCalendar: ActivityCalendar,
     private val scheduleWaitingRepository: ScheduleWaitingRepository,
     private val notificationPublisher: CustomEventPublisher<CommandSendNotification>,
     private val eventPublisher: CustomEventPublisher<Long>
@@ -67,6 +68,10 @@ class TrainerScheduleCommandService(
                 trainerScheduleInfoRepository.save(trainerScheduleInfo)
             }
 
+        // 가상 일정은 기본 수업 시간으로 계산되므로 모든 월의 캐시를 삭제한다.
+        trainerCalendarCache.evictAll(trainerId)
+        freeSlotIndex.refresh(trainerId)
+
         return CommandRegisterDefaultLessonTimeResult.from(request)
     }
 
@@ -96,49 +101,26 @@ class TrainerScheduleCommandService(
         // 이미 등록된 일정이 있는지 조회
         isScheduleExisting(trainerScheduleInfo, request, trainerId)
 
-        // 등록 시작 일자
-        var lessonDt = request.lessonStartDt
-        val lessonEndDt = request.lessonEndDt
-        val lessonTime = trainerScheduleInfo.lessonTime.description.toLong()
-
-        val schedules = mutableListOf<Schedule>()
-
-        // 일정 등록 시작
-        while (!lessonDt.isAfter(lessonEndDt)) {
-
-            val defaultLessonStartTime = LocalDateTime.of(lessonDt, trainerScheduleInfo.lessonStartTime)
-            val defaultLessonEndTime = LocalDateTime.of(lessonDt, trainerScheduleInfo.lessonEndTime)
-            val dayLessonStartTime = LocalDateTime.of(lessonDt, LocalTime.of(6, 0))
-            val dayLessonEndTime = LocalDateTime.of(lessonDt.plusDays(1), LocalTime.of(0, 0))
+        // 등록 시작 일자부터 종료 일자까지
+        val lessonDts = generateSequence(request.lessonStartDt) { it.plusDays(ONE_DAY) }
+            .takeWhile { !it.isAfter(request.lessonEndDt) }
+            .toList()
 
-            // 휴무일일 경우
-            if (isClosedDay(trainerScheduleInfo, lessonDt)) {
-                generateDisabledSchedules(schedules, lessonDt, trainer, dayLessonStartTime, dayLessonEndTime, lessonTime)
-                lessonDt = lessonDt.plusDays(ONE_DAY)
-                continue
+        if (virtualScheduleService.enabled) {
+            // 가상 일정 모드에서는 기간만 저장하고 일정은 조회 시 계산한다.
+            if (virtualScheduleService.isRegistered(trainerId, request.lessonStartDt, request.lessonEndDt)) {
+                throw CustomException(SCHEDULE_ALREADY_EXISTS)
             }
-
-            generateAvailableSchedules(schedules, lessonDt, trainer, defaultLessonStartTime, defaultLessonEndTime, trainerScheduleInfo, lessonTime)
-
-            lessonDt = lessonDt.plusDays(ONE_DAY)
+            virtualScheduleService.register(trainer, request.lessonStartDt, request.lessonEndDt)
+        } else {
+            // 일정 등록 시작 (엔티티를 만들지 않고 청크 단위로 일괄 저장)
+            val slots = lessonDts.asSequence().flatMap { trainerScheduleInfo.generateSlots(it) }
+            scheduleBulkRepository.insertAll(trainerId, slots)
         }
+        trainerCalendarCache.evictBetween(trainerId, request.lessonStartDt, request.lessonEndDt)
+        freeSlotIndex.refresh(trainerId)
 
-        trainerScheduleRepository.saveAll(schedules)
-
-        return CommandRegisterScheduleResult.from(schedules, trainerScheduleInfo)
-    }
-
-    private fun isStartTimeEqualsLunchStartTime(lunchStartTime: LocalTime?, startTime: LocalTime): Boolean {
-        return startTime == lunchStartTime
-    }
-
-    private fun isClosedDay(
-        trainerScheduleInfo: TrainerScheduleInfo,
-        lessonDt: LocalDate
-    ): Boolean {
-        return trainerScheduleInfo.trainerScheduleClosedDays.any {
-            it.closedDays == lessonDt.dayOfWeek
-        }
+        return CommandRegisterScheduleResult.from(lessonDts, trainerScheduleInfo)
     }
 
     fun updateScheduleStatus(
@@ -148,23 +130,25 @@ class TrainerScheduleCommandService(
     ): List<CommandScheduleStatusResult> {
 
         val schedules: List<Schedule>
+        val scheduleIds = request.scheduleIds!!.map { virtualScheduleService.resolveScheduleId(it, memberId) }
 
         when (status) {
 
             AVAILABLE -> {
-                schedules = trainerScheduleRepository.findAllSchedule(request.scheduleIds!!, listOf(DISABLED), memberId)
+                schedules = trainerScheduleRepository.findAllSchedule(scheduleIds, listOf(DISABLED), memberId)
 
                 if (schedules.isEmpty()) {
                     throw CustomException(SCHEDULE_NOT_FOUND)
                 }
                 schedules.forEach {
                     it.updateLessonDtToAvailableDay()
+                    freeSlotIndex.markFree(memberId, it.lessonDt, it.lessonStartTime)
                 }
             }
 
             DISABLED -> {
                 schedules = trainerScheduleRepository.findAllSchedule(
-                    request.scheduleIds!!,
+                    scheduleIds,
                     listOf(AVAILABLE, COMPLETED),
                     memberId
                 )
@@ -174,7 +158,9 @@ class TrainerScheduleCommandService(
                 }
 
                 schedules.forEach {
+                    it.applicant?.let { applicant -> activityCalendar.evict(RESERVATION, applicant.id, it.lessonDt) }
                     it.updateScheduleToDisabled()
+                    freeSlotIndex.markReserved(memberId, it.lessonDt, it.lessonStartTime)
                     if (!it.scheduleWaiting.isNullOrEmpty()) {
                         scheduleWaitingRepository.deleteAll(it.scheduleWaiting!!)
                     }
@@ -185,6 +171,7 @@ class TrainerScheduleCommandService(
                 throw CustomException(RESERVATION_STATUS_NOT_FOUND)
             }
         }
+        schedules.map { it.lessonDt }.distinct().forEach { trainerCalendarCache.evict(memberId, it) }
         return schedules.map { CommandScheduleStatusResult.from(it) }
     }
 
@@ -194,13 +181,22 @@ class TrainerScheduleCommandService(
         trainerId: Long
     ): CommandRegisterScheduleByStudentResult {
 
-        val schedule = trainerScheduleRepository.findAllSchedule(scheduleId, AVAILABLE, trainerId)
+        val resolvedScheduleId = virtualScheduleService.resolveScheduleId(scheduleId, trainerId)
+        val schedule = trainerScheduleRepository.findAllSchedule(resolvedScheduleId, AVAILABLE, trainerId)
             ?: throw CustomException(SCHEDULE_NOT_FOUND)
 
         val findStudent = memberRepository.findById(studentId)
             .orElseThrow { throw CustomException(MEMBER_NOT_FOUND) }
 
+        // 행 잠금 없이 조건부 UPDATE 로 등록하고, 먼저 예약된 경우 대기 없이 실패한다.
+        if (trainerScheduleRepository.registerStudentIfAvailable(resolvedScheduleId, trainerId, findStudent) == 0) {
+            throw CustomException(NOT_RESERVABLE_SCHEDULE)
+        }
+        // 영속성 컨텍스트가 비워진 상태이므로 응답용으로만 반영한다.
         schedule.registerSchedule(findStudent)
+        trainerCalendarCache.evict(trainerId, schedule.lessonDt)
+        activityCalendar.mark(RESERVATION, studentId, schedule.lessonDt)
+        freeSlotIndex.markReserved(trainerId, schedule.lessonDt, schedule.lessonStartTime)
 
         // 트레이너가 일정 등록시 학생에게 알림
         val notification = CommandSendNotification(
@@ -232,9 +228,18 @@ class TrainerScheduleCommandService(
             ?: throw CustomException(SCHEDULE_NOT_FOUND)
 
         val applicantId = schedule.applicant?.id
+            ?: throw CustomException(SCHEDULE_NOT_FOUND)
         val applicantName = schedule.applicant?.name
 
+        // 조회 이후 학생이 직접 취소했거나 다른 요청이 먼저 변경한 경우 실패한다.
+        if (trainerScheduleRepository.cancelReservationIfCompleted(scheduleId, trainerId, applicantId) == 0) {
+            throw CustomException(SCHEDULE_NOT_FOUND)
+        }
+        // 수업 시작 이후 취소라면 예외가 발생하고 UPDATE 는 롤백된다.
         schedule.cancelMemberSchedule()
+        trainerCalendarCache.evict(trainerId, schedule.lessonDt)
+        activityCalendar.evict(RESERVATION, applicantId, schedule.lessonDt)
+        freeSlotIndex.markFree(trainerId, schedule.lessonDt, schedule.lessonStartTime)
 
         // 트레이너가 일정 등록시 학생에게 알림
         val notification = CommandSendNotification(
@@ -244,7 +249,7 @@ class TrainerScheduleCommandService(
                 applicantName,
                 LocalDateTime.of(schedule.lessonDt, schedule.lessonStartTime).format(lessonStartDateTimeFormatter())
             ),
-            receiverIds = listOf(applicantId!!),
+            receiverIds = listOf(applicantId),
             notificationType = CANCEL,
             notificationCategory = SCHEDULE,
             clickUrl = "https://main.to-be-healthy.site/student/schedule?tab=myReservation"
@@ -264,6 +269,7 @@ class TrainerScheduleCommandService(
         val schedule = trainerScheduleRepository.findAllSchedule(scheduleId, COMPLETED, trainerId)
             ?: throw CustomException(SCHEDULE_NOT_FOUND)
         schedule.updateReservationStatusToNoShow(NO_SHOW)
+        trainerCalendarCache.evict(trainerId, schedule.lessonDt)
         return ScheduleIdInfo.from(schedule)
     }
 
@@ -274,6 +280,7 @@ class TrainerScheduleCommandService(
         val schedule = trainerScheduleRepository.findAllSchedule(scheduleId, NO_SHOW, trainerId)
             ?: throw CustomException(SCHEDULE_NOT_FOUND)
         schedule.updateReservationStatusToNoShow(COMPLETED)
+        trainerCalendarCache.evict(trainerId, schedule.lessonDt)
         return ScheduleIdInfo.from(schedule)
     }
 
@@ -293,58 +300,6 @@ class TrainerScheduleCommandService(
     private fun findMemberById(trainerId: Long) = (memberRepository.findByIdOrNull(trainerId)
         ?: throw CustomException(MEMBER_NOT_FOUND))
 
-    fun deleteDisabledSchedule() {
-        val today = LocalDate.now()
-        val startOfLastWeek = today.with(TemporalAdjusters.previous(MONDAY))
-        val endOfLastWeek = startOfLastWeek.with(TemporalAdjusters.nextOrSame(SUNDAY))
-        val disabledSchedule = trainerScheduleRepository.findAllDisabledSchedule(startOfLastWeek, endOfLastWeek)
-        trainerScheduleRepository.deleteAll(disabledSchedule)
-    }
-
-    private fun generateDisabledSchedules(
-        schedules: MutableList<Schedule>,
-        lessonDt: LocalDate,
-        trainer: Member,
-        startTime: LocalDateTime,
-        endTime: LocalDateTime,
-        lessonTime: Long
-    ) {
-        var currentTime = startTime
-        while (currentTime.isBefore(endTime)) {
-            val schedule = Schedule.registerSchedule(lessonDt, trainer, currentTime.toLocalTime(), currentTime.plusMinutes(lessonTime).toLocalTime(), DISABLED)
-            schedules.add(schedule)
-            currentTime = currentTime.plusMinutes(lessonTime)
-        }
-    }
-
-    private fun generateAvailableSchedules(
-        schedules: MutableList<Schedule>,
-        lessonDt: LocalDate,
-        trainer: Member,
-        startTime: LocalDateTime,
-        endTime: LocalDateTime,
-        trainerScheduleInfo: TrainerScheduleInfo,
-        lessonTime: Long
-    ) {
-        var currentTime = startTime
-        while (currentTime.isBefore(endTime)) {
-            if (isStartTimeEqualsLunchStartTime(trainerScheduleInfo.lunchStartTime, currentTime.toLocalTime())) {
-                val duration = between(trainerScheduleInfo.lunchStartTime, trainerScheduleInfo.lunchEndTime)
-                schedules.add(Schedule.registerSchedule(lessonDt, trainer, trainerScheduleInfo.lunchStartTime, trainerScheduleInfo.lunchEndTime, DISABLED))
-                currentTime = currentTime.plusMinutes(duration.toMinutes())
-            } else {
-                schedules.add(Schedule.registerSchedule(
-                    lessonDt,
-                    trainer,
-                    currentTime.toLocalTime(),
-                    currentTime.plusMinutes(lessonTime).toLocalTime(),
-                    AVAILABLE
-                ))
-                currentTime = currentTime.plusMinutes(lessonTime)
-            }
-        }
-    }
-
     companion object {
         const val ONE_DAY = 1L
     }
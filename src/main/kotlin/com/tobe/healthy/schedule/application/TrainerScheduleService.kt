@@ -1,10 +1,15 @@
 package com.tobe.healthy.schedule.application
 
 import com.tobe.healthy.common.KotlinCustomPaging
+import com.tobe.healthy.common.error.CustomException
+import com.tobe.healthy.common.error.ErrorCode.GYM_NOT_FOUND
+import com.tobe.healthy.member.repository.MemberRepository
+import com.tobe.healthy.schedule.domain.dto.`in`.RetrieveFreeSlot
 import com.tobe.healthy.schedule.domain.dto.`in`.RetrieveTrainerScheduleByLessonDt
 import com.tobe.healthy.schedule.domain.dto.`in`.RetrieveTrainerScheduleByLessonInfo
 import com.tobe.healthy.schedule.domain.dto.`in`.RetrieveTrainerScheduleByTrainerId
 import com.tobe.healthy.schedule.domain.dto.out.RetrieveApplicantSchedule
+import com.tobe.healthy.schedule.domain.dto.out.RetrieveFreeSlotResult
 import com.tobe.healthy.schedule.domain.dto.out.RetrieveTrainerDefaultLessonTimeResult
 import com.tobe.healthy.schedule.domain.dto.out.RetrieveTrainerScheduleByLessonDtResult
 import com.tobe.healthy.schedule.domain.dto.out.RetrieveTrainerScheduleByLessonInfoResult
@@ -12,13 +17,21 @@ import com.tobe.healthy.schedule.repository.TrainerScheduleInfoRepository
 import com.tobe.healthy.schedule.repository.TrainerScheduleRepository
 import org.springframework.data.domain.Pageable
 import org.springframework.stereotype.Service
+import org.springframework.transaction.annotation.Propagation.NOT_SUPPORTED
 import org.springframework.transaction.annotation.Transactional
+import java.time.LocalDate
+import java.time.LocalTime
+import java.time.YearMonth
 
 @Service
 @Transactional(readOnly = true)
 class TrainerScheduleService(
     private val trainerScheduleRepository: TrainerScheduleRepository,
-    private val trainerScheduleInfoRepository: TrainerScheduleInfoRepository
+    private val trainerScheduleInfoRepository: TrainerScheduleInfoRepository,
+    private val virtualScheduleService: VirtualScheduleService,
+    private val trainerCalendarCache: TrainerCalendarCache,
+    private val freeSlotIndex: FreeSlotIndex,
+    private val memberRepository: MemberRepository
 ) {
     fun findOneDefaultLessonTime(
         trainerId: Long
@@ -31,18 +44,71 @@ class TrainerScheduleService(
         request: RetrieveTrainerScheduleByLessonInfo,
         trainerId: Long
     ): RetrieveTrainerScheduleByLessonInfoResult? {
-        val schedules = trainerScheduleRepository.findAllSchedule(request.lessonDt, request.lessonStartDt, request.lessonEndDt, trainerId)
-        return RetrieveTrainerScheduleByLessonInfoResult.from(schedules)
+        val lessonMonth = cacheableMonthOf(request.lessonDt, request.lessonStartDt, request.lessonEndDt)
+            ?: return loadSchedule(request.lessonDt, request.lessonStartDt, request.lessonEndDt, trainerId)
+        return trainerCalendarCache.get(trainerId, lessonMonth) {
+            loadSchedule(null, lessonMonth.atDay(1), lessonMonth.atEndOfMonth(), trainerId)
+        }
     }
 
     fun findAllSchedule(
         trainerId: Long,
         request: RetrieveTrainerScheduleByTrainerId,
     ): RetrieveTrainerScheduleByLessonInfoResult? {
-        val schedules = trainerScheduleRepository.findAllSchedule(null, request.lessonStartDt, request.lessonEndDt, trainerId)
+        val lessonMonth = cacheableMonthOf(null, request.lessonStartDt, request.lessonEndDt)
+            ?: return loadSchedule(null, request.lessonStartDt, request.lessonEndDt, trainerId)
+        return trainerCalendarCache.get(trainerId, lessonMonth) {
+            loadSchedule(null, lessonMonth.atDay(1), lessonMonth.atEndOfMonth(), trainerId)
+        }
+    }
+
+    private fun loadSchedule(
+        lessonDt: String?,
+        lessonStartDt: LocalDate?,
+        lessonEndDt: LocalDate?,
+        trainerId: Long
+    ): RetrieveTrainerScheduleByLessonInfoResult {
+        if (virtualScheduleService.enabled) {
+            val lessonMonth = lessonDt?.let { YearMonth.parse(it) }
+            val startDt = lessonMonth?.atDay(1) ?: lessonStartDt
+            val endDt = lessonMonth?.atEndOfMonth() ?: lessonEndDt
+            if (startDt != null && endDt != null) {
+                val schedules = virtualScheduleService.findAllSchedule(trainerId, startDt, endDt)
+                return RetrieveTrainerScheduleByLessonInfoResult.from(schedules)
+            }
+        }
+        val schedules = trainerScheduleRepository.findAllSchedule(lessonDt, lessonStartDt, lessonEndDt, trainerId)
         return RetrieveTrainerScheduleByLessonInfoResult.from(schedules)
     }
 
+    // 한 달 단위 조회만 캐시한다. (lessonDt: yyyy-MM 또는 월의 첫날 ~ 마지막 날)
+    private fun cacheableMonthOf(lessonDt: String?, lessonStartDt: LocalDate?, lessonEndDt: LocalDate?): YearMonth? {
+        if (!lessonDt.isNullOrEmpty()) {
+            if (lessonStartDt != null || lessonEndDt != null) return null
+            return runCatching { YearMonth.parse(lessonDt) }.getOrNull()
+        }
+        if (lessonStartDt == null || lessonEndDt == null) return null
+        val lessonMonth = YearMonth.from(lessonStartDt)
+        return lessonMonth.takeIf { lessonStartDt == it.atDay(1) && lessonEndDt == it.atEndOfMonth() }
+    }
+
+    // 토큰의 헬스장은 변경 전 값일 수 있으므로 회원의 현재 헬스장을 조회하고, 빈 일정은 메모리 인덱스에서 조회한다.
+    @Transactional(propagation = NOT_SUPPORTED)
+    fun findAllFreeSlot(
+        request: RetrieveFreeSlot,
+        memberId: Long
+    ): List<RetrieveFreeSlotResult> {
+        val gymId = memberRepository.findGymIdById(memberId)
+            ?: throw CustomException(GYM_NOT_FOUND)
+        return freeSlotIndex.search(
+            gymId,
+            request.lessonStartDt,
+            request.lessonEndDt,
+            request.startTime ?: LocalTime.MIN,
+            request.endTime ?: LocalTime.MIDNIGHT
+        )
+    }
+
     fun findOneTrainerTodaySchedule(
         request: RetrieveTrainerScheduleByLessonDt,
         trainerId: Long
@@ -0,0 +1,124 @@
+package com.tobe.healthy.schedule.application
+
+import com.tobe.healthy.common.error.CustomException
+import com.tobe.healthy.common.error.ErrorCode.SCHEDULE_NOT_FOUND
+import com.tobe.healthy.common.error.ErrorCode.TRAINER_SCHEDULE_NOT_FOUND
+import com.tobe.healthy.member.domain.entity.Member
+import com.tobe.healthy.schedule.domain.dto.ScheduleSlot
+import com.tobe.healthy.schedule.domain.dto.VirtualScheduleId
+import com.tobe.healthy.schedule.domain.entity.Schedule
+import com.tobe.healthy.schedule.domain.entity.TrainerScheduleRegistration
+import com.tobe.healthy.schedule.repository.TrainerScheduleInfoRepository
+import com.tobe.healthy.schedule.repository.TrainerScheduleRegistrationRepository
+import com.tobe.healthy.schedule.repository.TrainerScheduleRepository
+import org.springframework.beans.factory.annotation.Value
+import org.springframework.stereotype.Service
+import org.springframework.transaction.annotation.Transactional
+import java.time.LocalDate
+import java.time.LocalTime
+
+/**
+ * 가상 일정 모드
+ * - 일정 등록 시 기간만 저장하고, 조회 시 TrainerScheduleInfo 로 일정을 계산한다.
+ * - 예약, 비활성화 등 상태가 생긴 일정만 Schedule 로 저장(override)된다.
+ * - 계산된 일정은 음수 ID(VirtualScheduleId)로 내려가며, 변경 요청이 오면 그때 Schedule 로 저장한다.
+ */
+@Service
+@Transactional
+class VirtualScheduleService(
+    private val trainerScheduleRepository: TrainerScheduleRepository,
+    private val trainerScheduleInfoRepository: TrainerScheduleInfoRepository,
+    private val trainerScheduleRegistrationRepository: TrainerScheduleRegistrationRepository,
+    private val trainerCalendarCache: TrainerCalendarCache,
+    @Value("\${schedule.virtual-slot.enabled:false}")
+    val enabled: Boolean
+) {
+
+    fun register(trainer: Member, lessonStartDt: LocalDate, lessonEndDt: LocalDate) {
+        trainerScheduleRegistrationRepository.save(TrainerScheduleRegistration.register(trainer, lessonStartDt, lessonEndDt))
+    }
+
+    fun isRegistered(trainerId: Long, lessonStartDt: LocalDate, lessonEndDt: LocalDate): Boolean {
+        return trainerScheduleRegistrationRepository.findAllOverlapping(trainerId, lessonStartDt, lessonEndDt).isNotEmpty()
+    }
+
+    // 저장된 일정(override)과 템플릿으로 계산한 일정을 합쳐 수업 일자, 시작 시간 순으로 반환한다.
+    @Transactional(readOnly = true)
+    fun findAllSchedule(trainerId: Long, lessonStartDt: LocalDate, lessonEndDt: LocalDate): List<Schedule> {
+        val overrides = trainerScheduleRepository.findAllSchedule(null, lessonStartDt, lessonEndDt, trainerId)
+        val trainerScheduleInfo = trainerScheduleInfoRepository.findOneByTrainerId(trainerId)
+            ?: return overrides
+
+        val slots = trainerScheduleRegistrationRepository.findAllOverlapping(trainerId, lessonStartDt, lessonEndDt)
+            .flatMap { it.datesBetween(lessonStartDt, lessonEndDt).toList() }
+            .distinct()
+            .flatMap { trainerScheduleInfo.generateSlots(it) }
+
+        val virtualSchedules = excludeOverlapping(slots, overrides.map { it.toSlot() })
+            .map {
+                Schedule.registerSchedule(it.lessonDt, trainerScheduleInfo.trainer, it.lessonStartTime, it.lessonEndTime, it.reservationStatus)
+            }
+
+        return (overrides + virtualSchedules).sortedWith(compareBy({ it.lessonDt }, { it.lessonStartTime }))
+    }
+
+    // 가상 일정 ID 로 변경 요청이 오면 해당 일정을 Schedule 로 저장하고 실제 ID 를 반환한다.
+    fun resolveScheduleId(scheduleId: Long, trainerId: Long): Long {
+        if (!VirtualScheduleId.isVirtual(scheduleId)) {
+            return scheduleId
+        }
+
+        val lessonDt = VirtualScheduleId.lessonDtOf(scheduleId)
+        val lessonStartTime = VirtualScheduleId.lessonStartTimeOf(scheduleId)
+
+        // 같은 트레이너의 동시 저장을 직렬화한다.
+        val trainerScheduleInfo = trainerScheduleInfoRepository.findLockedByTrainerId(trainerId)
+            ?: throw CustomException(TRAINER_SCHEDULE_NOT_FOUND)
+
+        trainerScheduleRepository.findFirstByTrainerIdAndLessonDtAndLessonStartTime(trainerId, lessonDt, lessonStartTime)
+            ?.let { return it.id }
+
+        if (!isRegistered(trainerId, lessonDt, lessonDt)) {
+            throw CustomException(SCHEDULE_NOT_FOUND)
+        }
+
+        // 수업 시간, 점심시간 변경 이후 저장된 일정과 겹치는 템플릿 일정은 조회되지 않으므로 저장하지 않는다.
+        val overrides = trainerScheduleRepository.findAllSchedule(null, lessonDt, lessonDt, trainerId).map { it.toSlot() }
+        val slot = excludeOverlapping(trainerScheduleInfo.generateSlots(lessonDt), overrides)
+            .firstOrNull { it.lessonStartTime == lessonStartTime }
+            ?: throw CustomException(SCHEDULE_NOT_FOUND)
+
+        val schedule = Schedule.registerSchedule(slot.lessonDt, trainerScheduleInfo.trainer, slot.lessonStartTime, slot.lessonEndTime, slot.reservationStatus)
+        trainerScheduleRepository.save(schedule)
+        trainerCalendarCache.evict(trainerId, lessonDt)
+        return schedule.id
+    }
+
+    private fun Schedule.toSlot() = ScheduleSlot(lessonDt, lessonStartTime, lessonEndTime, reservationStatus)
+
+    companion object {
+        private const val MINUTES_PER_DAY = 24 * 60
+
+        // 같은 수업 일자에 저장된 일정과 시간이 겹치는 템플릿 일정을 제외한다. (시작 시간이 달라도 겹치면 제외)
+        fun excludeOverlapping(slots: List<ScheduleSlot>, overrides: List<ScheduleSlot>): List<ScheduleSlot> {
+            val overridesByDate = overrides.groupBy { it.lessonDt }
+            return slots.filter { slot ->
+                overridesByDate[slot.lessonDt].orEmpty().none { overlaps(slot, it) }
+            }
+        }
+
+        private fun overlaps(a: ScheduleSlot, b: ScheduleSlot): Boolean {
+            return startMinutes(a) < endMinutes(b) && startMinutes(b) < endMinutes(a)
+        }
+
+        private fun startMinutes(slot: ScheduleSlot) = minuteOfDay(slot.lessonStartTime)
+
+        // 00:00 에 끝나는 일정은 하루의 끝으로 본다.
+        private fun endMinutes(slot: ScheduleSlot): Int {
+            val end = minuteOfDay(slot.lessonEndTime)
+            return if (end <= startMinutes(slot)) MINUTES_PER_DAY else end
+        }
+
+        private fun minuteOfDay(time: LocalTime) = time.hour * 60 + time.minute
+    }
+}
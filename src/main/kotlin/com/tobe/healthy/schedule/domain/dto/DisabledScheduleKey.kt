@@ -0,0 +1,9 @@
+package com.tobe.healthy.schedule.domain.dto
+
+import java.time.LocalDate
+
+data class DisabledScheduleKey(
+    val scheduleId: Long,
+    val trainerId: Long,
+    val lessonDt: LocalDate
+)
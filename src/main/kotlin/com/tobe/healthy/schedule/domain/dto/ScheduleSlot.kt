@@ -0,0 +1,12 @@
+package com.tobe.healthy.schedule.domain.dto
+
+import com.tobe.healthy.schedule.domain.entity.ReservationStatus
+import java.time.LocalDate
+import java.time.LocalTime
+
+data class ScheduleSlot(
+    val lessonDt: LocalDate,
+    val lessonStartTime: LocalTime,
+    val lessonEndTime: LocalTime,
+    val reservationStatus: ReservationStatus,
+)
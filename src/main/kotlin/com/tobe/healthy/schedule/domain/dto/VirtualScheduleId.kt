@@ -0,0 +1,28 @@
+package com.tobe.healthy.schedule.domain.dto
+
+import java.time.LocalDate
+import java.time.LocalTime
+
+/**
+ * 저장되지 않은(템플릿으로 계산된) 일정의 식별자.
+ * 수업 일자와 시작 시간으로 음수 ID 를 만들어 실제 schedule_id 와 구분한다.
+ */
+object VirtualScheduleId {
+
+    private const val MINUTES_PER_DAY = 24 * 60
+
+    @JvmStatic
+    fun encode(lessonDt: LocalDate, lessonStartTime: LocalTime): Long {
+        val minuteOfDay = lessonStartTime.hour * 60 + lessonStartTime.minute
+        return -(lessonDt.toEpochDay() * MINUTES_PER_DAY + minuteOfDay) - 1
+    }
+
+    @JvmStatic
+    fun isVirtual(scheduleId: Long?): Boolean = scheduleId != null && scheduleId < 0
+
+    @JvmStatic
+    fun lessonDtOf(scheduleId: Long): LocalDate = LocalDate.ofEpochDay(-(scheduleId + 1) / MINUTES_PER_DAY)
+
+    @JvmStatic
+    fun lessonStartTimeOf(scheduleId: Long): LocalTime = LocalTime.MIN.plusMinutes(-(scheduleId + 1) % MINUTES_PER_DAY)
+}
@@ -0,0 +1,31 @@
+package com.tobe.healthy.schedule.domain.dto.`in`
+
+import com.tobe.healthy.common.error.CustomException
+import com.tobe.healthy.common.error.ErrorCode.SEARCH_LESS_THAN_31_DAYS
+import io.swagger.v3.oas.annotations.media.Schema
+import org.springframework.format.annotation.DateTimeFormat
+import java.time.LocalDate
+import java.time.LocalTime
+import java.time.temporal.ChronoUnit
+
+data class RetrieveFreeSlot(
+    @Schema(description = "조회할 수업 시작 일자", example = "2024-04-01")
+    val lessonStartDt: LocalDate,
+
+    @Schema(description = "조회할 수업 종료 일자", example = "2024-04-07")
+    val lessonEndDt: LocalDate,
+
+    @Schema(description = "수업 시작 가능 시간", example = "18:00")
+    @DateTimeFormat(pattern = "HH:mm")
+    val startTime: LocalTime? = null,
+
+    @Schema(description = "수업 종료 가능 시간 (00:00 은 하루 끝)", example = "22:00")
+    @DateTimeFormat(pattern = "HH:mm")
+    val endTime: LocalTime? = null
+) {
+    init {
+        if (ChronoUnit.DAYS.between(lessonStartDt, lessonEndDt) > 31) {
+            throw CustomException(SEARCH_LESS_THAN_31_DAYS)
+        }
+    }
+}
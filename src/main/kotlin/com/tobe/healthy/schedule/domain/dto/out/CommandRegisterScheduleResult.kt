@@ -1,6 +1,5 @@
 package com.tobe.healthy.schedule.domain.dto.out
 
-import com.tobe.healthy.schedule.domain.entity.Schedule
 import com.tobe.healthy.schedule.domain.entity.TrainerScheduleInfo
 import java.time.LocalDate
 import java.time.LocalTime
@@ -15,11 +14,11 @@ data class CommandRegisterScheduleResult(
 ) {
     companion object {
         fun from(
-            schedule: List<Schedule>,
+            lessonDt: List<LocalDate>,
             trainerScheduleInfo: TrainerScheduleInfo
         ): CommandRegisterScheduleResult {
             return CommandRegisterScheduleResult(
-                lessonDt = schedule.map { it.lessonDt }.distinct().toMutableList(),
+                lessonDt = lessonDt.distinct().toMutableList(),
                 lessonStartTime = trainerScheduleInfo.lessonStartTime,
                 lessonEndTime = trainerScheduleInfo.lessonEndTime,
                 lessonTime = trainerScheduleInfo.lessonTime.description,
@@ -0,0 +1,15 @@
+package com.tobe.healthy.schedule.domain.dto.out
+
+import com.fasterxml.jackson.annotation.JsonFormat
+import java.time.LocalDate
+import java.time.LocalTime
+
+data class RetrieveFreeSlotResult(
+    val trainerId: Long,
+    val trainerName: String,
+    val lessonDt: LocalDate,
+    @JsonFormat(pattern = "HH:mm")
+    val lessonStartTime: LocalTime,
+    @JsonFormat(pattern = "HH:mm")
+    val lessonEndTime: LocalTime
+)
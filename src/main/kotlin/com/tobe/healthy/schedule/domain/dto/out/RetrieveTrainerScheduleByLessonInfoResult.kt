@@ -3,6 +3,7 @@ package com.tobe.healthy.schedule.domain.dto.out
 import com.fasterxml.jackson.databind.annotation.JsonSerialize
 import com.tobe.healthy.common.LessonDetailResultSerializer
 import com.tobe.healthy.common.LessonTimeFormatter.formatLessonTime
+import com.tobe.healthy.schedule.domain.dto.VirtualScheduleId
 import com.tobe.healthy.schedule.domain.entity.ReservationStatus
 import com.tobe.healthy.schedule.domain.entity.ReservationStatus.DISABLED
 import com.tobe.healthy.schedule.domain.entity.Schedule
@@ -26,7 +27,7 @@ data class RetrieveTrainerScheduleByLessonInfoResult(
                 .mapValues { entry ->
                     entry.value.map { schedule ->
                         LessonDetailResult(
-                            scheduleId = schedule.id,
+                            scheduleId = schedule.id ?: VirtualScheduleId.encode(schedule.lessonDt, schedule.lessonStartTime),
                             duration = calculateDuration(schedule),
                             lessonStartTime = schedule.lessonStartTime,
                             lessonEndTime = schedule.lessonEndTime,
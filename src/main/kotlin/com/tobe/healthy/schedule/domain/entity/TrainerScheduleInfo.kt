@@ -3,14 +3,20 @@ package com.tobe.healthy.schedule.domain.entity
 import com.tobe.healthy.common.error.CustomException
 import com.tobe.healthy.common.error.ErrorCode.INVALID_LESSON_TIME_DESCRIPTION
 import com.tobe.healthy.member.domain.entity.Member
+import com.tobe.healthy.schedule.domain.dto.ScheduleSlot
 import com.tobe.healthy.schedule.domain.dto.`in`.CommandRegisterDefaultLessonTime
 import com.tobe.healthy.schedule.domain.entity.LessonTime.ONE_HOUR
+import com.tobe.healthy.schedule.domain.entity.ReservationStatus.AVAILABLE
+import com.tobe.healthy.schedule.domain.entity.ReservationStatus.DISABLED
 import jakarta.persistence.*
 import jakarta.persistence.CascadeType.ALL
 import jakarta.persistence.EnumType.STRING
 import jakarta.persistence.FetchType.LAZY
 import jakarta.persistence.GenerationType.IDENTITY
 import org.hibernate.annotations.DynamicUpdate
+import java.time.Duration.between
+import java.time.LocalDate
+import java.time.LocalDateTime
 import java.time.LocalTime
 
 @Entity
@@ -50,6 +56,39 @@ class TrainerScheduleInfo(
         this.trainerScheduleClosedDays.addAll(closedDays)
     }
 
+    fun isClosedDay(lessonDt: LocalDate): Boolean {
+        return trainerScheduleClosedDays.any { it.closedDays == lessonDt.dayOfWeek }
+    }
+
+    // 하루치 수업 일정을 펼친다. 휴무일은 06:00 ~ 24:00 전체가 DISABLED, 점심시간은 DISABLED 로 생성된다.
+    fun generateSlots(lessonDt: LocalDate): List<ScheduleSlot> {
+        val slots = mutableListOf<ScheduleSlot>()
+        val lessonMinutes = lessonTime.description.toLong()
+
+        if (isClosedDay(lessonDt)) {
+            var currentTime = LocalDateTime.of(lessonDt, LocalTime.of(6, 0))
+            val endTime = LocalDateTime.of(lessonDt.plusDays(1), LocalTime.of(0, 0))
+            while (currentTime.isBefore(endTime)) {
+                slots.add(ScheduleSlot(lessonDt, currentTime.toLocalTime(), currentTime.plusMinutes(lessonMinutes).toLocalTime(), DISABLED))
+                currentTime = currentTime.plusMinutes(lessonMinutes)
+            }
+            return slots
+        }
+
+        var currentTime = LocalDateTime.of(lessonDt, lessonStartTime)
+        val endTime = LocalDateTime.of(lessonDt, lessonEndTime)
+        while (currentTime.isBefore(endTime)) {
+            if (currentTime.toLocalTime() == lunchStartTime) {
+                slots.add(ScheduleSlot(lessonDt, lunchStartTime!!, lunchEndTime!!, DISABLED))
+                currentTime = currentTime.plusMinutes(between(lunchStartTime, lunchEndTime).toMinutes())
+            } else {
+                slots.add(ScheduleSlot(lessonDt, currentTime.toLocalTime(), currentTime.plusMinutes(lessonMinutes).toLocalTime(), AVAILABLE))
+                currentTime = currentTime.plusMinutes(lessonMinutes)
+            }
+        }
+        return slots
+    }
+
     companion object {
         fun registerDefaultLessonTime(
             request: CommandRegisterDefaultLessonTime,
@@ -0,0 +1,44 @@
+package com.tobe.healthy.schedule.domain.entity
+
+import com.tobe.healthy.member.domain.entity.Member
+import jakarta.persistence.*
+import jakarta.persistence.FetchType.LAZY
+import jakarta.persistence.GenerationType.IDENTITY
+import java.time.LocalDate
+
+/**
+ * 가상 일정 모드에서 트레이너가 일정을 연 기간.
+ * 기간 안의 일정은 TrainerScheduleInfo 로 계산하고, 상태가 있는 일정만 Schedule 로 저장한다.
+ */
+@Entity
+class TrainerScheduleRegistration(
+
+    @ManyToOne(fetch = LAZY)
+    @JoinColumn(name = "trainer_id")
+    val trainer: Member,
+
+    val lessonStartDt: LocalDate,
+
+    val lessonEndDt: LocalDate,
+
+    @Id
+    @GeneratedValue(strategy = IDENTITY)
+    @Column(name = "trainer_schedule_registration_id")
+    val id: Long? = null
+) {
+    fun datesBetween(startDt: LocalDate, endDt: LocalDate): Sequence<LocalDate> {
+        val from = maxOf(lessonStartDt, startDt)
+        val to = minOf(lessonEndDt, endDt)
+        return generateSequence(from) { it.plusDays(1) }.takeWhile { !it.isAfter(to) }
+    }
+
+    companion object {
+        fun register(trainer: Member, lessonStartDt: LocalDate, lessonEndDt: LocalDate): TrainerScheduleRegistration {
+            return TrainerScheduleRegistration(
+                trainer = trainer,
+                lessonStartDt = lessonStartDt,
+                lessonEndDt = lessonEndDt
+            )
+        }
+    }
+}
@@ -4,10 +4,12 @@ import com.tobe.healthy.ApiResultResponse
 import com.tobe.healthy.common.KotlinCustomPaging
 import com.tobe.healthy.config.security.CustomMemberDetails
 import com.tobe.healthy.schedule.application.TrainerScheduleService
+import com.tobe.healthy.schedule.domain.dto.`in`.RetrieveFreeSlot
 import com.tobe.healthy.schedule.domain.dto.`in`.RetrieveTrainerScheduleByLessonDt
 import com.tobe.healthy.schedule.domain.dto.`in`.RetrieveTrainerScheduleByLessonInfo
 import com.tobe.healthy.schedule.domain.dto.`in`.RetrieveTrainerScheduleByTrainerId
 import com.tobe.healthy.schedule.domain.dto.out.RetrieveApplicantSchedule
+import com.tobe.healthy.schedule.domain.dto.out.RetrieveFreeSlotResult
 import com.tobe.healthy.schedule.domain.dto.out.RetrieveTrainerDefaultLessonTimeResult
 import com.tobe.healthy.schedule.domain.dto.out.RetrieveTrainerScheduleByLessonDtResult
 import com.tobe.healthy.schedule.domain.dto.out.RetrieveTrainerScheduleByLessonInfoResult
@@ -84,6 +86,24 @@ class TrainerScheduleController(
         )
     }
 
+    @Operation(
+        summary = "내 헬스장의 모든 트레이너의 빈 일정을 조회한다.", description = "기간과 시간대 안에 예약 가능한 일정을 트레이너 구분 없이 조회한다.",
+        responses = [
+            ApiResponse(responseCode = "200", description = "빈 일정 조회 완료"),
+            ApiResponse(responseCode = "404", description = "등록된 헬스장이 없습니다.")
+        ]
+    )
+    @GetMapping("/free-slots")
+    fun findAllFreeSlot(
+        @ParameterObject request: RetrieveFreeSlot,
+        @AuthenticationPrincipal customMemberDetails: CustomMemberDetails
+    ): ApiResultResponse<List<RetrieveFreeSlotResult>> {
+        return ApiResultResponse(
+            message = "빈 일정을 조회했습니다.",
+            data = trainerScheduleService.findAllFreeSlot(request, customMemberDetails.memberId)
+        )
+    }
+
     @Operation(
         summary = "트레이너가 특정 날짜의 일정을 조회한다.",
         responses = [
@@ -0,0 +1,38 @@
+package com.tobe.healthy.schedule.repository
+
+import com.tobe.healthy.common.MultiRowInsert
+import com.tobe.healthy.schedule.domain.dto.ScheduleSlot
+import org.springframework.jdbc.core.JdbcTemplate
+import org.springframework.stereotype.Repository
+import java.sql.Date
+import java.sql.Time
+import java.sql.Timestamp
+import java.time.LocalDateTime
+
+// 생성한 일정 슬롯을 엔티티를 거치지 않고 저장한다.
+@Repository
+class ScheduleBulkRepository(
+    jdbcTemplate: JdbcTemplate
+) {
+
+    private val multiRowInsert = MultiRowInsert(
+        jdbcTemplate,
+        "schedule",
+        listOf("lesson_dt", "lesson_start_time", "lesson_end_time", "reservation_status", "trainer_id", "created_at", "updated_at")
+    )
+
+    fun insertAll(trainerId: Long, slots: Sequence<ScheduleSlot>): Int {
+        val now = Timestamp.valueOf(LocalDateTime.now())
+        return multiRowInsert.insert(slots) {
+            listOf(
+                Date.valueOf(it.lessonDt),
+                Time.valueOf(it.lessonStartTime),
+                Time.valueOf(it.lessonEndTime),
+                it.reservationStatus.name,
+                trainerId,
+                now,
+                now
+            )
+        }
+    }
+}
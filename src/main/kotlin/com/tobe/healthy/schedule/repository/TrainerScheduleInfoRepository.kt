@@ -1,8 +1,17 @@
 package com.tobe.healthy.schedule.repository
 
 import com.tobe.healthy.schedule.domain.entity.TrainerScheduleInfo
+import jakarta.persistence.LockModeType.PESSIMISTIC_WRITE
 import org.springframework.data.jpa.repository.JpaRepository
+import org.springframework.data.jpa.repository.Lock
+import org.springframework.data.jpa.repository.Query
 
 interface TrainerScheduleInfoRepository : JpaRepository<TrainerScheduleInfo, Long> {
     fun findOneByTrainerId(trainerId: Long): TrainerScheduleInfo?
+
+    fun findAllByTrainerIdIn(trainerIds: Collection<Long>): List<TrainerScheduleInfo>
+
+    @Lock(PESSIMISTIC_WRITE)
+    @Query("select t from TrainerScheduleInfo t where t.trainer.id = :trainerId")
+    fun findLockedByTrainerId(trainerId: Long): TrainerScheduleInfo?
 }
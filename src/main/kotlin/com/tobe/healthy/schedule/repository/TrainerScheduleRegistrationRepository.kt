@@ -0,0 +1,12 @@
+package com.tobe.healthy.schedule.repository
+
+import com.tobe.healthy.schedule.domain.entity.TrainerScheduleRegistration
+import org.springframework.data.jpa.repository.JpaRepository
+import org.springframework.data.jpa.repository.Query
+import java.time.LocalDate
+
+interface TrainerScheduleRegistrationRepository : JpaRepository<TrainerScheduleRegistration, Long> {
+
+    @Query("select r from TrainerScheduleRegistration r where r.trainer.id = :trainerId and r.lessonStartDt <= :lessonEndDt and r.lessonEndDt >= :lessonStartDt")
+    fun findAllOverlapping(trainerId: Long, lessonStartDt: LocalDate, lessonEndDt: LocalDate): List<TrainerScheduleRegistration>
+}
@@ -1,6 +1,29 @@
 package com.tobe.healthy.schedule.repository
 
+import com.tobe.healthy.member.domain.entity.Member
 import com.tobe.healthy.schedule.domain.entity.Schedule
 import org.springframework.data.jpa.repository.JpaRepository
+import org.springframework.data.jpa.repository.Modifying
+import org.springframework.data.jpa.repository.Query
+import java.time.LocalDate
+import java.time.LocalTime
 
-interface TrainerScheduleRepository : JpaRepository<Schedule, Long>, TrainerScheduleRepositoryCustom
+interface TrainerScheduleRepository : JpaRepository<Schedule, Long>, TrainerScheduleRepositoryCustom {
+    fun findFirstByTrainerIdAndLessonDtAndLessonStartTime(trainerId: Long, lessonDt: LocalDate, lessonStartTime: LocalTime): Schedule?
+
+    // 예약 가능한 일정일 때만 학생을 등록한다. (반환값 0: 이미 예약된 일정)
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Schedule s set s.applicant = :applicant, s.reservationStatus = com.tobe.healthy.schedule.domain.entity.ReservationStatus.COMPLETED, s.updatedAt = local datetime " +
+            "where s.id = :scheduleId and s.trainer.id = :trainerId and s.reservationStatus = com.tobe.healthy.schedule.domain.entity.ReservationStatus.AVAILABLE and s.applicant is null")
+    fun registerStudentIfAvailable(scheduleId: Long, trainerId: Long, applicant: Member): Int
+
+    // 조회한 학생의 예약일 때만 취소한다. (반환값 0: 이미 취소되었거나 변경된 예약)
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Schedule s set s.applicant = null, s.reservationStatus = com.tobe.healthy.schedule.domain.entity.ReservationStatus.AVAILABLE, s.updatedAt = local datetime " +
+            "where s.id = :scheduleId and s.trainer.id = :trainerId and s.reservationStatus = com.tobe.healthy.schedule.domain.entity.ReservationStatus.COMPLETED and s.applicant.id = :applicantId")
+    fun cancelReservationIfCompleted(scheduleId: Long, trainerId: Long, applicantId: Long): Int
+
+    // 회원 이름이 표시되는 일정(신청, 대기)의 트레이너 ID
+    @Query("select distinct s.trainer.id from Schedule s left join s.scheduleWaiting w where s.applicant.id = :memberId or w.member.id = :memberId")
+    fun findTrainerIdsByParticipant(memberId: Long): List<Long>
+}
@@ -1,6 +1,7 @@
 package com.tobe.healthy.schedule.repository
 
 import com.tobe.healthy.lessonhistory.domain.dto.`in`.UnwrittenLessonHistorySearchCond
+import com.tobe.healthy.schedule.domain.dto.DisabledScheduleKey
 import com.tobe.healthy.schedule.domain.dto.`in`.CommandRegisterSchedule
 import com.tobe.healthy.schedule.domain.dto.out.FeedbackNotificationToTrainer
 import com.tobe.healthy.schedule.domain.dto.out.RetrieveTrainerScheduleByLessonDtResult
@@ -20,6 +21,8 @@ interface TrainerScheduleRepositoryCustom {
     fun findAllSchedule(scheduleIds: List<Long>, reservationStatus: List<ReservationStatus>, trainerId: Long): List<Schedule>
     fun findAllSchedule(scheduleId: Long, reservationStatus: ReservationStatus, trainerId: Long): Schedule?
     fun findAllDisabledSchedule(lessonStartDt: LocalDate, lessonEndDt: LocalDate): List<Schedule?>
+    fun findDisabledScheduleKeys(lessonEndDt: LocalDate, lastScheduleId: Long, limit: Long): List<DisabledScheduleKey>
+    fun deleteAllDisabledSchedule(scheduleIds: List<Long>): Long
     fun findAllUnwrittenLessonHistory(request: UnwrittenLessonHistorySearchCond, memberId: Long): List<Schedule>
     fun findAllSimpleLessonHistoryByMemberId(studentId: Long, trainerId: Long): List<Schedule>
     fun findAllScheduleByStudentId(studentId: Long, pageable: Pageable, trainerId: Long): Page<Schedule>
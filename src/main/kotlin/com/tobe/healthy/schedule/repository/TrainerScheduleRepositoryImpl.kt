@@ -3,8 +3,9 @@ package com.tobe.healthy.schedule.repository
 import com.querydsl.core.types.Projections.constructor
 import com.querydsl.core.types.dsl.BooleanExpression
 import com.querydsl.core.types.dsl.DatePath
-import com.querydsl.core.types.dsl.Expressions.stringTemplate
+import com.querydsl.jpa.JPAExpressions
 import com.querydsl.jpa.impl.JPAQueryFactory
+import com.tobe.healthy.common.SearchDateRange
 import com.tobe.healthy.lessonhistory.domain.dto.`in`.UnwrittenLessonHistorySearchCond
 import com.tobe.healthy.lessonhistory.domain.entity.QLessonHistory.lessonHistory
 import com.tobe.healthy.lessonhistory.domain.entity.WritingStatus
@@ -13,6 +14,7 @@ import com.tobe.healthy.lessonhistory.domain.entity.WritingStatus.WRITTEN
 import com.tobe.healthy.member.domain.entity.AlarmStatus.ENABLED
 import com.tobe.healthy.member.domain.entity.QMember
 import com.tobe.healthy.member.domain.entity.QMember.member
+import com.tobe.healthy.schedule.domain.dto.DisabledScheduleKey
 import com.tobe.healthy.schedule.domain.dto.`in`.CommandRegisterSchedule
 import com.tobe.healthy.schedule.domain.dto.out.FeedbackNotificationToTrainer
 import com.tobe.healthy.schedule.domain.dto.out.RetrieveTrainerScheduleByLessonDtResult
@@ -171,6 +173,8 @@ class TrainerScheduleRepositoryImpl(
         return queryFactory
             .select(schedule)
             .from(schedule)
+            .leftJoin(schedule.trainer, QMember("trainer")).fetchJoin()
+            .leftJoin(schedule.scheduleWaiting, scheduleWaiting).fetchJoin()
             .where(
                 scheduleIdEq(scheduleId),
                 trainerIdEq(trainerId),
@@ -191,6 +195,52 @@ class TrainerScheduleRepositoryImpl(
             .fetch()
     }
 
+    // 수업 일지가 연결된 일정은 삭제할 수 없으므로 제외한다.
+    // idx_schedule_status_id_lesson_dt 로 DISABLED 일정만 PK 순서로 읽는다.
+    override fun findDisabledScheduleKeys(lessonEndDt: LocalDate, lastScheduleId: Long, limit: Long): List<DisabledScheduleKey> {
+        return queryFactory
+            .select(constructor(DisabledScheduleKey::class.java, schedule.id, schedule.trainer.id, schedule.lessonDt))
+            .from(schedule)
+            .where(
+                reservationStatusEq(DISABLED),
+                schedule.id.gt(lastScheduleId),
+                schedule.lessonDt.loe(lessonEndDt),
+                lessonHistoryNotExists()
+            )
+            .orderBy(schedule.id.asc())
+            .limit(limit)
+            .fetch()
+    }
+
+    // 조회 이후에 상태가 바뀌었거나 수업 일지가 작성된 일정은 대기 내역과 함께 남겨둔다.
+    override fun deleteAllDisabledSchedule(scheduleIds: List<Long>): Long {
+        queryFactory
+            .delete(scheduleWaiting)
+            .where(
+                scheduleWaiting.schedule.id.`in`(
+                    JPAExpressions.select(schedule.id)
+                        .from(schedule)
+                        .where(schedule.id.`in`(scheduleIds), reservationStatusEq(DISABLED), lessonHistoryNotExists())
+                )
+            )
+            .execute()
+        return queryFactory
+            .delete(schedule)
+            .where(
+                schedule.id.`in`(scheduleIds),
+                reservationStatusEq(DISABLED),
+                lessonHistoryNotExists()
+            )
+            .execute()
+    }
+
+    private fun lessonHistoryNotExists(): BooleanExpression {
+        return JPAExpressions.selectOne()
+            .from(lessonHistory)
+            .where(lessonHistory.schedule.id.eq(schedule.id))
+            .notExists()
+    }
+
     override fun findAllUnwrittenLessonHistory(
         request: UnwrittenLessonHistorySearchCond,
         memberId: Long
@@ -329,26 +379,18 @@ class TrainerScheduleRepositoryImpl(
     }
 
     private fun lessonDtMonthEq(lessonDt: String?): BooleanExpression? {
-        if (!ObjectUtils.isEmpty(lessonDt)) {
-            val formattedDate = stringTemplate("DATE_FORMAT({0}, '%Y-%m')", schedule.lessonDt)
-            return formattedDate.eq(lessonDt)
-        }
-        return null
+        return SearchDateRange.within(schedule.lessonDt, lessonDt)
     }
 
     private fun lessonDtEq(lessonDt: String?): BooleanExpression? {
         if (!StringUtils.hasText(lessonDt)) {
             return null
         }
-        val formattedDate = stringTemplate("DATE_FORMAT({0}, '%Y-%m-%d')", schedule.lessonDt)
-        return formattedDate.eq(lessonDt)
+        return SearchDateRange.within(schedule.lessonDt, lessonDt)
     }
 
     private fun lessonDateTimeEq(lessonDate: String?): BooleanExpression? {
-        return lessonDate?.let {
-            val formattedDate = stringTemplate("DATE_FORMAT({0}, '%Y-%m-%d')", schedule.lessonDt)
-            return formattedDate.eq(lessonDate)
-        }
+        return lessonDate?.let { SearchDateRange.within(schedule.lessonDt, it) }
     }
 }
 
@@ -0,0 +1,196 @@
+package com.tobe.healthy.workout.application
+
+import com.tobe.healthy.common.afterCommit
+import com.tobe.healthy.log
+import io.micrometer.core.instrument.Counter
+import io.micrometer.core.instrument.MeterRegistry
+import org.springframework.beans.factory.annotation.Value
+import org.springframework.data.redis.core.RedisTemplate
+import org.springframework.data.redis.core.script.RedisScript
+import org.springframework.stereotype.Component
+import java.time.Duration
+
+/**
+ * 헬스장 커뮤니티 타임라인 (fan-out-on-write)
+ * - 헬스장마다 공개된 운동기록 ID 를 Redis Sorted Set(gym-timeline:{gymId}, score: 운동기록 ID)에 최신 maxSize 건만 저장한다.
+ * - 등록, 공개 전환은 커밋 이후 추가하고, 삭제, 비공개 전환은 커밋 이후 제거한다.
+ * - 조회는 커서(마지막 운동기록 ID)보다 작은 ID 를 꺼내고, 적재 전이거나 저장된 범위를 넘어가면 DB 에서 조회한다.
+ * - 적재 여부는 score 0 인 "0" 멤버로 표시한다. (적재 전에 추가된 ID 는 적재할 때 DB 결과와 합쳐진다.)
+ * - maxSize 를 넘어 오래된 ID 를 잘라낸 적이 있으면 truncated 키로 표시하고, 이때만 저장된 범위 이후를 DB 에서 이어서 조회한다.
+ * - 제거한 ID 는 잠시 removed 키에 남겨, 제거 이전에 DB 에서 읽은 결과로 적재할 때 다시 살아나지 않도록 한다.
+ */
+@Component
+class GymTimeline(
+    private val redisTemplate: RedisTemplate<String, String>,
+    meterRegistry: MeterRegistry,
+    @Value("\${community.timeline.max-size:1000}")
+    private val maxSize: Int
+) {
+
+    private val hit = requestCounter(meterRegistry, "hit")
+    private val miss = requestCounter(meterRegistry, "miss")
+    private val overflow = requestCounter(meterRegistry, "overflow")
+
+    fun add(gymId: Long, workoutHistoryId: Long) {
+        afterCommit {
+            runCatching {
+                redisTemplate.execute(
+                    ADD,
+                    listOf(keyOf(gymId), truncatedKeyOf(gymId), removedKeyOf(gymId)),
+                    workoutHistoryId.toString(), maxSize.toString(), EXPIRE_AFTER_WRITE.seconds.toString()
+                )
+            }.onFailure { log.warn(it) { "[헬스장 타임라인] 추가 실패 gymId: $gymId, workoutHistoryId: $workoutHistoryId" } }
+        }
+    }
+
+    fun remove(gymId: Long, workoutHistoryId: Long) {
+        afterCommit {
+            runCatching {
+                redisTemplate.execute(
+                    REMOVE,
+                    listOf(keyOf(gymId), removedKeyOf(gymId)),
+                    workoutHistoryId.toString(), System.currentTimeMillis().toString(), REMOVED_RETENTION.toMillis().toString()
+                )
+            }.onFailure { log.warn(it) { "[헬스장 타임라인] 제거 실패 gymId: $gymId, workoutHistoryId: $workoutHistoryId" } }
+        }
+    }
+
+    /**
+     * cursor 보다 작은 운동기록 ID 를 최신순으로 최대 size 건 반환한다.
+     * loader(cursor, size) 는 같은 조건으로 DB 에서 ID 를 조회한다.
+     */
+    fun read(gymId: Long, cursor: Long?, size: Int, loader: (Long?, Int) -> List<Long>): List<Long> {
+        return runCatching { readTimeline(gymId, cursor, size, loader) }
+            .onFailure { log.warn(it) { "[헬스장 타임라인] 조회 실패 gymId: $gymId" } }
+            .getOrElse { loader(cursor, size) }
+    }
+
+    private fun readTimeline(gymId: Long, cursor: Long?, size: Int, loader: (Long?, Int) -> List<Long>): List<Long> {
+        val keys = listOf(keyOf(gymId), truncatedKeyOf(gymId))
+        val max = cursor?.let { "($it" } ?: "+inf"
+        var result = redisTemplate.execute(READ, keys, max, size.toString()).orEmpty()
+
+        if (result.isEmpty()) {
+            miss.increment()
+            // maxSize 보다 많으면 잘라낸 것으로 표시하기 위해 한 건 더 조회한다.
+            val loaded = loader(null, maxSize + 1)
+            redisTemplate.execute(
+                LOAD,
+                listOf(keyOf(gymId), truncatedKeyOf(gymId), removedKeyOf(gymId)),
+                *(listOf(
+                    maxSize.toString(),
+                    EXPIRE_AFTER_WRITE.seconds.toString(),
+                    REMOVED_RETENTION.toMillis().toString(),
+                    System.currentTimeMillis().toString(),
+                    if (loaded.size > maxSize) TRUNCATED else NOT_TRUNCATED
+                ) + loaded.map { it.toString() }).toTypedArray()
+            )
+            result = redisTemplate.execute(READ, keys, max, size.toString()).orEmpty()
+            if (result.isEmpty()) {
+                return loader(cursor, size)
+            }
+        } else {
+            hit.increment()
+        }
+
+        return fillFromLoader(result.drop(1).map { it.toLong() }, result.first() == TRUNCATED, cursor, size, loader)
+    }
+
+    // 잘라낸 이전 운동기록이 있을 때만 마지막 ID 이후부터 DB 에서 이어서 조회한다.
+    private fun fillFromLoader(ids: List<Long>, truncated: Boolean, cursor: Long?, size: Int, loader: (Long?, Int) -> List<Long>): List<Long> {
+        if (ids.size >= size || !truncated) {
+            return ids
+        }
+        overflow.increment()
+        return ids + loader(ids.lastOrNull() ?: cursor, size - ids.size)
+    }
+
+    private fun requestCounter(meterRegistry: MeterRegistry, result: String): Counter {
+        return Counter.builder("$METRIC_PREFIX.requests")
+            .tag("result", result)
+            .register(meterRegistry)
+    }
+
+    companion object {
+        private const val KEY_PREFIX = "gym-timeline"
+        private const val METRIC_PREFIX = "community.timeline"
+        private val EXPIRE_AFTER_WRITE = Duration.ofDays(7)
+
+        private fun keyOf(gymId: Long) = "$KEY_PREFIX:$gymId"
+
+        private fun truncatedKeyOf(gymId: Long) = "$KEY_PREFIX:$gymId:truncated"
+
+        private fun removedKeyOf(gymId: Long) = "$KEY_PREFIX:$gymId:removed"
+
+        // 적재가 끝날 때까지 제거 기록을 남겨 두는 시간 (DB 조회부터 LOAD 까지 걸리는 시간보다 충분히 길게 둔다.)
+        private val REMOVED_RETENTION = Duration.ofMinutes(1)
+
+        private const val TRUNCATED = "1"
+        private const val NOT_TRUNCATED = "0"
+
+        // 적재 전이면 빈 목록, 적재되었으면 [잘라낸 적이 있으면 "1" 아니면 "0", ID...] 를 반환한다. (ARGV[1]: 최대 score, ARGV[2]: 건수)
+        @Suppress("UNCHECKED_CAST")
+        private val READ = RedisScript.of(
+            """
+            if not redis.call('zscore', KEYS[1], '0') then
+                return {}
+            end
+            local ids = redis.call('zrevrangebyscore', KEYS[1], ARGV[1], 1, 'limit', 0, ARGV[2])
+            table.insert(ids, 1, tostring(redis.call('exists', KEYS[2])))
+            return ids
+            """.trimIndent(),
+            List::class.java
+        ) as RedisScript<List<String>>
+
+        // 최근 제거된 ID 는 제외하고 적재한다. DB 에 maxSize 보다 많았거나(ARGV[5]) 합친 결과를 잘라냈으면 truncated 로 표시한다.
+        // ARGV[1]: 최대 건수, ARGV[2]: 만료 시간(초), ARGV[3]: 제거 기록 보관 시간(ms), ARGV[4]: 현재 시각(ms), ARGV[6..]: 운동기록 ID
+        private val LOAD = RedisScript.of<Long>(
+            """
+            redis.call('zremrangebyscore', KEYS[3], '-inf', tonumber(ARGV[4]) - tonumber(ARGV[3]))
+            redis.call('del', KEYS[2])
+            redis.call('zadd', KEYS[1], 0, '0')
+            for i = 6, #ARGV do
+                if not redis.call('zscore', KEYS[3], ARGV[i]) then
+                    redis.call('zadd', KEYS[1], ARGV[i], ARGV[i])
+                end
+            end
+            local trimmed = redis.call('zremrangebyrank', KEYS[1], 1, -(tonumber(ARGV[1]) + 1))
+            if trimmed > 0 or ARGV[5] == '1' then
+                redis.call('set', KEYS[2], '1', 'EX', ARGV[2])
+            end
+            redis.call('expire', KEYS[1], ARGV[2])
+            return 1
+            """.trimIndent(),
+            Long::class.java
+        )
+
+        // 적재 전이어도 추가해 두고 적재할 때 합친다. 다시 공개된 ID 는 제거 기록에서 뺀다.
+        // ARGV[1]: 운동기록 ID, ARGV[2]: 최대 건수, ARGV[3]: 만료 시간(초)
+        private val ADD = RedisScript.of<Long>(
+            """
+            redis.call('zrem', KEYS[3], ARGV[1])
+            redis.call('zadd', KEYS[1], ARGV[1], ARGV[1])
+            if redis.call('zremrangebyrank', KEYS[1], 1, -(tonumber(ARGV[2]) + 1)) > 0 then
+                redis.call('set', KEYS[2], '1', 'EX', ARGV[3])
+            end
+            if redis.call('ttl', KEYS[1]) < 0 then
+                redis.call('expire', KEYS[1], ARGV[3])
+            end
+            return 1
+            """.trimIndent(),
+            Long::class.java
+        )
+
+        // 제거하고 제거 기록(score: 제거 시각)을 남긴다. (ARGV[1]: 운동기록 ID, ARGV[2]: 현재 시각(ms), ARGV[3]: 제거 기록 보관 시간(ms))
+        private val REMOVE = RedisScript.of<Long>(
+            """
+            redis.call('zrem', KEYS[1], ARGV[1])
+            redis.call('zadd', KEYS[2], ARGV[2], ARGV[1])
+            redis.call('zremrangebyscore', KEYS[2], '-inf', tonumber(ARGV[2]) - tonumber(ARGV[3]))
+            redis.call('pexpire', KEYS[2], ARGV[3])
+            return 1
+            """.trimIndent(),
+            Long::class.java
+        )
+    }
+}
@@ -0,0 +1,98 @@
+package com.tobe.healthy.common
+
+import com.tobe.healthy.common.ActivityCalendar.Companion.LOADED
+import com.tobe.healthy.common.ActivityCalendar.Companion.dayBit
+import com.tobe.healthy.common.ActivityCalendar.Companion.keyOf
+import com.tobe.healthy.common.ActivityType.DIET
+import com.tobe.healthy.diet.application.DietService
+import com.tobe.healthy.diet.domain.dto.`in`.DietAddCommandAtHome
+import com.tobe.healthy.diet.domain.entity.DietType.BREAKFAST
+import com.tobe.healthy.diet.repository.DietRepository
+import com.tobe.healthy.member.domain.entity.Member
+import com.tobe.healthy.member.domain.entity.MemberType.STUDENT
+import com.tobe.healthy.member.domain.entity.SocialType.NONE
+import com.tobe.healthy.member.repository.MemberRepository
+import io.kotest.core.spec.style.StringSpec
+import io.kotest.matchers.collections.shouldBeEmpty
+import io.kotest.matchers.collections.shouldContainExactly
+import io.kotest.matchers.shouldBe
+import org.springframework.boot.test.context.SpringBootTest
+import org.springframework.data.redis.connection.BitFieldSubCommands
+import org.springframework.data.redis.connection.BitFieldSubCommands.BitFieldType.unsigned
+import org.springframework.data.redis.core.RedisTemplate
+import org.springframework.jdbc.core.JdbcTemplate
+import java.time.LocalDate
+import java.time.YearMonth
+
+// 커밋 이후에 비트를 켜므로 트랜잭션 없이 실행한다.
+@SpringBootTest
+class ActivityCalendarTest(
+    private val activityCalendar: ActivityCalendar,
+    private val dietService: DietService,
+    private val dietRepository: DietRepository,
+    private val memberRepository: MemberRepository,
+    private val redisTemplate: RedisTemplate<String, String>,
+    private val jdbcTemplate: JdbcTemplate
+) : StringSpec({
+
+    val month = YearMonth.of(2031, 3)
+
+    fun readU32(key: String): Long {
+        return redisTemplate.opsForValue().bitField(key, BitFieldSubCommands.create().get(unsigned(32)).valueAt(0))!!.first()
+    }
+
+    "0 번째 비트는 적재 여부이고 n 일은 BITFIELD GET u32 0 값의 (31 - n) 번째 비트이다" {
+        LOADED shouldBe 0x80000000L
+        dayBit(1) shouldBe 0x40000000L
+        dayBit(31) shouldBe 1L
+
+        val memberId = System.nanoTime()
+        val key = keyOf(DIET, memberId, month)
+        activityCalendar.days(DIET, memberId, month.atDay(1), month.atEndOfMonth()) { _, _ -> listOf("2031-03-01", "2031-03-31") }
+        activityCalendar.mark(DIET, memberId, month.atDay(15))
+
+        readU32(key) shouldBe (LOADED or dayBit(1) or dayBit(15) or dayBit(31))
+        activityCalendar.days(DIET, memberId, month.atDay(1), month.atEndOfMonth()) { _, _ -> error("적재된 월은 DB 를 조회하지 않는다.") } shouldContainExactly
+            listOf("2031-03-01", "2031-03-15", "2031-03-31")
+        redisTemplate.delete(key)
+    }
+
+    "적재 전에 켠 비트는 적재할 때 DB 결과와 합친다" {
+        val memberId = System.nanoTime()
+        activityCalendar.mark(DIET, memberId, month.atDay(10))
+
+        activityCalendar.days(DIET, memberId, month.atDay(1), month.atEndOfMonth()) { _, _ -> listOf("2031-03-20") } shouldContainExactly
+            listOf("2031-03-10", "2031-03-20")
+        redisTemplate.delete(keyOf(DIET, memberId, month))
+    }
+
+    "조회 중에 삭제된 월은 삭제 전에 읽은 DB 결과로 다시 적재하지 않는다" {
+        val memberId = System.nanoTime()
+        val key = keyOf(DIET, memberId, month)
+        // DB 를 읽은 직후, 적재 전에 10 일의 식단이 삭제된다.
+        activityCalendar.days(DIET, memberId, month.atDay(1), month.atEndOfMonth()) { _, _ ->
+            activityCalendar.evict(DIET, memberId, month.atDay(10))
+            listOf("2031-03-10")
+        }
+
+        activityCalendar.days(DIET, memberId, month.atDay(1), month.atEndOfMonth()) { _, _ -> emptyList() }.shouldBeEmpty()
+        redisTemplate.delete(listOf(key, "$key:generation"))
+    }
+
+    "홈에서 등록한 식단이 비워져 삭제되면 활동일에서도 빠진다" {
+        val member = memberRepository.save(Member.join("calendar-test-${System.nanoTime()}@test.com", "달력테스트", STUDENT, NONE))
+        val today = LocalDate.now()
+        val loader = { start: LocalDate?, end: LocalDate? -> dietRepository.getDietUploadDays(member.id, start, end) }
+        try {
+            dietService.addDietAtHome(member, DietAddCommandAtHome().apply { type = BREAKFAST; isFast = true; eatDate = today.toString() })
+            activityCalendar.days(DIET, member.id, today, today, loader) shouldContainExactly listOf(today.toString())
+
+            dietService.addDietAtHome(member, DietAddCommandAtHome().apply { type = BREAKFAST; isFast = false; eatDate = today.toString() })
+            activityCalendar.days(DIET, member.id, today, today, loader).shouldBeEmpty()
+        } finally {
+            redisTemplate.delete(keyOf(DIET, member.id, YearMonth.from(today)))
+            jdbcTemplate.update("delete from diet where member_id = ?", member.id)
+            jdbcTemplate.update("delete from member where member_id = ?", member.id)
+        }
+    }
+})
@@ -0,0 +1,87 @@
+package com.tobe.healthy.common
+
+import com.tobe.healthy.common.EngagementTarget.DIET_LIKE
+import com.tobe.healthy.diet.application.DietService
+import com.tobe.healthy.diet.domain.entity.Diet
+import com.tobe.healthy.member.domain.entity.Member
+import com.tobe.healthy.member.repository.MemberRepository
+import io.kotest.core.spec.style.StringSpec
+import io.kotest.matchers.shouldBe
+import jakarta.persistence.EntityManager
+import org.springframework.boot.test.context.SpringBootTest
+import org.springframework.jdbc.core.JdbcTemplate
+import org.springframework.transaction.PlatformTransactionManager
+import org.springframework.transaction.support.TransactionTemplate
+import java.time.LocalDate
+
+// 좋아요와 증감이 함께 커밋되는지 확인하므로 트랜잭션 없이 실행한다.
+@SpringBootTest
+class EngagementCounterTest(
+    private val engagementCounter: EngagementCounter,
+    private val dietService: DietService,
+    private val memberRepository: MemberRepository,
+    private val jdbcTemplate: JdbcTemplate,
+    private val em: EntityManager,
+    transactionManager: PlatformTransactionManager
+) : StringSpec({
+
+    val transactionTemplate = TransactionTemplate(transactionManager)
+    lateinit var student: Member
+    var dietId = 0L
+
+    fun likeCnt() = jdbcTemplate.queryForObject("select like_cnt from diet where diet_id = ?", Long::class.java, dietId)
+
+    beforeEach {
+        student = memberRepository.findByUserId("healthy-student0").get()
+        dietId = transactionTemplate.execute {
+            Diet.builder().member(em.merge(student)).eatDate(LocalDate.now()).build()
+                .also { em.persist(it) }
+                .dietId
+        }!!
+        engagementCounter.flush()
+    }
+
+    afterEach {
+        jdbcTemplate.update("delete from engagement_delta where target_id = ?", dietId)
+        jdbcTemplate.update("delete from diet_like where diet_id = ?", dietId)
+        jdbcTemplate.update("delete from diet where diet_id = ?", dietId)
+    }
+
+    "보정 중에 반영되지 않은 좋아요는 count(*) 에 포함되므로 이후 반영 주기에 다시 더하지 않는다" {
+        // 좋아요가 커밋되어 증감만 남아 있는 상태에서 보정한다.
+        dietService.likeDiet(student, dietId)
+        engagementCounter.pending(DIET_LIKE, dietId) shouldBe 1
+
+        engagementCounter.reconcile()
+        likeCnt() shouldBe 1
+        engagementCounter.pending(DIET_LIKE, dietId) shouldBe 0
+
+        engagementCounter.flush()
+        likeCnt() shouldBe 1
+    }
+
+    "보정 중에 취소된 좋아요도 한 번만 반영한다" {
+        dietService.likeDiet(student, dietId)
+        engagementCounter.flush()
+        likeCnt() shouldBe 1
+
+        dietService.deleteLikeDiet(student, dietId)
+        engagementCounter.reconcile()
+        engagementCounter.flush()
+
+        likeCnt() shouldBe 0
+        engagementCounter.pending(DIET_LIKE, dietId) shouldBe 0
+    }
+
+    "롤백된 좋아요는 증감도 남지 않는다" {
+        transactionTemplate.executeWithoutResult { status ->
+            dietService.likeDiet(student, dietId)
+            engagementCounter.pending(DIET_LIKE, dietId) shouldBe 1
+            status.setRollbackOnly()
+        }
+
+        engagementCounter.pending(DIET_LIKE, dietId) shouldBe 0
+        engagementCounter.flush()
+        likeCnt() shouldBe 0
+    }
+})
@@ -0,0 +1,31 @@
+package com.tobe.healthy.common
+
+import com.tobe.healthy.common.ImageVariantPipeline.Companion.variantKey
+import com.tobe.healthy.common.ImageVariantPipeline.Companion.variantUrls
+import io.kotest.core.spec.style.StringSpec
+import io.kotest.matchers.maps.shouldBeEmpty
+import io.kotest.matchers.shouldBe
+
+class ImageVariantPipelineTest : StringSpec({
+
+    "사본 키는 원본 이름에 너비를 붙이고 확장자는 .jpg 로 저장한다" {
+        variantKey("origin/diet/123-abc.jpg", 400) shouldBe "origin/diet/123-abc_w400.jpg"
+        variantKey("origin/lesson-history/123-abc.png", 800) shouldBe "origin/lesson-history/123-abc_w800.jpg"
+        variantKey("origin/lesson-history/123-abc.PNG", 1200) shouldBe "origin/lesson-history/123-abc_w1200.jpg"
+    }
+
+    "확장자가 없는 원본은 디렉터리의 점을 확장자로 보지 않는다" {
+        variantKey("origin/diet/123-abc", 400) shouldBe "origin/diet/123-abc_w400.jpg"
+        variantKey("https://cdn.to-be-healthy.site/origin/diet/123-abc", 400) shouldBe "https://cdn.to-be-healthy.site/origin/diet/123-abc_w400.jpg"
+    }
+
+    "사본을 모두 만든 파일에만 모든 너비의 사본 URL 을 내려준다" {
+        variantUrls("https://cdn.to-be-healthy.site/origin/diet/123-abc.png", true) shouldBe mapOf(
+            400 to "https://cdn.to-be-healthy.site/origin/diet/123-abc_w400.jpg",
+            800 to "https://cdn.to-be-healthy.site/origin/diet/123-abc_w800.jpg",
+            1200 to "https://cdn.to-be-healthy.site/origin/diet/123-abc_w1200.jpg"
+        )
+        variantUrls("https://cdn.to-be-healthy.site/origin/diet/123-abc.png", false).shouldBeEmpty()
+        variantUrls(null, true).shouldBeEmpty()
+    }
+})
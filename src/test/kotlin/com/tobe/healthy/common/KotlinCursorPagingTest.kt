@@ -0,0 +1,26 @@
+package com.tobe.healthy.common
+
+import io.kotest.core.spec.style.StringSpec
+import io.kotest.matchers.nulls.shouldBeNull
+import io.kotest.matchers.shouldBe
+
+class KotlinCursorPagingTest : StringSpec({
+
+    "size + 1 건을 조회하면 size 건만 내려주고 마지막 항목을 다음 커서로 사용한다" {
+        val page = KotlinCursorPaging.of(listOf(50L, 40L, 30L), 2) { it }
+
+        page.content shouldBe listOf(50L, 40L)
+        page.size shouldBe 2
+        page.nextCursor shouldBe 40L
+        page.hasNext shouldBe true
+    }
+
+    "마지막 페이지는 다음 커서가 없고 size 는 요청한 페이지 크기를 유지한다" {
+        val page = KotlinCursorPaging.of(listOf(20L), 2) { it }
+
+        page.content shouldBe listOf(20L)
+        page.size shouldBe 2
+        page.nextCursor.shouldBeNull()
+        page.hasNext shouldBe false
+    }
+})
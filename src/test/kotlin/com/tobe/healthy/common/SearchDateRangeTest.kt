@@ -0,0 +1,147 @@
+package com.tobe.healthy.common
+
+import com.querydsl.core.types.dsl.Expressions.stringTemplate
+import com.querydsl.jpa.impl.JPAQueryFactory
+import com.tobe.healthy.diet.domain.entity.Diet
+import com.tobe.healthy.diet.domain.entity.QDiet.diet
+import com.tobe.healthy.log
+import com.tobe.healthy.member.domain.entity.Member
+import com.tobe.healthy.member.repository.MemberRepository
+import com.tobe.healthy.point.domain.entity.Calculation.PLUS
+import com.tobe.healthy.point.domain.entity.Point
+import com.tobe.healthy.point.domain.entity.PointType.WORKOUT
+import com.tobe.healthy.point.domain.entity.QPoint.point1
+import com.tobe.healthy.schedule.domain.entity.QSchedule.schedule
+import com.tobe.healthy.schedule.domain.entity.ReservationStatus.AVAILABLE
+import com.tobe.healthy.schedule.domain.entity.Schedule
+import io.kotest.core.spec.style.StringSpec
+import io.kotest.matchers.collections.shouldContainAll
+import io.kotest.matchers.collections.shouldContainExactly
+import io.kotest.matchers.nulls.shouldNotBeNull
+import io.kotest.matchers.shouldBe
+import io.kotest.matchers.shouldNotBe
+import jakarta.persistence.EntityManager
+import org.hibernate.Session
+import org.springframework.boot.test.context.SpringBootTest
+import org.springframework.transaction.annotation.Transactional
+import java.time.LocalDate
+import java.time.LocalTime
+import java.time.YearMonth
+
+@SpringBootTest
+@Transactional
+class SearchDateRangeTest(
+    private val em: EntityManager,
+    private val queryFactory: JPAQueryFactory,
+    private val memberRepository: MemberRepository,
+) : StringSpec({
+
+    // 다른 데이터와 겹치지 않도록 아직 오지 않은 월의 경계 데이터를 직접 등록하여 비교한다.
+    val month = YearMonth.of(2031, 1)
+
+    lateinit var member: Member
+
+    beforeTest {
+        member = memberRepository.findByUserId("healthy-trainer0").get()
+    }
+
+    "yyyy-MM, yyyyMM, yyyy-MM-dd 를 [start, end) 기간으로 변환한다" {
+        SearchDateRange.parse("2024-02").get() shouldBe SearchDateRange(LocalDate.of(2024, 2, 1), LocalDate.of(2024, 3, 1))
+        SearchDateRange.parse("202412").get() shouldBe SearchDateRange(LocalDate.of(2024, 12, 1), LocalDate.of(2025, 1, 1))
+        SearchDateRange.parse("2024-02-29").get() shouldBe SearchDateRange(LocalDate.of(2024, 2, 29), LocalDate.of(2024, 3, 1))
+        SearchDateRange.parse("2024-13").isPresent shouldBe false
+        SearchDateRange.parse(null).isPresent shouldBe false
+    }
+
+    "일정 월 조회 결과가 DATE_FORMAT 조건과 같다" {
+        val inMonth = listOf(month.atDay(1), month.atEndOfMonth()).map {
+            em.persist(Schedule.registerSchedule(it, member, LocalTime.of(23, 0), LocalTime.MIDNIGHT, AVAILABLE))
+        }
+        listOf(month.atDay(1).minusDays(1), month.plusMonths(1).atDay(1)).forEach {
+            em.persist(Schedule.registerSchedule(it, member, LocalTime.MIDNIGHT, LocalTime.of(1, 0), AVAILABLE))
+        }
+        em.flush()
+
+        listOf(month.toString(), month.toString().replace("-", "")).forEach { searchDate ->
+            val pattern = if (searchDate.contains("-")) "%Y-%m" else "%Y%m"
+            val before = queryFactory.select(schedule.id).from(schedule)
+                .where(stringTemplate("DATE_FORMAT({0}, '$pattern')", schedule.lessonDt).eq(searchDate))
+                .orderBy(schedule.id.asc())
+                .fetch()
+            val after = queryFactory.select(schedule.id).from(schedule)
+                .where(SearchDateRange.within(schedule.lessonDt, searchDate))
+                .orderBy(schedule.id.asc())
+                .fetch()
+            after shouldBe before
+            after shouldContainAll inMonth.map { it.id }
+        }
+    }
+
+    "식단 일자 조회 결과가 DATE_FORMAT 조건과 같다" {
+        val eatDate = month.atDay(15)
+        val diets = listOf(eatDate.minusDays(1), eatDate, eatDate, eatDate.plusDays(1)).map {
+            Diet.builder().member(member).eatDate(it).build().also { diet -> em.persist(diet) }
+        }
+        em.flush()
+
+        val searchDate = eatDate.toString()
+        val before = queryFactory.select(diet.dietId).from(diet)
+            .where(stringTemplate("DATE_FORMAT({0}, '%Y-%m-%d')", diet.eatDate).eq(searchDate))
+            .orderBy(diet.dietId.asc())
+            .fetch()
+        val after = queryFactory.select(diet.dietId).from(diet)
+            .where(SearchDateRange.within(diet.eatDate, searchDate))
+            .orderBy(diet.dietId.asc())
+            .fetch()
+        after shouldBe before
+        after shouldContainExactly diets.filter { it.eatDate == eatDate }.map { it.dietId }
+    }
+
+    "포인트 월 조회 결과가 DATE_FORMAT 조건과 같다" {
+        // 등록일은 Auditing 으로 저장되므로 경계 시각으로 직접 변경한다.
+        val createdAts = listOf(
+            month.atDay(1).atStartOfDay().minusNanos(1_000),
+            month.atDay(1).atStartOfDay(),
+            month.atEndOfMonth().atTime(LocalTime.of(23, 59, 59, 999_999_000)),
+            month.plusMonths(1).atDay(1).atStartOfDay()
+        )
+        val points = createdAts.map { Point.create(member, WORKOUT, PLUS, 1).also { point -> em.persist(point) } }
+        em.flush()
+        points.zip(createdAts).forEach { (point, createdAt) ->
+            em.createNativeQuery("update point set created_at = :createdAt where point_id = :pointId")
+                .setParameter("createdAt", createdAt)
+                .setParameter("pointId", point.pointId)
+                .executeUpdate()
+        }
+        em.clear()
+
+        val searchDate = month.toString()
+        val before = queryFactory.select(point1.pointId).from(point1)
+            .where(stringTemplate("DATE_FORMAT({0}, '%Y-%m')", point1.createdAt).eq(searchDate))
+            .orderBy(point1.pointId.asc())
+            .fetch()
+        val after = queryFactory.select(point1.pointId).from(point1)
+            .where(SearchDateRange.within(point1.createdAt, searchDate))
+            .orderBy(point1.pointId.asc())
+            .fetch()
+        after shouldBe before
+        after shouldContainExactly listOf(points[1].pointId, points[2].pointId)
+    }
+
+    "트레이너 월간 일정 조회는 전체 테이블을 읽지 않는다" {
+        val range = SearchDateRange.ofMonth(month)
+        val sql = "explain select * from schedule where trainer_id = ${member.id} and lesson_dt >= '${range.start}' and lesson_dt < '${range.end}'"
+        val (type, key) = em.unwrap(Session::class.java).doReturningWork { connection ->
+            connection.createStatement().use { statement ->
+                statement.executeQuery(sql).use { rs ->
+                    rs.next()
+                    rs.getString("type") to rs.getString("key")
+                }
+            }
+        }
+
+        log.info { "explain type: $type, key: $key" }
+        type shouldNotBe "ALL"
+        key.shouldNotBeNull()
+    }
+})
@@ -0,0 +1,110 @@
+package com.tobe.healthy.common.event
+
+import com.tobe.healthy.common.event.EventType.NOTIFICATION
+import com.tobe.healthy.common.event.outbox.OutboxDispatcher
+import com.tobe.healthy.common.event.outbox.OutboxEventRepository
+import com.tobe.healthy.common.event.outbox.OutboxStatus.DONE
+import com.tobe.healthy.common.event.outbox.OutboxStatus.FAILED
+import com.tobe.healthy.member.repository.MemberRepository
+import com.tobe.healthy.notification.domain.dto.`in`.CommandSendNotification
+import com.tobe.healthy.notification.domain.entity.NotificationCategory.SCHEDULE
+import com.tobe.healthy.notification.domain.entity.NotificationType.RESERVE
+import io.kotest.core.spec.style.StringSpec
+import io.kotest.matchers.shouldBe
+import jakarta.persistence.EntityManager
+import org.springframework.boot.test.context.SpringBootTest
+import org.springframework.transaction.PlatformTransactionManager
+import org.springframework.transaction.support.TransactionTemplate
+import java.time.LocalDateTime
+
+// 커밋 이후 처리되는지 확인해야 하므로 @Transactional 을 사용하지 않고 직접 정리한다.
+@SpringBootTest
+class OutboxDispatcherTest(
+    private val notificationPublisher: CustomEventPublisher<CommandSendNotification>,
+    private val outboxEventRepository: OutboxEventRepository,
+    private val memberRepository: MemberRepository,
+    private val outboxDispatcher: OutboxDispatcher,
+    private val em: EntityManager,
+    transactionManager: PlatformTransactionManager,
+) : StringSpec({
+
+    val transactionTemplate = TransactionTemplate(transactionManager)
+
+    fun notificationTo(receiverId: Long) = CommandSendNotification(
+        title = RESERVE.description,
+        content = "outbox test",
+        receiverIds = listOf(receiverId),
+        notificationType = RESERVE,
+        notificationCategory = SCHEDULE
+    )
+
+    fun awaitStatus(eventKey: String) = (1..50).firstNotNullOfOrNull {
+        outboxEventRepository.findAll()
+            .firstOrNull { it.eventKey == eventKey && (it.status == DONE || it.status == FAILED) }
+            ?: run { Thread.sleep(100); null }
+    }
+
+    "커밋된 이벤트는 한 번만 처리되고, 같은 eventKey 는 다시 저장되지 않는다" {
+        val trainer = memberRepository.findByUserId("healthy-trainer0").get()
+        val eventKey = "outbox-test:${System.nanoTime()}"
+
+        transactionTemplate.executeWithoutResult {
+            notificationPublisher.publish(notificationTo(trainer.id), NOTIFICATION, eventKey)
+            notificationPublisher.publish(notificationTo(trainer.id), NOTIFICATION, eventKey)
+        }
+
+        val processed = awaitStatus(eventKey)!!
+        processed.status shouldBe DONE
+        outboxEventRepository.findAll().count { it.eventKey == eventKey } shouldBe 1
+        outboxEventRepository.delete(processed)
+    }
+
+    "롤백된 트랜잭션의 이벤트는 저장되지 않는다" {
+        val trainer = memberRepository.findByUserId("healthy-trainer0").get()
+        val eventKey = "outbox-test:${System.nanoTime()}"
+
+        transactionTemplate.executeWithoutResult {
+            notificationPublisher.publish(notificationTo(trainer.id), NOTIFICATION, eventKey)
+            it.setRollbackOnly()
+        }
+
+        outboxEventRepository.existsByEventKey(eventKey) shouldBe false
+    }
+
+    "재시도할 수 없는 이벤트는 FAILED 로 남는다" {
+        val eventKey = "outbox-test:${System.nanoTime()}"
+
+        transactionTemplate.executeWithoutResult {
+            notificationPublisher.publish(notificationTo(-1L), NOTIFICATION, eventKey)
+        }
+
+        val processed = awaitStatus(eventKey)!!
+        processed.status shouldBe FAILED
+        outboxEventRepository.delete(processed)
+    }
+
+    "보존 기간이 지난 처리 완료 이벤트만 삭제한다" {
+        val trainer = memberRepository.findByUserId("healthy-trainer0").get()
+        val expiredKey = "outbox-test:${System.nanoTime()}"
+        val recentKey = "outbox-test:${System.nanoTime()}"
+
+        transactionTemplate.executeWithoutResult {
+            notificationPublisher.publish(notificationTo(trainer.id), NOTIFICATION, expiredKey)
+            notificationPublisher.publish(notificationTo(trainer.id), NOTIFICATION, recentKey)
+        }
+        val expired = awaitStatus(expiredKey)!!
+        val recent = awaitStatus(recentKey)!!
+        transactionTemplate.executeWithoutResult {
+            em.createNativeQuery("update outbox_event set processed_at = :processedAt where outbox_event_id = :outboxEventId")
+                .setParameter("processedAt", LocalDateTime.now().minusDays(30))
+                .setParameter("outboxEventId", expired.id)
+                .executeUpdate()
+        }
+
+        outboxDispatcher.purgeDone()
+
+        outboxEventRepository.existsByEventKey(expiredKey) shouldBe false
+        outboxEventRepository.existsByEventKey(recentKey) shouldBe true
+        outboxEventRepository.delete(recent)
+    }
+})
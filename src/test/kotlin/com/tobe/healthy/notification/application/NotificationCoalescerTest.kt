@@ -0,0 +1,98 @@
+package com.tobe.healthy.notification.application
+
+import com.fasterxml.jackson.databind.ObjectMapper
+import com.tobe.healthy.notification.domain.dto.`in`.CommandSendNotification
+import com.tobe.healthy.notification.domain.entity.NotificationCategory.COMMUNITY
+import com.tobe.healthy.notification.domain.entity.NotificationType.COMMENT
+import io.kotest.core.spec.style.StringSpec
+import io.kotest.matchers.nulls.shouldBeNull
+import io.kotest.matchers.shouldBe
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry
+import io.mockk.clearMocks
+import io.mockk.every
+import io.mockk.mockk
+import io.mockk.verify
+import org.springframework.boot.test.context.SpringBootTest
+import org.springframework.data.redis.core.RedisTemplate
+
+// 테스트 중에 스케줄러가 묶음을 먼저 가져가지 않도록 폴링 주기를 늘린다.
+@SpringBootTest(properties = ["notification.coalesce.poll-interval-ms=3600000"])
+class NotificationCoalescerTest(
+    private val redisTemplate: RedisTemplate<String, String>,
+    private val objectMapper: ObjectMapper
+) : StringSpec({
+
+    val notificationService = mockk<NotificationService>(relaxed = true)
+
+    fun coalescer(windowMillis: Long, leaseMillis: Long = 30000) =
+        NotificationCoalescer(redisTemplate, notificationService, objectMapper, SimpleMeterRegistry(), windowMillis, 100, leaseMillis)
+
+    fun comment(targetId: Long, content: String = "새로운 댓글이 달렸어요.") = CommandSendNotification(
+        title = COMMENT.description,
+        content = content,
+        receiverIds = listOf(1L),
+        notificationType = COMMENT,
+        notificationCategory = COMMUNITY,
+        targetId = targetId
+    )
+
+    fun keyOf(targetId: Long) = "notification-coalesce:1:$targetId:COMMENT"
+
+    beforeEach {
+        clearMocks(notificationService)
+    }
+
+    "window 가 지나기 전에는 발송하지 않는다" {
+        val targetId = System.nanoTime()
+        val coalescer = coalescer(windowMillis = 60000)
+        repeat(2) { coalescer.send(comment(targetId)) }
+
+        coalescer.flush()
+
+        verify(exactly = 0) { notificationService.sendNotificationFromSystem(match { it.targetId == targetId }) }
+        redisTemplate.opsForHash<String, String>().get(keyOf(targetId), "count") shouldBe "2"
+        redisTemplate.delete(keyOf(targetId))
+        redisTemplate.opsForZSet().remove("notification-coalesce:due", keyOf(targetId))
+    }
+
+    "만기된 묶음은 한 번만 요약해서 발송하고 삭제한다" {
+        val targetId = System.nanoTime()
+        val coalescer = coalescer(windowMillis = 0)
+        repeat(3) { coalescer.send(comment(targetId)) }
+
+        coalescer.flush()
+        coalescer.flush()
+
+        verify(exactly = 1) {
+            notificationService.sendNotificationFromSystem(match { it.targetId == targetId && it.content == "내 게시글에 새로운 댓글이 3개 달렸어요." })
+        }
+        redisTemplate.hasKey(keyOf(targetId)) shouldBe false
+        redisTemplate.opsForZSet().score("notification-coalesce:due", keyOf(targetId)).shouldBeNull()
+    }
+
+    "발송에 실패하면 묶음을 남겨 두고 lease 이후 다시 발송한다" {
+        val targetId = System.nanoTime()
+        val coalescer = coalescer(windowMillis = 0, leaseMillis = 0)
+        repeat(2) { coalescer.send(comment(targetId)) }
+        every { notificationService.sendNotificationFromSystem(match { it.targetId == targetId }) } throws IllegalStateException("push failure") andThen mockk(relaxed = true)
+
+        coalescer.flush()
+        redisTemplate.opsForHash<String, String>().get(keyOf(targetId), "count") shouldBe "2"
+
+        coalescer.flush()
+        verify(exactly = 2) { notificationService.sendNotificationFromSystem(match { it.targetId == targetId && it.content == "내 게시글에 새로운 댓글이 2개 달렸어요." }) }
+        redisTemplate.hasKey(keyOf(targetId)) shouldBe false
+    }
+
+    "발송 전에 만료된 묶음은 만기 목록에서 정리한다" {
+        val targetId = System.nanoTime()
+        val coalescer = coalescer(windowMillis = 0)
+        coalescer.send(comment(targetId))
+        redisTemplate.delete(keyOf(targetId))
+
+        coalescer.flush()
+
+        verify(exactly = 0) { notificationService.sendNotificationFromSystem(match { it.targetId == targetId }) }
+        redisTemplate.opsForZSet().score("notification-coalesce:due", keyOf(targetId)).shouldBeNull()
+    }
+})
@@ -0,0 +1,47 @@
+package com.tobe.healthy.notification.application
+
+import com.tobe.healthy.notification.domain.dto.NotificationRetentionKey
+import com.tobe.healthy.notification.repository.NotificationRepository
+import io.kotest.core.spec.style.StringSpec
+import io.kotest.matchers.shouldBe
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry
+import io.mockk.every
+import io.mockk.mockk
+import io.mockk.verify
+import org.springframework.transaction.PlatformTransactionManager
+import java.time.LocalDateTime
+
+class NotificationPurgeJobTest : StringSpec({
+
+    "삭제 건수 지표는 조회한 건수가 아니라 실제로 삭제된 건수로 집계한다" {
+        val old = LocalDateTime.now().minusYears(2)
+        val keys = listOf(
+            NotificationRetentionKey(1, 10, true, old),
+            NotificationRetentionKey(2, 10, true, old),
+            NotificationRetentionKey(3, 20, false, old),
+            NotificationRetentionKey(4, 30, false, old)
+        )
+        val notificationRepository = mockk<NotificationRepository>()
+        every { notificationRepository.findRetentionKeys(0, any()) } returns keys
+        every { notificationRepository.findRetentionKeys(4, any()) } returns emptyList()
+        // 조회 이후 다른 요청이 읽은 알림 1건, 읽지 않은 알림 2건을 먼저 지운 상황
+        every { notificationRepository.deleteAllByIdInAndIsRead(listOf(1, 2), true) } returns 1
+        every { notificationRepository.deleteAllByIdInAndIsRead(listOf(3, 4), false) } returns 0
+        val notificationUnreadCounter = mockk<NotificationUnreadCounter>(relaxed = true)
+        val meterRegistry = SimpleMeterRegistry()
+        val job = NotificationPurgeJob(
+            notificationRepository,
+            notificationUnreadCounter,
+            mockk<PlatformTransactionManager>(relaxed = true),
+            meterRegistry,
+            readDays = 90,
+            unreadDays = 365,
+            chunkSize = 1000
+        )
+
+        job.purgeExpiredNotification() shouldBe 1
+        meterRegistry.get("notification.retention.deleted").tag("status", "read").counter().count() shouldBe 1.0
+        meterRegistry.get("notification.retention.deleted").tag("status", "unread").counter().count() shouldBe 0.0
+        verify(exactly = 0) { notificationUnreadCounter.reset(any(), any()) }
+    }
+})
@@ -1,16 +1,63 @@
 package com.tobe.healthy.notification.application
 
+import com.tobe.healthy.member.domain.entity.Member
+import com.tobe.healthy.member.domain.entity.MemberType.TRAINER
+import com.tobe.healthy.member.domain.entity.SocialType.NONE
+import com.tobe.healthy.member.repository.MemberRepository
+import com.tobe.healthy.notification.domain.dto.`in`.CommandSendNotification
+import com.tobe.healthy.notification.domain.entity.NotificationCategory.SCHEDULE
+import com.tobe.healthy.notification.domain.entity.NotificationType.RESERVE
+import com.tobe.healthy.push.domain.entity.DeviceType.WEB
+import com.tobe.healthy.push.domain.entity.MemberToken
+import com.tobe.healthy.push.repository.MemberTokenRepository
 import io.kotest.core.spec.style.StringSpec
+import io.kotest.matchers.collections.shouldBeSortedWith
+import io.kotest.matchers.shouldBe
+import jakarta.persistence.EntityManager
 import org.springframework.boot.test.context.SpringBootTest
+import org.springframework.data.domain.PageRequest
 import org.springframework.transaction.annotation.Transactional
 
 @Transactional
 @SpringBootTest
 class NotificationServiceTest(
-    private val notificationService: NotificationService
+    private val notificationService: NotificationService,
+    private val feedbackReminderJob: FeedbackReminderJob,
+    private val memberRepository: MemberRepository,
+    private val memberTokenRepository: MemberTokenRepository,
+    private val em: EntityManager
 ) : StringSpec({
 
     "매일 오후 10시에 전송하는 배치 알림을 테스트한다" {
-        notificationService.sendFeedbackNotificationToTrainer()
+        feedbackReminderJob.sendFeedbackReminders()
+    }
+
+    "커서 기반 알림 조회는 기존 페이지 조회와 같은 순서로 겹치지 않게 조회한다" {
+        // 푸시 발송 대상까지 포함되도록 푸시 토큰이 있는 수신자를 직접 만든다.
+        val trainer = memberRepository.save(Member.join("cursor-test-${System.nanoTime()}@test.com", "커서테스트", TRAINER, NONE))
+        memberTokenRepository.save(MemberToken.register(trainer, "cursor-test-token-${trainer.id}", WEB))
+        em.flush()
+        em.clear()
+        repeat(5) {
+            notificationService.sendNotificationFromSystem(
+                CommandSendNotification(
+                    title = RESERVE.description,
+                    content = "cursor test $it",
+                    receiverIds = listOf(trainer.id),
+                    notificationType = RESERVE,
+                    notificationCategory = SCHEDULE
+                )
+            )
+        }
+
+        val firstPage = notificationService.findAllNotification(SCHEDULE, trainer.id, null, 2)
+        val secondPage = notificationService.findAllNotification(SCHEDULE, trainer.id, firstPage.page.nextCursor, 2)
+        val paged = notificationService.findAllNotification(SCHEDULE, trainer.id, PageRequest.of(0, 4))
+
+        firstPage.page.hasNext shouldBe true
+        firstPage.page.size shouldBe 2
+        val cursorIds = (firstPage.page.content + secondPage.page.content).map { it.notificationId!! }
+        cursorIds shouldBeSortedWith compareByDescending { it }
+        cursorIds shouldBe paged.content!!.map { it.notificationId }
     }
 })
@@ -0,0 +1,93 @@
+package com.tobe.healthy.notification.application
+
+import com.tobe.healthy.config.jwt.JwtFilter
+import com.tobe.healthy.config.jwt.JwtTokenGenerator
+import com.tobe.healthy.config.jwt.JwtTokenProvider
+import com.tobe.healthy.config.security.CustomMemberDetails
+import com.tobe.healthy.member.domain.entity.Member
+import com.tobe.healthy.member.repository.MemberRepository
+import com.tobe.healthy.notification.domain.dto.out.RetrieveNotificationWithRedDotResult.RetrieveNotificationResult
+import com.tobe.healthy.notification.domain.entity.Notification
+import com.tobe.healthy.notification.domain.entity.NotificationCategory.SCHEDULE
+import com.tobe.healthy.notification.domain.entity.NotificationType.RESERVE
+import com.tobe.healthy.notification.repository.NotificationBulkRepository
+import io.kotest.core.spec.style.StringSpec
+import io.kotest.matchers.nulls.shouldBeNull
+import io.kotest.matchers.shouldBe
+import io.kotest.matchers.types.shouldBeInstanceOf
+import jakarta.persistence.EntityManager
+import org.springframework.boot.test.context.SpringBootTest
+import org.springframework.mock.web.MockFilterChain
+import org.springframework.mock.web.MockHttpServletRequest
+import org.springframework.mock.web.MockHttpServletResponse
+import org.springframework.security.core.context.SecurityContextHolder
+import org.springframework.transaction.annotation.Transactional
+
+@Transactional
+@SpringBootTest
+class NotificationStreamTest(
+    private val jwtTokenGenerator: JwtTokenGenerator,
+    private val jwtTokenProvider: JwtTokenProvider,
+    private val notificationBulkRepository: NotificationBulkRepository,
+    private val memberRepository: MemberRepository,
+    private val em: EntityManager
+) : StringSpec({
+
+    lateinit var trainer: Member
+
+    beforeEach {
+        SecurityContextHolder.clearContext()
+        trainer = memberRepository.findByUserId("healthy-trainer0").get()
+    }
+
+    afterEach {
+        SecurityContextHolder.clearContext()
+    }
+
+    fun filter(uri: String, queryToken: String? = null, headerToken: String? = null) {
+        val request = MockHttpServletRequest("GET", uri)
+        queryToken?.let { request.setParameter("token", it) }
+        headerToken?.let { request.addHeader("Authorization", "Bearer $it") }
+        JwtFilter(jwtTokenProvider).doFilter(request, MockHttpServletResponse(), MockFilterChain())
+    }
+
+    fun streamToken() = jwtTokenGenerator.createStreamToken(trainer.id, trainer.userId, trainer.memberType)
+
+    fun accessToken() = jwtTokenGenerator.exchangeAccessToken(trainer.id, trainer.name, trainer.userId, trainer.memberType, "", trainer.gym).accessToken
+
+    "알림 스트림 연결은 쿼리 파라미터의 스트림 토큰으로 인증한다" {
+        filter("/notification/v1/stream", queryToken = streamToken())
+
+        val principal = SecurityContextHolder.getContext().authentication.principal
+        principal.shouldBeInstanceOf<CustomMemberDetails>()
+        principal.memberId shouldBe trainer.id
+    }
+
+    "스트림 토큰은 다른 API 나 헤더로는 인증되지 않는다" {
+        filter("/notification/v1/SCHEDULE", queryToken = streamToken())
+        SecurityContextHolder.getContext().authentication.shouldBeNull()
+
+        filter("/notification/v1/SCHEDULE", headerToken = streamToken())
+        SecurityContextHolder.getContext().authentication.shouldBeNull()
+    }
+
+    "액세스 토큰은 쿼리 파라미터로 받지 않는다" {
+        filter("/notification/v1/stream", queryToken = accessToken())
+        SecurityContextHolder.getContext().authentication.shouldBeNull()
+
+        filter("/notification/v1/stream", headerToken = accessToken())
+        SecurityContextHolder.getContext().authentication.principal.shouldBeInstanceOf<CustomMemberDetails>()
+    }
+
+    "일괄 저장한 알림의 실시간 응답은 저장된 생성 시각을 그대로 보낸다" {
+        val notification = Notification.create(RESERVE.description, "stream createdAt", SCHEDULE, RESERVE, trainer)
+        val createdAt = NotificationBulkRepository.createdAtNow()
+        val notificationId = notificationBulkRepository.insertAll(listOf(notification), createdAt).single()
+        em.clear()
+
+        val streamed = RetrieveNotificationResult.from(notification, notificationId, createdAt)
+        val persisted = RetrieveNotificationResult.from(em.find(Notification::class.java, notificationId))
+
+        streamed.createdAt shouldBe persisted.createdAt
+    }
+})
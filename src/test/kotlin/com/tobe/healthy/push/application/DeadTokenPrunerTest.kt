@@ -0,0 +1,36 @@
+package com.tobe.healthy.push.application
+
+import com.tobe.healthy.push.repository.MemberTokenRepository
+import io.kotest.core.spec.style.StringSpec
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry
+import io.mockk.every
+import io.mockk.mockk
+import io.mockk.verify
+import org.springframework.transaction.PlatformTransactionManager
+
+class DeadTokenPrunerTest : StringSpec({
+
+    val memberTokenRepository = mockk<MemberTokenRepository>()
+    val pruner = DeadTokenPruner(memberTokenRepository, mockk<PlatformTransactionManager>(relaxed = true), SimpleMeterRegistry())
+
+    "삭제에 실패한 토큰은 다음 주기에 다시 삭제하고, 5 번 실패하면 버린다" {
+        every { memberTokenRepository.deleteAllByTokenIn(any()) } throws IllegalStateException("DB 장애")
+        pruner.add(listOf("token-a", "token-b"))
+
+        repeat(6) { pruner.flush() }
+
+        verify(exactly = 5) { memberTokenRepository.deleteAllByTokenIn(listOf("token-a", "token-b")) }
+    }
+
+    "다시 시도해서 삭제되면 큐에서 빠진다" {
+        var calls = 0
+        every { memberTokenRepository.deleteAllByTokenIn(listOf("token-c")) } answers {
+            if (++calls == 1) throw IllegalStateException("DB 장애") else 1
+        }
+        pruner.add(listOf("token-c"))
+
+        repeat(3) { pruner.flush() }
+
+        verify(exactly = 2) { memberTokenRepository.deleteAllByTokenIn(listOf("token-c")) }
+    }
+})
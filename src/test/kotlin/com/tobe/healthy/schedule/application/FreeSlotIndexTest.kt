@@ -0,0 +1,67 @@
+package com.tobe.healthy.schedule.application
+
+import com.tobe.healthy.schedule.application.FreeSlotIndex.Companion.bucketOf
+import com.tobe.healthy.schedule.application.FreeSlotIndex.Companion.bucketsOf
+import com.tobe.healthy.schedule.application.FreeSlotIndex.Companion.inWindow
+import com.tobe.healthy.schedule.application.FreeSlotIndex.Companion.isOnGrid
+import com.tobe.healthy.schedule.application.FreeSlotIndex.Companion.pastMask
+import com.tobe.healthy.schedule.application.FreeSlotIndex.Companion.timeOf
+import com.tobe.healthy.schedule.application.FreeSlotIndex.Companion.windowMask
+import io.kotest.core.spec.style.StringSpec
+import io.kotest.matchers.collections.shouldBeEmpty
+import io.kotest.matchers.collections.shouldContainExactly
+import io.kotest.matchers.shouldBe
+import java.time.LocalTime
+import java.time.LocalTime.MIDNIGHT
+
+class FreeSlotIndexTest : StringSpec({
+
+    fun startTimesOf(bits: Long) = bucketsOf(bits).map { timeOf(it) }
+
+    "30분 단위 시작 시간은 버킷으로 변환되고 다시 같은 시간으로 복원된다" {
+        bucketOf(LocalTime.MIN) shouldBe 0
+        bucketOf(LocalTime.of(9, 0)) shouldBe 18
+        bucketOf(LocalTime.of(23, 30)) shouldBe 47
+        (0 until 48).forEach { bucketOf(timeOf(it)) shouldBe it }
+    }
+
+    "30분 단위가 아닌 시작 시간은 비트맵에 저장하지 않는다" {
+        isOnGrid(LocalTime.of(9, 0)) shouldBe true
+        isOnGrid(LocalTime.of(9, 30)) shouldBe true
+        isOnGrid(LocalTime.of(9, 15)) shouldBe false
+        isOnGrid(LocalTime.of(9, 30, 1)) shouldBe false
+    }
+
+    "조회 시간대 안에서 수업이 끝나는 시작 시간만 포함한다" {
+        startTimesOf(windowMask(LocalTime.of(9, 0), LocalTime.of(12, 0), 60)) shouldContainExactly
+            listOf(LocalTime.of(9, 0), LocalTime.of(9, 30), LocalTime.of(10, 0), LocalTime.of(10, 30), LocalTime.of(11, 0))
+        startTimesOf(windowMask(LocalTime.of(9, 10), LocalTime.of(11, 0), 90)) shouldContainExactly
+            listOf(LocalTime.of(9, 30))
+    }
+
+    "종료 시간이 00:00 이면 하루의 끝까지 조회한다" {
+        startTimesOf(windowMask(LocalTime.of(22, 0), MIDNIGHT, 90)) shouldContainExactly
+            listOf(LocalTime.of(22, 0), LocalTime.of(22, 30))
+        bucketsOf(windowMask(LocalTime.MIN, MIDNIGHT, 30)).size shouldBe 48
+    }
+
+    "수업 시간보다 짧은 시간대는 비어 있다" {
+        windowMask(LocalTime.of(10, 0), LocalTime.of(10, 30), 60) shouldBe 0L
+        bucketsOf(0L).shouldBeEmpty()
+    }
+
+    "이미 시작한 일정은 제외한다" {
+        val free = windowMask(LocalTime.MIN, MIDNIGHT, 60) and pastMask(LocalTime.of(9, 0)).inv()
+        startTimesOf(free).first() shouldBe LocalTime.of(9, 30)
+
+        val freeAfter = windowMask(LocalTime.MIN, MIDNIGHT, 60) and pastMask(LocalTime.of(9, 10)).inv()
+        startTimesOf(freeAfter).first() shouldBe LocalTime.of(9, 30)
+    }
+
+    "30분 단위가 아닌 시작 시간도 같은 조건으로 조회한다" {
+        inWindow(LocalTime.of(9, 15), LocalTime.of(9, 0), LocalTime.of(10, 15), 60) shouldBe true
+        inWindow(LocalTime.of(9, 15), LocalTime.of(9, 0), LocalTime.of(10, 0), 60) shouldBe false
+        inWindow(LocalTime.of(9, 15), LocalTime.of(9, 30), LocalTime.of(12, 0), 60) shouldBe false
+        inWindow(LocalTime.of(22, 45), LocalTime.of(22, 0), MIDNIGHT, 60) shouldBe true
+    }
+})
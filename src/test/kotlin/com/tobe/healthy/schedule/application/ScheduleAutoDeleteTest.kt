@@ -3,6 +3,10 @@ package com.tobe.healthy.schedule.application
 import com.tobe.healthy.log
 import com.tobe.healthy.member.domain.entity.Member
 import com.tobe.healthy.member.repository.MemberRepository
+import com.tobe.healthy.schedule.domain.entity.ReservationStatus.AVAILABLE
+import com.tobe.healthy.schedule.domain.entity.ReservationStatus.DISABLED
+import com.tobe.healthy.schedule.domain.entity.Schedule
+import com.tobe.healthy.schedule.domain.entity.ScheduleWaiting
 import com.tobe.healthy.schedule.repository.TrainerScheduleRepository
 import io.kotest.core.spec.style.StringSpec
 import io.kotest.matchers.shouldBe
@@ -12,6 +16,7 @@ import org.springframework.transaction.annotation.Transactional
 import java.time.DayOfWeek.MONDAY
 import java.time.DayOfWeek.SUNDAY
 import java.time.LocalDate
+import java.time.LocalTime
 import java.time.temporal.TemporalAdjusters
 
 @SpringBootTest
@@ -19,7 +24,8 @@ import java.time.temporal.TemporalAdjusters
 class ScheduleAutoDeleteTest(
     private val em: EntityManager,
     private val memberRepository: MemberRepository,
-    private val trainerScheduleRepository: TrainerScheduleRepository
+    private val trainerScheduleRepository: TrainerScheduleRepository,
+    private val schedulePurgeJob: SchedulePurgeJob
 ) : StringSpec({
 
     lateinit var trainer: Member
@@ -50,4 +56,42 @@ class ScheduleAutoDeleteTest(
 
         deleteSchedules.size shouldBe 0
     }
-})
\ No newline at end of file
+
+    "지난 주까지의 비활성화 된 일정을 청크 단위로 삭제한다" {
+        val lessonDt = LocalDate.now().minusWeeks(2)
+        repeat(3) {
+            trainerScheduleRepository.save(
+                Schedule.registerSchedule(lessonDt, trainer, LocalTime.of(10 + it, 0), LocalTime.of(11 + it, 0), DISABLED)
+            )
+        }
+
+        schedulePurgeJob.purgeDisabledSchedule()
+
+        em.flush()
+        em.clear()
+        trainerScheduleRepository.findAllDisabledSchedule(lessonDt, lessonDt).size shouldBe 0
+    }
+
+    "조회 이후에 DISABLED 가 아니게 된 일정은 대기 내역과 함께 남겨둔다" {
+        val lessonDt = LocalDate.now().minusWeeks(2)
+        val student = memberRepository.findByUserId("healthy-student0").get()
+        val disabled = trainerScheduleRepository.save(
+            Schedule.registerSchedule(lessonDt, trainer, LocalTime.of(10, 0), LocalTime.of(11, 0), DISABLED)
+        )
+        val reopened = trainerScheduleRepository.save(
+            Schedule.registerSchedule(lessonDt, trainer, LocalTime.of(11, 0), LocalTime.of(12, 0), AVAILABLE)
+        )
+        em.persist(ScheduleWaiting.register(student, disabled))
+        em.persist(ScheduleWaiting.register(student, reopened))
+        em.flush()
+
+        val deleted = trainerScheduleRepository.deleteAllDisabledSchedule(listOf(disabled.id, reopened.id))
+
+        em.clear()
+        deleted shouldBe 1
+        trainerScheduleRepository.findById(reopened.id).isPresent shouldBe true
+        em.createQuery("select count(w) from ScheduleWaiting w where w.schedule.id = :scheduleId", java.lang.Long::class.java)
+            .setParameter("scheduleId", reopened.id)
+            .singleResult.toLong() shouldBe 1L
+    }
+})
@@ -0,0 +1,157 @@
+package com.tobe.healthy.schedule.application
+
+import com.tobe.healthy.common.error.CustomException
+import com.tobe.healthy.common.event.CustomEventListener
+import com.tobe.healthy.common.error.ErrorCode.NOT_RESERVABLE_SCHEDULE
+import com.tobe.healthy.course.domain.entity.Course
+import com.tobe.healthy.course.repository.CourseRepository
+import com.tobe.healthy.log
+import com.tobe.healthy.member.domain.entity.Member
+import com.tobe.healthy.member.domain.entity.MemberType.STUDENT
+import com.tobe.healthy.member.domain.entity.SocialType.NONE
+import com.tobe.healthy.member.repository.MemberRepository
+import com.tobe.healthy.schedule.domain.entity.ReservationStatus.AVAILABLE
+import com.tobe.healthy.schedule.domain.entity.ReservationStatus.COMPLETED
+import com.tobe.healthy.schedule.domain.entity.Schedule
+import com.tobe.healthy.schedule.domain.entity.ScheduleWaiting
+import com.tobe.healthy.schedule.repository.common.CommonScheduleRepository
+import com.tobe.healthy.schedule.repository.waiting.ScheduleWaitingRepository
+import com.tobe.healthy.trainer.domain.entity.TrainerMemberMapping
+import com.tobe.healthy.trainer.respository.TrainerMemberMappingRepository
+import io.kotest.core.spec.style.StringSpec
+import io.kotest.matchers.shouldBe
+import org.springframework.boot.test.context.SpringBootTest
+import org.springframework.jdbc.core.JdbcTemplate
+import org.springframework.transaction.PlatformTransactionManager
+import org.springframework.transaction.support.TransactionTemplate
+import java.time.LocalDate
+import java.time.LocalTime
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit.SECONDS
+import java.util.concurrent.atomic.AtomicInteger
+
+// 스레드별 트랜잭션이 커밋되어야 하므로 @Transactional 을 사용하지 않고 직접 정리한다.
+@SpringBootTest
+class ScheduleReserveConcurrencyTest(
+    private val commonScheduleService: CommonScheduleService,
+    private val commonScheduleRepository: CommonScheduleRepository,
+    private val memberRepository: MemberRepository,
+    private val customEventListener: CustomEventListener,
+    private val scheduleWaitingRepository: ScheduleWaitingRepository,
+    private val courseRepository: CourseRepository,
+    private val mappingRepository: TrainerMemberMappingRepository,
+    private val jdbcTemplate: JdbcTemplate,
+    transactionManager: PlatformTransactionManager
+) : StringSpec({
+
+    val transactionTemplate = TransactionTemplate(transactionManager)
+
+    lateinit var trainer: Member
+    lateinit var student: Member
+
+    beforeTest {
+        trainer = memberRepository.findByUserId("healthy-trainer0").get()
+        student = memberRepository.findByUserId("healthy-student0").get()
+    }
+
+    "같은 일정에 동시에 예약하면 한 건만 성공한다" {
+        val schedule = commonScheduleRepository.save(
+            Schedule.registerSchedule(LocalDate.now().plusDays(7), trainer, LocalTime.of(10, 0), LocalTime.of(11, 0), AVAILABLE)
+        )
+        val requestCount = 300
+        val executor = Executors.newFixedThreadPool(32)
+        val ready = CountDownLatch(1)
+        val done = CountDownLatch(requestCount)
+        val success = AtomicInteger()
+        val rejected = AtomicInteger()
+
+        try {
+            repeat(requestCount) {
+                executor.submit {
+                    try {
+                        ready.await()
+                        commonScheduleService.reserveSchedule(schedule.id, student.id)
+                        success.incrementAndGet()
+                    } catch (e: CustomException) {
+                        if (e.errorCode == NOT_RESERVABLE_SCHEDULE) rejected.incrementAndGet()
+                    } finally {
+                        done.countDown()
+                    }
+                }
+            }
+
+            val startedAt = System.nanoTime()
+            ready.countDown()
+            done.await(60, SECONDS)
+            val elapsedMillis = (System.nanoTime() - startedAt) / 1_000_000
+            log.info { "reserve $requestCount requests: ${elapsedMillis}ms, ${requestCount * 1000L / maxOf(elapsedMillis, 1)} req/s" }
+
+            success.get() shouldBe 1
+            rejected.get() shouldBe requestCount - 1
+
+            val reserved = commonScheduleRepository.findById(schedule.id).get()
+            reserved.reservationStatus shouldBe COMPLETED
+        } finally {
+            executor.shutdown()
+            commonScheduleRepository.deleteById(schedule.id)
+        }
+    }
+
+    "취소된 일정의 대기자 승격과 직접 예약이 겹치면 한 명만 예약되고 수강권은 승격된 경우에만 차감된다" {
+        val waiter = memberRepository.save(Member.join("waiting-test-${System.nanoTime()}@test.com", "대기테스트", STUDENT, NONE))
+        mappingRepository.save(TrainerMemberMapping.create(trainer, waiter))
+        val course = courseRepository.save(Course.create(waiter, trainer, 100, 100))
+        val scheduleIds = mutableListOf<Long>()
+        val executor = Executors.newFixedThreadPool(2)
+        var promoted = 0
+
+        try {
+            repeat(20) { round ->
+                val schedule = commonScheduleRepository.save(
+                    Schedule.registerSchedule(LocalDate.now().plusDays(7L + round), trainer, LocalTime.of(10, 0), LocalTime.of(11, 0), AVAILABLE)
+                )
+                scheduleIds.add(schedule.id)
+                commonScheduleService.reserveSchedule(schedule.id, student.id)
+                scheduleWaitingRepository.save(ScheduleWaiting.register(waiter, schedule))
+                commonScheduleService.cancelMemberSchedule(schedule.id, student.id)
+
+                // 취소 이벤트를 처리하는 대기자 승격과 취소 직후의 직접 예약을 동시에 실행한다.
+                val ready = CountDownLatch(1)
+                val promote = executor.submit {
+                    ready.await()
+                    transactionTemplate.executeWithoutResult { customEventListener.changeWaitingToCompleted(schedule.id) }
+                }
+                val reserve = executor.submit<Boolean> {
+                    ready.await()
+                    try {
+                        commonScheduleService.reserveSchedule(schedule.id, student.id)
+                        true
+                    } catch (e: CustomException) {
+                        if (e.errorCode != NOT_RESERVABLE_SCHEDULE) throw e
+                        false
+                    }
+                }
+                ready.countDown()
+                promote.get(30, SECONDS)
+                val reserved = reserve.get(30, SECONDS)
+
+                val result = commonScheduleRepository.findScheduleByApplicantId(if (reserved) student.id else waiter.id, schedule.id)
+                result.isPresent shouldBe true
+                result.get().reservationStatus shouldBe COMPLETED
+                // 직접 예약이 이기면 대기는 남아 다음 취소를 기다리고, 승격되면 대기가 삭제된다.
+                scheduleWaitingRepository.findByScheduleIdAndMemberId(schedule.id, waiter.id).isPresent shouldBe reserved
+                if (!reserved) promoted++
+            }
+            log.info { "cancel + promote vs reserve 20 rounds: promoted $promoted" }
+
+            courseRepository.findById(course.courseId).get().remainLessonCnt shouldBe 100 - promoted
+        } finally {
+            executor.shutdown()
+            scheduleIds.forEach { jdbcTemplate.update("delete from schedule_waiting where schedule_id = ?", it) }
+            scheduleIds.forEach { commonScheduleRepository.deleteById(it) }
+            jdbcTemplate.update("delete from course_history where course_id = ?", course.courseId)
+            courseRepository.deleteById(course.courseId)
+        }
+    }
+})
@@ -0,0 +1,56 @@
+package com.tobe.healthy.schedule.application
+
+import com.tobe.healthy.schedule.domain.dto.out.RetrieveTrainerScheduleByLessonInfoResult
+import io.kotest.core.spec.style.StringSpec
+import io.kotest.matchers.shouldBe
+import org.springframework.boot.test.context.SpringBootTest
+import java.time.LocalDate
+import java.time.YearMonth
+
+@SpringBootTest
+class TrainerCalendarCacheTest(
+    private val trainerCalendarCache: TrainerCalendarCache
+) : StringSpec({
+
+    // 다른 테스트의 캐시와 겹치지 않는 트레이너 ID
+    fun trainerId() = System.nanoTime()
+
+    val lessonMonth = YearMonth.of(2024, 6)
+
+    fun resultOf(trainerName: String) = RetrieveTrainerScheduleByLessonInfoResult(trainerName, null, null, null)
+
+    "한 번 조회한 월은 다시 DB 에서 조회하지 않는다" {
+        val trainerId = trainerId()
+        var loaded = 0
+
+        repeat(3) {
+            trainerCalendarCache.get(trainerId, lessonMonth) { loaded++; resultOf("before") }.trainerName shouldBe "before"
+        }
+
+        loaded shouldBe 1
+    }
+
+    "조회 중에 삭제되면 조회한 결과를 캐시에 적재하지 않는다" {
+        val trainerId = trainerId()
+
+        val stale = trainerCalendarCache.get(trainerId, lessonMonth) {
+            trainerCalendarCache.evict(trainerId, LocalDate.of(2024, 6, 3))
+            resultOf("before")
+        }
+        val fresh = trainerCalendarCache.get(trainerId, lessonMonth) { resultOf("after") }
+
+        stale.trainerName shouldBe "before"
+        fresh.trainerName shouldBe "after"
+    }
+
+    "삭제한 이후에는 다시 DB 에서 조회한다" {
+        val trainerId = trainerId()
+        trainerCalendarCache.get(trainerId, lessonMonth) { resultOf("before") }
+        trainerCalendarCache.get(trainerId, lessonMonth.plusMonths(1)) { resultOf("before") }
+
+        trainerCalendarCache.evictAll(trainerId)
+
+        trainerCalendarCache.get(trainerId, lessonMonth) { resultOf("after") }.trainerName shouldBe "after"
+        trainerCalendarCache.get(trainerId, lessonMonth.plusMonths(1)) { resultOf("after") }.trainerName shouldBe "after"
+    }
+})
@@ -0,0 +1,71 @@
+package com.tobe.healthy.schedule.application
+
+import com.tobe.healthy.schedule.domain.dto.ScheduleSlot
+import com.tobe.healthy.schedule.domain.dto.VirtualScheduleId
+import com.tobe.healthy.schedule.domain.entity.ReservationStatus.AVAILABLE
+import com.tobe.healthy.schedule.domain.entity.ReservationStatus.COMPLETED
+import com.tobe.healthy.schedule.domain.entity.ReservationStatus.DISABLED
+import io.kotest.core.spec.style.StringSpec
+import io.kotest.matchers.collections.shouldContainExactly
+import io.kotest.matchers.shouldBe
+import java.time.LocalDate
+import java.time.LocalTime
+
+class VirtualScheduleServiceTest : StringSpec({
+
+    val lessonDt = LocalDate.of(2024, 6, 3)
+
+    fun slot(start: LocalTime, end: LocalTime, date: LocalDate = lessonDt) = ScheduleSlot(date, start, end, AVAILABLE)
+
+    "가상 일정 ID 는 수업 일자와 시작 시간으로 복원된다" {
+        listOf(
+            LocalDate.of(1970, 1, 1) to LocalTime.MIDNIGHT,
+            LocalDate.of(2024, 2, 29) to LocalTime.of(6, 30),
+            LocalDate.of(2024, 12, 31) to LocalTime.of(23, 59),
+            LocalDate.of(2099, 1, 1) to LocalTime.of(12, 0),
+        ).forEach { (date, time) ->
+            val id = VirtualScheduleId.encode(date, time)
+
+            VirtualScheduleId.isVirtual(id) shouldBe true
+            VirtualScheduleId.lessonDtOf(id) shouldBe date
+            VirtualScheduleId.lessonStartTimeOf(id) shouldBe time
+        }
+        VirtualScheduleId.isVirtual(1L) shouldBe false
+        VirtualScheduleId.isVirtual(null) shouldBe false
+    }
+
+    "시작 시간이 같은 저장된 일정이 있으면 템플릿 일정은 제외된다" {
+        val slots = listOf(slot(LocalTime.of(9, 0), LocalTime.of(10, 0)), slot(LocalTime.of(10, 0), LocalTime.of(11, 0)))
+        val overrides = listOf(ScheduleSlot(lessonDt, LocalTime.of(9, 0), LocalTime.of(10, 0), COMPLETED))
+
+        VirtualScheduleService.excludeOverlapping(slots, overrides).map { it.lessonStartTime } shouldContainExactly
+            listOf(LocalTime.of(10, 0))
+    }
+
+    "수업 시간 변경 이후 시작 시간이 달라도 저장된 일정과 겹치면 제외된다" {
+        // 1시간 수업으로 예약된 뒤 30분 수업으로 변경된 경우
+        val slots = (0 until 6).map { slot(LocalTime.of(9, 0).plusMinutes(30L * it), LocalTime.of(9, 30).plusMinutes(30L * it)) }
+        val overrides = listOf(ScheduleSlot(lessonDt, LocalTime.of(10, 0), LocalTime.of(11, 0), COMPLETED))
+
+        VirtualScheduleService.excludeOverlapping(slots, overrides).map { it.lessonStartTime } shouldContainExactly
+            listOf(LocalTime.of(9, 0), LocalTime.of(9, 30), LocalTime.of(11, 0), LocalTime.of(11, 30))
+    }
+
+    "끝나는 시간과 시작 시간이 맞닿은 일정, 다른 날짜의 일정은 제외되지 않는다" {
+        val slots = listOf(slot(LocalTime.of(11, 0), LocalTime.of(12, 0)), slot(LocalTime.of(13, 0), LocalTime.of(14, 0)))
+        val overrides = listOf(
+            ScheduleSlot(lessonDt, LocalTime.of(12, 0), LocalTime.of(13, 0), DISABLED),
+            ScheduleSlot(lessonDt.plusDays(1), LocalTime.of(11, 0), LocalTime.of(12, 0), COMPLETED),
+        )
+
+        VirtualScheduleService.excludeOverlapping(slots, overrides) shouldContainExactly slots
+    }
+
+    "00:00 에 끝나는 일정은 하루의 끝까지 겹치는 것으로 본다" {
+        val slots = listOf(slot(LocalTime.of(23, 0), LocalTime.MIDNIGHT), slot(LocalTime.of(22, 0), LocalTime.of(23, 0)))
+        val overrides = listOf(ScheduleSlot(lessonDt, LocalTime.of(23, 30), LocalTime.MIDNIGHT, DISABLED))
+
+        VirtualScheduleService.excludeOverlapping(slots, overrides).map { it.lessonStartTime } shouldContainExactly
+            listOf(LocalTime.of(22, 0))
+    }
+})
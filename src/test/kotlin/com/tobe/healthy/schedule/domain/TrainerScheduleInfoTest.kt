@@ -0,0 +1,77 @@
+package com.tobe.healthy.schedule.domain
+
+import com.tobe.healthy.schedule.domain.entity.LessonTime
+import com.tobe.healthy.schedule.domain.entity.LessonTime.ONE_HOUR
+import com.tobe.healthy.schedule.domain.entity.ReservationStatus.AVAILABLE
+import com.tobe.healthy.schedule.domain.entity.ReservationStatus.DISABLED
+import com.tobe.healthy.schedule.domain.entity.TrainerScheduleClosedDaysInfo
+import com.tobe.healthy.schedule.domain.entity.TrainerScheduleInfo
+import io.kotest.core.spec.style.StringSpec
+import io.kotest.matchers.collections.shouldContainExactly
+import io.kotest.matchers.shouldBe
+import java.time.DayOfWeek.MONDAY
+import java.time.LocalDate
+import java.time.LocalTime
+
+class TrainerScheduleInfoTest : StringSpec({
+
+    val monday = LocalDate.of(2024, 6, 3)
+
+    fun info(
+        lessonStartTime: LocalTime = LocalTime.of(9, 0),
+        lessonEndTime: LocalTime = LocalTime.of(14, 0),
+        lunchStartTime: LocalTime? = LocalTime.of(12, 0),
+        lunchEndTime: LocalTime? = LocalTime.of(13, 0),
+        lessonTime: LessonTime = ONE_HOUR
+    ) = TrainerScheduleInfo(lessonStartTime, lessonEndTime, lunchStartTime, lunchEndTime, lessonTime)
+
+    "점심시간은 하나의 DISABLED 일정으로 생성되고 점심 종료 시간부터 다시 수업이 생성된다" {
+        val slots = info().generateSlots(monday)
+
+        slots.map { Triple(it.lessonStartTime, it.lessonEndTime, it.reservationStatus) } shouldContainExactly listOf(
+            Triple(LocalTime.of(9, 0), LocalTime.of(10, 0), AVAILABLE),
+            Triple(LocalTime.of(10, 0), LocalTime.of(11, 0), AVAILABLE),
+            Triple(LocalTime.of(11, 0), LocalTime.of(12, 0), AVAILABLE),
+            Triple(LocalTime.of(12, 0), LocalTime.of(13, 0), DISABLED),
+            Triple(LocalTime.of(13, 0), LocalTime.of(14, 0), AVAILABLE),
+        )
+    }
+
+    "점심시간이 수업 시간보다 길어도 점심 종료 시간까지 건너뛴다" {
+        val slots = info(lunchStartTime = LocalTime.of(11, 0), lunchEndTime = LocalTime.of(12, 30), lessonTime = LessonTime.HALF_HOUR)
+            .generateSlots(monday)
+
+        slots.filter { it.reservationStatus == DISABLED }.map { it.lessonStartTime to it.lessonEndTime } shouldContainExactly
+            listOf(LocalTime.of(11, 0) to LocalTime.of(12, 30))
+        slots.any { it.lessonStartTime > LocalTime.of(11, 0) && it.lessonStartTime < LocalTime.of(12, 30) } shouldBe false
+        slots.first { it.lessonStartTime == LocalTime.of(12, 30) }.reservationStatus shouldBe AVAILABLE
+    }
+
+    "종료 시간에 시작하는 일정은 생성되지 않는다" {
+        val slots = info(lunchStartTime = null, lunchEndTime = null).generateSlots(monday)
+
+        slots.size shouldBe 5
+        slots.last().lessonStartTime shouldBe LocalTime.of(13, 0)
+        slots.last().lessonEndTime shouldBe LocalTime.of(14, 0)
+        slots.all { it.reservationStatus == AVAILABLE } shouldBe true
+    }
+
+    "시작 시간과 종료 시간이 같으면 일정이 생성되지 않는다" {
+        info(lessonEndTime = LocalTime.of(9, 0), lunchStartTime = null, lunchEndTime = null)
+            .generateSlots(monday) shouldBe emptyList()
+    }
+
+    "휴무일은 06:00 부터 24:00 까지 DISABLED 로 생성된다" {
+        val info = info()
+        info.trainerScheduleClosedDays.add(TrainerScheduleClosedDaysInfo.registerClosedDay(MONDAY, info))
+
+        val slots = info.generateSlots(monday)
+
+        slots.size shouldBe 18
+        slots.all { it.reservationStatus == DISABLED } shouldBe true
+        slots.first().lessonStartTime shouldBe LocalTime.of(6, 0)
+        slots.last().lessonStartTime shouldBe LocalTime.of(23, 0)
+        slots.last().lessonEndTime shouldBe LocalTime.MIDNIGHT
+        info.generateSlots(monday.plusDays(1)).any { it.reservationStatus == AVAILABLE } shouldBe true
+    }
+})
@@ -0,0 +1,100 @@
+package com.tobe.healthy.workout.application
+
+import io.kotest.core.spec.style.StringSpec
+import io.kotest.matchers.collections.shouldContainExactly
+import io.kotest.matchers.collections.shouldNotContain
+import io.kotest.matchers.shouldBe
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry
+import org.springframework.boot.test.context.SpringBootTest
+import org.springframework.data.redis.core.RedisTemplate
+
+// 커밋 이후에 반영하므로 트랜잭션 없이 실행한다. (maxSize 3 으로 저장 범위를 좁혀서 확인한다.)
+@SpringBootTest
+class GymTimelineTest(
+    private val redisTemplate: RedisTemplate<String, String>
+) : StringSpec({
+
+    val timeline = GymTimeline(redisTemplate, SimpleMeterRegistry(), 3)
+
+    // 공개된 운동기록 ID 를 DB 처럼 조회하고 호출 횟수를 센다.
+    class FakeDb(ids: List<Long>) {
+        val ids = ids.toMutableSet()
+        var calls = 0
+        var onLoad: () -> Unit = {}
+
+        fun load(before: Long?, limit: Int): List<Long> {
+            calls++
+            val result = ids.filter { before == null || it < before }.sortedDescending().take(limit)
+            onLoad()
+            return result
+        }
+    }
+
+    fun newGymId() = System.nanoTime()
+
+    fun clear(gymId: Long) {
+        redisTemplate.delete(listOf("gym-timeline:$gymId", "gym-timeline:$gymId:truncated", "gym-timeline:$gymId:removed"))
+    }
+
+    "저장 범위를 넘어가는 페이지는 마지막 ID 이후부터 DB 에서 이어서 조회한다" {
+        val gymId = newGymId()
+        val db = FakeDb((1L..10L).toList())
+
+        timeline.read(gymId, null, 2, db::load) shouldContainExactly listOf(10L, 9L)
+        timeline.read(gymId, 9, 2, db::load) shouldContainExactly listOf(8L, 7L)
+        timeline.read(gymId, 7, 2, db::load) shouldContainExactly listOf(6L, 5L)
+        clear(gymId)
+    }
+
+    "잘라낸 적이 없으면 저장된 ID 가 전부이므로 DB 를 다시 조회하지 않는다" {
+        val gymId = newGymId()
+        val db = FakeDb(listOf(3L, 2L))
+
+        timeline.read(gymId, null, 5, db::load) shouldContainExactly listOf(3L, 2L)
+        timeline.read(gymId, 2, 5, db::load) shouldContainExactly emptyList<Long>()
+        db.calls shouldBe 1
+        clear(gymId)
+    }
+
+    "새 운동기록이 추가되어 오래된 ID 가 잘리면 이후 페이지는 DB 에서 조회한다" {
+        val gymId = newGymId()
+        val db = FakeDb(listOf(3L, 2L, 1L))
+        timeline.read(gymId, null, 3, db::load) shouldContainExactly listOf(3L, 2L, 1L)
+
+        db.ids.add(4)
+        timeline.add(gymId, 4)
+
+        timeline.read(gymId, null, 4, db::load) shouldContainExactly listOf(4L, 3L, 2L, 1L)
+        clear(gymId)
+    }
+
+    "삭제, 비공개 전환한 운동기록은 빠지고 다시 공개하면 돌아온다" {
+        val gymId = newGymId()
+        val db = FakeDb((1L..10L).toList())
+        timeline.read(gymId, null, 3, db::load) shouldContainExactly listOf(10L, 9L, 8L)
+
+        db.ids.remove(9)
+        timeline.remove(gymId, 9)
+        timeline.read(gymId, null, 3, db::load) shouldContainExactly listOf(10L, 8L, 7L)
+
+        db.ids.add(9)
+        timeline.add(gymId, 9)
+        timeline.read(gymId, null, 3, db::load) shouldContainExactly listOf(10L, 9L, 8L)
+        clear(gymId)
+    }
+
+    "적재 중에 제거된 운동기록은 이전에 읽은 DB 결과로 다시 살아나지 않는다" {
+        val gymId = newGymId()
+        val db = FakeDb((1L..5L).toList())
+        // DB 를 읽은 직후, LOAD 전에 운동기록 5 가 비공개로 바뀐다.
+        db.onLoad = {
+            db.onLoad = {}
+            db.ids.remove(5)
+            timeline.remove(gymId, 5)
+        }
+
+        timeline.read(gymId, null, 3, db::load) shouldNotContain 5L
+        timeline.read(gymId, null, 3, db::load) shouldContainExactly listOf(4L, 3L, 2L)
+        clear(gymId)
+    }
+})